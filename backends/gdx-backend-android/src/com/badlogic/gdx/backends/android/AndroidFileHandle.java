@@ -17,8 +17,12 @@
 package com.badlogic.gdx.backends.android;
 
 import java.io.File;
+import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel.MapMode;
 
 import android.content.res.AssetFileDescriptor;
 import android.content.res.AssetManager;
@@ -26,6 +30,7 @@ import android.content.res.AssetManager;
 import com.badlogic.gdx.Files.FileType;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.StreamUtils;
 
 /** @author mzechner
  * @author Nathan Sweet */
@@ -77,6 +82,32 @@ public class AndroidFileHandle extends FileHandle {
 		return super.read();
 	}
 
+	public ByteBuffer map () {
+		if (type == FileType.Internal) {
+			AssetFileDescriptor fileDescriptor = null;
+			FileInputStream input = null;
+			try {
+				fileDescriptor = assets.openFd(file.getPath());
+				input = fileDescriptor.createInputStream();
+				ByteBuffer buffer = input.getChannel().map(MapMode.READ_ONLY, fileDescriptor.getStartOffset(),
+					fileDescriptor.getLength());
+				buffer.order(ByteOrder.nativeOrder());
+				return buffer;
+			} catch (IOException ignored) {
+				// Compressed assets have no file descriptor, their bytes are read by super.map().
+			} finally {
+				StreamUtils.closeQuietly(input);
+				if (fileDescriptor != null) {
+					try {
+						fileDescriptor.close();
+					} catch (IOException ignored) {
+					}
+				}
+			}
+		}
+		return super.map();
+	}
+
 	public FileHandle[] list () {
 		if (type == FileType.Internal) {
 			try {
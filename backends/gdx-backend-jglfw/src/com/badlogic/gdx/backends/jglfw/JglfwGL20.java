@@ -211,7 +211,10 @@ public class JglfwGL20 implements GL20 {
 	}
 
 	public void glBufferData (int target, int size, Buffer data, int usage) {
-		GL.glBufferData(target, size, data, getPosition(data), usage);
+		if (data == null)
+			GL.glBufferData(target, size, null, 0, usage);
+		else
+			GL.glBufferData(target, size, data, getPosition(data), usage);
 	}
 
 	public void glBufferSubData (int target, int offset, int size, Buffer data) {
@@ -89,7 +89,7 @@ class LwjglGL20 implements com.badlogic.gdx.graphics.GL20 {
 
 	public void glBufferData (int target, int size, Buffer data, int usage) {
 		if(data == null)
-			throw new GdxRuntimeException("Using null for the data not possible, blame LWJGL");
+			GL15.glBufferData(target, size, usage);
 		else if (data instanceof ByteBuffer)
 			GL15.glBufferData(target, (ByteBuffer)data, usage);
 		else if (data instanceof IntBuffer)
@@ -26,11 +26,13 @@ import java.io.OutputStream;
 import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
 
 import com.badlogic.gdx.Files.FileType;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.backends.gwt.preloader.Preloader;
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.BufferUtils;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 
 public class GwtFileHandle extends FileHandle {
@@ -191,6 +193,17 @@ public class GwtFileHandle extends FileHandle {
 		return buffer;
 	}
 
+	/** Returns a direct buffer with the entire file's bytes. Files can't be memory mapped in the browser, so the bytes are always
+	 * copied.
+	 * @throw GdxRuntimeException if the file handle represents a directory, doesn't exist, or could not be read. */
+	public ByteBuffer map () {
+		byte[] bytes = readBytes();
+		ByteBuffer buffer = BufferUtils.newByteBuffer(bytes.length);
+		buffer.put(bytes);
+		buffer.flip();
+		return buffer;
+	}
+
 	/** Reads the entire file into the byte array. The byte array must be big enough to hold the file's data.
 	 * @param bytes the array to load the file into
 	 * @param offset the offset to start writing bytes
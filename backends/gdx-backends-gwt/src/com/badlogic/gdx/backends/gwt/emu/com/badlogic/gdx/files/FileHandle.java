@@ -22,6 +22,7 @@ import java.io.InputStream;
 import java.io.OutputStream;
 import java.io.Reader;
 import java.io.Writer;
+import java.nio.ByteBuffer;
 
 import com.badlogic.gdx.Files.FileType;
 import com.badlogic.gdx.utils.GdxRuntimeException;
@@ -106,6 +107,12 @@ public class FileHandle {
 		throw new GdxRuntimeException("Stub");
 	}
 
+	/** Returns a direct buffer with the entire file's bytes.
+	 * @throw GdxRuntimeException if the file handle represents a directory, doesn't exist, or could not be read. */
+	public ByteBuffer map () {
+		throw new GdxRuntimeException("Stub");
+	}
+
 	/** Reads the entire file into the byte array. The byte array must be big enough to hold the file's data.
 	 * @param bytes the array to load the file into
 	 * @param offset the offset to start writing bytes
@@ -140,6 +140,17 @@ public class IndexBufferObject implements IndexData {
 		isBound = true;
 	}
 
+	/** Uploads the indices if they were changed, like {@link #bind()} does. WebGL uploads the whole buffer at once.
+	 * @return 0, the buffer object is up to date */
+	public int upload (int maxBytes) {
+		if (!isDirty) return 0;
+		Gdx.gl20.glBindBuffer(GL20.GL_ELEMENT_ARRAY_BUFFER, bufferHandle);
+		Gdx.gl20.glBufferData(GL20.GL_ELEMENT_ARRAY_BUFFER, buffer.limit(), buffer, usage);
+		isDirty = false;
+		if (!isBound) Gdx.gl20.glBindBuffer(GL20.GL_ELEMENT_ARRAY_BUFFER, 0);
+		return 0;
+	}
+
 	/** Unbinds this IndexBufferObject. */
 	public void unbind () {
 		Gdx.gl20.glBindBuffer(GL20.GL_ELEMENT_ARRAY_BUFFER, 0);
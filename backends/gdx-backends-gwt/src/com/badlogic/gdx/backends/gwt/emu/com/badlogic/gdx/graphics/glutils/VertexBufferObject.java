@@ -193,6 +193,18 @@ public class VertexBufferObject implements VertexData {
 		isBound = true;
 	}
 	
+	/** Uploads the vertices if they were changed, like {@link #bind(ShaderProgram)} does. WebGL uploads the whole buffer at once.
+	 * @return 0, the buffer object is up to date */
+	public int upload (int maxBytes) {
+		if (!isDirty) return 0;
+		final GL20 gl = Gdx.gl20;
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, bufferHandle);
+		gl.glBufferData(GL20.GL_ARRAY_BUFFER, buffer.limit(), buffer, usage);
+		isDirty = false;
+		if (!isBound) gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+		return 0;
+	}
+
 	/** Unbinds this VertexBufferObject.
 	 * 
 	 * @param shader the shader */
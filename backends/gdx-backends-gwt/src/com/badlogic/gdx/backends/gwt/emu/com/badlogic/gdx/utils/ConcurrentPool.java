@@ -0,0 +1,41 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+/** GWT emulation of ConcurrentPool. There is only one thread, so this is a plain {@link Pool} with a single stripe. */
+abstract public class ConcurrentPool<T> extends Pool<T> {
+	public ConcurrentPool () {
+		this(16, Integer.MAX_VALUE);
+	}
+
+	public ConcurrentPool (int initialCapacity) {
+		this(initialCapacity, Integer.MAX_VALUE);
+	}
+
+	public ConcurrentPool (int initialCapacity, int max) {
+		super(initialCapacity, max);
+	}
+
+	public ConcurrentPool (int initialCapacity, int max, int stripes) {
+		super(initialCapacity, max);
+		if (stripes < 1) throw new IllegalArgumentException("stripes must be > 0: " + stripes);
+	}
+
+	public int getStripes () {
+		return 1;
+	}
+}
@@ -0,0 +1,36 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+/** GWT emulation of ThreadLocalPool. There is only one thread, so this is a plain {@link Pool} without magazines. */
+abstract public class ThreadLocalPool<T> extends Pool<T> {
+	public final int magazineSize;
+
+	public ThreadLocalPool () {
+		this(16, Integer.MAX_VALUE);
+	}
+
+	public ThreadLocalPool (int max) {
+		this(16, max);
+	}
+
+	public ThreadLocalPool (int magazineSize, int max) {
+		super(magazineSize, max);
+		if (magazineSize < 1) throw new IllegalArgumentException("magazineSize must be > 0: " + magazineSize);
+		this.magazineSize = magazineSize;
+	}
+}
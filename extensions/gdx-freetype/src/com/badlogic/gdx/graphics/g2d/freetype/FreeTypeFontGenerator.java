@@ -19,6 +19,7 @@ package com.badlogic.gdx.graphics.g2d.freetype;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.graphics.Pixmap.Format;
 import com.badlogic.gdx.graphics.Texture;
@@ -39,8 +40,10 @@ import com.badlogic.gdx.graphics.glutils.PixmapTextureData;
 import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.Rectangle;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Bits;
 import com.badlogic.gdx.utils.Disposable;
 import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.IntIntMap;
 
 import java.nio.ByteBuffer;
 
@@ -57,6 +60,10 @@ import java.nio.ByteBuffer;
  * The generator has to be disposed once it is no longer used. The returned {@link BitmapFont} instances are managed by the user
  * and have to be disposed as usual.
  * 
+ * Fonts generated with {@link FreeTypeFontParameter#incremental} render their glyphs when they are first used, which is much
+ * faster to generate and needs much less texture memory for fonts with many glyphs, eg CJK fonts. The generator must not be
+ * disposed before such fonts.
+ * 
  * @author mzechner */
 public class FreeTypeFontGenerator implements Disposable {
 	public static final String DEFAULT_CHARS = "ABCDEFGHIJKLMNOPQRSTUVWXYZabcdefghijklmnopqrstuvwxyz1234567890\"!`?'.,;:()[]{}<>|/@\\^$-%+=#_&~*\u0080\u0081\u0082\u0083\u0084\u0085\u0086\u0087\u0088\u0089\u008A\u008B\u008C\u008D\u008E\u008F\u0090\u0091\u0092\u0093\u0094\u0095\u0096\u0097\u0098\u0099\u009A\u009B\u009C\u009D\u009E\u009F\u00A0\u00A1\u00A2\u00A3\u00A4\u00A5\u00A6\u00A7\u00A8\u00A9\u00AA\u00AB\u00AC\u00AD\u00AE\u00AF\u00B0\u00B1\u00B2\u00B3\u00B4\u00B5\u00B6\u00B7\u00B8\u00B9\u00BA\u00BB\u00BC\u00BD\u00BE\u00BF\u00C0\u00C1\u00C2\u00C3\u00C4\u00C5\u00C6\u00C7\u00C8\u00C9\u00CA\u00CB\u00CC\u00CD\u00CE\u00CF\u00D0\u00D1\u00D2\u00D3\u00D4\u00D5\u00D6\u00D7\u00D8\u00D9\u00DA\u00DB\u00DC\u00DD\u00DE\u00DF\u00E0\u00E1\u00E2\u00E3\u00E4\u00E5\u00E6\u00E7\u00E8\u00E9\u00EA\u00EB\u00EC\u00ED\u00EE\u00EF\u00F0\u00F1\u00F2\u00F3\u00F4\u00F5\u00F6\u00F7\u00F8\u00F9\u00FA\u00FB\u00FC\u00FD\u00FE\u00FF";
@@ -64,6 +71,7 @@ public class FreeTypeFontGenerator implements Disposable {
 	final Face face;
 	final String filePath;
 	boolean bitmapped = false;
+	boolean disposed;
 
 	/** The maximum texture size allowed by generateData, when storing in a texture atlas. 
 	 * Multiple texture pages will be created if necessary. */
@@ -338,7 +346,14 @@ public class FreeTypeFontGenerator implements Disposable {
 		
 		PixmapPacker packer = parameter.packer;
 		
-		if (packer==null) {
+		if (parameter.incremental) {
+			if (packer != null) throw new IllegalArgumentException("An incremental font can't use a packer.");
+			if (parameter.maxPages < 1) throw new IllegalArgumentException("maxPages must be > 0: " + parameter.maxPages);
+			// Pages for about 256 glyphs.
+			int pageWidth = MathUtils.nextPowerOfTwo((int)Math.ceil(data.lineHeight) * 16);
+			if (maxTextureSize > 0) pageWidth = Math.min(pageWidth, maxTextureSize);
+			data.setIncremental(this, parameter, baseLine, new PixmapPacker(pageWidth, pageWidth, Format.RGBA8888, 2, false));
+		} else if (packer==null) {
 			// generate the glyphs
 			int maxGlyphHeight = (int)Math.ceil(data.lineHeight);
 			int pageWidth = MathUtils.nextPowerOfTwo((int)Math.sqrt(maxGlyphHeight * maxGlyphHeight * parameter.characters.length()));
@@ -355,42 +370,15 @@ public class FreeTypeFontGenerator implements Disposable {
 		
 		for (int i = 0; i < parameter.characters.length(); i++) {
 			char c = parameter.characters.charAt(i);
-			if (!FreeType.loadChar(face, c, FreeType.FT_LOAD_DEFAULT)) {
-				Gdx.app.log("FreeTypeFontGenerator", "Couldn't load char '" + c + "'");
-				continue;
-			}
-			if (!FreeType.renderGlyph(face.getGlyph(), FreeType.FT_RENDER_MODE_NORMAL)) {
-				Gdx.app.log("FreeTypeFontGenerator", "Couldn't render char '" + c + "'");
+			Glyph glyph = parameter.incremental ? data.newGlyph() : new Glyph();
+			Pixmap pixmap = renderGlyph(c, glyph, parameter.flip, baseLine);
+			if (pixmap == null) continue;
+
+			if (parameter.incremental) {
+				data.addGlyph(c, glyph, pixmap);
+				pixmap.dispose();
 				continue;
 			}
-			GlyphSlot slot = face.getGlyph();
-			GlyphMetrics metrics = slot.getMetrics();
-			Bitmap bitmap = slot.getBitmap();
-			Pixmap pixmap = bitmap.getPixmap(Format.RGBA8888);
-			Glyph glyph = new Glyph();
-			glyph.id = (int)c;
-			glyph.width = pixmap.getWidth();
-			glyph.height = pixmap.getHeight();
-			glyph.xoffset = slot.getBitmapLeft();
-			glyph.yoffset = parameter.flip ? -slot.getBitmapTop() + (int)baseLine : -(glyph.height - slot.getBitmapTop()) - (int)baseLine;
-			glyph.xadvance = FreeType.toInt(metrics.getHoriAdvance());
-
-			if(bitmapped)
-			{
-				pixmap.setColor(Color.CLEAR);
-				pixmap.fill();
-				ByteBuffer buf = bitmap.getBuffer();
-				for(int h=0; h<glyph.height; h++)
-				{
-					int idx = h*bitmap.getPitch();
-					for(int w=0; w<(glyph.width+glyph.xoffset); w++)
-					{
-						int bit = (buf.get(idx+(w/8)) >>> (7-(w%8))) & 1;
-						pixmap.drawPixel(w, h, ((bit==1)? Color.WHITE.toIntBits() : Color.CLEAR.toIntBits()));
-					}
-				}
-				
-			}
 
 			String name = packPrefix + c;
 			Rectangle rect = packer.pack(name, pixmap);
@@ -408,8 +396,8 @@ public class FreeTypeFontGenerator implements Disposable {
 			pixmap.dispose();
 		}
 
-		// generate kerning
-		for (int i = 0; i < parameter.characters.length(); i++) {
+		// generate kerning, incremental fonts look it up when it is needed
+		for (int i = 0, n = parameter.incremental ? 0 : parameter.characters.length(); i < n; i++) {
 			for (int j = 0; j < parameter.characters.length(); j++) {
 				char firstChar = parameter.characters.charAt(i);
 				Glyph first = data.getGlyph(firstChar);
@@ -446,11 +434,76 @@ public class FreeTypeFontGenerator implements Disposable {
 		return data;
 	}
 
+	/** Loads and renders the character at the current size and sets the metrics of the glyph, except its page and position.
+	 * @return The rendered glyph, or null if the character could not be rendered. */
+	private Pixmap renderGlyph (char c, Glyph glyph, boolean flip, float baseLine) {
+		if (!FreeType.loadChar(face, c, FreeType.FT_LOAD_DEFAULT)) {
+			Gdx.app.log("FreeTypeFontGenerator", "Couldn't load char '" + c + "'");
+			return null;
+		}
+		if (!FreeType.renderGlyph(face.getGlyph(), FreeType.FT_RENDER_MODE_NORMAL)) {
+			Gdx.app.log("FreeTypeFontGenerator", "Couldn't render char '" + c + "'");
+			return null;
+		}
+		GlyphSlot slot = face.getGlyph();
+		GlyphMetrics metrics = slot.getMetrics();
+		Bitmap bitmap = slot.getBitmap();
+		Pixmap pixmap = bitmap.getPixmap(Format.RGBA8888);
+		glyph.id = (int)c;
+		glyph.width = pixmap.getWidth();
+		glyph.height = pixmap.getHeight();
+		glyph.xoffset = slot.getBitmapLeft();
+		glyph.yoffset = flip ? -slot.getBitmapTop() + (int)baseLine : -(glyph.height - slot.getBitmapTop()) - (int)baseLine;
+		glyph.xadvance = FreeType.toInt(metrics.getHoriAdvance());
+
+		if(bitmapped)
+		{
+			pixmap.setColor(Color.CLEAR);
+			pixmap.fill();
+			ByteBuffer buf = bitmap.getBuffer();
+			for(int h=0; h<glyph.height; h++)
+			{
+				int idx = h*bitmap.getPitch();
+				for(int w=0; w<(glyph.width+glyph.xoffset); w++)
+				{
+					int bit = (buf.get(idx+(w/8)) >>> (7-(w%8))) & 1;
+					pixmap.drawPixel(w, h, ((bit==1)? Color.WHITE.toIntBits() : Color.CLEAR.toIntBits()));
+				}
+			}
+			
+		}
+		return pixmap;
+	}
+
+	/** Renders and adds the glyph of a character which was not rendered yet to an incremental font.
+	 * @return The glyph, or null if the font has no glyph for the character. */
+	Glyph generateGlyph (char c, FreeTypeBitmapFontData data) {
+		if (disposed) throw new GdxRuntimeException("The generator of an incremental font has been disposed.");
+		int index = FreeType.getCharIndex(face, c);
+		if (index == 0) return null;
+		if (!bitmapped && !FreeType.setPixelSizes(face, 0, data.size)) throw new GdxRuntimeException("Couldn't set size for font");
+
+		Glyph glyph = data.newGlyph();
+		Pixmap pixmap = renderGlyph(c, glyph, data.flipped, data.baseLine);
+		if (pixmap == null) return null;
+		data.addGlyph(c, glyph, pixmap);
+		pixmap.dispose();
+		return glyph;
+	}
+
+	/** Returns the kerning between two characters of an incremental font, in pixels. */
+	int getKerning (char first, char second, int size) {
+		if (disposed) throw new GdxRuntimeException("The generator of an incremental font has been disposed.");
+		if (!bitmapped && !FreeType.setPixelSizes(face, 0, size)) throw new GdxRuntimeException("Couldn't set size for font");
+		return FreeType.toInt(FreeType.getKerning(face, FreeType.getCharIndex(face, first), FreeType.getCharIndex(face, second), 0));
+	}
+
 	/** Cleans up all resources of the generator. Call this if you no longer use the generator. */
 	@Override
 	public void dispose () {
 		FreeType.doneFace(face);
 		FreeType.doneFreeType(library);
+		disposed = true;
 	}
 
 	/** {@link BitmapFontData} used for fonts generated via the {@link FreeTypeFontGenerator}. The texture storing the glyphs is
@@ -459,6 +512,214 @@ public class FreeTypeFontGenerator implements Disposable {
 	public static class FreeTypeBitmapFontData extends BitmapFontData {
 		TextureRegion[] regions;
 
+		// Set for incremental fonts only.
+		FreeTypeFontGenerator generator;
+		int size;
+		float baseLine;
+		boolean genMipMaps;
+		TextureFilter minFilter, magFilter;
+		PixmapPacker packer;
+		/** For each page, the glyphs packed into it. */
+		Array<Glyph>[] pageGlyphs;
+		/** For each page, the number of glyph pixels. */
+		int[] pageAreas;
+		/** For each page, the value of uses when one of its glyphs was last used or drawn. */
+		long[] pageUses;
+		long uses;
+		/** While requireGlyphs renders glyphs, the value of uses when it began, pages used since are only cleared if no other page
+		 * can be. */
+		long requiredUses = -1;
+		boolean requiredPageCleared;
+		/** The characters the font has no glyph for. */
+		Bits missingGlyphs;
+		int recycledPages;
+		/** The kerning of each pair of characters looked up so far, or null if the font has no kerning. */
+		IntIntMap kernings;
+
+		void setIncremental (FreeTypeFontGenerator generator, FreeTypeFontParameter parameter, float baseLine, PixmapPacker packer) {
+			this.generator = generator;
+			this.size = parameter.size;
+			this.baseLine = baseLine;
+			this.genMipMaps = parameter.genMipMaps;
+			this.minFilter = parameter.minFilter;
+			this.magFilter = parameter.magFilter;
+			this.packer = packer;
+			int maxPages = parameter.maxPages;
+			regions = new TextureRegion[maxPages];
+			pageGlyphs = new Array[maxPages];
+			for (int i = 0; i < maxPages; i++) {
+				// The textures are created with their pages, the font's first page is always needed.
+				regions[i] = new TextureRegion();
+				pageGlyphs[i] = new Array();
+			}
+			pageAreas = new int[maxPages];
+			pageUses = new long[maxPages];
+			missingGlyphs = new Bits();
+			if (FreeType.hasKerning(generator.face)) kernings = new IntIntMap();
+			createTexture(0);
+		}
+
+		/** Returns a new glyph for an incremental font, which looks up its kerning when it is needed if the font has kerning. */
+		Glyph newGlyph () {
+			return kernings != null ? new LazyKerningGlyph(this) : new Glyph();
+		}
+
+		/** Returns the kerning between two characters of an incremental font, looking it up the first time it is needed. */
+		int getKerning (int first, char second) {
+			int key = first << 16 | second;
+			int kerning = kernings.get(key, Integer.MIN_VALUE);
+			if (kerning == Integer.MIN_VALUE) {
+				kerning = generator.getKerning((char)first, second, size);
+				kernings.put(key, kerning);
+			}
+			return kerning;
+		}
+
+		/** Returns the glyph for the character. Incremental fonts render the glyph if it was not used before. */
+		public Glyph getGlyph (char ch) {
+			Glyph glyph = super.getGlyph(ch);
+			if (generator == null) return glyph;
+			if (glyph == null) {
+				if (missingGlyphs.get(ch)) return null;
+				glyph = generator.generateGlyph(ch, this);
+				if (glyph == null) {
+					missingGlyphs.set(ch);
+					return null;
+				}
+			}
+			if (glyph.width > 0 && glyph.height > 0) pageUses[glyph.page] = ++uses;
+			return glyph;
+		}
+
+		/** Renders the missing glyphs of the characters. If a page with glyphs of the characters has to be cleared to make room,
+		 * the glyphs which were removed are rendered again, they must then fit on the other pages. */
+		public void requireGlyphs (CharSequence str, int start, int end) {
+			if (generator == null) return;
+			requiredUses = uses;
+			requiredPageCleared = false;
+			for (int i = start; i < end; i++)
+				getGlyph(str.charAt(i));
+			if (requiredPageCleared) {
+				requiredPageCleared = false;
+				for (int i = start; i < end; i++)
+					getGlyph(str.charAt(i));
+			}
+			requiredUses = -1;
+			if (requiredPageCleared) throw new GdxRuntimeException("The glyphs of the text don't fit into " + pageUses.length
+				+ " pages, increase FreeTypeFontParameter#maxPages: " + str.subSequence(start, end));
+		}
+
+		public void pageDrawn (int page) {
+			if (generator != null) pageUses[page] = ++uses;
+		}
+
+		/** Packs the glyph of an incremental font into a page and uploads it. If all pages are full, the page whose glyphs were used
+		 * least recently is cleared first. */
+		void addGlyph (char c, Glyph glyph, Pixmap pixmap) {
+			if (glyph.width > 0 && glyph.height > 0) {
+				String name = String.valueOf(c);
+				Rectangle rect = packer.pack(name, pixmap, packer.getPages().size < regions.length);
+				if (rect == null) {
+					recyclePage();
+					rect = packer.pack(name, pixmap, false);
+				}
+				int page = packer.getPageIndex(name);
+				glyph.page = page;
+				glyph.srcX = (int)rect.x;
+				glyph.srcY = (int)rect.y;
+				float invTexWidth = 1f / packer.getPageWidth(), invTexHeight = 1f / packer.getPageHeight();
+				glyph.u = glyph.srcX * invTexWidth;
+				glyph.u2 = (glyph.srcX + glyph.width) * invTexWidth;
+				if (flipped) {
+					glyph.v = glyph.srcY * invTexHeight;
+					glyph.v2 = (glyph.srcY + glyph.height) * invTexHeight;
+				} else {
+					glyph.v2 = glyph.srcY * invTexHeight;
+					glyph.v = (glyph.srcY + glyph.height) * invTexHeight;
+				}
+				pageGlyphs[page].add(glyph);
+				pageAreas[page] += glyph.width * glyph.height;
+				pageUses[page] = ++uses;
+				if (regions[page].getTexture() == null)
+					createTexture(page);
+				else
+					upload(page, pixmap, glyph.srcX, glyph.srcY);
+			}
+			setGlyph(c, glyph);
+		}
+
+		/** Clears the least recently used page and removes its glyphs, they are rendered again when they are used. Pages with
+		 * glyphs required by {@link #requireGlyphs(CharSequence, int, int)} are only cleared if all pages have such glyphs. */
+		private void recyclePage () {
+			int page = -1;
+			for (int i = 0, n = pageUses.length; i < n; i++) {
+				if (requiredUses != -1 && pageUses[i] > requiredUses) continue;
+				if (page == -1 || pageUses[i] < pageUses[page]) page = i;
+			}
+			if (page == -1) {
+				page = 0;
+				for (int i = 1, n = pageUses.length; i < n; i++)
+					if (pageUses[i] < pageUses[page]) page = i;
+				requiredPageCleared = true;
+			}
+			Array<Glyph> glyphs = pageGlyphs[page];
+			for (int i = 0, n = glyphs.size; i < n; i++)
+				setGlyph(glyphs.get(i).id, null);
+			glyphs.clear();
+			pageAreas[page] = 0;
+			Pixmap pixmap = packer.getPages().get(page).getPixmap();
+			packer.clearPage(packer.getPages().get(page));
+			upload(page, pixmap, 0, 0);
+			recycledPages++;
+			glyphVersion++;
+		}
+
+		private void createTexture (int page) {
+			Pixmap pixmap = packer.getPages().get(page).getPixmap();
+			Texture texture = new Texture(new PixmapTextureData(pixmap, pixmap.getFormat(), genMipMaps, false, true)) {
+				@Override
+				public void dispose () {
+					super.dispose();
+					getTextureData().consumePixmap().dispose();
+				}
+			};
+			texture.setFilter(minFilter, magFilter);
+			regions[page].setRegion(texture);
+		}
+
+		/** Uploads the pixmap to the page's texture. The texture is managed, its pixmap is the page's pixmap which already
+		 * contains the pixels. */
+		private void upload (int page, Pixmap pixmap, int x, int y) {
+			Texture texture = regions[page].getTexture();
+			if (genMipMaps) {
+				texture.load(texture.getTextureData());
+				return;
+			}
+			texture.bind();
+			Gdx.gl.glTexSubImage2D(GL20.GL_TEXTURE_2D, 0, x, y, pixmap.getWidth(), pixmap.getHeight(), pixmap.getGLFormat(),
+				pixmap.getGLType(), pixmap.getPixels());
+		}
+
+		/** Returns the number of texture pages with glyphs. For incremental fonts, pages are created when glyphs are rendered. */
+		public int getPageCount () {
+			return packer != null ? packer.getPages().size : regions.length;
+		}
+
+		/** Returns the fraction of the pixels of an incremental font's pages which are used by glyphs, or 0 for other fonts. */
+		public float getOccupancy () {
+			if (packer == null) return 0;
+			long area = 0;
+			for (int i = 0, n = pageAreas.length; i < n; i++)
+				area += pageAreas[i];
+			return area / ((float)packer.getPageWidth() * packer.getPageHeight() * packer.getPages().size);
+		}
+
+		/** Returns the number of times a page of an incremental font was cleared to make room for new glyphs. Text laid out before
+		 * must then be laid out again, see {@link BitmapFontData#glyphVersion}. */
+		public int getRecycledPages () {
+			return recycledPages;
+		}
+
 		/**
 		 * Returns the first texture region. Use getTextureRegions() instead
 		 * @return the first texture region in the array
@@ -473,6 +734,20 @@ public class FreeTypeFontGenerator implements Disposable {
 			return regions;
 		}
 	}
+
+	/** A glyph of an incremental font with kerning. Its kerning with the following character is looked up the first time it is
+	 * needed, instead of with every glyph when the glyph is rendered. */
+	static class LazyKerningGlyph extends Glyph {
+		final FreeTypeBitmapFontData data;
+
+		LazyKerningGlyph (FreeTypeBitmapFontData data) {
+			this.data = data;
+		}
+
+		public int getKerning (char ch) {
+			return data.getKerning(id, ch);
+		}
+	}
 	
 	/**
 	 * Parameter container class that helps configure how {@link FreeTypeBitmapFontData} and
@@ -489,7 +764,7 @@ public class FreeTypeFontGenerator implements Disposable {
 	public static class FreeTypeFontParameter {
 		/** The size in pixels */
 		public int size = 16;
-		/** The characters the font should contain */
+		/** The characters the font should contain. For incremental fonts, the characters which are rendered up front. */
 		public String characters = DEFAULT_CHARS;
 		/** The optional PixmapPacker to use */
 		public PixmapPacker packer = null;
@@ -501,5 +776,13 @@ public class FreeTypeFontGenerator implements Disposable {
 		public TextureFilter minFilter = TextureFilter.Nearest;
 		/** Magnification filter */
 		public TextureFilter magFilter = TextureFilter.Nearest;
+		/** Whether glyphs which are not in {@link #characters} are rendered and packed when they are first used. The generator
+		 * must not be disposed while the font is used. Set {@link #characters} to an empty string to render no glyphs up front, eg
+		 * for CJK fonts. Glyphs are uploaded to the textures on the rendering thread when they are first used. */
+		public boolean incremental = false;
+		/** The maximum number of texture pages of an incremental font. When all pages are full, the page whose glyphs were used or
+		 * drawn least recently is cleared and reused, text drawn from it later is laid out again. The glyphs of each text which is
+		 * laid out must fit on the pages, the glyphs of all text on screen should. */
+		public int maxPages = 4;
 	}
 }
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tools.archive;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.util.ArrayList;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.files.PackedArchive;
+import com.badlogic.gdx.files.PackedArchive.Compression;
+import com.badlogic.gdx.tools.FileProcessor;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.compression.Lzma;
+
+/** Packs all files in a directory and its subdirectories into a {@link PackedArchive}. Each file is compressed with the given
+ * compression, files which don't get smaller are stored uncompressed. */
+public class ArchivePacker {
+	static public void process (String inputDirectory, String outputFile, Compression compression) throws Exception {
+		File inputDir = new File(inputDirectory);
+		if (!inputDir.isDirectory()) throw new IllegalArgumentException("Input directory does not exist: " + inputDirectory);
+
+		FileProcessor processor = new FileProcessor() {
+			protected void processFile (Entry entry) throws Exception {
+				addProcessedFile(entry);
+			}
+		};
+		processor.setRecursive(true);
+		ArrayList<FileProcessor.Entry> files = processor.process(inputDir, null);
+
+		Array<PackedArchive.Entry> entries = new Array();
+		Array<byte[]> data = new Array();
+		int offset = 0;
+		long size = 0, stored = 0;
+		for (FileProcessor.Entry file : files) {
+			String name = inputDir.toURI().relativize(file.inputFile.toURI()).getPath();
+			byte[] bytes = new FileHandle(file.inputFile).readBytes();
+			Compression entryCompression = compression;
+			byte[] compressed = compress(bytes, compression);
+			if (compressed.length >= bytes.length) {
+				entryCompression = Compression.none;
+				compressed = bytes;
+			}
+			entries.add(new PackedArchive.Entry(name, entryCompression, offset, compressed.length, bytes.length));
+			data.add(compressed);
+			offset += compressed.length;
+			if (offset < 0) throw new IllegalArgumentException("The archive is too large.");
+			size += bytes.length;
+			stored += compressed.length;
+		}
+
+		DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(outputFile)));
+		try {
+			output.writeInt(PackedArchive.MAGIC);
+			output.writeInt(PackedArchive.VERSION);
+			output.writeInt(entries.size);
+			for (PackedArchive.Entry entry : entries) {
+				output.writeUTF(entry.name);
+				output.writeByte(entry.compression.ordinal());
+				output.writeInt(entry.offset);
+				output.writeInt(entry.length);
+				output.writeInt(entry.size);
+			}
+			for (byte[] bytes : data)
+				output.write(bytes);
+		} finally {
+			output.close();
+		}
+		System.out.println("Packed " + entries.size + " files, " + size + " bytes into " + stored + " bytes: " + outputFile);
+	}
+
+	static private byte[] compress (byte[] bytes, Compression compression) throws Exception {
+		if (bytes.length == 0) return bytes;
+		ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length);
+		switch (compression) {
+		case deflate:
+			Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+			DeflaterOutputStream deflaterOutput = new DeflaterOutputStream(output, deflater);
+			deflaterOutput.write(bytes);
+			deflaterOutput.close();
+			deflater.end();
+			return output.toByteArray();
+		case lzma:
+			Lzma.compress(new ByteArrayInputStream(bytes), output);
+			return output.toByteArray();
+		default:
+			return bytes;
+		}
+	}
+
+	public static void main (String[] args) throws Exception {
+		if (args.length < 2 || args.length > 3) {
+			System.out.println("ArchivePacker <input-dir> <output-file> [none|deflate|lzma]");
+			System.exit(-1);
+		}
+		Compression compression = args.length == 3 ? Compression.valueOf(args[2]) : Compression.deflate;
+		process(args[0], args[1], compression);
+	}
+}
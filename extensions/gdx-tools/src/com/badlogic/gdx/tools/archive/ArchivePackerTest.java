@@ -0,0 +1,104 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tools.archive;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Random;
+
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.files.PackedArchive;
+import com.badlogic.gdx.files.PackedArchive.Compression;
+import com.badlogic.gdx.files.PackedFileHandle;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.StreamUtils;
+
+/** Packs a directory with each {@link Compression} and checks that every file reads back the same from the {@link PackedArchive}
+ * through {@link PackedFileHandle#readBytes()}, {@link PackedFileHandle#read()} and {@link PackedFileHandle#map()}, that the
+ * directories list the same files, and that a packed file doesn't equal the internal file with the same path. */
+public class ArchivePackerTest {
+	public static void main (String[] args) throws Exception {
+		FileHandle input = FileHandle.tempDirectory("archive");
+		FileHandle output = FileHandle.tempDirectory("archive-output");
+		try {
+			ObjectMap<String, byte[]> files = new ObjectMap();
+			Random random = new Random(1234);
+			StringBuilder text = new StringBuilder();
+			for (int i = 0; i < 1000; i++)
+				text.append("line ").append(i % 10).append('\n');
+			files.put("text.txt", text.toString().getBytes("UTF-8"));
+			byte[] noise = new byte[64 * 1024];
+			random.nextBytes(noise);
+			files.put("noise.bin", noise);
+			files.put("empty.txt", new byte[0]);
+			files.put("data/nested/text.txt", text.substring(0, 100).getBytes("UTF-8"));
+			for (ObjectMap.Entry<String, byte[]> entry : files.entries())
+				input.child(entry.key).writeBytes(entry.value, false);
+
+			for (Compression compression : Compression.values()) {
+				FileHandle file = output.child(compression + ".pack");
+				ArchivePacker.process(input.path(), file.path(), compression);
+				check(new PackedArchive(file), files, compression);
+			}
+			System.out.println("All archives read back correctly.");
+		} finally {
+			input.deleteDirectory();
+			output.deleteDirectory();
+		}
+	}
+
+	static private void check (PackedArchive archive, ObjectMap<String, byte[]> files, Compression compression) throws Exception {
+		int count = 0;
+		for (PackedArchive.Entry entry : archive.getEntries()) {
+			// incompressible files are always stored uncompressed
+			if (entry.compression != compression && entry.compression != Compression.none)
+				throw new GdxRuntimeException("Wrong compression: " + entry + " (" + compression + ")");
+			count++;
+		}
+		if (count != files.size) throw new GdxRuntimeException("Wrong number of entries: " + count + " (" + compression + ")");
+
+		for (ObjectMap.Entry<String, byte[]> entry : files.entries()) {
+			PackedFileHandle file = archive.get(entry.key);
+			byte[] expected = entry.value;
+			if (!file.exists() || file.isDirectory() || file.length() != expected.length)
+				throw new GdxRuntimeException("Wrong entry: " + entry.key + " (" + compression + ")");
+			if (!Arrays.equals(file.readBytes(), expected))
+				throw new GdxRuntimeException("readBytes differs: " + entry.key + " (" + compression + ")");
+			if (!Arrays.equals(StreamUtils.copyStreamToByteArray(file.read()), expected))
+				throw new GdxRuntimeException("read differs: " + entry.key + " (" + compression + ")");
+			ByteBuffer buffer = file.map();
+			byte[] mapped = new byte[buffer.remaining()];
+			buffer.get(mapped);
+			if (!Arrays.equals(mapped, expected))
+				throw new GdxRuntimeException("map differs: " + entry.key + " (" + compression + ")");
+		}
+
+		if (archive.get("").list().length != 4 || archive.get("data").list().length != 1
+			|| !archive.get("data/nested").isDirectory() || archive.get("missing.txt").exists())
+			throw new GdxRuntimeException("Wrong directories (" + compression + ")");
+
+		PackedFileHandle packed = archive.get("text.txt");
+		if (!packed.equals(archive.get("/text.txt")) || packed.hashCode() != archive.get("text.txt").hashCode())
+			throw new GdxRuntimeException("Equal packed files are not equal (" + compression + ")");
+		FileHandle internal = new FileHandle("text.txt", FileType.Internal) {
+		};
+		if (packed.equals(internal) || internal.equals(packed))
+			throw new GdxRuntimeException("A packed file equals an internal file (" + compression + ")");
+	}
+}
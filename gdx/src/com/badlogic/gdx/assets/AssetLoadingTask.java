@@ -82,6 +82,8 @@ class AssetLoadingTask implements AsyncTask<Void> {
 	 * @return true in case the asset was fully loaded, false otherwise
 	 * @throws GdxRuntimeException */
 	public boolean update () {
+		// the asset stays loaded while the manager waits for its uploads
+		if (asset != null) return true;
 		ticks++;
 		if (loader instanceof SynchronousAssetLoader) {
 			handleSyncLoader();
@@ -142,6 +144,12 @@ class AssetLoadingTask implements AsyncTask<Void> {
 		}
 	}
 
+	/** Releases what the loader loaded asynchronously for the asset, when the asset is not loaded after all. */
+	void unload () {
+		if (loader instanceof AsynchronousAssetLoader)
+			((AsynchronousAssetLoader)loader).unloadAsync(manager, assetDesc.fileName, resolve(loader, assetDesc), assetDesc.params);
+	}
+
 	private FileHandle resolve (AssetLoader loader, AssetDescriptor assetDesc) {
 		if (assetDesc.file == null) assetDesc.file = loader.resolve(assetDesc.fileName);
 		return assetDesc.file;
@@ -24,6 +24,7 @@ import java.util.concurrent.TimeUnit;
 
 import com.badlogic.gdx.Application;
 import com.badlogic.gdx.assets.loaders.AssetLoader;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
 import com.badlogic.gdx.assets.loaders.BitmapFontLoader;
 import com.badlogic.gdx.assets.loaders.FileHandleResolver;
 import com.badlogic.gdx.assets.loaders.ModelLoader;
@@ -32,13 +33,18 @@ import com.badlogic.gdx.assets.loaders.ParticleEffectLoader;
 import com.badlogic.gdx.assets.loaders.PixmapLoader;
 import com.badlogic.gdx.assets.loaders.SkinLoader;
 import com.badlogic.gdx.assets.loaders.SoundLoader;
+import com.badlogic.gdx.assets.loaders.SynchronousAssetLoader;
 import com.badlogic.gdx.assets.loaders.TextureAtlasLoader;
 import com.badlogic.gdx.assets.loaders.TextureLoader;
 import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
 import com.badlogic.gdx.audio.Music;
 import com.badlogic.gdx.audio.Sound;
+import com.badlogic.gdx.graphics.Mesh;
 import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.graphics.UploadScheduler;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.ParticleEffect;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
@@ -54,6 +60,7 @@ import com.badlogic.gdx.utils.Logger;
 import com.badlogic.gdx.utils.ObjectIntMap;
 import com.badlogic.gdx.utils.ObjectMap;
 import com.badlogic.gdx.utils.ObjectSet;
+import com.badlogic.gdx.utils.OrderedMap;
 import com.badlogic.gdx.utils.TimeUtils;
 import com.badlogic.gdx.utils.UBJsonReader;
 import com.badlogic.gdx.utils.async.AsyncExecutor;
@@ -73,6 +80,18 @@ public class AssetManager implements Disposable {
 	final AsyncExecutor executor;
 
 	final Stack<AssetLoadingTask> tasks = new Stack();
+	final int loadingThreads;
+	final Array<ParallelAssetLoadingTask> parallelTasks = new Array();
+	/** The tasks which currently use a loader that can not load assets concurrently, each task using the same loader is a
+	 * dependency of the previous. */
+	final Array<ParallelAssetLoadingTask> exclusiveTasks = new Array();
+	/** The assets which are no longer referenced but kept until the memory budget is exceeded, least recently unloaded
+	 * first. */
+	final OrderedMap<String, RefCountedContainer> cachedAssets = new OrderedMap();
+	final ObjectMap<String, Class> cachedAssetTypes = new ObjectMap();
+	long memoryBudget, memoryUsed;
+	int cacheHits, cacheMisses, evictions;
+	UploadScheduler uploadScheduler;
 	AssetErrorListener listener = null;
 	int loaded = 0;
 	int toLoad = 0;
@@ -86,6 +105,18 @@ public class AssetManager implements Disposable {
 
 	/** Creates a new AssetManager with all default loaders. */
 	public AssetManager (FileHandleResolver resolver) {
+		this(resolver, 1);
+	}
+
+	/** Creates a new AssetManager with all default loaders, which uses the given number of threads to load assets. With more
+	 * than one thread, the asynchronous parts of assets that do not depend on each other are loaded at the same time, while the
+	 * synchronous parts are still done on the rendering thread by {@link #update()}. Assets are only loaded at the same time with
+	 * loaders that are {@link AssetLoader#isConcurrent() concurrent}, like the {@link TextureLoader} and the
+	 * {@link PixmapLoader}, other loaders each load one asset and its dependencies at a time.
+	 * @param loadingThreads The number of threads, 1 to load one asset at a time. */
+	public AssetManager (FileHandleResolver resolver, int loadingThreads) {
+		if (loadingThreads < 1) throw new IllegalArgumentException("loadingThreads must be > 0: " + loadingThreads);
+		this.loadingThreads = loadingThreads;
 		setLoader(BitmapFont.class, new BitmapFontLoader(resolver));
 		setLoader(Music.class, new MusicLoader(resolver));
 		setLoader(Pixmap.class, new PixmapLoader(resolver));
@@ -97,7 +128,7 @@ public class AssetManager implements Disposable {
 		setLoader(Model.class, ".g3dj", new G3dModelLoader(new JsonReader(), resolver));
 		setLoader(Model.class, ".g3db", new G3dModelLoader(new UBJsonReader(), resolver));
 		setLoader(Model.class, ".obj", new ObjLoader(resolver));
-		executor = new AsyncExecutor(1);
+		executor = new AsyncExecutor(loadingThreads);
 	}
 
 	/** @param fileName the asset file name
@@ -151,6 +182,14 @@ public class AssetManager implements Disposable {
 			return;
 		}
 
+		// check if it's currently loaded by the loading threads and unload it once it is loaded
+		ParallelAssetLoadingTask parallelTask = findParallelTask(fileName);
+		if (parallelTask != null) {
+			parallelTask.unloads++;
+			log.debug("Unload (from tasks): " + fileName);
+			return;
+		}
+
 		// check if it's currently processed (and the first element in the stack, thus not a dependency)
 		// and cancel if necessary
 		if (tasks.size() > 0) {
@@ -162,6 +201,14 @@ public class AssetManager implements Disposable {
 			}
 		}
 
+		unloadAsset(fileName);
+		// evict once the asset and its dependencies are cached, disposing an asset may dispose its dependencies
+		if (memoryBudget > 0) trimCache();
+	}
+
+	/** Decrements the reference count of a loaded asset and its dependencies. Assets which are no longer referenced are disposed,
+	 * or cached if there is a memory budget. */
+	private void unloadAsset (String fileName) {
 		// get the asset and its type
 		Class type = assetTypes.get(fileName);
 		if (type == null) throw new GdxRuntimeException("Asset not loaded: " + fileName);
@@ -171,10 +218,17 @@ public class AssetManager implements Disposable {
 		// if it is reference counted, decrement ref count and check if we can really get rid of it.
 		assetRef.decRefCount();
 		if (assetRef.getRefCount() <= 0) {
-			log.debug("Unload (dispose): " + fileName);
+			if (memoryBudget > 0) {
+				log.debug("Unload (cache): " + fileName);
+				cachedAssets.put(fileName, assetRef);
+				cachedAssetTypes.put(fileName, type);
+			} else {
+				log.debug("Unload (dispose): " + fileName);
 
-			// if it is disposable dispose it
-			if (assetRef.getObject(Object.class) instanceof Disposable) ((Disposable)assetRef.getObject(Object.class)).dispose();
+				// if it is disposable dispose it
+				if (assetRef.getObject(Object.class) instanceof Disposable) ((Disposable)assetRef.getObject(Object.class)).dispose();
+				memoryUsed -= assetRef.size;
+			}
 
 			// remove the asset from the manager.
 			assetTypes.remove(fileName);
@@ -187,11 +241,11 @@ public class AssetManager implements Disposable {
 		Array<String> dependencies = assetDependencies.get(fileName);
 		if (dependencies != null) {
 			for (String dependency : dependencies) {
-				unload(dependency);
+				unloadAsset(dependency);
 			}
 		}
-		// remove dependencies if ref count < 0
-		if (assetRef.getRefCount() <= 0) {
+		// remove dependencies if ref count < 0, cached assets keep them to be loaded again from the cache
+		if (assetRef.getRefCount() <= 0 && !cachedAssets.containsKey(fileName)) {
 			assetDependencies.remove(fileName);
 		}
 	}
@@ -280,8 +334,8 @@ public class AssetManager implements Disposable {
 		AssetLoader loader = getLoader(type, fileName);
 		if (loader == null) throw new GdxRuntimeException("No loader for type: " + ClassReflection.getSimpleName(type));
 
-		// reset stats
-		if (loadQueue.size == 0) {
+		// reset stats, unless assets are still being loaded
+		if (loadQueue.size == 0 && tasks.size() == 0 && parallelTasks.size == 0) {
 			loaded = 0;
 			toLoad = 0;
 		}
@@ -306,6 +360,14 @@ public class AssetManager implements Disposable {
 					+ ClassReflection.getSimpleName(desc.type) + ")");
 		}
 
+		for (int i = 0; i < parallelTasks.size; i++) {
+			AssetDescriptor desc = parallelTasks.get(i).assetDesc;
+			if (desc.fileName.equals(fileName) && !desc.type.equals(type))
+				throw new GdxRuntimeException("Asset with name '" + fileName
+					+ "' already in task list, but has different type (expected: " + ClassReflection.getSimpleName(type) + ", found: "
+					+ ClassReflection.getSimpleName(desc.type) + ")");
+		}
+
 		// check loaded assets
 		Class otherType = assetTypes.get(fileName);
 		if (otherType != null && !otherType.equals(type))
@@ -339,9 +401,13 @@ public class AssetManager implements Disposable {
 		if (asset instanceof Disposable) ((Disposable)asset).dispose();
 	}
 
-	/** Updates the AssetManager, keeping it loading any assets in the preload queue.
+	/** Updates the AssetManager, keeping it loading any assets in the preload queue. With more than one loading thread, this
+	 * starts loading all assets that can be loaded at the same time and does the synchronous part of at most one asset, use
+	 * {@link #update(int)} to do as much as possible within a time budget each frame.
 	 * @return true if all loading is finished. */
 	public synchronized boolean update () {
+		if (uploadScheduler != null) uploadScheduler.update();
+		if (loadingThreads > 1) return updateParallel();
 		try {
 			if (tasks.size() == 0) {
 				// loop until we have a new task ready to be processed
@@ -406,6 +472,10 @@ public class AssetManager implements Disposable {
 			assetRef.incRefCount();
 			incrementRefCountedDependencies(dependendAssetDesc.fileName);
 		}
+		// else take it from the cache
+		else if (loadCached(dependendAssetDesc)) {
+			log.debug("Dependency loaded from cache: " + dependendAssetDesc);
+		}
 		// else add a new task for the asset.
 		else {
 			log.info("Loading dependency: " + dependendAssetDesc);
@@ -426,6 +496,9 @@ public class AssetManager implements Disposable {
 			assetRef.incRefCount();
 			incrementRefCountedDependencies(assetDesc.fileName);
 			loaded++;
+		} else if (loadCached(assetDesc)) {
+			log.debug("Loaded from cache: " + assetDesc);
+			loaded++;
 		} else {
 			// else add a new task for the asset.
 			log.info("Loading: " + assetDesc);
@@ -439,6 +512,7 @@ public class AssetManager implements Disposable {
 		AssetLoader loader = getLoader(assetDesc.type, assetDesc.fileName);
 		if (loader == null) throw new GdxRuntimeException("No loader for type: " + ClassReflection.getSimpleName(assetDesc.type));
 		tasks.push(new AssetLoadingTask(this, assetDesc, loader, executor));
+		cacheMisses++;
 	}
 
 	/** Adds an asset to this AssetManager */
@@ -452,15 +526,20 @@ public class AssetManager implements Disposable {
 			typeToAssets = new ObjectMap<String, RefCountedContainer>();
 			assets.put(type, typeToAssets);
 		}
-		typeToAssets.put(fileName, new RefCountedContainer(asset));
+		RefCountedContainer assetRef = new RefCountedContainer(asset);
+		assetRef.size = getAssetSize(fileName, type, asset);
+		typeToAssets.put(fileName, assetRef);
+
+		memoryUsed += assetRef.size;
+		if (memoryBudget > 0) trimCache();
 	}
 
 	/** Updates the current task on the top of the task stack.
 	 * @return true if the asset is loaded. */
 	private boolean updateTask () {
 		AssetLoadingTask task = tasks.peek();
-		// if the task has finished loading
-		if (task.update()) {
+		// if the task has finished loading and the uploads scheduled by its loader are done
+		if (task.update() && !isUploading(task.getAsset())) {
 			addAsset(task.assetDesc.fileName, task.assetDesc.type, task.getAsset());
 
 			// increase the number of loaded assets and pop the task from the stack
@@ -498,6 +577,440 @@ public class AssetManager implements Disposable {
 		}
 	}
 
+	/** Updates the loading with more than one loading thread. Moves the assets from the queue to the tasks, starts the tasks
+	 * which can be started, collects the results of the loading threads and does the synchronous part of at most one asset.
+	 * @return true if all loading is finished. */
+	private boolean updateParallel () {
+		while (loadQueue.size > 0)
+			nextParallelTask();
+		breakCircularWait();
+
+		Array<ParallelAssetLoadingTask> tasks = parallelTasks;
+		// Limit the tasks using a loading thread or waiting for the rendering thread, so the loaded data waiting to be finished
+		// by the rendering thread doesn't pile up.
+		int maxRunning = loadingThreads * 2, running = 0;
+		for (int i = 0; i < tasks.size; i++) {
+			int stage = tasks.get(i).stage;
+			if (stage == ParallelAssetLoadingTask.DEPENDENCIES || stage == ParallelAssetLoadingTask.ASYNC
+				|| stage == ParallelAssetLoadingTask.SYNC || stage == ParallelAssetLoadingTask.UPLOAD) running++;
+		}
+		boolean synced = false;
+		for (int i = 0; i < tasks.size; i++) {
+			ParallelAssetLoadingTask task = tasks.get(i);
+			try {
+				switch (task.stage) {
+				case ParallelAssetLoadingTask.NEW:
+					if (running >= maxRunning || !acquireLoader(task)) break;
+					running++;
+					if (task.loader instanceof SynchronousAssetLoader) {
+						AssetDescriptor assetDesc = task.assetDesc;
+						task.dependencies = task.loader.getDependencies(assetDesc.fileName, task.resolve(), assetDesc.params);
+						injectParallelDependencies(task);
+					} else {
+						task.stage = ParallelAssetLoadingTask.DEPENDENCIES;
+						task.future = executor.submit(task);
+					}
+					break;
+				case ParallelAssetLoadingTask.DEPENDENCIES:
+					if (!task.future.isDone()) break;
+					task.future.get();
+					injectParallelDependencies(task);
+					break;
+				case ParallelAssetLoadingTask.READY:
+					if (running >= maxRunning) break;
+					running++;
+					task.stage = ParallelAssetLoadingTask.ASYNC;
+					task.future = executor.submit(task);
+					break;
+				case ParallelAssetLoadingTask.ASYNC:
+					if (!task.future.isDone()) break;
+					task.future.get();
+					task.stage = ParallelAssetLoadingTask.SYNC;
+					break;
+				}
+				if (task.stage == ParallelAssetLoadingTask.SYNC && task.unloads >= task.refCount) {
+					// the asset was unloaded while it was loading, release it instead of finishing it
+					log.debug("Unload (canceled): " + task.assetDesc);
+					removeParallelTask(task);
+					i--;
+					continue;
+				}
+				if (task.stage == ParallelAssetLoadingTask.SYNC && !synced) {
+					synced = true;
+					loadParallelTaskSync(task);
+				}
+				if (task.stage == ParallelAssetLoadingTask.UPLOAD && !isUploading(task.asset)) {
+					finishParallelTask(task);
+					i--;
+				}
+			} catch (Throwable t) {
+				handleParallelTaskError(task, t);
+				return false;
+			}
+		}
+		return loadQueue.size == 0 && tasks.size == 0;
+	}
+
+	/** Removes an asset from the loadQueue and adds a task for it. If the asset is already loaded its reference count is
+	 * increased, if it is already being loaded the reference count it gets once loaded is increased. */
+	private void nextParallelTask () {
+		AssetDescriptor assetDesc = loadQueue.removeIndex(0);
+		if (isLoaded(assetDesc.fileName)) {
+			log.debug("Already loaded: " + assetDesc);
+			Class type = assetTypes.get(assetDesc.fileName);
+			RefCountedContainer assetRef = assets.get(type).get(assetDesc.fileName);
+			assetRef.incRefCount();
+			incrementRefCountedDependencies(assetDesc.fileName);
+			loaded++;
+			return;
+		}
+		if (loadCached(assetDesc)) {
+			log.debug("Loaded from cache: " + assetDesc);
+			loaded++;
+			return;
+		}
+		ParallelAssetLoadingTask task = findParallelTask(assetDesc.fileName);
+		if (task != null) {
+			log.debug("Already loading: " + assetDesc);
+			task.refCount++;
+		} else {
+			log.info("Loading: " + assetDesc);
+			task = addParallelTask(assetDesc);
+		}
+		task.queued++;
+	}
+
+	private ParallelAssetLoadingTask addParallelTask (AssetDescriptor assetDesc) {
+		AssetLoader loader = getLoader(assetDesc.type, assetDesc.fileName);
+		if (loader == null) throw new GdxRuntimeException("No loader for type: " + ClassReflection.getSimpleName(assetDesc.type));
+		ParallelAssetLoadingTask task = new ParallelAssetLoadingTask(this, assetDesc, loader);
+		parallelTasks.add(task);
+		cacheMisses++;
+		return task;
+	}
+
+	private ParallelAssetLoadingTask findParallelTask (String fileName) {
+		Array<ParallelAssetLoadingTask> tasks = parallelTasks;
+		for (int i = 0; i < tasks.size; i++) {
+			ParallelAssetLoadingTask task = tasks.get(i);
+			if (task.assetDesc.fileName.equals(fileName)) return task;
+		}
+		return null;
+	}
+
+	/** Loaders which are not {@link AssetLoader#isConcurrent() concurrent} keep the state of an asset between getting its
+	 * dependencies and loading it, so each such loader is used by one task until it is loaded. A task is only started while all
+	 * other tasks using its loader depend on it, like with one loading thread. Tasks using different loaders are loaded at the
+	 * same time, see {@link #breakCircularWait()}.
+	 * @return false if the task has to wait. */
+	private boolean acquireLoader (ParallelAssetLoadingTask task) {
+		if (!canAcquireLoader(task)) return false;
+		if (!task.loader.isConcurrent()) exclusiveTasks.add(task);
+		return true;
+	}
+
+	private boolean canAcquireLoader (ParallelAssetLoadingTask task) {
+		if (task.loader.isConcurrent()) return true;
+		Array<ParallelAssetLoadingTask> exclusiveTasks = this.exclusiveTasks;
+		for (int i = 0; i < exclusiveTasks.size; i++) {
+			ParallelAssetLoadingTask other = exclusiveTasks.get(i);
+			if (other.loader == task.loader && !task.isDependencyOf(other)) return false;
+		}
+		return true;
+	}
+
+	/** A task waiting for its dependencies keeps its loader, so tasks using different loaders can wait for each other, eg when a
+	 * dependency of one task waits for the loader of another task which waits for a dependency using the loader of the first.
+	 * When no task can make progress, the waiting tasks using the loader of the first task that can't be started release it.
+	 * Once their dependencies are loaded, they wait for the loader again and get their dependencies again to restore the state
+	 * of the loader. */
+	private void breakCircularWait () {
+		Array<ParallelAssetLoadingTask> tasks = parallelTasks;
+		ParallelAssetLoadingTask blocked = null;
+		for (int i = 0; i < tasks.size; i++) {
+			ParallelAssetLoadingTask task = tasks.get(i);
+			if (task.stage == ParallelAssetLoadingTask.WAITING) continue;
+			if (task.stage != ParallelAssetLoadingTask.NEW || canAcquireLoader(task)) return;
+			if (blocked == null) blocked = task;
+		}
+		if (blocked == null) return;
+		Array<ParallelAssetLoadingTask> exclusiveTasks = this.exclusiveTasks;
+		for (int i = exclusiveTasks.size - 1; i >= 0; i--) {
+			ParallelAssetLoadingTask task = exclusiveTasks.get(i);
+			if (task.loader == blocked.loader && !blocked.isDependencyOf(task)) {
+				log.debug("Release loader: " + task.assetDesc);
+				task.released = true;
+				exclusiveTasks.removeIndex(i);
+			}
+		}
+	}
+
+	/** Adds the dependencies of the task, which are not loaded or being loaded yet, as new tasks. */
+	private void injectParallelDependencies (ParallelAssetLoadingTask task) {
+		Array<AssetDescriptor> dependencies = task.dependencies;
+		// a task which released its loader gets its dependencies again only to restore the state of the loader
+		if (dependencies != null && !task.released) {
+			String parentAssetFilename = task.assetDesc.fileName;
+			ObjectSet<String> injected = this.injected;
+			for (AssetDescriptor desc : dependencies) {
+				if (injected.contains(desc.fileName)) continue; // Ignore subsequent dependencies if there are duplicates.
+				injected.add(desc.fileName);
+
+				Array<String> parentDependencies = assetDependencies.get(parentAssetFilename);
+				if (parentDependencies == null) {
+					parentDependencies = new Array();
+					assetDependencies.put(parentAssetFilename, parentDependencies);
+				}
+				parentDependencies.add(desc.fileName);
+
+				if (isLoaded(desc.fileName)) {
+					log.debug("Dependency already loaded: " + desc);
+					Class type = assetTypes.get(desc.fileName);
+					RefCountedContainer assetRef = assets.get(type).get(desc.fileName);
+					assetRef.incRefCount();
+					incrementRefCountedDependencies(desc.fileName);
+					continue;
+				}
+				if (loadCached(desc)) {
+					log.debug("Dependency loaded from cache: " + desc);
+					continue;
+				}
+				ParallelAssetLoadingTask dependency = findParallelTask(desc.fileName);
+				if (dependency != null) {
+					log.debug("Dependency already loading: " + desc);
+					dependency.refCount++;
+				} else {
+					log.info("Loading dependency: " + desc);
+					dependency = addParallelTask(desc);
+				}
+				dependency.dependents.add(task);
+				task.pendingDependencies++;
+			}
+			injected.clear();
+		}
+		task.released = false;
+		if (task.pendingDependencies > 0)
+			task.stage = ParallelAssetLoadingTask.WAITING;
+		else if (task.asyncDone || task.loader instanceof SynchronousAssetLoader)
+			task.stage = ParallelAssetLoadingTask.SYNC;
+		else
+			task.stage = ParallelAssetLoadingTask.READY;
+	}
+
+	/** Does the synchronous part of loading the asset of the task. */
+	private void loadParallelTaskSync (ParallelAssetLoadingTask task) {
+		AssetDescriptor assetDesc = task.assetDesc;
+		Object asset;
+		if (task.loader instanceof SynchronousAssetLoader)
+			asset = ((SynchronousAssetLoader)task.loader).load(this, assetDesc.fileName, task.resolve(), assetDesc.params);
+		else
+			asset = ((AsynchronousAssetLoader)task.loader).loadSync(this, assetDesc.fileName, task.resolve(), assetDesc.params);
+		if (asset == null) throw new GdxRuntimeException("Couldn't load asset: " + assetDesc.fileName);
+		task.asset = asset;
+		task.stage = ParallelAssetLoadingTask.UPLOAD;
+	}
+
+	/** @return whether the upload of a texture or mesh of the asset is scheduled with the {@link UploadScheduler} and not done
+	 *         yet. */
+	private boolean isUploading (Object asset) {
+		UploadScheduler uploadScheduler = this.uploadScheduler;
+		if (uploadScheduler == null) return false;
+		if (asset instanceof Model) {
+			for (Mesh mesh : ((Model)asset).meshes)
+				if (uploadScheduler.isPending(mesh)) return true;
+			return false;
+		}
+		return uploadScheduler.isPending(asset);
+	}
+
+	/** Adds the loaded asset of the task. */
+	private void finishParallelTask (ParallelAssetLoadingTask task) {
+		AssetDescriptor assetDesc = task.assetDesc;
+		parallelTasks.removeValue(task, true);
+		exclusiveTasks.removeValue(task, true);
+		addAsset(assetDesc.fileName, assetDesc.type, task.asset);
+		assets.get(assetDesc.type).get(assetDesc.fileName).setRefCount(task.refCount);
+		for (int i = 1; i < task.refCount; i++)
+			incrementRefCountedDependencies(assetDesc.fileName);
+		loaded += task.queued;
+
+		for (int i = 0; i < task.dependents.size; i++) {
+			ParallelAssetLoadingTask dependent = task.dependents.get(i);
+			if (--dependent.pendingDependencies == 0) {
+				if (dependent.released)
+					dependent.stage = ParallelAssetLoadingTask.NEW;
+				else
+					dependent.stage = dependent.loader instanceof SynchronousAssetLoader ? ParallelAssetLoadingTask.SYNC
+						: ParallelAssetLoadingTask.READY;
+			}
+		}
+
+		if (assetDesc.params != null && assetDesc.params.loadedCallback != null)
+			assetDesc.params.loadedCallback.finishedLoading(this, assetDesc.fileName, assetDesc.type);
+		if (log.getLevel() == Logger.DEBUG)
+			log.debug("Loaded: " + (TimeUtils.nanoTime() - task.startTime) / 1000000f + "ms " + assetDesc);
+
+		for (int i = 0; i < task.unloads; i++)
+			unload(assetDesc.fileName);
+	}
+
+	/** Handles an error loading the asset of the task by removing it and the tasks which depend on it and optionally invoking
+	 * the {@link AssetErrorListener}. */
+	private void handleParallelTaskError (ParallelAssetLoadingTask task, Throwable t) {
+		log.error("Error loading asset.", t);
+		removeParallelTask(task);
+		if (listener != null) {
+			listener.error(task.assetDesc, t);
+		} else {
+			throw new GdxRuntimeException(t);
+		}
+	}
+
+	private void removeParallelTask (ParallelAssetLoadingTask task) {
+		if (!parallelTasks.removeValue(task, true)) return;
+		exclusiveTasks.removeValue(task, true);
+		task.unload();
+		toLoad -= task.queued;
+
+		// remove all dependencies, or unload them once they are loaded
+		String fileName = task.assetDesc.fileName;
+		Array<String> dependencies = assetDependencies.remove(fileName);
+		if (dependencies != null) {
+			for (String dependency : dependencies) {
+				ParallelAssetLoadingTask dependencyTask = findParallelTask(dependency);
+				if (dependencyTask != null)
+					dependencyTask.unloads++;
+				else if (isLoaded(dependency))
+					unload(dependency);
+			}
+		}
+
+		// the assets which depend on the asset can't be loaded either
+		for (int i = 0; i < task.dependents.size; i++)
+			removeParallelTask(task.dependents.get(i));
+	}
+
+	/** Loads an asset from the cache of unloaded assets, with a reference count of one, and its dependencies.
+	 * @return false if the asset is not cached. */
+	private boolean loadCached (AssetDescriptor assetDesc) {
+		String fileName = assetDesc.fileName;
+		Class type = cachedAssetTypes.get(fileName);
+		if (type == null) return false;
+		if (type != assetDesc.type) {
+			evict(fileName);
+			return false;
+		}
+		RefCountedContainer assetRef = cachedAssets.remove(fileName);
+		cachedAssetTypes.remove(fileName);
+		assetRef.setRefCount(1);
+		assetTypes.put(fileName, type);
+		ObjectMap<String, RefCountedContainer> typeToAssets = assets.get(type);
+		if (typeToAssets == null) {
+			typeToAssets = new ObjectMap<String, RefCountedContainer>();
+			assets.put(type, typeToAssets);
+		}
+		typeToAssets.put(fileName, assetRef);
+		cacheHits++;
+
+		// a cached asset's dependencies are loaded or cached, assets are evicted before their dependencies
+		Array<String> dependencies = assetDependencies.get(fileName);
+		if (dependencies != null) {
+			for (String dependency : dependencies) {
+				Class dependencyType = assetTypes.get(dependency);
+				if (dependencyType != null) {
+					assets.get(dependencyType).get(dependency).incRefCount();
+					incrementRefCountedDependencies(dependency);
+				} else if (!loadCached(new AssetDescriptor(dependency, cachedAssetTypes.get(dependency)))) {
+					throw new GdxRuntimeException("Dependency not loaded: " + dependency);
+				}
+			}
+		}
+		return true;
+	}
+
+	/** Evicts the least recently unloaded assets until the memory used is within the budget, or all if there is no budget. */
+	private void trimCache () {
+		while (cachedAssets.size > 0 && (memoryBudget <= 0 || memoryUsed > memoryBudget))
+			evict(cachedAssets.orderedKeys().first());
+	}
+
+	/** Disposes a cached asset, the cached assets which depend on it and its cached dependencies which no other cached asset
+	 * depends on. */
+	private void evict (String fileName) {
+		for (String dependent = findCachedDependent(fileName); dependent != null; dependent = findCachedDependent(fileName))
+			evict(dependent);
+
+		RefCountedContainer assetRef = cachedAssets.remove(fileName);
+		// the last dependent evicted the asset along with its own dependencies
+		if (assetRef == null) return;
+		cachedAssetTypes.remove(fileName);
+		log.debug("Evict: " + fileName);
+		if (assetRef.getObject(Object.class) instanceof Disposable) ((Disposable)assetRef.getObject(Object.class)).dispose();
+		memoryUsed -= assetRef.size;
+		evictions++;
+
+		Array<String> dependencies = assetDependencies.remove(fileName);
+		if (dependencies == null) return;
+		for (String dependency : dependencies)
+			if (cachedAssets.containsKey(dependency) && findCachedDependent(dependency) == null) evict(dependency);
+	}
+
+	/** @return a cached asset which depends on the asset, or null. */
+	private String findCachedDependent (String fileName) {
+		for (String cached : cachedAssets.keys()) {
+			Array<String> dependencies = assetDependencies.get(cached);
+			if (dependencies != null && dependencies.contains(fileName, false)) return cached;
+		}
+		return null;
+	}
+
+	/** Returns the estimated number of bytes an asset uses, which is counted against the {@link #setMemoryBudget(long) memory
+	 * budget}. The default implementation knows about {@link Texture}, {@link Pixmap}, {@link Mesh} and {@link Model}, other
+	 * assets count as 0 bytes. The memory of an asset's dependencies is counted for the dependencies.
+	 * @param fileName the file name of the asset
+	 * @param type the type the asset was loaded as
+	 * @param asset the asset */
+	protected long getAssetSize (String fileName, Class type, Object asset) {
+		if (asset instanceof Texture) {
+			Texture texture = (Texture)asset;
+			TextureData data = texture.getTextureData();
+			long size = (long)texture.getWidth() * texture.getHeight() * getBytesPerPixel(data.getFormat());
+			return data.useMipMaps() ? size * 4 / 3 : size;
+		}
+		if (asset instanceof Pixmap) {
+			Pixmap pixmap = (Pixmap)asset;
+			return (long)pixmap.getWidth() * pixmap.getHeight() * getBytesPerPixel(pixmap.getFormat());
+		}
+		if (asset instanceof Mesh) return getMeshSize((Mesh)asset);
+		if (asset instanceof Model) {
+			long size = 0;
+			for (Mesh mesh : ((Model)asset).meshes)
+				size += getMeshSize(mesh);
+			return size;
+		}
+		return 0;
+	}
+
+	private long getMeshSize (Mesh mesh) {
+		return (long)mesh.getNumVertices() * mesh.getVertexSize() + mesh.getNumIndices() * 2;
+	}
+
+	private int getBytesPerPixel (Format format) {
+		switch (format) {
+		case Alpha:
+		case Intensity:
+			return 1;
+		case LuminanceAlpha:
+		case RGB565:
+		case RGBA4444:
+			return 2;
+		case RGB888:
+			return 3;
+		default:
+			return 4;
+		}
+	}
+
 	/** Handles a runtime/loading error in {@link #update()} by optionally invoking the {@link AssetErrorListener}.
 	 * @param t */
 	private void handleTaskError (Throwable t) {
@@ -508,6 +1021,7 @@ public class AssetManager implements Disposable {
 		// pop the faulty task from the stack
 		AssetLoadingTask task = tasks.pop();
 		AssetDescriptor assetDesc = task.assetDesc;
+		task.unload();
 
 		// remove all dependencies
 		if (task.dependenciesLoaded && task.dependencies != null) {
@@ -517,6 +1031,8 @@ public class AssetManager implements Disposable {
 		}
 
 		// clear the rest of the stack
+		for (AssetLoadingTask otherTask : tasks)
+			otherTask.unload();
 		tasks.clear();
 
 		// inform the listener that something bad happened
@@ -555,7 +1071,7 @@ public class AssetManager implements Disposable {
 
 	/** @return the number of currently queued assets */
 	public synchronized int getQueuedAssets () {
-		return loadQueue.size + (tasks.size());
+		return loadQueue.size + tasks.size() + parallelTasks.size;
 	}
 
 	/** @return the progress in percent of completion. */
@@ -610,13 +1126,34 @@ public class AssetManager implements Disposable {
 			}
 		}
 
+		while (cachedAssets.size > 0)
+			evict(cachedAssets.orderedKeys().first());
+
 		this.assets.clear();
 		this.assetTypes.clear();
 		this.assetDependencies.clear();
+		this.memoryUsed = 0;
 		this.loaded = 0;
 		this.toLoad = 0;
 		this.loadQueue.clear();
 		this.tasks.clear();
+		this.parallelTasks.clear();
+		this.exclusiveTasks.clear();
+	}
+
+	/** Sets the scheduler used by loaders to upload large textures and meshes over several frames, like the
+	 * {@link TextureLoader} and the {@link ModelLoader}s. Each {@link #update()} updates the scheduler, an asset is only added
+	 * once the upload of its own textures and meshes is done, other assets are added meanwhile. Use {@link #update(int)} to load
+	 * as much as possible within a time budget each frame, the scheduler's budget limits the time of each update spent uploading.
+	 * @param uploadScheduler the scheduler or null to upload right away (the default) */
+	public synchronized void setUploadScheduler (UploadScheduler uploadScheduler) {
+		this.uploadScheduler = uploadScheduler;
+	}
+
+	/** @return the scheduler used by loaders to upload large textures and meshes, or null.
+	 * @see #setUploadScheduler(UploadScheduler) */
+	public synchronized UploadScheduler getUploadScheduler () {
+		return uploadScheduler;
 	}
 
 	/** @return the {@link Logger} used by the {@link AssetManager} */
@@ -644,7 +1181,32 @@ public class AssetManager implements Disposable {
 		assets.get(type).get(fileName).setRefCount(refCount);
 	}
 
-	/** @return a string containg ref count and dependency information for all assets. */
+	/** Sets the number of bytes the loaded and cached assets may use, as estimated by
+	 * {@link #getAssetSize(String, Class, Object)}. With a budget, assets which are unloaded and no longer referenced are not
+	 * disposed right away but cached. When the budget is exceeded, the least recently unloaded assets are disposed. Loading a
+	 * cached asset again takes it from the cache instead of loading it from its file. Assets which are still referenced are never
+	 * disposed, so the memory used may exceed the budget.
+	 * @param memoryBudget the budget in bytes, 0 to dispose unloaded assets right away (the default) */
+	public synchronized void setMemoryBudget (long memoryBudget) {
+		if (memoryBudget < 0) throw new IllegalArgumentException("memoryBudget must be >= 0: " + memoryBudget);
+		this.memoryBudget = memoryBudget;
+		trimCache();
+	}
+
+	/** @return the memory budget in bytes, 0 if unloaded assets are disposed right away.
+	 * @see #setMemoryBudget(long) */
+	public synchronized long getMemoryBudget () {
+		return memoryBudget;
+	}
+
+	/** @return the estimated number of bytes used by the loaded and cached assets.
+	 * @see #setMemoryBudget(long) */
+	public synchronized long getMemoryUsed () {
+		return memoryUsed;
+	}
+
+	/** @return a string containg ref count and dependency information for all assets, and the cache statistics if there is a
+	 *         {@link #setMemoryBudget(long) memory budget}. */
 	public synchronized String getDiagnostics () {
 		StringBuffer buffer = new StringBuffer();
 		for (String fileName : assetTypes.keys()) {
@@ -670,6 +1232,21 @@ public class AssetManager implements Disposable {
 			}
 			buffer.append("\n");
 		}
+		if (memoryBudget > 0) {
+			buffer.append("memory: ");
+			buffer.append(memoryUsed);
+			buffer.append(" of ");
+			buffer.append(memoryBudget);
+			buffer.append(" bytes, cached: ");
+			buffer.append(cachedAssets.size);
+			buffer.append(", hits: ");
+			buffer.append(cacheHits);
+			buffer.append(", misses: ");
+			buffer.append(cacheMisses);
+			buffer.append(", evictions: ");
+			buffer.append(evictions);
+			buffer.append("\n");
+		}
 		return buffer.toString();
 	}
 
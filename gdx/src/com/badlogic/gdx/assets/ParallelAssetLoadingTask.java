@@ -0,0 +1,114 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.assets;
+
+import com.badlogic.gdx.assets.loaders.AssetLoader;
+import com.badlogic.gdx.assets.loaders.AsynchronousAssetLoader;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.UploadScheduler;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Logger;
+import com.badlogic.gdx.utils.TimeUtils;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+/** The state of an asset loaded by an {@link AssetManager} with more than one loading thread. The manager moves the task through
+ * the stages on the rendering thread, the {@link AsynchronousAssetLoader} methods are called by {@link #call()} on a loading
+ * thread. */
+class ParallelAssetLoadingTask implements AsyncTask<Void> {
+	/** Not started, waiting for a free loading thread or for the loader. */
+	static final int NEW = 0;
+	/** {@link AssetLoader#getDependencies(String, FileHandle, AssetLoaderParameters)} is running on a loading thread. */
+	static final int DEPENDENCIES = 1;
+	/** Waiting for the dependencies to be loaded. */
+	static final int WAITING = 2;
+	/** The dependencies are loaded, the asynchronous part was not started yet. */
+	static final int READY = 3;
+	/** {@link AsynchronousAssetLoader#loadAsync(AssetManager, String, FileHandle, AssetLoaderParameters)} is running on a loading
+	 * thread. */
+	static final int ASYNC = 4;
+	/** Waiting for the synchronous part to be done on the rendering thread. */
+	static final int SYNC = 5;
+	/** The asset is loaded, waiting for the uploads its loader scheduled with the manager's {@link UploadScheduler}. */
+	static final int UPLOAD = 6;
+
+	final AssetManager manager;
+	final AssetDescriptor assetDesc;
+	final AssetLoader loader;
+	final long startTime;
+
+	volatile int stage = NEW;
+	volatile AsyncResult<Void> future;
+	volatile Array<AssetDescriptor> dependencies;
+	volatile boolean asyncDone;
+	Object asset;
+	/** Whether the task gave up its loader while waiting for its dependencies, to break a circular wait between tasks using
+	 * different loaders. The state of the loader is restored by getting the dependencies again, which are not added again. */
+	boolean released;
+
+	/** The tasks of the assets which depend on this asset. */
+	final Array<ParallelAssetLoadingTask> dependents = new Array();
+	/** The number of dependencies which are not loaded yet. */
+	int pendingDependencies;
+	/** The reference count of the asset once it is loaded, one for each dependent and each time it was queued. */
+	int refCount = 1;
+	/** The number of times the asset was queued with {@link AssetManager#load(AssetDescriptor)}, each counts for the progress. */
+	int queued;
+	/** The number of times the asset has to be unloaded once it is loaded, because it was unloaded or a dependent failed to load
+	 * while it was loading. */
+	int unloads;
+
+	ParallelAssetLoadingTask (AssetManager manager, AssetDescriptor assetDesc, AssetLoader loader) {
+		this.manager = manager;
+		this.assetDesc = assetDesc;
+		this.loader = loader;
+		startTime = manager.log.getLevel() == Logger.DEBUG ? TimeUtils.nanoTime() : 0;
+	}
+
+	/** Gets the dependencies of the asset if they are not known yet and loads the asynchronous part of the asset if it has no
+	 * dependencies or they are loaded. */
+	@Override
+	public Void call () throws Exception {
+		AsynchronousAssetLoader asyncLoader = (AsynchronousAssetLoader)loader;
+		if (stage == DEPENDENCIES) {
+			dependencies = asyncLoader.getDependencies(assetDesc.fileName, resolve(), assetDesc.params);
+			if (dependencies != null) return null;
+		}
+		asyncLoader.loadAsync(manager, assetDesc.fileName, resolve(), assetDesc.params);
+		asyncDone = true;
+		return null;
+	}
+
+	/** Releases what the loader loaded asynchronously for the asset, when the asset is not loaded after all. */
+	void unload () {
+		if (asyncDone) ((AsynchronousAssetLoader)loader).unloadAsync(manager, assetDesc.fileName, resolve(), assetDesc.params);
+	}
+
+	FileHandle resolve () {
+		if (assetDesc.file == null) assetDesc.file = loader.resolve(assetDesc.fileName);
+		return assetDesc.file;
+	}
+
+	/** @return Whether this task's asset is a direct or indirect dependency of the other task's asset. */
+	boolean isDependencyOf (ParallelAssetLoadingTask task) {
+		for (int i = 0, n = dependents.size; i < n; i++) {
+			ParallelAssetLoadingTask dependent = dependents.get(i);
+			if (dependent == task || dependent.isDependencyOf(task)) return true;
+		}
+		return false;
+	}
+}
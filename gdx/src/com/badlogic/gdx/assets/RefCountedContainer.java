@@ -19,6 +19,8 @@ package com.badlogic.gdx.assets;
 public class RefCountedContainer {
 	Object object;
 	int refCount = 1;
+	/** The estimated number of bytes used by the object, see {@link AssetManager#getAssetSize(String, Class, Object)}. */
+	long size;
 
 	public RefCountedContainer (Object object) {
 		if (object == null) throw new IllegalArgumentException("Object must not be null");
@@ -18,6 +18,7 @@ package com.badlogic.gdx.assets.loaders;
 
 import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.assets.AssetLoaderParameters;
+import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.utils.Array;
 
@@ -48,4 +49,12 @@ public abstract class AssetLoader<T, P extends AssetLoaderParameters<T>> {
 	 * @param parameter parameters for loading the asset
 	 * @return other assets that the asset depends on and need to be loaded first or null if there are no dependencies. */
 	public abstract Array<AssetDescriptor> getDependencies (String fileName, FileHandle file, P parameter);
+
+	/** Returns whether the loader can load multiple assets at the same time, when an {@link AssetManager} uses more than one
+	 * loading thread. Most loaders keep the state of the asset being loaded in fields between the calls for that asset, so the
+	 * manager uses such a loader for one asset at a time.
+	 * @return false by default. */
+	public boolean isConcurrent () {
+		return false;
+	}
 }
@@ -45,4 +45,14 @@ public abstract class AsynchronousAssetLoader<T, P extends AssetLoaderParameters
 	 * @param file the resolved file to load
 	 * @param parameter */
 	public abstract T loadSync (AssetManager manager, String fileName, FileHandle file, P parameter);
+
+	/** Called instead of {@link #loadSync(AssetManager, String, FileHandle, AssetLoaderParameters)} if the asset is unloaded or
+	 * fails to load after {@link #loadAsync(AssetManager, String, FileHandle, AssetLoaderParameters)} was called, to release
+	 * what was loaded for the asset. Does nothing by default.
+	 * @param manager
+	 * @param fileName
+	 * @param file the resolved file to load
+	 * @param parameter */
+	public void unloadAsync (AssetManager manager, String fileName, FileHandle file, P parameter) {
+	}
 }
@@ -22,7 +22,9 @@ import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.assets.AssetLoaderParameters;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Mesh;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.UploadScheduler;
 import com.badlogic.gdx.graphics.g3d.Model;
 import com.badlogic.gdx.graphics.g3d.model.data.ModelData;
 import com.badlogic.gdx.graphics.g3d.model.data.ModelMaterial;
@@ -118,6 +120,12 @@ public abstract class ModelLoader<P extends AssetLoaderParameters<Model>> extend
 				disposables.remove();
 			}
 		}
+		// upload the meshes over several frames if the manager spreads the uploads
+		UploadScheduler uploadScheduler = manager.getUploadScheduler();
+		if (uploadScheduler != null) {
+			for (Mesh mesh : result.meshes)
+				uploadScheduler.upload(mesh);
+		}
 		data = null;
 		return result;
 	}
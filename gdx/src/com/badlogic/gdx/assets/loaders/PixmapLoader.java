@@ -22,25 +22,40 @@ import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Pixmap;
 import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.ObjectMap;
 
-/** {@link AssetLoader} for {@link Pixmap} instances. The Pixmap is loaded asynchronously.
+/** {@link AssetLoader} for {@link Pixmap} instances. The Pixmap is loaded asynchronously. The loader is
+ * {@link #isConcurrent() concurrent}.
  * @author mzechner */
 public class PixmapLoader extends AsynchronousAssetLoader<Pixmap, PixmapLoader.PixmapParameter> {
 	public PixmapLoader (FileHandleResolver resolver) {
 		super(resolver);
 	}
 
-	Pixmap pixmap;
+	final ObjectMap<String, Pixmap> pixmaps = new ObjectMap();
 
 	@Override
 	public void loadAsync (AssetManager manager, String fileName, FileHandle file, PixmapParameter parameter) {
-		pixmap = null;
-		pixmap = new Pixmap(file);
+		Pixmap pixmap = new Pixmap(file);
+		synchronized (pixmaps) {
+			pixmaps.put(fileName, pixmap);
+		}
 	}
 
 	@Override
 	public Pixmap loadSync (AssetManager manager, String fileName, FileHandle file, PixmapParameter parameter) {
-		return pixmap;
+		synchronized (pixmaps) {
+			return pixmaps.remove(fileName);
+		}
+	}
+
+	@Override
+	public void unloadAsync (AssetManager manager, String fileName, FileHandle file, PixmapParameter parameter) {
+		Pixmap pixmap;
+		synchronized (pixmaps) {
+			pixmap = pixmaps.remove(fileName);
+		}
+		if (pixmap != null) pixmap.dispose();
 	}
 
 	@Override
@@ -48,6 +63,11 @@ public class PixmapLoader extends AsynchronousAssetLoader<Pixmap, PixmapLoader.P
 		return null;
 	}
 
+	@Override
+	public boolean isConcurrent () {
+		return true;
+	}
+
 	static public class PixmapParameter extends AssetLoaderParameters<Pixmap> {
 	}
 }
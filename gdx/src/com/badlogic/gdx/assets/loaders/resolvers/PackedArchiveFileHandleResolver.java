@@ -0,0 +1,45 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.assets.loaders.resolvers;
+
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.files.PackedArchive;
+
+/** Resolves file names to the files in a {@link PackedArchive}. Files which are not in the archive can be resolved by a base
+ * resolver, eg to load a few assets from outside the archive. */
+public class PackedArchiveFileHandleResolver implements FileHandleResolver {
+	protected final PackedArchive archive;
+	protected final FileHandleResolver baseResolver;
+
+	public PackedArchiveFileHandleResolver (PackedArchive archive) {
+		this(archive, null);
+	}
+
+	/** @param baseResolver Resolves the files which are not in the archive, may be null. */
+	public PackedArchiveFileHandleResolver (PackedArchive archive, FileHandleResolver baseResolver) {
+		this.archive = archive;
+		this.baseResolver = baseResolver;
+	}
+
+	@Override
+	public FileHandle resolve (String fileName) {
+		FileHandle handle = archive.get(fileName);
+		if (baseResolver != null && !handle.exists()) return baseResolver.resolve(fileName);
+		return handle;
+	}
+}
@@ -19,6 +19,7 @@ package com.badlogic.gdx.files;
 import com.badlogic.gdx.Files;
 import com.badlogic.gdx.Files.FileType;
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.utils.BufferUtils;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.StreamUtils;
 
@@ -33,9 +34,14 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
 import java.io.Reader;
 import java.io.UnsupportedEncodingException;
 import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
 
 /** Represents a file or directory on the filesystem, classpath, Android SD card, or Android assets directory. FileHandles are
  * created via a {@link Files} instance.
@@ -230,6 +236,39 @@ public class FileHandle {
 		return length != 0 ? length : 512;
 	}
 
+	/** Maps the entire file into memory for reading, see {@link FileChannel#map(MapMode, long, long)}. The bytes are read from the
+	 * file as they are accessed, without copying them to the Java heap, and the buffer can be passed to methods which need a
+	 * direct buffer, eg {@link com.badlogic.gdx.graphics.Pixmap#Pixmap(ByteBuffer)}. The mapping is released when the buffer is
+	 * garbage collected. {@link FileType#Classpath} files and internal or local files which are not in the filesystem can't be
+	 * mapped, their bytes are read into a new direct buffer instead.
+	 * @return A read only, direct buffer in the native byte order, positioned at the start of the file.
+	 * @throws GdxRuntimeException if the file handle represents a directory, doesn't exist, or could not be read. */
+	public ByteBuffer map () {
+		if (type == FileType.Classpath || (type == FileType.Internal && !file().exists())
+			|| (type == FileType.Local && !file().exists())) {
+			byte[] bytes = readBytes();
+			ByteBuffer buffer = BufferUtils.newByteBuffer(bytes.length);
+			buffer.put(bytes);
+			buffer.flip();
+			return buffer.asReadOnlyBuffer().order(ByteOrder.nativeOrder());
+		}
+		RandomAccessFile input = null;
+		try {
+			input = new RandomAccessFile(file(), "r");
+			FileChannel channel = input.getChannel();
+			// The mapping stays valid after the channel is closed.
+			ByteBuffer buffer = channel.map(MapMode.READ_ONLY, 0, channel.size());
+			buffer.order(ByteOrder.nativeOrder());
+			return buffer;
+		} catch (Exception ex) {
+			if (file().isDirectory())
+				throw new GdxRuntimeException("Cannot map a directory: " + file + " (" + type + ")", ex);
+			throw new GdxRuntimeException("Error mapping file: " + file + " (" + type + ")", ex);
+		} finally {
+			StreamUtils.closeQuietly(input);
+		}
+	}
+
 	/** Reads the entire file into the byte array. The byte array must be big enough to hold the file's data.
 	 * @param bytes the array to load the file into
 	 * @param offset the offset to start writing bytes
@@ -568,6 +607,7 @@ public class FileHandle {
 	public boolean equals (Object obj) {
 		if (!(obj instanceof FileHandle)) return false;
 		FileHandle other = (FileHandle)obj;
+		if (other instanceof PackedFileHandle) return other.equals(this);
 		return type == other.type && path().equals(other.path());
 	}
 
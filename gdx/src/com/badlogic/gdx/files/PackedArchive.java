@@ -0,0 +1,254 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.files;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.zip.InflaterInputStream;
+
+import com.badlogic.gdx.assets.loaders.resolvers.PackedArchiveFileHandleResolver;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.ByteBufferInputStream;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.StreamUtils;
+import com.badlogic.gdx.utils.compression.Lzma;
+
+/** A read only archive of many files packed into a single file, eg by the ArchivePacker in gdx-tools. Opening one archive and
+ * looking up its entries in memory is much faster than opening thousands of small files through the OS or the classpath. The
+ * archive is mapped with {@link FileHandle#map()}, so uncompressed entries are read from slices of the mapping without copying.
+ * Files in the archive are accessed through {@link PackedFileHandle}s, see {@link #get(String)}, and an
+ * {@link com.badlogic.gdx.assets.AssetManager} can load them with a {@link PackedArchiveFileHandleResolver}. An archive can be
+ * used by multiple threads. <br>
+ * <br>
+ * The format is big endian: the int {@link #MAGIC}, the int {@link #VERSION}, the int number of entries, then for each entry its
+ * name as written by {@link java.io.DataOutput#writeUTF(String)}, the byte {@link Compression} ordinal and the int offset of its
+ * data from the end of the index, its stored length and its uncompressed size. The data of the entries follows the index.
+ * Names use forward slashes and are relative to the archive's root, directories are implied by the names. */
+public class PackedArchive {
+	static public final int MAGIC = 0x47445841; // GDXA
+	static public final int VERSION = 1;
+
+	private final FileHandle file;
+	private final ByteBuffer buffer;
+	private final int dataOffset;
+	private final ObjectMap<String, Entry> entries;
+	/** For each directory, the names of its files and directories. The root is the empty string. */
+	private final ObjectMap<String, Array<String>> directories = new ObjectMap();
+
+	/** @throws GdxRuntimeException if the archive could not be read or is invalid. */
+	public PackedArchive (FileHandle file) {
+		this.file = file;
+		buffer = file.map();
+		DataInputStream input = new DataInputStream(new ByteBufferInputStream(buffer.duplicate()));
+		try {
+			if (input.readInt() != MAGIC) throw new GdxRuntimeException("Not a packed archive: " + file);
+			int version = input.readInt();
+			if (version != VERSION) throw new GdxRuntimeException("Unsupported packed archive version " + version + ": " + file);
+			int count = input.readInt();
+			entries = new ObjectMap(count);
+			directories.put("", new Array());
+			Compression[] compressions = Compression.values();
+			for (int i = 0; i < count; i++) {
+				String name = input.readUTF();
+				int compression = input.readByte();
+				if (compression < 0 || compression >= compressions.length)
+					throw new GdxRuntimeException("Unknown compression of packed archive entry: " + name);
+				Entry entry = new Entry(name, compressions[compression], input.readInt(), input.readInt(), input.readInt());
+				entries.put(name, entry);
+				addToDirectory(name);
+			}
+			dataOffset = buffer.capacity() - input.available();
+		} catch (IOException ex) {
+			throw new GdxRuntimeException("Error reading packed archive: " + file, ex);
+		}
+		for (Entry entry : entries.values())
+			if (entry.offset < 0 || entry.length < 0 || dataOffset + (long)entry.offset + entry.length > buffer.capacity())
+				throw new GdxRuntimeException("Packed archive entry is out of bounds: " + entry.name);
+	}
+
+	private void addToDirectory (String name) {
+		while (true) {
+			int slash = name.lastIndexOf('/');
+			String parent = slash == -1 ? "" : name.substring(0, slash);
+			Array<String> children = directories.get(parent);
+			boolean exists = children != null;
+			if (!exists) {
+				children = new Array();
+				directories.put(parent, children);
+			}
+			children.add(name.substring(slash + 1));
+			if (exists || slash == -1) return;
+			name = parent;
+		}
+	}
+
+	/** @return The archive file. */
+	public FileHandle getFile () {
+		return file;
+	}
+
+	/** @return The handle for the file or directory at the path in the archive. The path is relative to the archive's root, it may
+	 *         not exist. */
+	public PackedFileHandle get (String path) {
+		return new PackedFileHandle(this, normalize(path));
+	}
+
+	/** @return The entry of the file at the path, or null if the archive has no such file. */
+	public Entry getEntry (String path) {
+		return entries.get(normalize(path));
+	}
+
+	/** @return The entries of all files in the archive. */
+	public ObjectMap.Values<Entry> getEntries () {
+		return entries.values();
+	}
+
+	/** @return Whether the path is a directory in the archive, the empty string is the root. */
+	public boolean isDirectory (String path) {
+		return directories.containsKey(normalize(path));
+	}
+
+	/** @return The names of the files and directories in the directory, or null if the path is not a directory in the archive. */
+	Array<String> list (String path) {
+		return directories.get(path);
+	}
+
+	static String normalize (String path) {
+		path = path.replace('\\', '/');
+		while (path.startsWith("./"))
+			path = path.substring(2);
+		int start = 0, end = path.length();
+		while (start < end && path.charAt(start) == '/')
+			start++;
+		while (end > start && path.charAt(end - 1) == '/')
+			end--;
+		return path.substring(start, end);
+	}
+
+	/** @return A read only slice of the archive with the entry's stored data. */
+	private ByteBuffer slice (Entry entry) {
+		ByteBuffer slice = buffer.duplicate();
+		int start = dataOffset + entry.offset;
+		slice.limit(start + entry.length);
+		slice.position(start);
+		return slice.slice().order(ByteOrder.nativeOrder());
+	}
+
+	/** Returns a stream for reading the entry's uncompressed data. */
+	public InputStream read (Entry entry) {
+		switch (entry.compression) {
+		case deflate:
+			return new InflaterInputStream(new ByteBufferInputStream(slice(entry)));
+		case lzma:
+			return new ByteArrayInputStream(readBytes(entry));
+		default:
+			return new ByteBufferInputStream(slice(entry));
+		}
+	}
+
+	/** Reads the entry's uncompressed data into a byte array. */
+	public byte[] readBytes (Entry entry) {
+		try {
+			switch (entry.compression) {
+			case deflate: {
+				byte[] bytes = new byte[entry.size];
+				InputStream input = read(entry);
+				try {
+					int position = 0;
+					while (position < bytes.length) {
+						int count = input.read(bytes, position, bytes.length - position);
+						if (count == -1) break;
+						position += count;
+					}
+					if (position < bytes.length) throw new IOException("Unexpected end of deflated data.");
+				} finally {
+					StreamUtils.closeQuietly(input);
+				}
+				return bytes;
+			}
+			case lzma: {
+				ByteArrayOutputStream output = new ByteArrayOutputStream(entry.size);
+				Lzma.decompress(new ByteBufferInputStream(slice(entry)), output);
+				return output.toByteArray();
+			}
+			default: {
+				byte[] bytes = new byte[entry.length];
+				slice(entry).get(bytes);
+				return bytes;
+			}
+			}
+		} catch (Exception ex) {
+			throw new GdxRuntimeException("Error reading packed archive entry: " + entry.name, ex);
+		}
+	}
+
+	/** Returns a direct buffer with the entry's uncompressed data in the native byte order. An uncompressed entry is a read only
+	 * slice of the archive's mapping, a compressed entry is decompressed into a new buffer. */
+	public ByteBuffer map (Entry entry) {
+		if (entry.compression == Compression.none) return slice(entry);
+		byte[] bytes = readBytes(entry);
+		ByteBuffer buffer = BufferUtils.newByteBuffer(bytes.length);
+		buffer.put(bytes);
+		buffer.flip();
+		return buffer;
+	}
+
+	public String toString () {
+		return file.toString();
+	}
+
+	/** A file in a {@link PackedArchive}. */
+	static public class Entry {
+		/** The path of the file relative to the archive's root. */
+		public final String name;
+		public final Compression compression;
+		/** The offset of the stored data from the end of the index. */
+		public final int offset;
+		/** The number of stored bytes. */
+		public final int length;
+		/** The number of bytes once uncompressed. */
+		public final int size;
+
+		public Entry (String name, Compression compression, int offset, int length, int size) {
+			this.name = name;
+			this.compression = compression;
+			this.offset = offset;
+			this.length = length;
+			this.size = size;
+		}
+
+		public String toString () {
+			return name;
+		}
+	}
+
+	/** How the data of an entry is stored. The ordinals are written to the archive. */
+	static public enum Compression {
+		none,
+		/** Compressed with {@link java.util.zip.Deflater}, with the zlib header. */
+		deflate,
+		/** Compressed with {@link Lzma#compress(InputStream, java.io.OutputStream)}. */
+		lzma
+	}
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.files;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.files.PackedArchive.Entry;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** A file or directory in a {@link PackedArchive}. The handle is an {@link FileType#Internal} handle with the path relative to
+ * the archive's root, so it can't be written and behaves like the internal file it was packed from.
+ * @see PackedArchive#get(String) */
+public class PackedFileHandle extends FileHandle {
+	final PackedArchive archive;
+	/** The entry of the file, null for directories and files which are not in the archive. */
+	final Entry entry;
+
+	PackedFileHandle (PackedArchive archive, String path) {
+		super(path, FileType.Internal);
+		this.archive = archive;
+		entry = archive.getEntry(path);
+	}
+
+	public PackedArchive getArchive () {
+		return archive;
+	}
+
+	/** @return The archive entry, or null if this handle is a directory or doesn't exist. */
+	public Entry getEntry () {
+		return entry;
+	}
+
+	public InputStream read () {
+		return archive.read(entry());
+	}
+
+	public byte[] readBytes () {
+		return archive.readBytes(entry());
+	}
+
+	/** Returns the file's data without copying it if the entry is not compressed, see {@link PackedArchive#map(Entry)}. */
+	public ByteBuffer map () {
+		return archive.map(entry());
+	}
+
+	private Entry entry () {
+		if (entry == null) {
+			if (isDirectory()) throw new GdxRuntimeException("Cannot open a stream to a directory: " + file + " (" + archive + ")");
+			throw new GdxRuntimeException("File not found: " + file + " (" + archive + ")");
+		}
+		return entry;
+	}
+
+	public FileHandle[] list () {
+		Array<String> names = archive.list(path());
+		if (names == null) return new FileHandle[0];
+		FileHandle[] handles = new FileHandle[names.size];
+		for (int i = 0, n = names.size; i < n; i++)
+			handles[i] = child(names.get(i));
+		return handles;
+	}
+
+	public FileHandle[] list (String suffix) {
+		Array<String> names = archive.list(path());
+		if (names == null) return new FileHandle[0];
+		Array<FileHandle> handles = new Array(true, names.size, FileHandle.class);
+		for (int i = 0, n = names.size; i < n; i++) {
+			String name = names.get(i);
+			if (name.endsWith(suffix)) handles.add(child(name));
+		}
+		return handles.toArray();
+	}
+
+	public boolean isDirectory () {
+		return entry == null && archive.isDirectory(path());
+	}
+
+	public FileHandle child (String name) {
+		String path = path();
+		if (path.length() == 0) return archive.get(name);
+		return archive.get(path + "/" + name);
+	}
+
+	public FileHandle sibling (String name) {
+		if (path().length() == 0) throw new GdxRuntimeException("Cannot get the sibling of the root.");
+		return parent().child(name);
+	}
+
+	public FileHandle parent () {
+		String path = path();
+		return archive.get(path.substring(0, Math.max(0, path.lastIndexOf('/'))));
+	}
+
+	public boolean exists () {
+		return entry != null || archive.isDirectory(path());
+	}
+
+	public long length () {
+		return entry == null ? 0 : entry.size;
+	}
+
+	/** Returns the last modified time of the archive file. */
+	public long lastModified () {
+		return archive.getFile().lastModified();
+	}
+
+	/** Returns true only for handles of the same path in an archive of the same file, a packed file never equals the internal
+	 * file it was packed from. */
+	public boolean equals (Object obj) {
+		if (!(obj instanceof PackedFileHandle)) return false;
+		PackedFileHandle other = (PackedFileHandle)obj;
+		return path().equals(other.path()) && archive.getFile().equals(other.archive.getFile());
+	}
+
+	public int hashCode () {
+		return super.hashCode() * 31 + archive.getFile().hashCode();
+	}
+}
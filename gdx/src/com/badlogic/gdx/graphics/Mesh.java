@@ -151,6 +151,19 @@ public class Mesh implements Disposable {
 		}
 		addManagedMesh(Gdx.app, this);
 	}
+
+	/** Creates a new Mesh with the given vertex and index data, which are disposed with the Mesh.
+	 * 
+	 * @param vertices the vertices, only a {@link VertexBufferObject} is recreated when the OpenGL context is lost
+	 * @param indices the indices
+	 * @param isVertexArray whether the vertices are a {@link VertexArray} */
+	protected Mesh (VertexData vertices, IndexData indices, boolean isVertexArray) {
+		this.vertices = vertices;
+		this.indices = indices;
+		this.isVertexArray = isVertexArray;
+
+		addManagedMesh(Gdx.app, this);
+	}
 	
 	/**
 	 * Create a new Mesh that is a combination of transformations of the supplied base mesh.
@@ -550,6 +563,32 @@ public class Mesh implements Disposable {
 		if (autoBind) unbind(shader);
 	}
 
+	/** Renders the mesh instanceCount times with a single draw call, the same way as
+	 * {@link #render(ShaderProgram, int, int, int, boolean)} renders it once. The per instance vertex attributes must be set up
+	 * by the caller, with {@link GL30#glVertexAttribDivisor(int, int)}. Requires OpenGL ES 3.0, and indexed meshes must use
+	 * index buffer objects.
+	 * @param shader the shader to be used
+	 * @param primitiveType the primitive type
+	 * @param offset the offset into the vertex or index buffer
+	 * @param count number of vertices or indices to use
+	 * @param instanceCount the number of instances to draw
+	 * @param autoBind overrides the autoBind member of this Mesh */
+	public void renderInstanced (ShaderProgram shader, int primitiveType, int offset, int count, int instanceCount,
+		boolean autoBind) {
+		if (count == 0 || instanceCount == 0) return;
+		if (Gdx.gl30 == null) throw new GdxRuntimeException("Instanced rendering requires OpenGL ES 3.0.");
+
+		if (autoBind) bind(shader);
+
+		if (indices.getNumIndices() > 0) {
+			if (isVertexArray) throw new GdxRuntimeException("Instanced rendering requires an index buffer object.");
+			Gdx.gl30.glDrawElementsInstanced(primitiveType, count, GL20.GL_UNSIGNED_SHORT, offset * 2, instanceCount);
+		} else
+			Gdx.gl30.glDrawArraysInstanced(primitiveType, offset, count, instanceCount);
+
+		if (autoBind) unbind(shader);
+	}
+
 	/** Frees all resources associated with this Mesh */
 	public void dispose () {
 		if (meshes.get(Gdx.app) != null) meshes.get(Gdx.app).removeValue(this, true);
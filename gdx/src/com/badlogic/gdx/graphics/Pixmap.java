@@ -128,6 +128,38 @@ public class Pixmap implements Disposable {
 		}
 	}
 
+	/** Creates a new Pixmap instance from the given encoded image data. The image can be encoded as JPEG, PNG or BMP. A direct
+	 * buffer, eg a file mapped with {@link FileHandle#map()}, is decoded without copying it to the Java heap.
+	 * @param encodedData the encoded image data
+	 * @param offset the offset
+	 * @param len the length
+	 * @throws IllegalArgumentException if offset and len are not within the limit of the buffer. */
+	public Pixmap (ByteBuffer encodedData, int offset, int len) {
+		if (offset < 0 || len < 0 || len > encodedData.limit() - offset)
+			throw new IllegalArgumentException("Invalid offset " + offset + " or len " + len + ", limit: " + encodedData.limit());
+		try {
+			if (encodedData.isDirect())
+				pixmap = new Gdx2DPixmap(encodedData, offset, len, 0);
+			else if (encodedData.hasArray())
+				pixmap = new Gdx2DPixmap(encodedData.array(), encodedData.arrayOffset() + offset, len, 0);
+			else {
+				byte[] bytes = new byte[len];
+				ByteBuffer data = encodedData.duplicate();
+				data.position(offset);
+				data.get(bytes);
+				pixmap = new Gdx2DPixmap(bytes, 0, len, 0);
+			}
+		} catch (IOException e) {
+			throw new GdxRuntimeException("Couldn't load pixmap from image data", e);
+		}
+	}
+
+	/** Creates a new Pixmap instance from the encoded image data between the buffer's position and limit, see
+	 * {@link #Pixmap(ByteBuffer, int, int)}. */
+	public Pixmap (ByteBuffer encodedData) {
+		this(encodedData, encodedData.position(), encodedData.remaining());
+	}
+
 	/** Creates a new Pixmap instance from the given file. The file must be a Png, Jpeg or Bitmap. Paletted formats are not
 	 * supported.
 	 * 
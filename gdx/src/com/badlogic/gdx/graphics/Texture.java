@@ -134,6 +134,21 @@ public class Texture extends GLTexture {
 		if (data.isManaged()) addManagedTexture(Gdx.app, this);
 	}
 
+	/** Creates a texture with the size and format of the pixmap without uploading its pixels, see {@link UploadScheduler}. The data
+	 * is kept to reload the texture after a context loss.
+	 * @param data the prepared data the pixmap was consumed from */
+	Texture (TextureData data, Pixmap pixmap) {
+		super(GL20.GL_TEXTURE_2D, createGLHandle());
+		this.data = data;
+		bind();
+		Gdx.gl.glTexImage2D(glTarget, 0, pixmap.getGLInternalFormat(), pixmap.getWidth(), pixmap.getHeight(), 0,
+			pixmap.getGLFormat(), pixmap.getGLType(), null);
+		setFilter(minFilter, magFilter);
+		setWrap(uWrap, vWrap);
+		Gdx.gl.glBindTexture(glTarget, 0);
+		if (data.isManaged()) addManagedTexture(Gdx.app, this);
+	}
+
 	public void load (TextureData data) {
 		if (this.data != null && data.isManaged() != this.data.isManaged())
 			throw new GdxRuntimeException("New data must have the same managed status as the old data");
@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics;
+
+import java.nio.Buffer;
+
+import com.badlogic.gdx.Application.ApplicationType;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.Pixmap.Blending;
+import com.badlogic.gdx.graphics.TextureData.TextureDataType;
+import com.badlogic.gdx.graphics.glutils.IndexBufferObject;
+import com.badlogic.gdx.graphics.glutils.VertexBufferObject;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.TimeUtils;
+
+/** Spreads the upload of large textures and meshes to the GPU over several frames, so loading them doesn't cause a hitch. Each
+ * {@link #update()} uploads parts of at most {@link #setStepSize(int) step size} bytes until the {@link #setBudget(int)
+ * budget} is used up: textures in strips of rows with glTexSubImage2D, the {@link VertexBufferObject} and
+ * {@link IndexBufferObject} of meshes in ranges with glBufferSubData. <br>
+ * <br>
+ * A texture or mesh can be used before its upload is done, a texture then shows the rows uploaded so far, a mesh uploads the
+ * rest of its data when it is bound. The {@link AssetManager} only reports an asset as loaded once the upload of its own
+ * textures and meshes is done, see {@link AssetManager#setUploadScheduler(UploadScheduler)}. All methods must be called on
+ * the rendering thread. */
+public class UploadScheduler {
+	final Array<Upload> uploads = new Array();
+	int budget;
+	int stepSize = 256 * 1024;
+
+	/** Creates a scheduler with a budget of 2 milliseconds per update. */
+	public UploadScheduler () {
+		this(2000);
+	}
+
+	/** @param budget the time to spend uploading per {@link #update()} in microseconds */
+	public UploadScheduler (int budget) {
+		setBudget(budget);
+	}
+
+	/** Creates a texture and schedules the upload of its image. The texture has its final size but no image data until the
+	 * upload is done. Compressed and float data and data with mipmaps is uploaded right away, as are textures on WebGL.
+	 * @param data the texture data, the upload takes over its pixmap
+	 * @return the texture */
+	public Texture upload (TextureData data) {
+		if (!data.isPrepared()) data.prepare();
+		if (data.getType() != TextureDataType.Pixmap || data.useMipMaps() || Gdx.app.getType() == ApplicationType.WebGL)
+			return new Texture(data);
+
+		Pixmap pixmap = data.consumePixmap();
+		boolean disposePixmap = data.disposePixmap();
+		if (data.getFormat() != pixmap.getFormat()) {
+			Pixmap tmp = new Pixmap(pixmap.getWidth(), pixmap.getHeight(), data.getFormat());
+			Blending blend = Pixmap.getBlending();
+			Pixmap.setBlending(Blending.None);
+			tmp.drawPixmap(pixmap, 0, 0, 0, 0, pixmap.getWidth(), pixmap.getHeight());
+			Pixmap.setBlending(blend);
+			if (disposePixmap) pixmap.dispose();
+			pixmap = tmp;
+			disposePixmap = true;
+		}
+
+		Texture texture = new Texture(data, pixmap);
+		uploads.add(new TextureUpload(texture, pixmap, disposePixmap));
+		return texture;
+	}
+
+	/** Schedules the upload of the vertices and indices of a mesh, if it uses a {@link VertexBufferObject} or an
+	 * {@link IndexBufferObject}. The data must be set before and not be changed until the upload is done. */
+	public void upload (Mesh mesh) {
+		MeshUpload upload = new MeshUpload();
+		upload.mesh = mesh;
+		if (mesh.vertices instanceof VertexBufferObject) upload.vertices = (VertexBufferObject)mesh.vertices;
+		if (mesh.indices instanceof IndexBufferObject) upload.indices = (IndexBufferObject)mesh.indices;
+		if (upload.vertices != null || upload.indices != null) uploads.add(upload);
+	}
+
+	/** Uploads the scheduled textures and meshes in the order they were scheduled, until the budget is used up. Uploads at least
+	 * one step, so progress is made with any budget.
+	 * @return true if all uploads are done. */
+	public boolean update () {
+		if (uploads.size == 0) return true;
+		long endTime = TimeUtils.nanoTime() + budget * 1000L;
+		do {
+			Upload upload = uploads.first();
+			if (upload.upload(stepSize)) uploads.removeIndex(0);
+		} while (uploads.size > 0 && TimeUtils.nanoTime() < endTime);
+		return uploads.size == 0;
+	}
+
+	/** Uploads everything that is scheduled, ignoring the budget. */
+	public void finish () {
+		while (uploads.size > 0)
+			if (uploads.first().upload(Integer.MAX_VALUE)) uploads.removeIndex(0);
+	}
+
+	/** @return whether all uploads are done. */
+	public boolean isDone () {
+		return uploads.size == 0;
+	}
+
+	/** @param resource a {@link Texture} or {@link Mesh}
+	 * @return whether the upload of the texture or mesh is scheduled and not done yet. */
+	public boolean isPending (Object resource) {
+		for (int i = 0, n = uploads.size; i < n; i++)
+			if (uploads.get(i).getResource() == resource) return true;
+		return false;
+	}
+
+	/** Stops uploading a texture or mesh, eg before disposing it.
+	 * @param resource a {@link Texture} or {@link Mesh} */
+	public void cancel (Object resource) {
+		for (int i = 0, n = uploads.size; i < n; i++) {
+			Upload upload = uploads.get(i);
+			if (upload.getResource() == resource) {
+				uploads.removeIndex(i);
+				upload.cancel();
+				return;
+			}
+		}
+	}
+
+	/** @param budget the time to spend uploading per {@link #update()} in microseconds */
+	public void setBudget (int budget) {
+		if (budget < 0) throw new IllegalArgumentException("budget must be >= 0: " + budget);
+		this.budget = budget;
+	}
+
+	public int getBudget () {
+		return budget;
+	}
+
+	/** @param stepSize the maximum number of bytes to upload with one GL call, texture strips are at least one row */
+	public void setStepSize (int stepSize) {
+		if (stepSize < 1) throw new IllegalArgumentException("stepSize must be > 0: " + stepSize);
+		this.stepSize = stepSize;
+	}
+
+	public int getStepSize () {
+		return stepSize;
+	}
+
+	static abstract class Upload {
+		abstract Object getResource ();
+
+		/** @return true if the upload is done. */
+		abstract boolean upload (int maxBytes);
+
+		void cancel () {
+		}
+	}
+
+	/** Uploads the rows of a pixmap to a texture. */
+	static class TextureUpload extends Upload {
+		final Texture texture;
+		final Pixmap pixmap;
+		final boolean disposePixmap;
+		int row;
+
+		TextureUpload (Texture texture, Pixmap pixmap, boolean disposePixmap) {
+			this.texture = texture;
+			this.pixmap = pixmap;
+			this.disposePixmap = disposePixmap;
+		}
+
+		Object getResource () {
+			return texture;
+		}
+
+		boolean upload (int maxBytes) {
+			Pixmap pixmap = this.pixmap;
+			Buffer pixels = pixmap.getPixels();
+			int width = pixmap.getWidth(), height = pixmap.getHeight();
+			int rowBytes = pixels.capacity() / height;
+			int rows = Math.max(1, Math.min(height - row, maxBytes / rowBytes));
+
+			texture.bind();
+			Gdx.gl.glPixelStorei(GL20.GL_UNPACK_ALIGNMENT, 1);
+			pixels.position(row * rowBytes);
+			Gdx.gl.glTexSubImage2D(GL20.GL_TEXTURE_2D, 0, 0, row, width, rows, pixmap.getGLFormat(), pixmap.getGLType(), pixels);
+			pixels.position(0);
+			Gdx.gl.glBindTexture(GL20.GL_TEXTURE_2D, 0);
+
+			row += rows;
+			if (row < height) return false;
+			cancel();
+			return true;
+		}
+
+		void cancel () {
+			if (disposePixmap) pixmap.dispose();
+		}
+	}
+
+	static class MeshUpload extends Upload {
+		Mesh mesh;
+		VertexBufferObject vertices;
+		IndexBufferObject indices;
+
+		Object getResource () {
+			return mesh;
+		}
+
+		boolean upload (int maxBytes) {
+			if (vertices != null && vertices.upload(maxBytes) > 0) return false;
+			return indices == null || indices.upload(maxBytes) == 0;
+		}
+	}
+}
@@ -634,8 +634,10 @@ public class BitmapFont implements Disposable {
 	/** Disposes the texture used by this BitmapFont's region IF this BitmapFont created the texture. */
 	public void dispose () {
 		if (ownsTexture) {
-			for (int i = 0; i < regions.length; i++)
-				regions[i].getTexture().dispose();
+			for (int i = 0; i < regions.length; i++) {
+				Texture texture = regions[i].getTexture();
+				if (texture != null) texture.dispose(); // Pages of fonts which add glyphs on demand may not be created yet.
+			}
 		}
 	}
 
@@ -785,6 +787,9 @@ public class BitmapFont implements Disposable {
 		public final Glyph[][] glyphs = new Glyph[PAGES][];
 		public float spaceWidth;
 		public float xHeight = 1;
+		/** Incremented when glyphs are removed or replaced, eg when a page of a font which renders glyphs on demand is reused. Text
+		 * laid out before must then be laid out again, {@link BitmapFontCache} does so when it is drawn. */
+		public int glyphVersion;
 
 		/** Use this if you want to create BitmapFontData yourself, e.g. from stb-truetype of FreeType. */
 		public BitmapFontData () {
@@ -997,6 +1002,16 @@ public class BitmapFont implements Disposable {
 			return null;
 		}
 
+		/** Called by {@link BitmapFontCache} before it lays out the characters. Fonts which render glyphs on demand render the
+		 * missing glyphs here, glyphs must not be removed while the text is laid out. Does nothing by default. */
+		public void requireGlyphs (CharSequence str, int start, int end) {
+		}
+
+		/** Called by {@link BitmapFontCache} when it draws glyphs from the page, so fonts which render glyphs on demand keep the
+		 * glyphs of text on screen. Does nothing by default. */
+		public void pageDrawn (int page) {
+		}
+
 		/** Returns the first image path; included for backwards-compatibility. Use getImagePath(int) instead.
 		 * @return the first image path in the array
 		 * @deprecated use getImagePath(int index) instead */
@@ -21,12 +21,20 @@ import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
 import com.badlogic.gdx.graphics.g2d.BitmapFont.Glyph;
 import com.badlogic.gdx.graphics.g2d.BitmapFont.HAlignment;
 import com.badlogic.gdx.graphics.g2d.BitmapFont.TextBounds;
+import com.badlogic.gdx.graphics.g2d.GlyphLayoutCache.Key;
+import com.badlogic.gdx.graphics.g2d.GlyphLayoutCache.Layout;
 import com.badlogic.gdx.utils.FloatArray;
 import com.badlogic.gdx.utils.IntArray;
 import com.badlogic.gdx.utils.NumberUtils;
+import com.badlogic.gdx.utils.StringBuilder;
 
 /** Caches glyph geometry for a BitmapFont, providing a fast way to render static text. This saves needing to compute the location
  * of each glyph each frame.
+ * <p>
+ * When text is set with {@link #setText(CharSequence, float, float)} or with {@link #setMultiLineText(CharSequence, float, float)
+ * setMultiLineText} and left alignment, and it starts with the same characters as the text set before at the same position, only
+ * the glyphs from the first changed character on are computed again. Text set with the same parameters as before is not laid
+ * out again. Layouts can also be shared between caches with a {@link GlyphLayoutCache}.
  * @author Nathan Sweet
  * @author Matthias Mann */
 public class BitmapFontCache {
@@ -49,6 +57,20 @@ public class BitmapFontCache {
 	 * the full text being cached. */
 	private IntArray[] glyphIndices;
 
+	static final int TEXT = 1, MULTI_LINE_TEXT = 2, WRAPPED_TEXT = 3;
+
+	private GlyphLayoutCache layoutCache;
+	/** The text set by the last setText, setMultiLineText or setWrappedText and how it was laid out. The kind is 0 if the glyphs
+	 * were changed since. */
+	private final Key layoutKey = new Key(), lookupKey = new Key();
+	/** The x position of the pen after each character of the text in the layout key, if it can be updated incrementally. */
+	private float[] layoutPenX;
+	/** The color of all glyphs when the text was laid out, unless colorsChanged is set. */
+	private float layoutColor;
+	private boolean colorsChanged;
+	/** If not null, addToCache stores the x position of the pen after each character. */
+	private float[] penX;
+
 	public BitmapFontCache (BitmapFont font) {
 		this(font, font.usesIntegerPositions());
 	}
@@ -108,6 +130,7 @@ public class BitmapFontCache {
 
 	/** Sets the color of all text currently in the cache. Does not affect subsequently added text. */
 	public void setColors (float color) {
+		colorsChanged = true;
 		for (int j = 0, length = vertexData.length; j < length; j++) {
 			float[] vertices = vertexData[j];
 			for (int i = 2, n = idx[j]; i < n; i += 5)
@@ -118,6 +141,7 @@ public class BitmapFontCache {
 	/** Sets the color of all text currently in the cache. Does not affect subsequently added text. */
 	public void setColors (Color tint) {
 		final float color = tint.toFloatBits();
+		colorsChanged = true;
 		for (int j = 0, length = vertexData.length; j < length; j++) {
 			float[] vertices = vertexData[j];
 			for (int i = 2, n = idx[j]; i < n; i += 5)
@@ -127,6 +151,7 @@ public class BitmapFontCache {
 
 	/** Sets the color of all text currently in the cache. Does not affect subsequently added text. */
 	public void setColors (float r, float g, float b, float a) {
+		colorsChanged = true;
 		int intBits = ((int)(255 * a) << 24) | ((int)(255 * b) << 16) | ((int)(255 * g) << 8) | ((int)(255 * r));
 		float color = NumberUtils.intToFloatColor(intBits);
 		for (int j = 0, length = vertexData.length; j < length; j++) {
@@ -140,6 +165,7 @@ public class BitmapFontCache {
 	 * is reset every time setText is called. */
 	public void setColors (Color tint, int start, int end) {
 		final float color = tint.toFloatBits();
+		colorsChanged = true;
 
 		if (vertexData.length == 1) { // only one page...
 			float[] vertices = vertexData[0];
@@ -198,17 +224,22 @@ public class BitmapFontCache {
 	}
 
 	public void draw (Batch spriteBatch) {
+		updateGlyphs();
+		BitmapFontData data = font.data;
 		TextureRegion[] regions = font.getRegions();
 		for (int j = 0, n = vertexData.length; j < n; j++) {
 			if (idx[j] > 0) { // ignore if this texture has no glyphs
 				float[] vertices = vertexData[j];
+				data.pageDrawn(j);
 				spriteBatch.draw(regions[j].getTexture(), vertices, 0, idx[j]);
 			}
 		}
 	}
 
 	public void draw (Batch spriteBatch, int start, int end) {
+		updateGlyphs();
 		if (vertexData.length == 1) { // i.e. 1 page
+			font.data.pageDrawn(0);
 			spriteBatch.draw(font.getRegion().getTexture(), vertexData[0], start * 20, (end - start) * 20);
 		} else { // i.e. multiple pages
 			// TODO: bounds check?
@@ -247,6 +278,7 @@ public class BitmapFontCache {
 				if (offset == -1 || count == 0) continue;
 
 				// render the page vertex data with our determined offset and length
+				font.data.pageDrawn(i);
 				spriteBatch.draw(regions[i].getTexture(), vertexData[i], offset * 20, count * 20);
 			}
 		}
@@ -266,11 +298,33 @@ public class BitmapFontCache {
 		setColors(color);
 	}
 
+	/** Lays out the text set by setText, setMultiLineText or setWrappedText again if glyphs were removed from the font since, eg
+	 * by a font which renders glyphs on demand. The translation is kept and all glyphs get the color of the first glyph. */
+	private void updateGlyphs () {
+		Key key = layoutKey;
+		BitmapFontData data = font.data;
+		if (key.kind == 0 || key.glyphVersion == data.glyphVersion) return;
+		float x = this.x, y = this.y, color = this.color;
+		for (int page = 0, n = vertexData.length; page < n; page++) {
+			if (idx[page] > 0) {
+				this.color = vertexData[page][2];
+				break;
+			}
+		}
+		float scaleX = data.scaleX, scaleY = data.scaleY;
+		if (key.scaleX != scaleX || key.scaleY != scaleY) font.setScale(key.scaleX, key.scaleY);
+		setLayout(key.kind, key.text, key.x, key.y, key.width, key.alignment);
+		if (key.scaleX != scaleX || key.scaleY != scaleY) font.setScale(scaleX, scaleY);
+		this.color = color;
+		translate(x, y);
+	}
+
 	/** Removes all glyphs in the cache. */
 	public void clear () {
 		x = 0;
 		y = 0;
 		glyphCount = 0;
+		layoutKey.kind = 0;
 		for (int i = 0, n = idx.length; i < n; i++) {
 			if (glyphIndices != null) glyphIndices[i].clear();
 			idx[i] = 0;
@@ -315,17 +369,26 @@ public class BitmapFontCache {
 	}
 
 	private float addToCache (CharSequence str, float x, float y, int start, int end) {
+		return addToCache(str, x, y, start, end, null);
+	}
+
+	/** @param lastGlyph The glyph before the start, for kerning, or null. */
+	private float addToCache (CharSequence str, float x, float y, int start, int end, Glyph lastGlyph) {
 		float startX = x;
 		BitmapFont font = this.font;
-		Glyph lastGlyph = null;
 		BitmapFontData data = font.data;
+		float[] penX = this.penX;
 		if (data.scaleX == 1 && data.scaleY == 1) {
-			while (start < end) {
-				lastGlyph = data.getGlyph(str.charAt(start++));
-				if (lastGlyph != null) {
-					addGlyph(lastGlyph, x + lastGlyph.xoffset, y + lastGlyph.yoffset, lastGlyph.width, lastGlyph.height);
-					x += lastGlyph.xadvance;
-					break;
+			if (lastGlyph == null) {
+				while (start < end) {
+					lastGlyph = data.getGlyph(str.charAt(start++));
+					if (lastGlyph != null) {
+						addGlyph(lastGlyph, x + lastGlyph.xoffset, y + lastGlyph.yoffset, lastGlyph.width, lastGlyph.height);
+						x += lastGlyph.xadvance;
+						if (penX != null) penX[start - 1] = x;
+						break;
+					}
+					if (penX != null) penX[start - 1] = x;
 				}
 			}
 			while (start < end) {
@@ -337,19 +400,24 @@ public class BitmapFontCache {
 					addGlyph(lastGlyph, x + g.xoffset, y + g.yoffset, g.width, g.height);
 					x += g.xadvance;
 				}
+				if (penX != null) penX[start - 1] = x;
 			}
 		} else {
 			float scaleX = data.scaleX, scaleY = data.scaleY;
-			while (start < end) {
-				lastGlyph = data.getGlyph(str.charAt(start++));
-				if (lastGlyph != null) {
-					addGlyph(lastGlyph, //
-						x + lastGlyph.xoffset * scaleX, //
-						y + lastGlyph.yoffset * scaleY, //
-						lastGlyph.width * scaleX, //
-						lastGlyph.height * scaleY);
-					x += lastGlyph.xadvance * scaleX;
-					break;
+			if (lastGlyph == null) {
+				while (start < end) {
+					lastGlyph = data.getGlyph(str.charAt(start++));
+					if (lastGlyph != null) {
+						addGlyph(lastGlyph, //
+							x + lastGlyph.xoffset * scaleX, //
+							y + lastGlyph.yoffset * scaleY, //
+							lastGlyph.width * scaleX, //
+							lastGlyph.height * scaleY);
+						x += lastGlyph.xadvance * scaleX;
+						if (penX != null) penX[start - 1] = x;
+						break;
+					}
+					if (penX != null) penX[start - 1] = x;
 				}
 			}
 			while (start < end) {
@@ -365,6 +433,7 @@ public class BitmapFontCache {
 						g.height * scaleY);
 					x += g.xadvance * scaleX;
 				}
+				if (penX != null) penX[start - 1] = x;
 			}
 		}
 		return x - startX;
@@ -424,8 +493,7 @@ public class BitmapFontCache {
 	/** Clears any cached glyphs and adds glyphs for the specified text.
 	 * @see #addText(CharSequence, float, float, int, int) */
 	public TextBounds setText (CharSequence str, float x, float y) {
-		clear();
-		return addText(str, x, y, 0, str.length());
+		return setLayout(TEXT, str, x, y, 0, HAlignment.LEFT);
 	}
 
 	/** Clears any cached glyphs and adds glyphs for the specified text.
@@ -448,6 +516,8 @@ public class BitmapFontCache {
 	 * @param end The last character of the string to draw (exclusive).
 	 * @return The bounds of the cached string (the height is the distance from y to the baseline). */
 	public TextBounds addText (CharSequence str, float x, float y, int start, int end) {
+		layoutKey.kind = 0;
+		font.data.requireGlyphs(str, start, end);
 		requireSequence(str, start, end);
 		y += font.data.ascent;
 		textBounds.width = addToCache(str, x, y, start, end);
@@ -458,15 +528,13 @@ public class BitmapFontCache {
 	/** Clears any cached glyphs and adds glyphs for the specified text, which may contain newlines (\n).
 	 * @see #addMultiLineText(CharSequence, float, float, float, HAlignment) */
 	public TextBounds setMultiLineText (CharSequence str, float x, float y) {
-		clear();
-		return addMultiLineText(str, x, y, 0, HAlignment.LEFT);
+		return setLayout(MULTI_LINE_TEXT, str, x, y, 0, HAlignment.LEFT);
 	}
 
 	/** Clears any cached glyphs and adds glyphs for the specified text, which may contain newlines (\n).
 	 * @see #addMultiLineText(CharSequence, float, float, float, HAlignment) */
 	public TextBounds setMultiLineText (CharSequence str, float x, float y, float alignmentWidth, HAlignment alignment) {
-		clear();
-		return addMultiLineText(str, x, y, alignmentWidth, alignment);
+		return setLayout(MULTI_LINE_TEXT, str, x, y, alignmentWidth, alignment);
 	}
 
 	/** Adds glyphs for the specified text, which may contain newlines (\n).
@@ -482,9 +550,11 @@ public class BitmapFontCache {
 	 * @param alignment The horizontal alignment of wrapped line.
 	 * @return The bounds of the cached string (the height is the distance from y to the baseline of the last line). */
 	public TextBounds addMultiLineText (CharSequence str, float x, float y, float alignmentWidth, HAlignment alignment) {
+		layoutKey.kind = 0;
 		BitmapFont font = this.font;
 
 		int length = str.length();
+		font.data.requireGlyphs(str, 0, length);
 		requireSequence(str, 0, length);
 
 		y += font.data.ascent;
@@ -517,16 +587,14 @@ public class BitmapFontCache {
 	 * wrapped within the specified width.
 	 * @see #addWrappedText(CharSequence, float, float, float, HAlignment) */
 	public TextBounds setWrappedText (CharSequence str, float x, float y, float wrapWidth) {
-		clear();
-		return addWrappedText(str, x, y, wrapWidth, HAlignment.LEFT);
+		return setLayout(WRAPPED_TEXT, str, x, y, wrapWidth, HAlignment.LEFT);
 	}
 
 	/** Clears any cached glyphs and adds glyphs for the specified text, which may contain newlines (\n) and is automatically
 	 * wrapped within the specified width.
 	 * @see #addWrappedText(CharSequence, float, float, float, HAlignment) */
 	public TextBounds setWrappedText (CharSequence str, float x, float y, float wrapWidth, HAlignment alignment) {
-		clear();
-		return addWrappedText(str, x, y, wrapWidth, alignment);
+		return setLayout(WRAPPED_TEXT, str, x, y, wrapWidth, alignment);
 	}
 
 	/** Adds glyphs for the specified text, which may contain newlines (\n) and is automatically wrapped within the specified width.
@@ -541,9 +609,11 @@ public class BitmapFontCache {
 	 * @param alignment The horizontal alignment of wrapped line.
 	 * @return The bounds of the cached string (the height is the distance from y to the baseline of the last line). */
 	public TextBounds addWrappedText (CharSequence str, float x, float y, float wrapWidth, HAlignment alignment) {
+		layoutKey.kind = 0;
 		BitmapFont font = this.font;
 
 		int length = str.length();
+		font.data.requireGlyphs(str, 0, length);
 		requireSequence(str, 0, length);
 
 		y += font.data.ascent;
@@ -599,6 +669,276 @@ public class BitmapFontCache {
 		return textBounds;
 	}
 
+	/** Sets the text, reusing the glyphs of the current text or a layout from the layout cache when possible. */
+	private TextBounds setLayout (int kind, CharSequence str, float x, float y, float width, HAlignment alignment) {
+		BitmapFontData data = font.data;
+		// The alignment width doesn't affect left aligned multi-line text.
+		if (kind == MULTI_LINE_TEXT && alignment == HAlignment.LEFT) width = 0;
+		boolean incremental = isIncremental(kind, alignment);
+		Key key = layoutKey;
+
+		int start = reusableLength(kind, str, x, y, width, alignment);
+		if (start != -1 && start == str.length() && start == key.text.length) {
+			// Same text, only the translation and colors may have changed.
+			resetLayout();
+			return textBounds;
+		}
+
+		if (layoutCache != null) {
+			Key lookupKey = this.lookupKey;
+			lookupKey.set(font, kind, str, x, y, width, alignment, data.scaleX, data.scaleY, integer);
+			Layout layout = layoutCache.get(lookupKey);
+			if (layout != null) {
+				clear();
+				loadLayout(layout);
+				key.set(font, kind, str, x, y, width, alignment, data.scaleX, data.scaleY, integer);
+				return textBounds;
+			}
+		}
+
+		boolean update = start > 0 && incremental;
+		if (update) {
+			// If glyphs were removed to make room for the changed characters, all characters are laid out again.
+			data.requireGlyphs(str, start, str.length());
+			update = key.glyphVersion == data.glyphVersion;
+		}
+		if (update) {
+			// Keep the glyphs of the unchanged characters.
+			resetLayout();
+			float[] penX = layoutPenX = ensureCapacity(layoutPenX, str.length());
+			this.penX = penX;
+			if (kind == TEXT)
+				updateText(str, x, y, start);
+			else
+				updateMultiLineText(str, x, y, start);
+			this.penX = null;
+			key.text.setLength(start);
+			key.text.append(str, start, str.length());
+			key.updateHashCode();
+		} else {
+			clear();
+			if (incremental) penX = layoutPenX = ensureCapacity(layoutPenX, str.length());
+			switch (kind) {
+			case TEXT:
+				addText(str, x, y, 0, str.length());
+				break;
+			case MULTI_LINE_TEXT:
+				addMultiLineText(str, x, y, width, alignment);
+				break;
+			default:
+				addWrappedText(str, x, y, width, alignment);
+			}
+			penX = null;
+			key.set(font, kind, str, x, y, width, alignment, data.scaleX, data.scaleY, integer);
+			layoutColor = color;
+			colorsChanged = false;
+		}
+		// Updated layouts aren't stored, text which changes every frame would fill the cache with layouts used only once.
+		if (layoutCache != null && !update) layoutCache.put(key, storeLayout(layoutCache.obtain(), incremental));
+		return textBounds;
+	}
+
+	/** @return Whether a layout of the kind can be updated from the first changed character on. */
+	static private boolean isIncremental (int kind, HAlignment alignment) {
+		return kind == TEXT || (kind == MULTI_LINE_TEXT && alignment == HAlignment.LEFT);
+	}
+
+	/** @return The number of leading characters of the text which are unchanged since the current layout, or -1 if the layout was
+	 *         computed with other parameters or can't be reused. */
+	private int reusableLength (int kind, CharSequence str, float x, float y, float width, HAlignment alignment) {
+		Key key = layoutKey;
+		BitmapFontData data = font.data;
+		if (key.kind != kind || key.x != x || key.y != y || key.width != width || key.alignment != alignment
+			|| key.scaleX != data.scaleX || key.scaleY != data.scaleY || key.integer != integer
+			|| key.glyphVersion != data.glyphVersion) return -1;
+		// Translating back is only exact for integer positions.
+		if ((this.x != 0 || this.y != 0) && !integer) return -1;
+		StringBuilder text = key.text;
+		char[] chars = text.chars;
+		int start = 0;
+		for (int n = Math.min(str.length(), text.length); start < n; start++)
+			if (chars[start] != str.charAt(start)) break;
+		return start;
+	}
+
+	/** Removes the translation and colors set since the current layout was computed. */
+	private void resetLayout () {
+		translate(-x, -y);
+		if (colorsChanged || layoutColor != color) {
+			setColors(color);
+			layoutColor = color;
+			colorsChanged = false;
+		}
+	}
+
+	/** Lays out the text from the start character on, keeping the glyphs before it. */
+	private void updateText (CharSequence str, float x, float y, int start) {
+		BitmapFontData data = font.data;
+		Glyph lastGlyph = null;
+		int glyphs = 0;
+		for (int i = 0; i < start; i++) {
+			Glyph glyph = data.getGlyph(str.charAt(i));
+			if (glyph != null) {
+				lastGlyph = glyph;
+				glyphs++;
+			}
+		}
+		removeGlyphs(glyphs);
+
+		int length = str.length();
+		requireSequence(str, start, length);
+		addToCache(str, start == 0 ? x : penX[start - 1], y + data.ascent, start, length, lastGlyph);
+		textBounds.width = length == 0 ? 0 : penX[length - 1] - x;
+		textBounds.height = data.capHeight;
+	}
+
+	/** Lays out left aligned multi-line text from the start character on, keeping the glyphs before it. */
+	private void updateMultiLineText (CharSequence str, float x, float y, int start) {
+		BitmapFontData data = font.data;
+		float[] penX = this.penX;
+		int lineStart = start;
+		while (lineStart > 0 && str.charAt(lineStart - 1) != '\n')
+			lineStart--;
+		Glyph lastGlyph = null;
+		int glyphs = 0;
+		for (int i = 0; i < start; i++) {
+			char ch = str.charAt(i);
+			if (ch == '\n') continue;
+			Glyph glyph = data.getGlyph(ch);
+			if (glyph != null) {
+				if (i >= lineStart) lastGlyph = glyph;
+				glyphs++;
+			}
+		}
+		removeGlyphs(glyphs);
+
+		int length = str.length();
+		requireSequence(str, start, length);
+
+		// Same as addMultiLineText, the lines before the start are only measured.
+		y += data.ascent;
+		float down = data.down;
+		float maxWidth = 0;
+		int lineIndex = 0, numLines = 0;
+		while (lineIndex < length) {
+			int lineEnd = BitmapFont.indexOf(str, '\n', lineIndex);
+			if (lineEnd >= start) {
+				if (lineIndex == lineStart)
+					addToCache(str, start == lineStart ? x : penX[start - 1], y, start, lineEnd, lastGlyph);
+				else
+					addToCache(str, x, y, lineIndex, lineEnd);
+			}
+			float lineWidth = lineEnd > lineIndex ? penX[lineEnd - 1] - x : 0;
+			maxWidth = Math.max(maxWidth, lineWidth);
+			lineIndex = lineEnd + 1;
+			y += down;
+			numLines++;
+		}
+		textBounds.width = maxWidth;
+		textBounds.height = data.capHeight + (numLines - 1) * data.lineHeight;
+	}
+
+	/** Removes all but the given number of glyphs. */
+	private void removeGlyphs (int glyphs) {
+		if (glyphIndices == null) {
+			idx[0] = glyphs * 20;
+			return;
+		}
+		for (int page = 0, n = glyphIndices.length; page < n; page++) {
+			IntArray indices = glyphIndices[page];
+			int size = indices.size;
+			while (size > 0 && indices.items[size - 1] >= glyphs)
+				size--;
+			indices.size = size;
+			idx[page] = size * 20;
+		}
+		glyphCount = glyphs;
+	}
+
+	static private float[] ensureCapacity (float[] array, int size) {
+		if (array != null && array.length >= size) return array;
+		float[] newArray = new float[Math.max(16, (int)(size * 1.5f))];
+		if (array != null) System.arraycopy(array, 0, newArray, 0, array.length);
+		return newArray;
+	}
+
+	/** Copies the glyphs into the layout, reusing its arrays if they are large enough. */
+	private Layout storeLayout (Layout layout, boolean incremental) {
+		int pageCount = vertexData.length;
+		if (layout.vertices == null || layout.vertices.length != pageCount) {
+			layout.vertices = new float[pageCount][];
+			layout.vertexCounts = new int[pageCount];
+			layout.glyphIndices = null;
+		}
+		for (int page = 0; page < pageCount; page++) {
+			int count = idx[page];
+			float[] vertices = layout.vertices[page];
+			if (vertices == null || vertices.length < count) layout.vertices[page] = vertices = new float[count];
+			if (count > 0) System.arraycopy(vertexData[page], 0, vertices, 0, count);
+			layout.vertexCounts[page] = count;
+		}
+		if (glyphIndices != null) {
+			if (layout.glyphIndices == null) {
+				layout.glyphIndices = new IntArray[pageCount];
+				for (int page = 0; page < pageCount; page++)
+					layout.glyphIndices[page] = new IntArray();
+			}
+			for (int page = 0; page < pageCount; page++) {
+				layout.glyphIndices[page].clear();
+				layout.glyphIndices[page].addAll(glyphIndices[page]);
+			}
+		}
+		layout.glyphCount = glyphCount;
+		layout.width = textBounds.width;
+		layout.height = textBounds.height;
+		layout.color = color;
+		if (incremental) {
+			int length = layoutKey.text.length;
+			if (layout.penX == null || layout.penX.length < length) layout.penX = new float[length];
+			System.arraycopy(layoutPenX, 0, layout.penX, 0, length);
+			layout.length = length;
+		} else
+			layout.length = -1;
+		return layout;
+	}
+
+	/** Replaces the glyphs with the glyphs of the layout, the cache must be cleared. */
+	private void loadLayout (Layout layout) {
+		for (int page = 0, pageCount = vertexData.length; page < pageCount; page++) {
+			float[] vertices = layout.vertices[page];
+			int count = layout.vertexCounts[page];
+			if (count > 0) {
+				float[] pageVertices = vertexData[page];
+				if (pageVertices == null || pageVertices.length < count) vertexData[page] = pageVertices = new float[count];
+				System.arraycopy(vertices, 0, pageVertices, 0, count);
+			}
+			idx[page] = count;
+			if (glyphIndices != null) glyphIndices[page].addAll(layout.glyphIndices[page]);
+		}
+		glyphCount = layout.glyphCount;
+		textBounds.width = layout.width;
+		textBounds.height = layout.height;
+		if (layout.length != -1) {
+			layoutPenX = ensureCapacity(layoutPenX, layout.length);
+			System.arraycopy(layout.penX, 0, layoutPenX, 0, layout.length);
+		}
+		if (layout.color != color) setColors(color);
+		layoutColor = color;
+		colorsChanged = false;
+	}
+
+	/** Sets the cache of layouts used by {@link #setText(CharSequence, float, float) setText},
+	 * {@link #setMultiLineText(CharSequence, float, float, float, HAlignment) setMultiLineText} and
+	 * {@link #setWrappedText(CharSequence, float, float, float, HAlignment) setWrappedText}.
+	 * @param layoutCache May be null. */
+	public void setLayoutCache (GlyphLayoutCache layoutCache) {
+		this.layoutCache = layoutCache;
+	}
+
+	public GlyphLayoutCache getLayoutCache () {
+		return layoutCache;
+	}
+
 	/** Returns the size of the cached string. The height is the distance from the top of most capital letters in the font (the
 	 * {@link BitmapFont#getCapHeight() cap height}) to the baseline of the last line of text. */
 	public TextBounds getBounds () {
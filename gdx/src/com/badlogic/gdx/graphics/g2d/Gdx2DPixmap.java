@@ -62,6 +62,23 @@ public class Gdx2DPixmap implements Disposable {
 		format = (int)nativeData[3];
 	}
 
+	/** Decodes the image in a direct buffer, eg a file mapped with {@link com.badlogic.gdx.files.FileHandle#map()}, without
+	 * copying it to the Java heap.
+	 * @param encodedData a direct buffer.
+	 * @throws IllegalArgumentException if offset and len are not within the limit of the buffer. */
+	public Gdx2DPixmap (ByteBuffer encodedData, int offset, int len, int requestedFormat) throws IOException {
+		if (offset < 0 || len < 0 || len > encodedData.limit() - offset)
+			throw new IllegalArgumentException("Invalid offset " + offset + " or len " + len + ", limit: " + encodedData.limit());
+		if (!encodedData.isDirect()) throw new IOException("Couldn't load pixmap from non-direct ByteBuffer");
+		pixelPtr = loadByteBuffer(nativeData, encodedData, offset, len, requestedFormat);
+		if (pixelPtr == null) throw new IOException("couldn't load pixmap " + getFailureReason());
+
+		basePtr = nativeData[0];
+		width = (int)nativeData[1];
+		height = (int)nativeData[2];
+		format = (int)nativeData[3];
+	}
+
 	public Gdx2DPixmap (InputStream in, int requestedFormat) throws IOException {
 		ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
 		byte[] buffer = new byte[1024];
@@ -262,6 +279,27 @@ public class Gdx2DPixmap implements Disposable {
 		return pixel_buffer;
 	*/
 
+	private static native ByteBuffer loadByteBuffer (long[] nativeData, ByteBuffer buffer, int offset, int len, int requestedFormat); /*MANUAL
+		if(buffer==0)
+			return 0;
+
+		const unsigned char* p_buffer = (const unsigned char*)env->GetDirectBufferAddress(buffer);
+		gdx2d_pixmap* pixmap = gdx2d_load(p_buffer + offset, len, requestedFormat);
+	
+		if(pixmap==0)
+			return 0;
+	
+		jobject pixel_buffer = env->NewDirectByteBuffer((void*)pixmap->pixels, pixmap->width * pixmap->height * gdx2d_bytes_per_pixel(pixmap->format));
+		jlong* p_native_data = (jlong*)env->GetPrimitiveArrayCritical(nativeData, 0);
+		p_native_data[0] = (jlong)pixmap;
+		p_native_data[1] = pixmap->width;
+		p_native_data[2] = pixmap->height;
+		p_native_data[3] = pixmap->format;
+		env->ReleasePrimitiveArrayCritical(nativeData, p_native_data, 0);
+	
+		return pixel_buffer;
+	*/
+
 	private static native ByteBuffer newPixmap (long[] nativeData, int width, int height, int format); /*MANUAL
 		gdx2d_pixmap* pixmap = gdx2d_new(width, height, format);
 		if(pixmap==0)
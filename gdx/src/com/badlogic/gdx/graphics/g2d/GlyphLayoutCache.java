@@ -0,0 +1,220 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g2d;
+
+import java.util.LinkedHashMap;
+import java.util.Map.Entry;
+
+import com.badlogic.gdx.graphics.g2d.BitmapFont.HAlignment;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.StringBuilder;
+
+/** Caches the glyph layouts computed by {@link BitmapFontCache#setText(CharSequence, float, float)},
+ * {@link BitmapFontCache#setMultiLineText(CharSequence, float, float, float, HAlignment) setMultiLineText} and
+ * {@link BitmapFontCache#setWrappedText(CharSequence, float, float, float, HAlignment) setWrappedText}, so setting text which was
+ * laid out before only copies the glyph vertices instead of computing them again. A layout is found by its font, text, kind,
+ * position, alignment and wrap width, and by the font's scale, {@link BitmapFont.BitmapFontData#glyphVersion glyph version} and
+ * the integer positions setting it was computed with. The least recently used layouts are discarded once the cache holds its
+ * maximum number of layouts, and their arrays are reused for the next layout stored. Text which was laid out incrementally from
+ * the previous text of a {@link BitmapFontCache} is not stored, such as a counter which changes every frame.
+ * <p>
+ * One cache can be shared by many BitmapFontCaches, see {@link BitmapFontCache#setLayoutCache(GlyphLayoutCache)} and
+ * {@link com.badlogic.gdx.scenes.scene2d.ui.Label#setLayoutCache(GlyphLayoutCache)}. The cache must be cleared if the glyphs of a
+ * font are changed. It is not thread safe. */
+public class GlyphLayoutCache {
+	private final LayoutMap layouts;
+
+	/** Number of layouts found in the cache since it was created. Will not be reset unless set manually. **/
+	public int hits;
+
+	/** Number of layouts not found in the cache since it was created. Will not be reset unless set manually. **/
+	public int misses;
+
+	/** Creates a cache for 256 layouts. */
+	public GlyphLayoutCache () {
+		this(256);
+	}
+
+	/** @param maxSize The maximum number of layouts held by the cache. */
+	public GlyphLayoutCache (int maxSize) {
+		if (maxSize < 1) throw new IllegalArgumentException("maxSize must be > 0: " + maxSize);
+		layouts = new LayoutMap(maxSize);
+	}
+
+	/** @return The layout for the key, or null. */
+	Layout get (Key key) {
+		Layout layout = layouts.get(key);
+		if (layout == null)
+			misses++;
+		else
+			hits++;
+		return layout;
+	}
+
+	/** @return The layout discarded last by the cache, or a new layout. */
+	Layout obtain () {
+		Layout layout = layouts.discarded;
+		if (layout == null) return new Layout();
+		layouts.discarded = null;
+		return layout;
+	}
+
+	/** Stores the layout for a copy of the key. */
+	void put (Key key, Layout layout) {
+		Key copy = layouts.discardedKey;
+		if (copy == null)
+			copy = new Key(key);
+		else {
+			layouts.discardedKey = null;
+			copy.set(key.font, key.kind, key.text, key.x, key.y, key.width, key.alignment, key.scaleX, key.scaleY, key.integer);
+		}
+		layouts.put(copy, layout);
+	}
+
+	/** Removes all layouts. */
+	public void clear () {
+		layouts.clear();
+	}
+
+	/** @return The number of layouts in the cache. */
+	public int size () {
+		return layouts.size();
+	}
+
+	public int getMaxSize () {
+		return layouts.maxSize;
+	}
+
+	/** Holds the layouts in access order and discards the least recently used layout once there are more than maxSize. */
+	static private class LayoutMap extends LinkedHashMap<Key, Layout> {
+		private static final long serialVersionUID = 1L;
+
+		final int maxSize;
+		/** The key and layout discarded last, they are reused by the next layout which is stored. */
+		Key discardedKey;
+		Layout discarded;
+
+		LayoutMap (int maxSize) {
+			super(16, 0.75f, true);
+			this.maxSize = maxSize;
+		}
+
+		protected boolean removeEldestEntry (Entry<Key, Layout> eldest) {
+			if (size() <= maxSize) return false;
+			discardedKey = eldest.getKey();
+			discarded = eldest.getValue();
+			return true;
+		}
+	}
+
+	/** Identifies the text set on a {@link BitmapFontCache} and how it was laid out. */
+	static class Key {
+		BitmapFont font;
+		/** One of {@link BitmapFontCache#TEXT}, {@link BitmapFontCache#MULTI_LINE_TEXT} or
+		 * {@link BitmapFontCache#WRAPPED_TEXT}, 0 if the key is not set. */
+		int kind;
+		final StringBuilder text;
+		float x, y;
+		/** The alignment width or the wrap width. */
+		float width;
+		HAlignment alignment;
+		float scaleX, scaleY;
+		boolean integer;
+		int glyphVersion;
+		private int hashCode;
+
+		Key () {
+			text = new StringBuilder();
+		}
+
+		Key (Key key) {
+			text = new StringBuilder(key.text.length);
+			set(key.font, key.kind, key.text, key.x, key.y, key.width, key.alignment, key.scaleX, key.scaleY, key.integer);
+		}
+
+		void set (BitmapFont font, int kind, CharSequence text, float x, float y, float width, HAlignment alignment, float scaleX,
+			float scaleY, boolean integer) {
+			this.font = font;
+			this.kind = kind;
+			if (text != this.text) {
+				this.text.setLength(0);
+				this.text.append(text);
+			}
+			this.x = x;
+			this.y = y;
+			this.width = width;
+			this.alignment = alignment;
+			this.scaleX = scaleX;
+			this.scaleY = scaleY;
+			this.integer = integer;
+			glyphVersion = font.data.glyphVersion;
+			updateHashCode();
+		}
+
+		void updateHashCode () {
+			int h = System.identityHashCode(font);
+			h = h * 31 + kind;
+			char[] chars = text.chars;
+			for (int i = 0, n = text.length; i < n; i++)
+				h = h * 31 + chars[i];
+			h = h * 31 + Float.floatToIntBits(x);
+			h = h * 31 + Float.floatToIntBits(y);
+			h = h * 31 + Float.floatToIntBits(width);
+			h = h * 31 + alignment.ordinal();
+			h = h * 31 + Float.floatToIntBits(scaleX);
+			h = h * 31 + Float.floatToIntBits(scaleY);
+			h = h * 31 + glyphVersion;
+			hashCode = h * 31 + (integer ? 1 : 0);
+		}
+
+		public int hashCode () {
+			return hashCode;
+		}
+
+		public boolean equals (Object object) {
+			if (this == object) return true;
+			if (!(object instanceof Key)) return false;
+			Key other = (Key)object;
+			if (hashCode != other.hashCode || font != other.font || kind != other.kind || x != other.x || y != other.y
+				|| width != other.width || alignment != other.alignment || scaleX != other.scaleX || scaleY != other.scaleY
+				|| integer != other.integer || glyphVersion != other.glyphVersion) return false;
+			int length = text.length;
+			if (length != other.text.length) return false;
+			char[] chars = text.chars, otherChars = other.text.chars;
+			for (int i = 0; i < length; i++)
+				if (chars[i] != otherChars[i]) return false;
+			return true;
+		}
+	}
+
+	/** The glyph vertices and bounds of a laid out text. */
+	static class Layout {
+		/** For each page, the vertices of its glyphs. An array may be longer than the page's vertex count. */
+		float[][] vertices;
+		int[] vertexCounts;
+		/** For each page, the indices of its glyphs, or null if the font has one page. */
+		IntArray[] glyphIndices;
+		int glyphCount;
+		float width, height;
+		/** The color of the vertices. */
+		float color;
+		/** The x position of the pen after each character, the array may be longer than the text. */
+		float[] penX;
+		/** The length of the text, or -1 if the layout can't be updated incrementally. */
+		int length = -1;
+	}
+}
@@ -0,0 +1,512 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g2d;
+
+import static com.badlogic.gdx.graphics.g2d.Batch.*;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.utils.NumberUtils;
+
+/** A {@link ParticleEmitter} that stores the particles in parallel primitive arrays instead of {@link Particle} sprites. The live
+ * particles are always the first {@link #getActiveCount()} entries of the arrays, a dead particle is replaced by the last one, so
+ * update and draw only visit live particles. The vertices are computed while drawing and passed to the batch in bulk with
+ * {@link Batch#draw(Texture, float[], int, int)}. <br>
+ * <br>
+ * The emitter behaves the same as a ParticleEmitter and uses the same effect file format, see
+ * {@link ParticleEffect#setPacked(boolean)}. {@link #newParticle(Sprite)} is not used, so the particles can't be customized by
+ * subclassing {@link Particle}. */
+public class PackedParticleEmitter extends ParticleEmitter {
+	static private final int BATCH_PARTICLES = 128;
+
+	// Fields are assigned in setMaxParticleCount, which is called by the super constructor, so they must not have initializers.
+	private int[] totalLife, currentLife;
+	private float[] scale, scaleDiff, currentScale;
+	private float[] rotation, rotationDiff, currentRotation;
+	private float[] velocity, velocityDiff;
+	private float[] angle, angleDiff, angleCos, angleSin;
+	private float[] transparency, transparencyDiff;
+	private float[] wind, windDiff;
+	private float[] gravity, gravityDiff;
+	private float[] tint, color;
+	private float[] percent;
+	private float[] positionX, positionY;
+	private float[] vertices;
+
+	public PackedParticleEmitter () {
+	}
+
+	public PackedParticleEmitter (BufferedReader reader) throws IOException {
+		super(reader);
+	}
+
+	public PackedParticleEmitter (ParticleEmitter emitter) {
+		super(emitter);
+	}
+
+	public void setMaxParticleCount (int maxParticleCount) {
+		this.maxParticleCount = maxParticleCount;
+		activeCount = 0;
+		totalLife = new int[maxParticleCount];
+		currentLife = new int[maxParticleCount];
+		scale = new float[maxParticleCount];
+		scaleDiff = new float[maxParticleCount];
+		currentScale = new float[maxParticleCount];
+		rotation = new float[maxParticleCount];
+		rotationDiff = new float[maxParticleCount];
+		currentRotation = new float[maxParticleCount];
+		velocity = new float[maxParticleCount];
+		velocityDiff = new float[maxParticleCount];
+		angle = new float[maxParticleCount];
+		angleDiff = new float[maxParticleCount];
+		angleCos = new float[maxParticleCount];
+		angleSin = new float[maxParticleCount];
+		transparency = new float[maxParticleCount];
+		transparencyDiff = new float[maxParticleCount];
+		wind = new float[maxParticleCount];
+		windDiff = new float[maxParticleCount];
+		gravity = new float[maxParticleCount];
+		gravityDiff = new float[maxParticleCount];
+		tint = new float[maxParticleCount * 3];
+		color = new float[maxParticleCount];
+		percent = new float[maxParticleCount];
+		positionX = new float[maxParticleCount];
+		positionY = new float[maxParticleCount];
+		vertices = new float[Math.max(1, Math.min(maxParticleCount, BATCH_PARTICLES)) * Sprite.SPRITE_SIZE];
+	}
+
+	public void addParticle () {
+		if (activeCount == maxParticleCount) return;
+		activateParticle(activeCount++);
+	}
+
+	public void addParticles (int count) {
+		count = Math.min(count, maxParticleCount - activeCount);
+		for (int i = 0; i < count; i++)
+			activateParticle(activeCount++);
+	}
+
+	public void update (float delta) {
+		accumulator += delta * 1000;
+		if (accumulator < 1) return;
+		int deltaMillis = (int)accumulator;
+		accumulator -= deltaMillis;
+
+		updateEmission(deltaMillis);
+		updateParticles(0, delta, deltaMillis);
+	}
+
+	public void draw (Batch batch) {
+		if (activeCount == 0) return;
+		if (additive) batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE);
+
+		Sprite sprite = this.sprite;
+		Texture texture = sprite.getTexture();
+		float[] spriteVertices = sprite.getVertices();
+		float u1 = spriteVertices[U1], v1 = spriteVertices[V1], u2 = spriteVertices[U2], v2 = spriteVertices[V2];
+		float u3 = spriteVertices[U3], v3 = spriteVertices[V3], u4 = spriteVertices[U4], v4 = spriteVertices[V4];
+		if (flipX) {
+			float temp = u1;
+			u1 = u3;
+			u3 = temp;
+			temp = u2;
+			u2 = u4;
+			u4 = temp;
+		}
+		if (flipY) {
+			float temp = v1;
+			v1 = v3;
+			v3 = temp;
+			temp = v2;
+			v2 = v4;
+			v4 = temp;
+		}
+
+		float[] vertices = this.vertices;
+		float[] color = this.color;
+		int idx = 0;
+		for (int i = 0, n = activeCount; i < n; i++) {
+			computePositions(i, vertices, idx);
+			float c = color[i];
+			vertices[idx + C1] = c;
+			vertices[idx + U1] = u1;
+			vertices[idx + V1] = v1;
+			vertices[idx + C2] = c;
+			vertices[idx + U2] = u2;
+			vertices[idx + V2] = v2;
+			vertices[idx + C3] = c;
+			vertices[idx + U3] = u3;
+			vertices[idx + V3] = v3;
+			vertices[idx + C4] = c;
+			vertices[idx + U4] = u4;
+			vertices[idx + V4] = v4;
+			idx += Sprite.SPRITE_SIZE;
+			if (idx == vertices.length) {
+				batch.draw(texture, vertices, 0, idx);
+				idx = 0;
+			}
+		}
+		if (idx > 0) batch.draw(texture, vertices, 0, idx);
+
+		if (additive) batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+	}
+
+	public void draw (Batch batch, float delta) {
+		accumulator += delta * 1000;
+		if (accumulator < 1) {
+			draw(batch);
+			return;
+		}
+		int deltaMillis = (int)accumulator;
+		accumulator -= deltaMillis;
+
+		updateParticles(0, delta, deltaMillis);
+		draw(batch);
+		updateEmission(deltaMillis);
+	}
+
+	/** Writes the x and y of the 4 vertices of the particle the same way {@link Sprite#getVertices()} does. */
+	private void computePositions (int index, float[] vertices, int offset) {
+		Sprite sprite = this.sprite;
+		float originX = sprite.getOriginX(), originY = sprite.getOriginY();
+		float localX = -originX;
+		float localY = -originY;
+		float localX2 = localX + sprite.getWidth();
+		float localY2 = localY + sprite.getHeight();
+		float worldOriginX = positionX[index] - localX;
+		float worldOriginY = positionY[index] - localY;
+		float scale = currentScale[index];
+		if (scale != 1) {
+			localX *= scale;
+			localY *= scale;
+			localX2 *= scale;
+			localY2 *= scale;
+		}
+		float rotation = currentRotation[index];
+		if (rotation != 0) {
+			float cos = MathUtils.cosDeg(rotation);
+			float sin = MathUtils.sinDeg(rotation);
+			float localXCos = localX * cos;
+			float localXSin = localX * sin;
+			float localYCos = localY * cos;
+			float localYSin = localY * sin;
+			float localX2Cos = localX2 * cos;
+			float localX2Sin = localX2 * sin;
+			float localY2Cos = localY2 * cos;
+			float localY2Sin = localY2 * sin;
+
+			float x1 = localXCos - localYSin + worldOriginX;
+			float y1 = localYCos + localXSin + worldOriginY;
+			float x2 = localXCos - localY2Sin + worldOriginX;
+			float y2 = localY2Cos + localXSin + worldOriginY;
+			float x3 = localX2Cos - localY2Sin + worldOriginX;
+			float y3 = localY2Cos + localX2Sin + worldOriginY;
+			vertices[offset + X1] = x1;
+			vertices[offset + Y1] = y1;
+			vertices[offset + X2] = x2;
+			vertices[offset + Y2] = y2;
+			vertices[offset + X3] = x3;
+			vertices[offset + Y3] = y3;
+			vertices[offset + X4] = x1 + (x3 - x2);
+			vertices[offset + Y4] = y3 - (y2 - y1);
+		} else {
+			float x1 = localX + worldOriginX;
+			float y1 = localY + worldOriginY;
+			float x2 = localX2 + worldOriginX;
+			float y2 = localY2 + worldOriginY;
+			vertices[offset + X1] = x1;
+			vertices[offset + Y1] = y1;
+			vertices[offset + X2] = x1;
+			vertices[offset + Y2] = y2;
+			vertices[offset + X3] = x2;
+			vertices[offset + Y3] = y2;
+			vertices[offset + X4] = x2;
+			vertices[offset + Y4] = y1;
+		}
+	}
+
+	public void reset () {
+		emissionDelta = 0;
+		durationTimer = duration;
+		activeCount = 0;
+		start();
+	}
+
+	private void activateParticle (int index) {
+		float percent = durationTimer / duration;
+		int updateFlags = this.updateFlags;
+
+		currentLife[index] = totalLife[index] = life + (int)(lifeDiff * lifeValue.getScale(percent));
+
+		if (velocityValue.active) {
+			float velocity = velocityValue.newLowValue(random);
+			float velocityDiff = velocityValue.newHighValue(random);
+			if (!velocityValue.isRelative()) velocityDiff -= velocity;
+			this.velocity[index] = velocity;
+			this.velocityDiff[index] = velocityDiff;
+		}
+
+		float particleAngle = angleValue.newLowValue(random);
+		float angleDiff = angleValue.newHighValue(random);
+		if (!angleValue.isRelative()) angleDiff -= particleAngle;
+		float angle = 0;
+		if ((updateFlags & UPDATE_ANGLE) == 0) {
+			angle = particleAngle + angleDiff * angleValue.getScale(0);
+			particleAngle = angle;
+			angleCos[index] = MathUtils.cosDeg(angle);
+			angleSin[index] = MathUtils.sinDeg(angle);
+		}
+		this.angle[index] = particleAngle;
+		this.angleDiff[index] = angleDiff;
+
+		float spriteWidth = sprite.getWidth();
+		float scale = scaleValue.newLowValue(random) / spriteWidth;
+		float scaleDiff = scaleValue.newHighValue(random) / spriteWidth;
+		if (!scaleValue.isRelative()) scaleDiff -= scale;
+		this.scale[index] = scale;
+		this.scaleDiff[index] = scaleDiff;
+		currentScale[index] = scale + scaleDiff * scaleValue.getScale(0);
+
+		if (rotationValue.active) {
+			float rotation = rotationValue.newLowValue(random);
+			float rotationDiff = rotationValue.newHighValue(random);
+			if (!rotationValue.isRelative()) rotationDiff -= rotation;
+			this.rotation[index] = rotation;
+			this.rotationDiff[index] = rotationDiff;
+			rotation += rotationDiff * rotationValue.getScale(0);
+			if (aligned) rotation += angle;
+			currentRotation[index] = rotation;
+		} else {
+			rotation[index] = 0;
+			rotationDiff[index] = 0;
+			currentRotation[index] = sprite.getRotation();
+		}
+
+		if (windValue.active) {
+			float wind = windValue.newLowValue(random);
+			float windDiff = windValue.newHighValue(random);
+			if (!windValue.isRelative()) windDiff -= wind;
+			this.wind[index] = wind;
+			this.windDiff[index] = windDiff;
+		}
+
+		if (gravityValue.active) {
+			float gravity = gravityValue.newLowValue(random);
+			float gravityDiff = gravityValue.newHighValue(random);
+			if (!gravityValue.isRelative()) gravityDiff -= gravity;
+			this.gravity[index] = gravity;
+			this.gravityDiff[index] = gravityDiff;
+		}
+
+		float[] temp = tintValue.getColor(0);
+		int tintIndex = index * 3;
+		tint[tintIndex] = temp[0];
+		tint[tintIndex + 1] = temp[1];
+		tint[tintIndex + 2] = temp[2];
+
+		float transparency = transparencyValue.newLowValue(random);
+		this.transparency[index] = transparency;
+		transparencyDiff[index] = transparencyValue.newHighValue(random) - transparency;
+		color[index] = sprite.getColor().toFloatBits();
+
+		spawn(percent);
+		if (spawnAngleSet) {
+			this.angle[index] = spawnAngle;
+			angleCos[index] = spawnAngleCos;
+			angleSin[index] = spawnAngleSin;
+		}
+		positionX[index] = spawnX - spriteWidth / 2;
+		positionY[index] = spawnY - sprite.getHeight() / 2;
+
+		int offsetTime = (int)(lifeOffset + lifeOffsetDiff * lifeOffsetValue.getScale(percent));
+		if (offsetTime > 0) {
+			if (offsetTime >= currentLife[index]) offsetTime = currentLife[index] - 1;
+			// The new particle is the last one.
+			updateParticles(index, offsetTime / 1000f, offsetTime);
+		}
+	}
+
+	/** Updates the particles from the specified index to the last, removing the particles whose life has ended. Each property is
+	 * updated for all particles in its own loop, so only the arrays it needs are touched. */
+	private void updateParticles (int start, float delta, int deltaMillis) {
+		int[] currentLife = this.currentLife, totalLife = this.totalLife;
+		float[] percent = this.percent;
+		for (int i = start; i < activeCount;) {
+			int life = currentLife[i] - deltaMillis;
+			if (life <= 0) {
+				removeParticle(i);
+				continue;
+			}
+			currentLife[i] = life;
+			percent[i] = 1 - life / (float)totalLife[i];
+			i++;
+		}
+		int n = activeCount;
+		int updateFlags = this.updateFlags;
+
+		if ((updateFlags & UPDATE_SCALE) != 0) {
+			ScaledNumericValue scaleValue = this.scaleValue;
+			float[] scale = this.scale, scaleDiff = this.scaleDiff, currentScale = this.currentScale;
+			for (int i = start; i < n; i++)
+				currentScale[i] = scale[i] + scaleDiff[i] * scaleValue.getScale(percent[i]);
+		}
+
+		boolean updateRotation = (updateFlags & UPDATE_ROTATION) != 0;
+		if ((updateFlags & UPDATE_VELOCITY) != 0) {
+			ScaledNumericValue velocityValue = this.velocityValue, angleValue = this.angleValue;
+			ScaledNumericValue rotationValue = this.rotationValue, windValue = this.windValue, gravityValue = this.gravityValue;
+			float[] velocity = this.velocity, velocityDiff = this.velocityDiff;
+			float[] angle = this.angle, angleDiff = this.angleDiff, angleCos = this.angleCos, angleSin = this.angleSin;
+			float[] rotation = this.rotation, rotationDiff = this.rotationDiff, currentRotation = this.currentRotation;
+			float[] wind = this.wind, windDiff = this.windDiff, gravity = this.gravity, gravityDiff = this.gravityDiff;
+			float[] positionX = this.positionX, positionY = this.positionY;
+			boolean updateAngle = (updateFlags & UPDATE_ANGLE) != 0, aligned = this.aligned;
+			boolean updateWind = (updateFlags & UPDATE_WIND) != 0, updateGravity = (updateFlags & UPDATE_GRAVITY) != 0;
+			for (int i = start; i < n; i++) {
+				float p = percent[i];
+				float v = (velocity[i] + velocityDiff[i] * velocityValue.getScale(p)) * delta;
+
+				float velocityX, velocityY;
+				if (updateAngle) {
+					float a = angle[i] + angleDiff[i] * angleValue.getScale(p);
+					velocityX = v * MathUtils.cosDeg(a);
+					velocityY = v * MathUtils.sinDeg(a);
+					if (updateRotation) {
+						float r = rotation[i] + rotationDiff[i] * rotationValue.getScale(p);
+						if (aligned) r += a;
+						currentRotation[i] = r;
+					}
+				} else {
+					velocityX = v * angleCos[i];
+					velocityY = v * angleSin[i];
+					if (aligned || updateRotation) {
+						float r = rotation[i] + rotationDiff[i] * rotationValue.getScale(p);
+						if (aligned) r += angle[i];
+						currentRotation[i] = r;
+					}
+				}
+
+				if (updateWind) velocityX += (wind[i] + windDiff[i] * windValue.getScale(p)) * delta;
+				if (updateGravity) velocityY += (gravity[i] + gravityDiff[i] * gravityValue.getScale(p)) * delta;
+
+				positionX[i] += velocityX;
+				positionY[i] += velocityY;
+			}
+		} else if (updateRotation) {
+			ScaledNumericValue rotationValue = this.rotationValue;
+			float[] rotation = this.rotation, rotationDiff = this.rotationDiff, currentRotation = this.currentRotation;
+			for (int i = start; i < n; i++)
+				currentRotation[i] = rotation[i] + rotationDiff[i] * rotationValue.getScale(percent[i]);
+		}
+
+		ScaledNumericValue transparencyValue = this.transparencyValue;
+		float[] transparency = this.transparency, transparencyDiff = this.transparencyDiff, tint = this.tint, color = this.color;
+		boolean updateTint = (updateFlags & UPDATE_TINT) != 0;
+		for (int i = start; i < n; i++) {
+			float p = percent[i];
+			float r, g, b;
+			if (updateTint) {
+				float[] temp = tintValue.getColor(p);
+				r = temp[0];
+				g = temp[1];
+				b = temp[2];
+			} else {
+				int tintIndex = i * 3;
+				r = tint[tintIndex];
+				g = tint[tintIndex + 1];
+				b = tint[tintIndex + 2];
+			}
+			float a = transparency[i] + transparencyDiff[i] * transparencyValue.getScale(p);
+			int intBits = ((int)(255 * a) << 24) | ((int)(255 * b) << 16) | ((int)(255 * g) << 8) | ((int)(255 * r));
+			color[i] = NumberUtils.intToFloatColor(intBits);
+		}
+	}
+
+	/** Removes the particle by moving the last live particle into its place. */
+	private void removeParticle (int index) {
+		int last = --activeCount;
+		if (index == last) return;
+		totalLife[index] = totalLife[last];
+		currentLife[index] = currentLife[last];
+		scale[index] = scale[last];
+		scaleDiff[index] = scaleDiff[last];
+		currentScale[index] = currentScale[last];
+		rotation[index] = rotation[last];
+		rotationDiff[index] = rotationDiff[last];
+		currentRotation[index] = currentRotation[last];
+		velocity[index] = velocity[last];
+		velocityDiff[index] = velocityDiff[last];
+		angle[index] = angle[last];
+		angleDiff[index] = angleDiff[last];
+		angleCos[index] = angleCos[last];
+		angleSin[index] = angleSin[last];
+		transparency[index] = transparency[last];
+		transparencyDiff[index] = transparencyDiff[last];
+		wind[index] = wind[last];
+		windDiff[index] = windDiff[last];
+		gravity[index] = gravity[last];
+		gravityDiff[index] = gravityDiff[last];
+		System.arraycopy(tint, last * 3, tint, index * 3, 3);
+		color[index] = color[last];
+		positionX[index] = positionX[last];
+		positionY[index] = positionY[last];
+	}
+
+	public void setPosition (float x, float y) {
+		if (isAttached()) {
+			float xAmount = x - this.x;
+			float yAmount = y - this.y;
+			float[] positionX = this.positionX, positionY = this.positionY;
+			for (int i = 0, n = activeCount; i < n; i++) {
+				positionX[i] += xAmount;
+				positionY[i] += yAmount;
+			}
+		}
+		this.x = x;
+		this.y = y;
+	}
+
+	/** The texture region, size and origin of the sprite are used when the particles are drawn, so changing the sprite affects live
+	 * particles. */
+	public void setSprite (Sprite sprite) {
+		this.sprite = sprite;
+	}
+
+	public void setFlip (boolean flipX, boolean flipY) {
+		this.flipX = flipX;
+		this.flipY = flipY;
+	}
+
+	public BoundingBox getBoundingBox () {
+		if (bounds == null) bounds = new BoundingBox();
+
+		BoundingBox bounds = this.bounds;
+		float[] vertices = this.vertices;
+		bounds.inf();
+		for (int i = 0, n = activeCount; i < n; i++) {
+			computePositions(i, vertices, 0);
+			for (int ii = 0; ii < Sprite.SPRITE_SIZE; ii += Sprite.VERTEX_SIZE)
+				bounds.ext(vertices[ii], vertices[ii + 1], 0);
+		}
+		return bounds;
+	}
+}
@@ -22,9 +22,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.Writer;
+import java.util.Random;
 
 import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.math.MathUtils;
 import com.badlogic.gdx.math.collision.BoundingBox;
 import com.badlogic.gdx.utils.Array;
 import com.badlogic.gdx.utils.Disposable;
@@ -37,15 +39,17 @@ public class ParticleEffect implements Disposable {
 	private final Array<ParticleEmitter> emitters;
 	private BoundingBox bounds;
 	private boolean ownsTexture;
+	private boolean packed;
 
 	public ParticleEffect () {
 		emitters = new Array(8);
 	}
 
 	public ParticleEffect (ParticleEffect effect) {
+		packed = effect.packed;
 		emitters = new Array(true, effect.emitters.size);
 		for (int i = 0, n = effect.emitters.size; i < n; i++)
-			emitters.add(new ParticleEmitter(effect.emitters.get(i)));
+			emitters.add(newEmitter(effect.emitters.get(i)));
 	}
 
 	public void start () {
@@ -151,7 +155,7 @@ public class ParticleEffect implements Disposable {
 		try {
 			reader = new BufferedReader(new InputStreamReader(input), 512);
 			while (true) {
-				ParticleEmitter emitter = new ParticleEmitter(reader);
+				ParticleEmitter emitter = newEmitter(reader);
 				reader.readLine();
 				emitter.setImagePath(reader.readLine());
 				emitters.add(emitter);
@@ -190,6 +194,43 @@ public class ParticleEffect implements Disposable {
 		}
 	}
 
+	protected ParticleEmitter newEmitter (BufferedReader reader) throws IOException {
+		if (packed) return new PackedParticleEmitter(reader);
+		return new ParticleEmitter(reader);
+	}
+
+	protected ParticleEmitter newEmitter (ParticleEmitter emitter) {
+		if (emitter instanceof PackedParticleEmitter) return new PackedParticleEmitter(emitter);
+		return new ParticleEmitter(emitter);
+	}
+
+	/** If true, emitters loaded afterward are {@link PackedParticleEmitter}s, which use less memory and are faster to update and
+	 * draw when there are many particles. Emitters that are already loaded are not changed. Default is false. */
+	public void setPacked (boolean packed) {
+		this.packed = packed;
+	}
+
+	public boolean isPacked () {
+		return packed;
+	}
+
+	/** Seeds the random number generator of each emitter with a different seed derived from the specified seed. Emitters that use
+	 * the shared {@link MathUtils#random} are given their own generator. The effect is simulated the same way every time it is
+	 * started after setting the same seed, and its emitters can be updated on multiple threads by a
+	 * {@link ParticleEffectUpdater}.
+	 * @see ParticleEmitter#setRandom(Random) */
+	public void setSeed (long seed) {
+		Random seeds = new Random(seed);
+		for (int i = 0, n = emitters.size; i < n; i++) {
+			ParticleEmitter emitter = emitters.get(i);
+			Random random = emitter.getRandom();
+			if (random == MathUtils.random)
+				emitter.setRandom(new Random(seeds.nextLong()));
+			else
+				random.setSeed(seeds.nextLong());
+		}
+	}
+
 	protected Texture loadTexture (FileHandle file) {
 		return new Texture(file, false);
 	}
@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g2d;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Disposable;
+import com.badlogic.gdx.utils.async.AsyncExecutor;
+import com.badlogic.gdx.utils.async.AsyncResult;
+import com.badlogic.gdx.utils.async.AsyncTask;
+
+/** Updates the emitters of many {@link ParticleEffect}s on multiple threads, so only drawing is left for the rendering thread. The
+ * emitters are split into small chunks which the calling thread and the worker threads take in turn until all are updated, so
+ * threads that finish early take more chunks. {@link #update(Array, float)} returns when all emitters are updated, after which the
+ * effects can be drawn with {@link ParticleEffect#draw(Batch)}. <br>
+ * <br>
+ * Emitters are independent of each other, except that they all use the shared {@link MathUtils#random} by default, which makes the
+ * result depend on the order the threads update them. Call {@link ParticleEffect#setSeed(long)} before starting each effect to give
+ * every emitter its own generator, then the result is the same as updating the effects with
+ * {@link ParticleEffect#update(float)} on a single thread. Emitters must not be shared between effects, and the effects must not
+ * be changed or drawn during the update. Subclasses of ParticleEffect that override update(float) are not supported, the
+ * emitters are updated directly.
+ * @see AsyncExecutor */
+public class ParticleEffectUpdater implements Disposable {
+	static private final int CHUNK_SIZE = 4;
+
+	private final AsyncExecutor executor;
+	private final UpdateTask task = new UpdateTask();
+	private final AsyncResult[] results;
+	private final Array<ParticleEmitter> emitters = new Array(false, 64, ParticleEmitter.class);
+	private float delta;
+	private int nextIndex;
+
+	/** @param threads The number of threads updating emitters, including the calling thread. If 1, the emitters are updated on the
+	 *           calling thread only. */
+	public ParticleEffectUpdater (int threads) {
+		if (threads < 1) throw new IllegalArgumentException("threads must be > 0: " + threads);
+		results = new AsyncResult[threads - 1];
+		executor = threads > 1 ? new AsyncExecutor(threads - 1) : null;
+	}
+
+	/** Updates all emitters of the specified effects and waits until they are updated. */
+	public void update (Array<? extends ParticleEffect> effects, float delta) {
+		for (int i = 0, n = effects.size; i < n; i++)
+			emitters.addAll(effects.get(i).getEmitters());
+		updateEmitters(delta);
+	}
+
+	/** Updates all emitters of the specified effect and waits until they are updated. */
+	public void update (ParticleEffect effect, float delta) {
+		emitters.addAll(effect.getEmitters());
+		updateEmitters(delta);
+	}
+
+	private void updateEmitters (float delta) {
+		this.delta = delta;
+		nextIndex = 0;
+		// Only start as many worker threads as there are chunks left for them.
+		int workers = Math.min(results.length, (emitters.size - 1) / CHUNK_SIZE);
+		for (int i = 0; i < workers; i++)
+			results[i] = executor.submit(task);
+		try {
+			task.call();
+		} finally {
+			// Wait for all workers even if an update failed, so no emitter is updated after this method returns.
+			RuntimeException failure = null;
+			for (int i = 0; i < workers; i++) {
+				try {
+					results[i].get();
+				} catch (RuntimeException ex) {
+					if (failure == null) failure = ex;
+				}
+				results[i] = null;
+			}
+			emitters.clear();
+			if (failure != null) throw failure;
+		}
+	}
+
+	/** Returns the index of the first emitter of the next chunk to update. */
+	synchronized int nextChunk () {
+		int index = nextIndex;
+		nextIndex += CHUNK_SIZE;
+		return index;
+	}
+
+	/** Waits for running updates to finish and stops the worker threads. */
+	public void dispose () {
+		if (executor != null) executor.dispose();
+	}
+
+	private class UpdateTask implements AsyncTask<Void> {
+		public Void call () {
+			ParticleEmitter[] items = emitters.items;
+			int size = emitters.size;
+			float delta = ParticleEffectUpdater.this.delta;
+			while (true) {
+				int start = nextChunk();
+				if (start >= size) return null;
+				for (int i = start, n = Math.min(start + CHUNK_SIZE, size); i < n; i++)
+					items[i].update(delta);
+			}
+		}
+	}
+}
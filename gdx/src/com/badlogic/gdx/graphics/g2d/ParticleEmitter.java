@@ -19,6 +19,7 @@ package com.badlogic.gdx.graphics.g2d;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.Writer;
+import java.util.Random;
 
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.Texture;
@@ -30,61 +31,71 @@ import com.badlogic.gdx.math.collision.BoundingBox;
 // BOZO - Add a duplicate emitter button.
 
 public class ParticleEmitter {
-	static private final int UPDATE_SCALE = 1 << 0;
-	static private final int UPDATE_ANGLE = 1 << 1;
-	static private final int UPDATE_ROTATION = 1 << 2;
-	static private final int UPDATE_VELOCITY = 1 << 3;
-	static private final int UPDATE_WIND = 1 << 4;
-	static private final int UPDATE_GRAVITY = 1 << 5;
-	static private final int UPDATE_TINT = 1 << 6;
-
-	private RangedNumericValue delayValue = new RangedNumericValue();
-	private ScaledNumericValue lifeOffsetValue = new ScaledNumericValue();
-	private RangedNumericValue durationValue = new RangedNumericValue();
-	private ScaledNumericValue lifeValue = new ScaledNumericValue();
-	private ScaledNumericValue emissionValue = new ScaledNumericValue();
-	private ScaledNumericValue scaleValue = new ScaledNumericValue();
-	private ScaledNumericValue rotationValue = new ScaledNumericValue();
-	private ScaledNumericValue velocityValue = new ScaledNumericValue();
-	private ScaledNumericValue angleValue = new ScaledNumericValue();
-	private ScaledNumericValue windValue = new ScaledNumericValue();
-	private ScaledNumericValue gravityValue = new ScaledNumericValue();
-	private ScaledNumericValue transparencyValue = new ScaledNumericValue();
-	private GradientColorValue tintValue = new GradientColorValue();
-	private RangedNumericValue xOffsetValue = new ScaledNumericValue();
-	private RangedNumericValue yOffsetValue = new ScaledNumericValue();
-	private ScaledNumericValue spawnWidthValue = new ScaledNumericValue();
-	private ScaledNumericValue spawnHeightValue = new ScaledNumericValue();
-	private SpawnShapeValue spawnShapeValue = new SpawnShapeValue();
-
-	private float accumulator;
-	private Sprite sprite;
+	static final int UPDATE_SCALE = 1 << 0;
+	static final int UPDATE_ANGLE = 1 << 1;
+	static final int UPDATE_ROTATION = 1 << 2;
+	static final int UPDATE_VELOCITY = 1 << 3;
+	static final int UPDATE_WIND = 1 << 4;
+	static final int UPDATE_GRAVITY = 1 << 5;
+	static final int UPDATE_TINT = 1 << 6;
+
+	RangedNumericValue delayValue = new RangedNumericValue();
+	ScaledNumericValue lifeOffsetValue = new ScaledNumericValue();
+	RangedNumericValue durationValue = new RangedNumericValue();
+	ScaledNumericValue lifeValue = new ScaledNumericValue();
+	ScaledNumericValue emissionValue = new ScaledNumericValue();
+	ScaledNumericValue scaleValue = new ScaledNumericValue();
+	ScaledNumericValue rotationValue = new ScaledNumericValue();
+	ScaledNumericValue velocityValue = new ScaledNumericValue();
+	ScaledNumericValue angleValue = new ScaledNumericValue();
+	ScaledNumericValue windValue = new ScaledNumericValue();
+	ScaledNumericValue gravityValue = new ScaledNumericValue();
+	ScaledNumericValue transparencyValue = new ScaledNumericValue();
+	GradientColorValue tintValue = new GradientColorValue();
+	RangedNumericValue xOffsetValue = new ScaledNumericValue();
+	RangedNumericValue yOffsetValue = new ScaledNumericValue();
+	ScaledNumericValue spawnWidthValue = new ScaledNumericValue();
+	ScaledNumericValue spawnHeightValue = new ScaledNumericValue();
+	SpawnShapeValue spawnShapeValue = new SpawnShapeValue();
+
+	float accumulator;
+	Sprite sprite;
 	private Particle[] particles;
-	private int minParticleCount, maxParticleCount = 4;
-	private float x, y;
+	private int minParticleCount;
+	int maxParticleCount = 4;
+	float x, y;
 	private String name;
 	private String imagePath;
-	private int activeCount;
+	int activeCount;
 	private boolean[] active;
 	private boolean firstUpdate;
-	private boolean flipX, flipY;
-	private int updateFlags;
+	boolean flipX, flipY;
+	int updateFlags;
 	private boolean allowCompletion;
-	private BoundingBox bounds;
+	BoundingBox bounds;
 
-	private int emission, emissionDiff, emissionDelta;
-	private int lifeOffset, lifeOffsetDiff;
-	private int life, lifeDiff;
+	private int emission, emissionDiff;
+	int emissionDelta;
+	int lifeOffset, lifeOffsetDiff;
+	int life, lifeDiff;
 	private float spawnWidth, spawnWidthDiff;
 	private float spawnHeight, spawnHeightDiff;
 	public float duration = 1, durationTimer;
 	private float delay, delayTimer;
 
+	/** The position of a new particle, set by {@link #spawn(float)}. */
+	float spawnX, spawnY;
+	/** The angle of a new particle on the edge of an ellipse spawn shape, set by {@link #spawn(float)} when it replaces the
+	 * particle's angle. */
+	float spawnAngle, spawnAngleCos, spawnAngleSin;
+	boolean spawnAngleSet;
+
 	private boolean attached;
 	private boolean continuous;
-	private boolean aligned;
+	boolean aligned;
 	private boolean behind;
-	private boolean additive = true;
+	boolean additive = true;
+	Random random = MathUtils.random;
 
 	public ParticleEmitter () {
 		initialize();
@@ -183,40 +194,7 @@ public class ParticleEmitter {
 		int deltaMillis = (int)accumulator;
 		accumulator -= deltaMillis;
 
-		if (delayTimer < delay) {
-			delayTimer += deltaMillis;
-		} else {
-			boolean done = false;
-			if (firstUpdate) {
-				firstUpdate = false;
-				addParticle();
-			}
-
-			if (durationTimer < duration)
-				durationTimer += deltaMillis;
-			else {
-				if (!continuous || allowCompletion)
-					done = true;
-				else
-					restart();
-			}
-
-			if (!done) {
-				emissionDelta += deltaMillis;
-				float emissionTime = emission + emissionDiff * emissionValue.getScale(durationTimer / (float)duration);
-				if (emissionTime > 0) {
-					emissionTime = 1000 / emissionTime;
-					if (emissionDelta >= emissionTime) {
-						int emitCount = (int)(emissionDelta / emissionTime);
-						emitCount = Math.min(emitCount, maxParticleCount - activeCount);
-						emissionDelta -= emitCount * emissionTime;
-						emissionDelta %= emissionTime;
-						addParticles(emitCount);
-					}
-				}
-				if (activeCount < minParticleCount) addParticles(minParticleCount - activeCount);
-			}
-		}
+		updateEmission(deltaMillis);
 
 		boolean[] active = this.active;
 		int activeCount = this.activeCount;
@@ -273,6 +251,11 @@ public class ParticleEmitter {
 
 		if (additive) batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
 
+		updateEmission(deltaMillis);
+	}
+
+	/** Advances the delay and duration timers and emits new particles. */
+	void updateEmission (int deltaMillis) {
 		if (delayTimer < delay) {
 			delayTimer += deltaMillis;
 			return;
@@ -322,30 +305,30 @@ public class ParticleEmitter {
 	}
 
 	private void restart () {
-		delay = delayValue.active ? delayValue.newLowValue() : 0;
+		delay = delayValue.active ? delayValue.newLowValue(random) : 0;
 		delayTimer = 0;
 
 		durationTimer -= duration;
-		duration = durationValue.newLowValue();
+		duration = durationValue.newLowValue(random);
 
-		emission = (int)emissionValue.newLowValue();
-		emissionDiff = (int)emissionValue.newHighValue();
+		emission = (int)emissionValue.newLowValue(random);
+		emissionDiff = (int)emissionValue.newHighValue(random);
 		if (!emissionValue.isRelative()) emissionDiff -= emission;
 
-		life = (int)lifeValue.newLowValue();
-		lifeDiff = (int)lifeValue.newHighValue();
+		life = (int)lifeValue.newLowValue(random);
+		lifeDiff = (int)lifeValue.newHighValue(random);
 		if (!lifeValue.isRelative()) lifeDiff -= life;
 
-		lifeOffset = lifeOffsetValue.active ? (int)lifeOffsetValue.newLowValue() : 0;
-		lifeOffsetDiff = (int)lifeOffsetValue.newHighValue();
+		lifeOffset = lifeOffsetValue.active ? (int)lifeOffsetValue.newLowValue(random) : 0;
+		lifeOffsetDiff = (int)lifeOffsetValue.newHighValue(random);
 		if (!lifeOffsetValue.isRelative()) lifeOffsetDiff -= lifeOffset;
 
-		spawnWidth = spawnWidthValue.newLowValue();
-		spawnWidthDiff = spawnWidthValue.newHighValue();
+		spawnWidth = spawnWidthValue.newLowValue(random);
+		spawnWidthDiff = spawnWidthValue.newHighValue(random);
 		if (!spawnWidthValue.isRelative()) spawnWidthDiff -= spawnWidth;
 
-		spawnHeight = spawnHeightValue.newLowValue();
-		spawnHeightDiff = spawnHeightValue.newHighValue();
+		spawnHeight = spawnHeightValue.newLowValue(random);
+		spawnHeightDiff = spawnHeightValue.newHighValue(random);
 		if (!spawnHeightValue.isRelative()) spawnHeightDiff -= spawnHeight;
 
 		updateFlags = 0;
@@ -375,13 +358,13 @@ public class ParticleEmitter {
 		particle.currentLife = particle.life = life + (int)(lifeDiff * lifeValue.getScale(percent));
 
 		if (velocityValue.active) {
-			particle.velocity = velocityValue.newLowValue();
-			particle.velocityDiff = velocityValue.newHighValue();
+			particle.velocity = velocityValue.newLowValue(random);
+			particle.velocityDiff = velocityValue.newHighValue(random);
 			if (!velocityValue.isRelative()) particle.velocityDiff -= particle.velocity;
 		}
 
-		particle.angle = angleValue.newLowValue();
-		particle.angleDiff = angleValue.newHighValue();
+		particle.angle = angleValue.newLowValue(random);
+		particle.angleDiff = angleValue.newHighValue(random);
 		if (!angleValue.isRelative()) particle.angleDiff -= particle.angle;
 		float angle = 0;
 		if ((updateFlags & UPDATE_ANGLE) == 0) {
@@ -392,14 +375,14 @@ public class ParticleEmitter {
 		}
 
 		float spriteWidth = sprite.getWidth();
-		particle.scale = scaleValue.newLowValue() / spriteWidth;
-		particle.scaleDiff = scaleValue.newHighValue() / spriteWidth;
+		particle.scale = scaleValue.newLowValue(random) / spriteWidth;
+		particle.scaleDiff = scaleValue.newHighValue(random) / spriteWidth;
 		if (!scaleValue.isRelative()) particle.scaleDiff -= particle.scale;
 		particle.setScale(particle.scale + particle.scaleDiff * scaleValue.getScale(0));
 
 		if (rotationValue.active) {
-			particle.rotation = rotationValue.newLowValue();
-			particle.rotationDiff = rotationValue.newHighValue();
+			particle.rotation = rotationValue.newLowValue(random);
+			particle.rotationDiff = rotationValue.newHighValue(random);
 			if (!rotationValue.isRelative()) particle.rotationDiff -= particle.rotation;
 			float rotation = particle.rotation + particle.rotationDiff * rotationValue.getScale(0);
 			if (aligned) rotation += angle;
@@ -407,14 +390,14 @@ public class ParticleEmitter {
 		}
 
 		if (windValue.active) {
-			particle.wind = windValue.newLowValue();
-			particle.windDiff = windValue.newHighValue();
+			particle.wind = windValue.newLowValue(random);
+			particle.windDiff = windValue.newHighValue(random);
 			if (!windValue.isRelative()) particle.windDiff -= particle.wind;
 		}
 
 		if (gravityValue.active) {
-			particle.gravity = gravityValue.newLowValue();
-			particle.gravityDiff = gravityValue.newHighValue();
+			particle.gravity = gravityValue.newLowValue(random);
+			particle.gravityDiff = gravityValue.newHighValue(random);
 			if (!gravityValue.isRelative()) particle.gravityDiff -= particle.gravity;
 		}
 
@@ -425,20 +408,39 @@ public class ParticleEmitter {
 		color[1] = temp[1];
 		color[2] = temp[2];
 
-		particle.transparency = transparencyValue.newLowValue();
-		particle.transparencyDiff = transparencyValue.newHighValue() - particle.transparency;
+		particle.transparency = transparencyValue.newLowValue(random);
+		particle.transparencyDiff = transparencyValue.newHighValue(random) - particle.transparency;
+
+		spawn(percent);
+		if (spawnAngleSet) {
+			particle.angle = spawnAngle;
+			particle.angleCos = spawnAngleCos;
+			particle.angleSin = spawnAngleSin;
+		}
+
+		float spriteHeight = sprite.getHeight();
+		particle.setBounds(spawnX - spriteWidth / 2, spawnY - spriteHeight / 2, spriteWidth, spriteHeight);
 
-		// Spawn.
+		int offsetTime = (int)(lifeOffset + lifeOffsetDiff * lifeOffsetValue.getScale(percent));
+		if (offsetTime > 0) {
+			if (offsetTime >= particle.currentLife) offsetTime = particle.currentLife - 1;
+			updateParticle(particle, offsetTime / 1000f, offsetTime);
+		}
+	}
+
+	/** Computes the position of a new particle in the spawn shape, stored in {@link #spawnX} and {@link #spawnY}. */
+	void spawn (float percent) {
+		spawnAngleSet = false;
 		float x = this.x;
-		if (xOffsetValue.active) x += xOffsetValue.newLowValue();
+		if (xOffsetValue.active) x += xOffsetValue.newLowValue(random);
 		float y = this.y;
-		if (yOffsetValue.active) y += yOffsetValue.newLowValue();
+		if (yOffsetValue.active) y += yOffsetValue.newLowValue(random);
 		switch (spawnShapeValue.shape) {
 		case square: {
 			float width = spawnWidth + (spawnWidthDiff * spawnWidthValue.getScale(percent));
 			float height = spawnHeight + (spawnHeightDiff * spawnHeightValue.getScale(percent));
-			x += MathUtils.random(width) - width / 2;
-			y += MathUtils.random(height) - height / 2;
+			x += random.nextFloat() * width - width / 2;
+			y += random.nextFloat() * height - height / 2;
 			break;
 		}
 		case ellipse: {
@@ -452,13 +454,13 @@ public class ParticleEmitter {
 				float spawnAngle;
 				switch (spawnShapeValue.side) {
 				case top:
-					spawnAngle = -MathUtils.random(179f);
+					spawnAngle = -random.nextFloat() * 179f;
 					break;
 				case bottom:
-					spawnAngle = MathUtils.random(179f);
+					spawnAngle = random.nextFloat() * 179f;
 					break;
 				default:
-					spawnAngle = MathUtils.random(360f);
+					spawnAngle = random.nextFloat() * 360f;
 					break;
 				}
 				float cosDeg = MathUtils.cosDeg(spawnAngle);
@@ -466,15 +468,16 @@ public class ParticleEmitter {
 				x += cosDeg * radiusX;
 				y += sinDeg * radiusX / scaleY;
 				if ((updateFlags & UPDATE_ANGLE) == 0) {
-					particle.angle = spawnAngle;
-					particle.angleCos = cosDeg;
-					particle.angleSin = sinDeg;
+					this.spawnAngle = spawnAngle;
+					spawnAngleCos = cosDeg;
+					spawnAngleSin = sinDeg;
+					spawnAngleSet = true;
 				}
 			} else {
 				float radius2 = radiusX * radiusX;
 				while (true) {
-					float px = MathUtils.random(width) - radiusX;
-					float py = MathUtils.random(width) - radiusX;
+					float px = random.nextFloat() * width - radiusX;
+					float py = random.nextFloat() * width - radiusX;
 					if (px * px + py * py <= radius2) {
 						x += px;
 						y += py / scaleY;
@@ -488,23 +491,16 @@ public class ParticleEmitter {
 			float width = spawnWidth + (spawnWidthDiff * spawnWidthValue.getScale(percent));
 			float height = spawnHeight + (spawnHeightDiff * spawnHeightValue.getScale(percent));
 			if (width != 0) {
-				float lineX = width * MathUtils.random();
+				float lineX = width * random.nextFloat();
 				x += lineX;
 				y += lineX * (height / (float)width);
 			} else
-				y += height * MathUtils.random();
+				y += height * random.nextFloat();
 			break;
 		}
 		}
-
-		float spriteHeight = sprite.getHeight();
-		particle.setBounds(x - spriteWidth / 2, y - spriteHeight / 2, spriteWidth, spriteHeight);
-
-		int offsetTime = (int)(lifeOffset + lifeOffsetDiff * lifeOffsetValue.getScale(percent));
-		if (offsetTime > 0) {
-			if (offsetTime >= particle.currentLife) offsetTime = particle.currentLife - 1;
-			updateParticle(particle, offsetTime / 1000f, offsetTime);
-		}
+		spawnX = x;
+		spawnY = y;
 	}
 
 	private boolean updateParticle (Particle particle, float delta, int deltaMillis) {
@@ -755,6 +751,19 @@ public class ParticleEmitter {
 		return activeCount;
 	}
 
+	/** Sets the random number generator used for all random values of this emitter. Defaults to {@link MathUtils#random}, which
+	 * is shared by all emitters. An emitter with its own generator can be updated on a different thread than other emitters and is
+	 * simulated the same way every time the generator is given the same seed.
+	 * @see ParticleEffect#setSeed(long) */
+	public void setRandom (Random random) {
+		if (random == null) throw new IllegalArgumentException("random cannot be null.");
+		this.random = random;
+	}
+
+	public Random getRandom () {
+		return random;
+	}
+
 	public String getImagePath () {
 		return imagePath;
 	}
@@ -1022,6 +1031,10 @@ public class ParticleEmitter {
 			return lowMin + (lowMax - lowMin) * MathUtils.random();
 		}
 
+		public float newLowValue (Random random) {
+			return lowMin + (lowMax - lowMin) * random.nextFloat();
+		}
+
 		public void setLow (float value) {
 			lowMin = value;
 			lowMax = value;
@@ -1079,6 +1092,10 @@ public class ParticleEmitter {
 			return highMin + (highMax - highMin) * MathUtils.random();
 		}
 
+		public float newHighValue (Random random) {
+			return highMin + (highMax - highMin) * random.nextFloat();
+		}
+
 		public void setHigh (float value) {
 			highMin = value;
 			highMax = value;
@@ -1189,7 +1206,7 @@ public class ParticleEmitter {
 	}
 
 	static public class GradientColorValue extends ParticleValue {
-		static private float[] temp = new float[4];
+		private float[] temp = new float[4];
 
 		private float[] colors = {1, 1, 1};
 		float[] timeline = {0};
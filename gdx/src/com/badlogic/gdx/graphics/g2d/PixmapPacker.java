@@ -154,6 +154,14 @@ public class PixmapPacker implements Disposable {
 	 * @return Rectangle describing the area the pixmap was rendered to or null.
 	 * @throws RuntimeException in case the image did not fit due to the page size being to small or providing a duplicate name */
 	public synchronized Rectangle pack (String name, Pixmap image) {
+		return pack(name, image, true);
+	}
+
+	/** Inserts the given {@link Pixmap}, see {@link #pack(String, Pixmap)}.
+	 * @param newPage If false, no page is created when the image does not fit into the current page.
+	 * @return Rectangle describing the area the pixmap was rendered to or null, eg if the image did not fit into the current page
+	 *         and newPage is false. */
+	public synchronized Rectangle pack (String name, Pixmap image, boolean newPage) {
 		if (disposed) return null;
 		if (getRect(name) != null) throw new RuntimeException("Key with name '" + name + "' is already in map");
 		int borderPixels = padding + (duplicateBorder ? 1 : 0);
@@ -166,8 +174,9 @@ public class PixmapPacker implements Disposable {
 		Node node = insert(currPage.root, rect);
 
 		if (node == null) {
+			if (!newPage) return null;
 			newPage();
-			return pack(name, image);
+			return pack(name, image, true);
 		}
 
 		node.leaveName = name;
@@ -207,6 +216,21 @@ public class PixmapPacker implements Disposable {
 		return rect;
 	}
 
+	/** Removes all images packed into the page and clears its pixmap. The page becomes the current page, so the next images are
+	 * packed into it before a new page is created. Textures created from the page are not updated. */
+	public synchronized void clearPage (Page page) {
+		if (!pages.contains(page, true)) throw new IllegalArgumentException("The page does not belong to this packer.");
+		Blending blending = Pixmap.getBlending();
+		Pixmap.setBlending(Blending.None);
+		page.image.setColor(0, 0, 0, 0);
+		page.image.fill();
+		Pixmap.setBlending(blending);
+		page.root = new Node(0, 0, pageWidth, pageHeight, null, null, null);
+		page.rects.clear();
+		page.addedRects.clear();
+		currPage = page;
+	}
+
 	private void newPage () {
 		Page page = new Page();
 		page.image = new Pixmap(pageWidth, pageHeight, pageFormat);
@@ -0,0 +1,932 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g2d;
+
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.NumberUtils;
+
+/** A {@link Batch} which doesn't render, but records the vertices of the sprites drawn to it so they can be drawn to another
+ * batch later with {@link #replay(Batch)}. The sprites are recorded as runs of vertices which share a texture and a blend state.
+ * Replaying a run is a single {@link Batch#draw(Texture, float[], int, int)}, so a {@link SpriteBatch} uploads each run at once
+ * instead of computing its vertices.
+ * <p>
+ * Recording doesn't use OpenGL, so the vertex math of the sprites can be done on other threads than the rendering thread, eg
+ * with one RecordingBatch per thread that prepares the sprites of the next frame while the current frame is rendered. A
+ * RecordingBatch must only be used by one thread at a time, the recording thread must be done with {@link #end()} before
+ * another thread replays it, and it must not record again while it is replayed. Two RecordingBatches per thread which are
+ * swapped each frame allow recording and replaying at the same time.
+ * <p>
+ * The transform matrix is applied to the recorded vertices, the projection matrix and the shader are those of the batch the
+ * sprites are replayed to. Setting the projection matrix or the shader of a RecordingBatch has no effect on the replay.
+ * {@link #flush()} does nothing, OpenGL state changed between draws is not recorded. */
+public class RecordingBatch implements Batch {
+	private float[] vertices;
+	private int idx = 0;
+	private Texture lastTexture = null;
+	private float invTexWidth = 0, invTexHeight = 0;
+	private boolean drawing = false;
+
+	private final Array<Run> runs = new Array(false, 16, Run.class);
+	private int runCount;
+
+	private final Matrix4 transformMatrix = new Matrix4();
+	private final Matrix4 projectionMatrix = new Matrix4();
+	private boolean transformed;
+
+	private boolean blendingDisabled = false;
+	private int blendSrcFunc = GL20.GL_SRC_ALPHA;
+	private int blendDstFunc = GL20.GL_ONE_MINUS_SRC_ALPHA;
+
+	private ShaderProgram shader;
+
+	float color = Color.WHITE.toFloatBits();
+	private Color tempColor = new Color(1, 1, 1, 1);
+
+	/** Constructs a RecordingBatch with room for 1000 sprites.
+	 * @see RecordingBatch#RecordingBatch(int) */
+	public RecordingBatch () {
+		this(1000);
+	}
+
+	/** @param size The initial number of sprites which can be recorded, the RecordingBatch grows as needed. */
+	public RecordingBatch (int size) {
+		vertices = new float[Math.max(1, size) * Sprite.SPRITE_SIZE];
+	}
+
+	/** Starts recording, discarding the previously recorded sprites. */
+	@Override
+	public void begin () {
+		if (drawing) throw new IllegalStateException("RecordingBatch.end must be called before begin.");
+		clear();
+		drawing = true;
+	}
+
+	/** Stops recording. The recorded sprites can be replayed until {@link #begin()} or {@link #clear()} is called. */
+	@Override
+	public void end () {
+		if (!drawing) throw new IllegalStateException("RecordingBatch.begin must be called before end.");
+		lastTexture = null;
+		drawing = false;
+	}
+
+	/** Discards the recorded sprites. */
+	public void clear () {
+		Run[] runs = this.runs.items;
+		for (int i = 0; i < runCount; i++)
+			runs[i].texture = null;
+		runCount = 0;
+		idx = 0;
+		lastTexture = null;
+	}
+
+	/** Draws the recorded sprites to the batch, which must be between {@link Batch#begin()} and {@link Batch#end()}. The blending
+	 * of each run is set on the batch, the batch's blending and blend function are restored afterwards. Must be called on the
+	 * batch's rendering thread, after {@link #end()}. The sprites can be replayed any number of times. */
+	public void replay (Batch batch) {
+		if (drawing) throw new IllegalStateException("RecordingBatch.end must be called before replay.");
+		if (runCount == 0) return;
+		boolean blendingEnabled = batch.isBlendingEnabled();
+		int blendSrcFunc = batch.getBlendSrcFunc(), blendDstFunc = batch.getBlendDstFunc();
+		float[] vertices = this.vertices;
+		Run[] runs = this.runs.items;
+		for (int i = 0, n = runCount; i < n; i++) {
+			Run run = runs[i];
+			int end = i + 1 < n ? runs[i + 1].start : idx;
+			if (end == run.start) continue;
+			if (run.blendingDisabled)
+				batch.disableBlending();
+			else
+				batch.enableBlending();
+			batch.setBlendFunction(run.blendSrcFunc, run.blendDstFunc);
+			batch.draw(run.texture, vertices, run.start, end - run.start);
+		}
+		if (blendingEnabled)
+			batch.enableBlending();
+		else
+			batch.disableBlending();
+		batch.setBlendFunction(blendSrcFunc, blendDstFunc);
+	}
+
+	/** @return The number of recorded sprites. */
+	public int getSpriteCount () {
+		return idx / Sprite.SPRITE_SIZE;
+	}
+
+	/** @return The number of runs of sprites which share a texture and a blend state. */
+	public int getRunCount () {
+		return runCount;
+	}
+
+	@Override
+	public void setColor (Color tint) {
+		color = tint.toFloatBits();
+	}
+
+	@Override
+	public void setColor (float r, float g, float b, float a) {
+		int intBits = (int)(255 * a) << 24 | (int)(255 * b) << 16 | (int)(255 * g) << 8 | (int)(255 * r);
+		color = NumberUtils.intToFloatColor(intBits);
+	}
+
+	@Override
+	public void setColor (float color) {
+		this.color = color;
+	}
+
+	@Override
+	public Color getColor () {
+		int intBits = NumberUtils.floatToIntColor(color);
+		Color color = tempColor;
+		color.r = (intBits & 0xff) / 255f;
+		color.g = ((intBits >>> 8) & 0xff) / 255f;
+		color.b = ((intBits >>> 16) & 0xff) / 255f;
+		color.a = ((intBits >>> 24) & 0xff) / 255f;
+		return color;
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y, float originX, float originY, float width, float height, float scaleX,
+		float scaleY, float rotation, int srcX, int srcY, int srcWidth, int srcHeight, boolean flipX, boolean flipY) {
+		if (!drawing) throw new IllegalStateException("RecordingBatch.begin must be called before draw.");
+
+		if (texture != lastTexture) switchTexture(texture);
+		float[] vertices = ensureCapacity(Sprite.SPRITE_SIZE);
+
+		// bottom left and top right corner points relative to origin
+		final float worldOriginX = x + originX;
+		final float worldOriginY = y + originY;
+		float fx = -originX;
+		float fy = -originY;
+		float fx2 = width - originX;
+		float fy2 = height - originY;
+
+		// scale
+		if (scaleX != 1 || scaleY != 1) {
+			fx *= scaleX;
+			fy *= scaleY;
+			fx2 *= scaleX;
+			fy2 *= scaleY;
+		}
+
+		// construct corner points, start from top left and go counter clockwise
+		final float p1x = fx;
+		final float p1y = fy;
+		final float p2x = fx;
+		final float p2y = fy2;
+		final float p3x = fx2;
+		final float p3y = fy2;
+		final float p4x = fx2;
+		final float p4y = fy;
+
+		float x1;
+		float y1;
+		float x2;
+		float y2;
+		float x3;
+		float y3;
+		float x4;
+		float y4;
+
+		// rotate
+		if (rotation != 0) {
+			final float cos = MathUtils.cosDeg(rotation);
+			final float sin = MathUtils.sinDeg(rotation);
+
+			x1 = cos * p1x - sin * p1y;
+			y1 = sin * p1x + cos * p1y;
+
+			x2 = cos * p2x - sin * p2y;
+			y2 = sin * p2x + cos * p2y;
+
+			x3 = cos * p3x - sin * p3y;
+			y3 = sin * p3x + cos * p3y;
+
+			x4 = x1 + (x3 - x2);
+			y4 = y3 - (y2 - y1);
+		} else {
+			x1 = p1x;
+			y1 = p1y;
+
+			x2 = p2x;
+			y2 = p2y;
+
+			x3 = p3x;
+			y3 = p3y;
+
+			x4 = p4x;
+			y4 = p4y;
+		}
+
+		x1 += worldOriginX;
+		y1 += worldOriginY;
+		x2 += worldOriginX;
+		y2 += worldOriginY;
+		x3 += worldOriginX;
+		y3 += worldOriginY;
+		x4 += worldOriginX;
+		y4 += worldOriginY;
+
+		float u = srcX * invTexWidth;
+		float v = (srcY + srcHeight) * invTexHeight;
+		float u2 = (srcX + srcWidth) * invTexWidth;
+		float v2 = srcY * invTexHeight;
+
+		if (flipX) {
+			float tmp = u;
+			u = u2;
+			u2 = tmp;
+		}
+
+		if (flipY) {
+			float tmp = v;
+			v = v2;
+			v2 = tmp;
+		}
+
+		float color = this.color;
+		int idx = this.idx;
+		vertices[idx++] = x1;
+		vertices[idx++] = y1;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v;
+
+		vertices[idx++] = x2;
+		vertices[idx++] = y2;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v2;
+
+		vertices[idx++] = x3;
+		vertices[idx++] = y3;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v2;
+
+		vertices[idx++] = x4;
+		vertices[idx++] = y4;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v;
+		if (transformed) transform(this.idx, Sprite.SPRITE_SIZE);
+		this.idx = idx;
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y, float width, float height, int srcX, int srcY, int srcWidth,
+		int srcHeight, boolean flipX, boolean flipY) {
+		if (!drawing) throw new IllegalStateException("RecordingBatch.begin must be called before draw.");
+
+		if (texture != lastTexture) switchTexture(texture);
+		float[] vertices = ensureCapacity(Sprite.SPRITE_SIZE);
+
+		float u = srcX * invTexWidth;
+		float v = (srcY + srcHeight) * invTexHeight;
+		float u2 = (srcX + srcWidth) * invTexWidth;
+		float v2 = srcY * invTexHeight;
+		final float fx2 = x + width;
+		final float fy2 = y + height;
+
+		if (flipX) {
+			float tmp = u;
+			u = u2;
+			u2 = tmp;
+		}
+
+		if (flipY) {
+			float tmp = v;
+			v = v2;
+			v2 = tmp;
+		}
+
+		float color = this.color;
+		int idx = this.idx;
+		vertices[idx++] = x;
+		vertices[idx++] = y;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v;
+
+		vertices[idx++] = x;
+		vertices[idx++] = fy2;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v2;
+
+		vertices[idx++] = fx2;
+		vertices[idx++] = fy2;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v2;
+
+		vertices[idx++] = fx2;
+		vertices[idx++] = y;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v;
+		if (transformed) transform(this.idx, Sprite.SPRITE_SIZE);
+		this.idx = idx;
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y, int srcX, int srcY, int srcWidth, int srcHeight) {
+		if (!drawing) throw new IllegalStateException("RecordingBatch.begin must be called before draw.");
+
+		if (texture != lastTexture) switchTexture(texture);
+		float[] vertices = ensureCapacity(Sprite.SPRITE_SIZE);
+
+		final float u = srcX * invTexWidth;
+		final float v = (srcY + srcHeight) * invTexHeight;
+		final float u2 = (srcX + srcWidth) * invTexWidth;
+		final float v2 = srcY * invTexHeight;
+		final float fx2 = x + srcWidth;
+		final float fy2 = y + srcHeight;
+
+		float color = this.color;
+		int idx = this.idx;
+		vertices[idx++] = x;
+		vertices[idx++] = y;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v;
+
+		vertices[idx++] = x;
+		vertices[idx++] = fy2;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v2;
+
+		vertices[idx++] = fx2;
+		vertices[idx++] = fy2;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v2;
+
+		vertices[idx++] = fx2;
+		vertices[idx++] = y;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v;
+		if (transformed) transform(this.idx, Sprite.SPRITE_SIZE);
+		this.idx = idx;
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y, float width, float height, float u, float v, float u2, float v2) {
+		if (!drawing) throw new IllegalStateException("RecordingBatch.begin must be called before draw.");
+
+		if (texture != lastTexture) switchTexture(texture);
+		float[] vertices = ensureCapacity(Sprite.SPRITE_SIZE);
+
+		final float fx2 = x + width;
+		final float fy2 = y + height;
+
+		float color = this.color;
+		int idx = this.idx;
+		vertices[idx++] = x;
+		vertices[idx++] = y;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v;
+
+		vertices[idx++] = x;
+		vertices[idx++] = fy2;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v2;
+
+		vertices[idx++] = fx2;
+		vertices[idx++] = fy2;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v2;
+
+		vertices[idx++] = fx2;
+		vertices[idx++] = y;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v;
+		if (transformed) transform(this.idx, Sprite.SPRITE_SIZE);
+		this.idx = idx;
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y) {
+		draw(texture, x, y, texture.getWidth(), texture.getHeight());
+	}
+
+	@Override
+	public void draw (Texture texture, float x, float y, float width, float height) {
+		if (!drawing) throw new IllegalStateException("RecordingBatch.begin must be called before draw.");
+
+		if (texture != lastTexture) switchTexture(texture);
+		float[] vertices = ensureCapacity(Sprite.SPRITE_SIZE);
+
+		final float fx2 = x + width;
+		final float fy2 = y + height;
+		final float u = 0;
+		final float v = 1;
+		final float u2 = 1;
+		final float v2 = 0;
+
+		float color = this.color;
+		int idx = this.idx;
+		vertices[idx++] = x;
+		vertices[idx++] = y;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v;
+
+		vertices[idx++] = x;
+		vertices[idx++] = fy2;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v2;
+
+		vertices[idx++] = fx2;
+		vertices[idx++] = fy2;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v2;
+
+		vertices[idx++] = fx2;
+		vertices[idx++] = y;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v;
+		if (transformed) transform(this.idx, Sprite.SPRITE_SIZE);
+		this.idx = idx;
+	}
+
+	@Override
+	public void draw (Texture texture, float[] spriteVertices, int offset, int count) {
+		if (!drawing) throw new IllegalStateException("RecordingBatch.begin must be called before draw.");
+
+		if (texture != lastTexture) switchTexture(texture);
+		System.arraycopy(spriteVertices, offset, ensureCapacity(count), idx, count);
+		if (transformed) transform(idx, count);
+		idx += count;
+	}
+
+	@Override
+	public void draw (TextureRegion region, float x, float y) {
+		draw(region, x, y, region.getRegionWidth(), region.getRegionHeight());
+	}
+
+	@Override
+	public void draw (TextureRegion region, float x, float y, float width, float height) {
+		if (!drawing) throw new IllegalStateException("RecordingBatch.begin must be called before draw.");
+
+		Texture texture = region.texture;
+		if (texture != lastTexture) switchTexture(texture);
+		float[] vertices = ensureCapacity(Sprite.SPRITE_SIZE);
+
+		final float fx2 = x + width;
+		final float fy2 = y + height;
+		final float u = region.u;
+		final float v = region.v2;
+		final float u2 = region.u2;
+		final float v2 = region.v;
+
+		float color = this.color;
+		int idx = this.idx;
+		vertices[idx++] = x;
+		vertices[idx++] = y;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v;
+
+		vertices[idx++] = x;
+		vertices[idx++] = fy2;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v2;
+
+		vertices[idx++] = fx2;
+		vertices[idx++] = fy2;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v2;
+
+		vertices[idx++] = fx2;
+		vertices[idx++] = y;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v;
+		if (transformed) transform(this.idx, Sprite.SPRITE_SIZE);
+		this.idx = idx;
+	}
+
+	@Override
+	public void draw (TextureRegion region, float x, float y, float originX, float originY, float width, float height,
+		float scaleX, float scaleY, float rotation) {
+		if (!drawing) throw new IllegalStateException("RecordingBatch.begin must be called before draw.");
+
+		Texture texture = region.texture;
+		if (texture != lastTexture) switchTexture(texture);
+		float[] vertices = ensureCapacity(Sprite.SPRITE_SIZE);
+
+		// bottom left and top right corner points relative to origin
+		final float worldOriginX = x + originX;
+		final float worldOriginY = y + originY;
+		float fx = -originX;
+		float fy = -originY;
+		float fx2 = width - originX;
+		float fy2 = height - originY;
+
+		// scale
+		if (scaleX != 1 || scaleY != 1) {
+			fx *= scaleX;
+			fy *= scaleY;
+			fx2 *= scaleX;
+			fy2 *= scaleY;
+		}
+
+		// construct corner points, start from top left and go counter clockwise
+		final float p1x = fx;
+		final float p1y = fy;
+		final float p2x = fx;
+		final float p2y = fy2;
+		final float p3x = fx2;
+		final float p3y = fy2;
+		final float p4x = fx2;
+		final float p4y = fy;
+
+		float x1;
+		float y1;
+		float x2;
+		float y2;
+		float x3;
+		float y3;
+		float x4;
+		float y4;
+
+		// rotate
+		if (rotation != 0) {
+			final float cos = MathUtils.cosDeg(rotation);
+			final float sin = MathUtils.sinDeg(rotation);
+
+			x1 = cos * p1x - sin * p1y;
+			y1 = sin * p1x + cos * p1y;
+
+			x2 = cos * p2x - sin * p2y;
+			y2 = sin * p2x + cos * p2y;
+
+			x3 = cos * p3x - sin * p3y;
+			y3 = sin * p3x + cos * p3y;
+
+			x4 = x1 + (x3 - x2);
+			y4 = y3 - (y2 - y1);
+		} else {
+			x1 = p1x;
+			y1 = p1y;
+
+			x2 = p2x;
+			y2 = p2y;
+
+			x3 = p3x;
+			y3 = p3y;
+
+			x4 = p4x;
+			y4 = p4y;
+		}
+
+		x1 += worldOriginX;
+		y1 += worldOriginY;
+		x2 += worldOriginX;
+		y2 += worldOriginY;
+		x3 += worldOriginX;
+		y3 += worldOriginY;
+		x4 += worldOriginX;
+		y4 += worldOriginY;
+
+		final float u = region.u;
+		final float v = region.v2;
+		final float u2 = region.u2;
+		final float v2 = region.v;
+
+		float color = this.color;
+		int idx = this.idx;
+		vertices[idx++] = x1;
+		vertices[idx++] = y1;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v;
+
+		vertices[idx++] = x2;
+		vertices[idx++] = y2;
+		vertices[idx++] = color;
+		vertices[idx++] = u;
+		vertices[idx++] = v2;
+
+		vertices[idx++] = x3;
+		vertices[idx++] = y3;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v2;
+
+		vertices[idx++] = x4;
+		vertices[idx++] = y4;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v;
+		if (transformed) transform(this.idx, Sprite.SPRITE_SIZE);
+		this.idx = idx;
+	}
+
+	@Override
+	public void draw (TextureRegion region, float x, float y, float originX, float originY, float width, float height,
+		float scaleX, float scaleY, float rotation, boolean clockwise) {
+		if (!drawing) throw new IllegalStateException("RecordingBatch.begin must be called before draw.");
+
+		Texture texture = region.texture;
+		if (texture != lastTexture) switchTexture(texture);
+		float[] vertices = ensureCapacity(Sprite.SPRITE_SIZE);
+
+		// bottom left and top right corner points relative to origin
+		final float worldOriginX = x + originX;
+		final float worldOriginY = y + originY;
+		float fx = -originX;
+		float fy = -originY;
+		float fx2 = width - originX;
+		float fy2 = height - originY;
+
+		// scale
+		if (scaleX != 1 || scaleY != 1) {
+			fx *= scaleX;
+			fy *= scaleY;
+			fx2 *= scaleX;
+			fy2 *= scaleY;
+		}
+
+		// construct corner points, start from top left and go counter clockwise
+		final float p1x = fx;
+		final float p1y = fy;
+		final float p2x = fx;
+		final float p2y = fy2;
+		final float p3x = fx2;
+		final float p3y = fy2;
+		final float p4x = fx2;
+		final float p4y = fy;
+
+		float x1;
+		float y1;
+		float x2;
+		float y2;
+		float x3;
+		float y3;
+		float x4;
+		float y4;
+
+		// rotate
+		if (rotation != 0) {
+			final float cos = MathUtils.cosDeg(rotation);
+			final float sin = MathUtils.sinDeg(rotation);
+
+			x1 = cos * p1x - sin * p1y;
+			y1 = sin * p1x + cos * p1y;
+
+			x2 = cos * p2x - sin * p2y;
+			y2 = sin * p2x + cos * p2y;
+
+			x3 = cos * p3x - sin * p3y;
+			y3 = sin * p3x + cos * p3y;
+
+			x4 = x1 + (x3 - x2);
+			y4 = y3 - (y2 - y1);
+		} else {
+			x1 = p1x;
+			y1 = p1y;
+
+			x2 = p2x;
+			y2 = p2y;
+
+			x3 = p3x;
+			y3 = p3y;
+
+			x4 = p4x;
+			y4 = p4y;
+		}
+
+		x1 += worldOriginX;
+		y1 += worldOriginY;
+		x2 += worldOriginX;
+		y2 += worldOriginY;
+		x3 += worldOriginX;
+		y3 += worldOriginY;
+		x4 += worldOriginX;
+		y4 += worldOriginY;
+
+		float u1, v1, u2, v2, u3, v3, u4, v4;
+		if (clockwise) {
+			u1 = region.u2;
+			v1 = region.v2;
+			u2 = region.u;
+			v2 = region.v2;
+			u3 = region.u;
+			v3 = region.v;
+			u4 = region.u2;
+			v4 = region.v;
+		} else {
+			u1 = region.u;
+			v1 = region.v;
+			u2 = region.u2;
+			v2 = region.v;
+			u3 = region.u2;
+			v3 = region.v2;
+			u4 = region.u;
+			v4 = region.v2;
+		}
+
+		float color = this.color;
+		int idx = this.idx;
+		vertices[idx++] = x1;
+		vertices[idx++] = y1;
+		vertices[idx++] = color;
+		vertices[idx++] = u1;
+		vertices[idx++] = v1;
+
+		vertices[idx++] = x2;
+		vertices[idx++] = y2;
+		vertices[idx++] = color;
+		vertices[idx++] = u2;
+		vertices[idx++] = v2;
+
+		vertices[idx++] = x3;
+		vertices[idx++] = y3;
+		vertices[idx++] = color;
+		vertices[idx++] = u3;
+		vertices[idx++] = v3;
+
+		vertices[idx++] = x4;
+		vertices[idx++] = y4;
+		vertices[idx++] = color;
+		vertices[idx++] = u4;
+		vertices[idx++] = v4;
+		if (transformed) transform(this.idx, Sprite.SPRITE_SIZE);
+		this.idx = idx;
+	}
+
+	/** Does nothing, the runs of sprites end when the texture or the blend state changes. */
+	@Override
+	public void flush () {
+	}
+
+	@Override
+	public void disableBlending () {
+		if (blendingDisabled) return;
+		blendingDisabled = true;
+		startRun();
+	}
+
+	@Override
+	public void enableBlending () {
+		if (!blendingDisabled) return;
+		blendingDisabled = false;
+		startRun();
+	}
+
+	@Override
+	public void setBlendFunction (int srcFunc, int dstFunc) {
+		if (blendSrcFunc == srcFunc && blendDstFunc == dstFunc) return;
+		blendSrcFunc = srcFunc;
+		blendDstFunc = dstFunc;
+		startRun();
+	}
+
+	@Override
+	public int getBlendSrcFunc () {
+		return blendSrcFunc;
+	}
+
+	@Override
+	public int getBlendDstFunc () {
+		return blendDstFunc;
+	}
+
+	@Override
+	public void dispose () {
+	}
+
+	@Override
+	public Matrix4 getProjectionMatrix () {
+		return projectionMatrix;
+	}
+
+	@Override
+	public Matrix4 getTransformMatrix () {
+		return transformMatrix;
+	}
+
+	/** Stores the projection matrix, it is not recorded. */
+	@Override
+	public void setProjectionMatrix (Matrix4 projection) {
+		projectionMatrix.set(projection);
+	}
+
+	/** Sets the transform matrix which is applied to the vertices of the sprites drawn from now on. */
+	@Override
+	public void setTransformMatrix (Matrix4 transform) {
+		transformMatrix.set(transform);
+		float[] val = transform.val;
+		transformed = val[Matrix4.M00] != 1 || val[Matrix4.M01] != 0 || val[Matrix4.M03] != 0 || val[Matrix4.M10] != 0
+			|| val[Matrix4.M11] != 1 || val[Matrix4.M13] != 0;
+	}
+
+	/** Transforms the positions of the vertices in the range by the transform matrix. */
+	private void transform (int offset, int count) {
+		float[] val = transformMatrix.val;
+		float m00 = val[Matrix4.M00], m01 = val[Matrix4.M01], m03 = val[Matrix4.M03];
+		float m10 = val[Matrix4.M10], m11 = val[Matrix4.M11], m13 = val[Matrix4.M13];
+		float[] vertices = this.vertices;
+		for (int i = offset, n = offset + count; i < n; i += Sprite.VERTEX_SIZE) {
+			float x = vertices[i], y = vertices[i + 1];
+			vertices[i] = m00 * x + m01 * y + m03;
+			vertices[i + 1] = m10 * x + m11 * y + m13;
+		}
+	}
+
+	/** Stores the shader, it is not recorded. */
+	@Override
+	public void setShader (ShaderProgram shader) {
+		this.shader = shader;
+	}
+
+	/** @return The shader set with {@link #setShader(ShaderProgram)}, it is not used by the RecordingBatch. */
+	public ShaderProgram getShader () {
+		return shader;
+	}
+
+	@Override
+	public boolean isBlendingEnabled () {
+		return !blendingDisabled;
+	}
+
+	public boolean isDrawing () {
+		return drawing;
+	}
+
+	private void switchTexture (Texture texture) {
+		lastTexture = texture;
+		invTexWidth = 1.0f / texture.getWidth();
+		invTexHeight = 1.0f / texture.getHeight();
+		startRun();
+	}
+
+	/** Starts a run with the current texture and blend state, or changes the current run if it is still empty. */
+	private void startRun () {
+		if (lastTexture == null) return;
+		Run run = null;
+		if (runCount > 0) {
+			run = runs.items[runCount - 1];
+			if (run.start != idx) run = null;
+		}
+		if (run == null) {
+			if (runCount == runs.size) runs.add(new Run());
+			run = runs.items[runCount++];
+			run.start = idx;
+		}
+		run.texture = lastTexture;
+		run.blendingDisabled = blendingDisabled;
+		run.blendSrcFunc = blendSrcFunc;
+		run.blendDstFunc = blendDstFunc;
+	}
+
+	/** @return The vertices, with room for at least the given number of additional floats. */
+	private float[] ensureCapacity (int count) {
+		float[] vertices = this.vertices;
+		if (idx + count <= vertices.length) return vertices;
+		float[] newVertices = new float[Math.max(idx + count, (int)(vertices.length * 1.75f))];
+		System.arraycopy(vertices, 0, newVertices, 0, idx);
+		this.vertices = newVertices;
+		return newVertices;
+	}
+
+	/** Sprites which share a texture and a blend state, the run ends where the next run starts. */
+	static class Run {
+		Texture texture;
+		int start;
+		boolean blendingDisabled;
+		int blendSrcFunc, blendDstFunc;
+	}
+}
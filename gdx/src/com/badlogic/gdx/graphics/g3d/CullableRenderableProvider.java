@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d;
+
+import com.badlogic.gdx.math.Frustum;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Pool;
+
+/** A {@link RenderableProvider} that can leave out the {@link Renderable} instances which are outside of a {@link Frustum},
+ * before they are obtained from the pool. Used by {@link ModelBatch} when {@link ModelBatch#setCulling(boolean) culling} is
+ * enabled. */
+public interface CullableRenderableProvider extends RenderableProvider {
+	/** Returns the {@link Renderable} instances which may be visible in the frustum, like
+	 * {@link #getRenderables(Array, Pool)} does for all renderables.
+	 * @param renderables the output array
+	 * @param pool the pool to obtain Renderables from
+	 * @param frustum the frustum of the camera
+	 * @return The number of renderables left out because they are outside of the frustum. */
+	public int getRenderables (Array<Renderable> renderables, Pool<Renderable> pool, Frustum frustum);
+}
@@ -0,0 +1,32 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.g3d.utils.RenderContext;
+import com.badlogic.gdx.utils.Array;
+
+/** A {@link Shader} that can render many {@link Renderable}s with a single draw call using hardware instancing. {@link ModelBatch}
+ * passes consecutive renderables which only differ in their world transform to {@link #render(Array, int, int)}, and renders
+ * all other renderables with {@link #render(Renderable)}.
+ * @see com.badlogic.gdx.graphics.g3d.shaders.InstancedDefaultShader */
+public interface InstancedShader extends Shader {
+	/** Renders count renderables of the array starting at offset, must be called between {@link #begin(Camera, RenderContext)}
+	 * and {@link #end()}. The renderables share the same mesh part, primitive type, environment and an equal material, and don't
+	 * have bones. The {@link Renderable#shader} field will be ignored. */
+	void render(final Array<Renderable> renderables, final int offset, final int count);
+}
@@ -23,6 +23,7 @@ import com.badlogic.gdx.graphics.g3d.shaders.DefaultShader;
 import com.badlogic.gdx.graphics.g3d.utils.DefaultRenderableSorter;
 import com.badlogic.gdx.graphics.g3d.utils.DefaultShaderProvider;
 import com.badlogic.gdx.graphics.g3d.utils.DefaultTextureBinder;
+import com.badlogic.gdx.graphics.g3d.utils.InstancedShaderProvider;
 import com.badlogic.gdx.graphics.g3d.utils.RenderContext;
 import com.badlogic.gdx.graphics.g3d.utils.RenderableSorter;
 import com.badlogic.gdx.graphics.g3d.utils.ShaderProvider;
@@ -35,10 +36,17 @@ import com.badlogic.gdx.utils.Pool;
  * Fetching the shaders is done using a {@link ShaderProvider}, which defaults to {@link DefaultShaderProvider}.
  * Sorting the renderables is done using a {@link RenderableSorter}, which default to {@link DefaultRenderableSorter}. 
  * 
+ * When the shader of consecutive renderables is an {@link InstancedShader} and they only differ in their world transform, they
+ * are rendered with a single instanced draw call, see {@link InstancedShaderProvider}.
+ * 
  * The OpenGL context between the {@link #begin(Camera)} and {@link #end()} call is maintained by the {@link RenderContext}.
  * 
  * To provide multiple {@link Renderable}s at once a {@link RenderableProvider} can be used, e.g. a {@link ModelInstance}. 
  * 
+ * When culling is enabled with {@link #setCulling(boolean)}, a {@link CullableRenderableProvider} such as {@link ModelInstance}
+ * leaves out the renderables outside of the frustum of the camera before they are obtained from the pool, sorted and rendered.
+ * {@link #visibleCount} and {@link #culledCount} tell how many renderables were rendered and left out.
+ * 
  * @author xoppa, badlogic */
 public class ModelBatch implements Disposable {
 	protected static class RenderablePool extends Pool<Renderable> {
@@ -77,6 +85,12 @@ public class ModelBatch implements Disposable {
 	protected final ShaderProvider shaderProvider;
 	/** the {@link RenderableSorter} **/
 	protected final RenderableSorter sorter;
+	/** whether to cull {@link CullableRenderableProvider}s against the frustum of the camera **/
+	protected boolean culling;
+	/** The number of renderables added to the batch since the last call to {@link #begin(Camera)}. **/
+	public int visibleCount;
+	/** The number of renderables left out by culling since the last call to {@link #begin(Camera)}. **/
+	public int culledCount;
 
 	/** Construct a ModelBatch, using this constructor makes you responsible for calling context.begin() and context.end() yourself. 
 	 * @param context The {@link RenderContext} to use.
@@ -161,6 +175,8 @@ public class ModelBatch implements Disposable {
 		if (camera != null)
 			throw new GdxRuntimeException("Call end() first.");
 		camera = cam;
+		visibleCount = 0;
+		culledCount = 0;
 		if (ownContext)
 			context.begin();
 	}
@@ -207,6 +223,19 @@ public class ModelBatch implements Disposable {
 		return sorter;
 	}
 	
+	/** Sets whether the render methods taking a {@link RenderableProvider} leave out the renderables of a
+	 * {@link CullableRenderableProvider} that are outside of the frustum of the camera. The camera must be updated, so its
+	 * frustum matches its position. Disabled by default.
+	 * @param culling True to enable culling. */
+	public void setCulling(final boolean culling) {
+		this.culling = culling;
+	}
+	
+	/** @return whether culling is enabled, see {@link #setCulling(boolean)}. */
+	public boolean isCulling() {
+		return culling;
+	}
+	
 	/** Flushes the batch, causing all {@link Renderable}s in the batch to be rendered. Can only be called after the
 	 * call to {@link #begin(Camera)} and before the call to {@link #end()}. */
 	public void flush() {
@@ -220,6 +249,14 @@ public class ModelBatch implements Disposable {
 				currentShader = renderable.shader;
 				currentShader.begin(camera, context);
 			}
+			if (currentShader instanceof InstancedShader) {
+				final int count = instanceCount(i);
+				if (count > 1) {
+					((InstancedShader)currentShader).render(renderables, i, count);
+					i += count - 1;
+					continue;
+				}
+			}
 			currentShader.render(renderable);
 		}
 		if (currentShader != null)
@@ -227,6 +264,25 @@ public class ModelBatch implements Disposable {
 		renderablesPool.flush();
 		renderables.clear();
 	}
+	
+	/** @return The number of consecutive renderables starting at the index which only differ in their world transform, so they
+	 * can be rendered with one call to {@link InstancedShader#render(Array, int, int)}. */
+	protected int instanceCount(final int index) {
+		final Renderable first = renderables.get(index);
+		if (first.bones != null)
+			return 1;
+		int end = index + 1;
+		for (; end < renderables.size; end++) {
+			final Renderable renderable = renderables.get(end);
+			if (renderable.shader != first.shader || renderable.mesh != first.mesh || renderable.meshPartOffset != first.meshPartOffset
+				|| renderable.meshPartSize != first.meshPartSize || renderable.primitiveType != first.primitiveType
+				|| renderable.environment != first.environment || renderable.bones != null)
+				break;
+			if (renderable.material != first.material && !renderable.material.equals(first.material))
+				break;
+		}
+		return end - index;
+	}
 
 	/** End rendering one or more {@link Renderable}s. Must be called after a call to {@link #begin(Camera)}.
 	 * This will flush the batch, causing any renderables provided using one of the render() methods to be rendered.
@@ -245,6 +301,7 @@ public class ModelBatch implements Disposable {
 		renderable.shader = shaderProvider.getShader(renderable);
 		renderable.mesh.setAutoBind(false);
 		renderables.add(renderable);
+		visibleCount++;
 	}
 		
 	/** Calls {@link RenderableProvider#getRenderables(Array, Pool)} and adds all returned {@link Renderable} 
@@ -253,7 +310,7 @@ public class ModelBatch implements Disposable {
 	 * @param renderableProvider the renderable provider */
 	public void render(final RenderableProvider renderableProvider) {
 		final int offset = renderables.size;
-		renderableProvider.getRenderables(renderables, renderablesPool);
+		getRenderables(renderableProvider);
 		for (int i = offset; i < renderables.size; i++) {
 			Renderable renderable = renderables.get(i);
 			renderable.shader = shaderProvider.getShader(renderable);
@@ -276,7 +333,7 @@ public class ModelBatch implements Disposable {
 	 * @param environment the {@link Environment} to use for the renderables */
 	public void render(final RenderableProvider renderableProvider, final Environment environment) {
 		final int offset = renderables.size;
-		renderableProvider.getRenderables(renderables, renderablesPool);
+		getRenderables(renderableProvider);
 		for (int i = offset; i < renderables.size; i++) {
 			Renderable renderable = renderables.get(i);
 			renderable.environment = environment;
@@ -301,7 +358,7 @@ public class ModelBatch implements Disposable {
 	 * @param shader the shader to use for the renderables */
 	public void render(final RenderableProvider renderableProvider, final Shader shader) {
 		final int offset = renderables.size;
-		renderableProvider.getRenderables(renderables, renderablesPool);
+		getRenderables(renderableProvider);
 		for (int i = offset; i < renderables.size; i++) {
 			Renderable renderable = renderables.get(i);
 			renderable.shader = shader;
@@ -328,7 +385,7 @@ public class ModelBatch implements Disposable {
 	 * @param shader the shader to use for the renderables */
 	public void render(final RenderableProvider renderableProvider, final Environment environment, final Shader shader) {
 		final int offset = renderables.size;
-		renderableProvider.getRenderables(renderables, renderablesPool);
+		getRenderables(renderableProvider);
 		for (int i = offset; i < renderables.size; i++) {
 			Renderable renderable = renderables.get(i);
 			renderable.environment = environment;
@@ -349,6 +406,17 @@ public class ModelBatch implements Disposable {
 			render(renderableProvider, environment, shader);
 	}
 
+	/** Adds the renderables of the provider to the batch, leaving out the ones outside of the frustum if culling is enabled. */
+	protected void getRenderables(final RenderableProvider renderableProvider) {
+		final int offset = renderables.size;
+		if (culling && renderableProvider instanceof CullableRenderableProvider)
+			culledCount += ((CullableRenderableProvider)renderableProvider).getRenderables(renderables, renderablesPool,
+				camera.frustum);
+		else
+			renderableProvider.getRenderables(renderables, renderablesPool);
+		visibleCount += renderables.size - offset;
+	}
+
 	@Override
 	public void dispose () {
 		shaderProvider.dispose();
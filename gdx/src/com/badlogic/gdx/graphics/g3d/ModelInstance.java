@@ -17,12 +17,14 @@
 package com.badlogic.gdx.graphics.g3d;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Mesh;
 import com.badlogic.gdx.graphics.g3d.model.Animation;
 import com.badlogic.gdx.graphics.g3d.model.MeshPart;
 import com.badlogic.gdx.graphics.g3d.model.NodeAnimation;
 import com.badlogic.gdx.graphics.g3d.model.NodeKeyframe;
 import com.badlogic.gdx.graphics.g3d.model.NodePart;
 import com.badlogic.gdx.graphics.g3d.model.Node;
+import com.badlogic.gdx.math.Frustum;
 import com.badlogic.gdx.math.Matrix4;
 import com.badlogic.gdx.math.Vector3;
 import com.badlogic.gdx.math.collision.BoundingBox;
@@ -38,9 +40,13 @@ import com.badlogic.gdx.utils.Pool;
  * all sharing the meshes and textures of the Model. The Model owns the meshes and textures, to 
  * dispose of these, the Model has to be disposed. Therefor, the Model must outlive all its ModelInstances</p>
  * 
- * The ModelInstance creates a full copy of all materials, nodes and animations.
+ * The ModelInstance creates a full copy of all materials, nodes and animations.</p>
+ * 
+ * For culling, the bounds of the node parts are cached. The bounds in the coordinates of the meshes are calculated once, the
+ * bounds in the coordinates of the instance after the next call to {@link #calculateTransforms()}. Call
+ * {@link #invalidateBounds()} after changing the vertices of the meshes or the nodes and parts of the instance.
  * @author badlogic, xoppa */
-public class ModelInstance implements RenderableProvider {
+public class ModelInstance implements CullableRenderableProvider {
 	/** the materials of the model, used by nodes that have a graphical representation FIXME not sure if superfluous, allows modification of materials without having to traverse the nodes **/
 	public final Array<Material> materials = new Array();
 	/** root nodes of the model **/
@@ -54,6 +60,16 @@ public class ModelInstance implements RenderableProvider {
 	/** user definable value, which is passed to the shader. */
 	public Object userData;
 	
+	/** The bounds of the node parts in the coordinates of their mesh and in the coordinates of this instance, as center and half
+	 * extents, 6 floats per part in the order of {@link #getRenderables(Array, Pool)}. */
+	private float[] meshBounds, partBounds;
+	/** The bounds of all node parts in the coordinates of this instance, as center and half extents. */
+	private final float[] bounds = new float[6];
+	/** The number of parts in {@link #meshBounds}, and in {@link #partBounds} or -1 when they must be calculated. */
+	private int meshBoundsCount, partBoundsCount = -1;
+	private final static BoundingBox tmpBox = new BoundingBox();
+	private final static float[] tmpBounds = new float[6];
+	
 	/** Constructs a new ModelInstance with all nodes and materials of the given model.
 	 * @param model The {@link Model} to create an instance of. */
 	public ModelInstance(final Model model) {
@@ -363,6 +379,166 @@ public class ModelInstance implements RenderableProvider {
 		}
 	}
 	
+	/** Adds the renderables of the node parts which may be visible in the frustum, the bounds of the whole instance are tested
+	 * first so an instance outside of the frustum costs one test.
+	 * @return The number of node parts outside of the frustum. */
+	@Override
+	public int getRenderables (Array<Renderable> renderables, Pool<Renderable> pool, Frustum frustum) {
+		if (partBoundsCount == -1)
+			calculateBounds();
+		final int partCount = partBoundsCount;
+		if (partCount == 0)
+			return 0;
+		if (!inFrustum(frustum, bounds, 0))
+			return partCount;
+		final int offset = renderables.size;
+		for (int i = 0, n = nodes.size, part = 0; i < n; i++)
+			part = getRenderables(nodes.get(i), renderables, pool, frustum, part);
+		return Math.max(0, partCount - (renderables.size - offset));
+	}
+	
+	private int getRenderables (Node node, Array<Renderable> renderables, Pool<Renderable> pool, Frustum frustum, int part) {
+		final Array<NodePart> parts = node.parts;
+		for (int i = 0, n = parts.size; i < n; i++, part++) {
+			// With one part its bounds were already tested. Parts added since the bounds were calculated are never culled.
+			if (partBoundsCount == 1 || part >= partBoundsCount || inFrustum(frustum, partBounds, part * 6))
+				renderables.add(getRenderable(pool.obtain(), node, parts.get(i)));
+		}
+		final Array<Node> children = node.children;
+		for (int i = 0, n = children.size; i < n; i++)
+			part = getRenderables(children.get(i), renderables, pool, frustum, part);
+		return part;
+	}
+	
+	private boolean inFrustum (final Frustum frustum, final float[] bounds, final int offset) {
+		if (transform == null)
+			return frustum.boundsInFrustum(bounds[offset], bounds[offset + 1], bounds[offset + 2], bounds[offset + 3],
+				bounds[offset + 4], bounds[offset + 5]);
+		final float[] tmp = tmpBounds;
+		transformBounds(bounds, offset, transform, tmp, 0);
+		return frustum.boundsInFrustum(tmp[0], tmp[1], tmp[2], tmp[3], tmp[4], tmp[5]);
+	}
+	
+	/** Discards the cached bounds of the node parts, so they are calculated again when the instance is culled. */
+	public void invalidateBounds () {
+		meshBoundsCount = 0;
+		partBoundsCount = -1;
+	}
+	
+	/** Calculates the bounds of the node parts in the coordinates of this instance, and in the coordinates of their mesh when
+	 * they are not known yet. */
+	private void calculateBounds () {
+		int partCount = 0;
+		for (int i = 0, n = nodes.size; i < n; i++)
+			partCount = countParts(nodes.get(i), partCount);
+		if (partBounds == null || partBounds.length < partCount * 6) {
+			meshBounds = new float[partCount * 6];
+			partBounds = new float[partCount * 6];
+			meshBoundsCount = 0;
+		}
+		final boolean calculateMeshBounds = meshBoundsCount != partCount;
+		float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, minZ = Float.POSITIVE_INFINITY;
+		float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY, maxZ = Float.NEGATIVE_INFINITY;
+		for (int i = 0, n = nodes.size, part = 0; i < n; i++)
+			part = calculateBounds(nodes.get(i), part, calculateMeshBounds);
+		final float[] partBounds = this.partBounds;
+		for (int i = 0, n = partCount * 6; i < n; i += 6) {
+			minX = Math.min(minX, partBounds[i] - partBounds[i + 3]);
+			minY = Math.min(minY, partBounds[i + 1] - partBounds[i + 4]);
+			minZ = Math.min(minZ, partBounds[i + 2] - partBounds[i + 5]);
+			maxX = Math.max(maxX, partBounds[i] + partBounds[i + 3]);
+			maxY = Math.max(maxY, partBounds[i + 1] + partBounds[i + 4]);
+			maxZ = Math.max(maxZ, partBounds[i + 2] + partBounds[i + 5]);
+		}
+		setBounds(bounds, 0, minX, minY, minZ, maxX, maxY, maxZ);
+		meshBoundsCount = partCount;
+		partBoundsCount = partCount;
+	}
+	
+	private int countParts (final Node node, int count) {
+		count += node.parts.size;
+		for (int i = 0, n = node.children.size; i < n; i++)
+			count = countParts(node.children.get(i), count);
+		return count;
+	}
+	
+	private int calculateBounds (final Node node, int part, final boolean calculateMeshBounds) {
+		final float[] meshBounds = this.meshBounds, partBounds = this.partBounds;
+		for (int i = 0, n = node.parts.size; i < n; i++, part++) {
+			final NodePart nodePart = node.parts.get(i);
+			final int offset = part * 6;
+			if (calculateMeshBounds)
+				calculateMeshBounds(nodePart.meshPart, meshBounds, offset);
+			final Matrix4[] bones = nodePart.bones;
+			if (bones == null) {
+				transformBounds(meshBounds, offset, node.globalTransform, partBounds, offset);
+			} else if (bones.length == 0) {
+				System.arraycopy(meshBounds, offset, partBounds, offset, 6);
+			} else {
+				// A skinned vertex is a weighted average of the vertex transformed by its bones, so it is within the union of the
+				// mesh bounds transformed by each bone.
+				float minX = Float.POSITIVE_INFINITY, minY = Float.POSITIVE_INFINITY, minZ = Float.POSITIVE_INFINITY;
+				float maxX = Float.NEGATIVE_INFINITY, maxY = Float.NEGATIVE_INFINITY, maxZ = Float.NEGATIVE_INFINITY;
+				final float[] tmp = tmpBounds;
+				for (int j = 0; j < bones.length; j++) {
+					transformBounds(meshBounds, offset, bones[j], tmp, 0);
+					minX = Math.min(minX, tmp[0] - tmp[3]);
+					minY = Math.min(minY, tmp[1] - tmp[4]);
+					minZ = Math.min(minZ, tmp[2] - tmp[5]);
+					maxX = Math.max(maxX, tmp[0] + tmp[3]);
+					maxY = Math.max(maxY, tmp[1] + tmp[4]);
+					maxZ = Math.max(maxZ, tmp[2] + tmp[5]);
+				}
+				setBounds(partBounds, offset, minX, minY, minZ, maxX, maxY, maxZ);
+			}
+		}
+		for (int i = 0, n = node.children.size; i < n; i++)
+			part = calculateBounds(node.children.get(i), part, calculateMeshBounds);
+		return part;
+	}
+	
+	private static void calculateMeshBounds (final MeshPart meshPart, final float[] out, final int offset) {
+		final Mesh mesh = meshPart.mesh;
+		final BoundingBox box = tmpBox.inf();
+		if (meshPart.numVertices > 0) {
+			if (mesh.getNumIndices() > 0)
+				mesh.extendBoundingBox(box, meshPart.indexOffset, meshPart.numVertices);
+			else if (mesh.getNumVertices() > 0)
+				mesh.calculateBoundingBox(box);
+		}
+		setBounds(out, offset, box.min.x, box.min.y, box.min.z, box.max.x, box.max.y, box.max.z);
+	}
+	
+	/** Stores the box as center and half extents, an empty box as a point at the origin. */
+	private static void setBounds (final float[] out, final int offset, final float minX, final float minY, final float minZ,
+		final float maxX, final float maxY, final float maxZ) {
+		if (minX > maxX || minY > maxY || minZ > maxZ) {
+			for (int i = 0; i < 6; i++)
+				out[offset + i] = 0;
+			return;
+		}
+		out[offset] = (minX + maxX) / 2;
+		out[offset + 1] = (minY + maxY) / 2;
+		out[offset + 2] = (minZ + maxZ) / 2;
+		out[offset + 3] = (maxX - minX) / 2;
+		out[offset + 4] = (maxY - minY) / 2;
+		out[offset + 5] = (maxZ - minZ) / 2;
+	}
+	
+	/** Stores the axis aligned box around the transformed box, both as center and half extents. */
+	private static void transformBounds (final float[] bounds, final int offset, final Matrix4 transform, final float[] out,
+		final int outOffset) {
+		final float[] m = transform.val;
+		final float x = bounds[offset], y = bounds[offset + 1], z = bounds[offset + 2];
+		final float halfX = bounds[offset + 3], halfY = bounds[offset + 4], halfZ = bounds[offset + 5];
+		out[outOffset] = m[Matrix4.M00] * x + m[Matrix4.M01] * y + m[Matrix4.M02] * z + m[Matrix4.M03];
+		out[outOffset + 1] = m[Matrix4.M10] * x + m[Matrix4.M11] * y + m[Matrix4.M12] * z + m[Matrix4.M13];
+		out[outOffset + 2] = m[Matrix4.M20] * x + m[Matrix4.M21] * y + m[Matrix4.M22] * z + m[Matrix4.M23];
+		out[outOffset + 3] = Math.abs(m[Matrix4.M00]) * halfX + Math.abs(m[Matrix4.M01]) * halfY + Math.abs(m[Matrix4.M02]) * halfZ;
+		out[outOffset + 4] = Math.abs(m[Matrix4.M10]) * halfX + Math.abs(m[Matrix4.M11]) * halfY + Math.abs(m[Matrix4.M12]) * halfZ;
+		out[outOffset + 5] = Math.abs(m[Matrix4.M20]) * halfX + Math.abs(m[Matrix4.M21]) * halfY + Math.abs(m[Matrix4.M22]) * halfZ;
+	}
+	
 	/** Calculates the local and world transform of all {@link Node} instances in this model, recursively.
 	 * First each {@link Node#localTransform} transform is calculated based on the translation, rotation and
 	 * scale of each Node. Then each {@link Node#calculateWorldTransform()}
@@ -370,7 +546,7 @@ public class ModelInstance implements RenderableProvider {
 	 * Finally, the animation bone matrices are updated accordingly.</p>
 	 * 
 	 * This method can be used to recalculate all transforms if any of the Node's local properties (translation, rotation, scale)
-	 * was modified.
+	 * was modified. The cached bounds of the node parts used for culling are calculated again when needed.
 	 */
 	public void calculateTransforms() {
 		final int n = nodes.size;
@@ -380,6 +556,7 @@ public class ModelInstance implements RenderableProvider {
 		for(int i = 0; i < n; i++) {
 			nodes.get(i).calculateBoneTransforms(true);
 		}
+		partBoundsCount = -1;
 	}
 	
 	/** Calculate the bounding box of this model instance.
@@ -227,6 +227,12 @@ public abstract class BaseShader implements Shader {
 			currentMesh = renderable.mesh;
 			currentMesh.bind(program, getAttributeLocations(renderable.mesh.getVertexAttributes()));
 		}
+		draw(renderable);
+	}
+
+	/** Draws the mesh part of the renderable. Called by {@link #render(Renderable, Attributes)} after the uniforms are set and the
+	 * mesh is bound. */
+	protected void draw (final Renderable renderable) {
 		renderable.mesh.render(program, renderable.primitiveType, renderable.meshPartOffset, renderable.meshPartSize, false);
 	}
 
@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.shaders;
+
+import java.nio.FloatBuffer;
+import java.nio.IntBuffer;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.GL30;
+import com.badlogic.gdx.graphics.g3d.InstancedShader;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.BufferUtils;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** A {@link DefaultShader} that renders many renderables with one instanced draw call. The world transforms of the instances are
+ * streamed to a vertex buffer each call and read by the default vertex shader as the per instance attribute
+ * {@link #worldTransAttribute}, so the shader program is the default one compiled with the <code>instancedFlag</code> define.
+ * Renderables with bones can't be rendered by this shader. Normals are transformed by the world transform instead of by its
+ * inverse transpose, which is only correct for uniformly scaled instances. Lights which are baked into the ambient cubemap are
+ * computed for the position of the first instance. <br>
+ * <br>
+ * Requires OpenGL ES 3.0, {@link com.badlogic.gdx.graphics.g3d.utils.InstancedShaderProvider} falls back to DefaultShader when
+ * it isn't available. */
+public class InstancedDefaultShader extends DefaultShader implements InstancedShader {
+	/** The alias of the mat4 vertex attribute holding the world transform of each instance. */
+	public final static String worldTransAttribute = "a_worldTrans";
+
+	private final static IntBuffer tmpHandle = BufferUtils.newIntBuffer(1);
+
+	private FloatBuffer instanceData = BufferUtils.newFloatBuffer(16 * 16);
+	private int instanceBuffer;
+	private int instanceCount;
+	private int worldTransLocation = -1;
+
+	public InstancedDefaultShader (final Renderable renderable) {
+		this(renderable, new Config());
+	}
+
+	public InstancedDefaultShader (final Renderable renderable, final Config config) {
+		this(renderable, config, createPrefix(renderable, config));
+	}
+
+	public InstancedDefaultShader (final Renderable renderable, final Config config, final String prefix) {
+		this(renderable, config, prefix, config.vertexShader != null ? config.vertexShader : getDefaultVertexShader(),
+			config.fragmentShader != null ? config.fragmentShader : getDefaultFragmentShader());
+	}
+
+	public InstancedDefaultShader (final Renderable renderable, final Config config, final String prefix,
+		final String vertexShader, final String fragmentShader) {
+		this(renderable, config, new ShaderProgram("#define instancedFlag\n" + prefix + vertexShader, "#define instancedFlag\n"
+			+ prefix + fragmentShader));
+	}
+
+	/** @param shaderProgram Must declare the {@link #worldTransAttribute} vertex attribute. */
+	public InstancedDefaultShader (final Renderable renderable, final Config config, final ShaderProgram shaderProgram) {
+		super(renderable, config, shaderProgram);
+		if (renderable.bones != null) throw new GdxRuntimeException("Instanced rendering doesn't support bones.");
+	}
+
+	@Override
+	public void init () {
+		if (Gdx.gl30 == null) throw new GdxRuntimeException("Instanced rendering requires OpenGL ES 3.0.");
+		super.init();
+		worldTransLocation = program.getAttributeLocation(worldTransAttribute);
+		if (worldTransLocation < 0) throw new GdxRuntimeException("Shader doesn't use the " + worldTransAttribute + " attribute.");
+		Gdx.gl30.glGenBuffers(1, tmpHandle);
+		instanceBuffer = tmpHandle.get(0);
+	}
+
+	@Override
+	public boolean canRender (final Renderable renderable) {
+		return renderable.bones == null && super.canRender(renderable);
+	}
+
+	@Override
+	public void render (final Renderable renderable) {
+		FloatBuffer instanceData = ensureCapacity(1);
+		instanceData.put(renderable.worldTransform.val);
+		instanceCount = 1;
+		super.render(renderable);
+	}
+
+	@Override
+	public void render (final Array<Renderable> renderables, final int offset, final int count) {
+		FloatBuffer instanceData = ensureCapacity(count);
+		for (int i = offset, n = offset + count; i < n; i++)
+			instanceData.put(renderables.get(i).worldTransform.val);
+		instanceCount = count;
+		super.render(renderables.get(offset));
+	}
+
+	/** Clears the instance data and makes sure it can hold the specified number of world transforms. */
+	private FloatBuffer ensureCapacity (final int count) {
+		if (instanceData.capacity() < count * 16) instanceData = BufferUtils.newFloatBuffer(MathUtils.nextPowerOfTwo(count) * 16);
+		instanceData.clear();
+		return instanceData;
+	}
+
+	@Override
+	protected void draw (final Renderable renderable) {
+		final GL30 gl = Gdx.gl30;
+		final FloatBuffer instanceData = this.instanceData;
+		instanceData.flip();
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, instanceBuffer);
+		gl.glBufferData(GL20.GL_ARRAY_BUFFER, instanceData.limit() * 4, instanceData, GL20.GL_STREAM_DRAW);
+		// A mat4 attribute uses four consecutive locations, one per column.
+		for (int i = 0; i < 4; i++) {
+			final int location = worldTransLocation + i;
+			gl.glEnableVertexAttribArray(location);
+			gl.glVertexAttribPointer(location, 4, GL20.GL_FLOAT, false, 64, i * 16);
+			gl.glVertexAttribDivisor(location, 1);
+		}
+
+		renderable.mesh.renderInstanced(program, renderable.primitiveType, renderable.meshPartOffset, renderable.meshPartSize,
+			instanceCount, false);
+
+		for (int i = 0; i < 4; i++) {
+			final int location = worldTransLocation + i;
+			gl.glVertexAttribDivisor(location, 0);
+			gl.glDisableVertexAttribArray(location);
+		}
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+	}
+
+	@Override
+	public void dispose () {
+		if (instanceBuffer != 0) {
+			tmpHandle.clear();
+			tmpHandle.put(instanceBuffer);
+			tmpHandle.flip();
+			Gdx.gl30.glDeleteBuffers(1, tmpHandle);
+			instanceBuffer = 0;
+		}
+		super.dispose();
+	}
+}
@@ -89,7 +89,13 @@ attribute vec2 a_boneWeight7;
 #endif
 #endif
 
+#ifdef instancedFlag
+// The world transform of each instance, see InstancedDefaultShader.
+attribute mat4 a_worldTrans;
+#define u_worldTrans a_worldTrans
+#else
 uniform mat4 u_worldTrans;
+#endif
 
 #if defined(numBones)
 #if numBones > 0
@@ -236,6 +242,9 @@ void main() {
 	#if defined(normalFlag)
 		#if defined(skinningFlag)
 			vec3 normal = normalize((u_worldTrans * skinning * vec4(a_normal, 0.0)).xyz);
+		#elif defined(instancedFlag)
+			// Only correct for uniformly scaled instances, there is no inverse in GLSL ES 1.0.
+			vec3 normal = normalize((a_worldTrans * vec4(a_normal, 0.0)).xyz);
 		#else
 			vec3 normal = normalize(u_normalMatrix * a_normal);
 		#endif
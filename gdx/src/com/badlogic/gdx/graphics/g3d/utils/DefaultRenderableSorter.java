@@ -37,13 +37,13 @@ public class DefaultRenderableSorter implements RenderableSorter, Comparator<Ren
 	
 	@Override
 	public int compare (final Renderable o1, final Renderable o2) {
-		final boolean b1 = o1.material.has(BlendingAttribute.Type) ? 
-			((BlendingAttribute)o1.material.get(BlendingAttribute.Type)).blended : false;
-		final boolean b2 = o2.material.has(BlendingAttribute.Type) ?
-			((BlendingAttribute)o2.material.get(BlendingAttribute.Type)).blended : false;
+		final BlendingAttribute a1 = (BlendingAttribute)o1.material.get(BlendingAttribute.Type);
+		final BlendingAttribute a2 = (BlendingAttribute)o2.material.get(BlendingAttribute.Type);
+		final boolean b1 = a1 != null && a1.blended;
+		final boolean b2 = a2 != null && a2.blended;
 		if (b1 != b2) 
 			return b1 ? 1 : -1;
-		// FIXME implement better sorting algorithm
+		// FIXME implement better sorting algorithm, see SortKeyRenderableSorter
 		// final boolean same = o1.shader == o2.shader && o1.mesh == o2.mesh && (o1.lights == null) == (o2.lights == null) && 
 			// o1.material.equals(o2.material);
 		o1.worldTransform.getTranslation(tmpV1);
@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.g3d.ModelBatch;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.Shader;
+import com.badlogic.gdx.graphics.g3d.shaders.DefaultShader;
+import com.badlogic.gdx.graphics.g3d.shaders.InstancedDefaultShader;
+
+/** A {@link DefaultShaderProvider} that creates {@link InstancedDefaultShader}s, so {@link ModelBatch} draws renderables which
+ * only differ in their world transform with a single draw call. Falls back to {@link DefaultShader} for renderables with bones and
+ * when OpenGL ES 3.0 isn't available. Use it together with a {@link SortKeyRenderableSorter}, which places renderables that can
+ * be instanced next to each other. */
+public class InstancedShaderProvider extends DefaultShaderProvider {
+	public InstancedShaderProvider (final DefaultShader.Config config) {
+		super(config);
+	}
+
+	public InstancedShaderProvider (final String vertexShader, final String fragmentShader) {
+		super(vertexShader, fragmentShader);
+	}
+
+	public InstancedShaderProvider (final FileHandle vertexShader, final FileHandle fragmentShader) {
+		super(vertexShader, fragmentShader);
+	}
+
+	public InstancedShaderProvider () {
+		super();
+	}
+
+	@Override
+	protected Shader createShader (final Renderable renderable) {
+		if (renderable.bones == null && Gdx.graphics.isGL30Available()) return new InstancedDefaultShader(renderable, config);
+		return super.createShader(renderable);
+	}
+}
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.graphics.g3d.utils;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.attributes.BlendingAttribute;
+import com.badlogic.gdx.graphics.g3d.attributes.TextureAttribute;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.NumberUtils;
+import com.badlogic.gdx.utils.ObjectIntMap;
+
+/** A {@link RenderableSorter} that computes one 64 bit key per {@link Renderable} and sorts the keys with a radix sort, so
+ * sorting takes linear time and the material and transform of each renderable are only looked at once. <br>
+ * <br>
+ * Opaque renderables are drawn first, grouped by shader, then by diffuse texture, then by mesh part, and front to back within
+ * each group. This minimizes the shader switches of {@link com.badlogic.gdx.graphics.g3d.ModelBatch#flush()} and the texture
+ * binds of the shaders, and places renderables that can be drawn with one instanced draw call next to each other, see
+ * {@link InstancedShaderProvider}. The cost is that opaque renderables are not drawn front to back across groups. Blended
+ * renderables are drawn last and back to front, like {@link DefaultRenderableSorter} does, and only grouped when their distance
+ * to the camera is equal. <br>
+ * <br>
+ * Shaders, textures, meshes and mesh parts are numbered in the order they are first seen each time renderables are sorted. When
+ * there are more than 1023 shaders, 4095 textures or mesh parts or 2047 meshes, the ones seen last share a number and are not
+ * grouped. The distance to the camera is the squared distance of the translation of the world transform, with 29 bits of
+ * precision for opaque and 31 bits for blended renderables. Renderables with the same key keep the order they were added in. */
+public class SortKeyRenderableSorter implements RenderableSorter {
+	static private final int SHADER_BITS = 10, TEXTURE_BITS = 12, PART_BITS = 12, MESH_BITS = 11;
+	static private final int MAX_SHADER = (1 << SHADER_BITS) - 1, MAX_TEXTURE = (1 << TEXTURE_BITS) - 1,
+		MAX_PART = (1 << PART_BITS) - 1, MAX_MESH = (1 << MESH_BITS) - 1;
+	static private final long BLENDED = 1L << 63;
+
+	private final ObjectIntMap<Object> shaderIds = new ObjectIntMap();
+	private final ObjectIntMap<Object> textureIds = new ObjectIntMap();
+	private final ObjectIntMap<Object> meshIds = new ObjectIntMap();
+	private final IntIntMap partIds = new IntIntMap();
+	private final int[] counts = new int[8 * 256];
+	private long[] keys = new long[0], keysTemp = new long[0];
+	private int[] indices = new int[0], indicesTemp = new int[0];
+	private Object[] items = new Object[0];
+
+	@Override
+	public void sort (final Camera camera, final Array<Renderable> renderables) {
+		final int size = renderables.size;
+		if (size < 2) return;
+		if (keys.length < size) {
+			keys = new long[size];
+			keysTemp = new long[size];
+			indices = new int[size];
+			indicesTemp = new int[size];
+			items = new Object[size];
+		}
+
+		final Object[] renderableItems = renderables.items;
+		final long[] keys = this.keys;
+		final int[] indices = this.indices;
+		final Vector3 position = camera.position;
+		for (int i = 0; i < size; i++) {
+			keys[i] = key((Renderable)renderableItems[i], position);
+			indices[i] = i;
+		}
+		shaderIds.clear();
+		textureIds.clear();
+		meshIds.clear();
+		partIds.clear();
+
+		final int[] order = radixSort(size);
+
+		final Object[] items = this.items;
+		for (int i = 0; i < size; i++)
+			items[i] = renderableItems[order[i]];
+		System.arraycopy(items, 0, renderableItems, 0, size);
+		for (int i = 0; i < size; i++)
+			items[i] = null;
+	}
+
+	/** Returns the sort key of the renderable. Unsigned ordering of the keys is the draw order. */
+	protected long key (final Renderable renderable, final Vector3 cameraPosition) {
+		final float[] val = renderable.worldTransform.val;
+		final float dx = val[Matrix4.M03] - cameraPosition.x;
+		final float dy = val[Matrix4.M13] - cameraPosition.y;
+		final float dz = val[Matrix4.M23] - cameraPosition.z;
+		// The bits of a positive float compare the same way as the float.
+		final long depth = NumberUtils.floatToRawIntBits(dx * dx + dy * dy + dz * dz) & 0x7fffffff;
+
+		final Material material = renderable.material;
+		final BlendingAttribute blending = (BlendingAttribute)material.get(BlendingAttribute.Type);
+		final TextureAttribute texture = (TextureAttribute)material.get(TextureAttribute.Diffuse);
+		final long shader = id(shaderIds, renderable.shader, MAX_SHADER);
+		final long textureId = id(textureIds, texture == null ? null : texture.textureDescription.texture, MAX_TEXTURE);
+		final long part = partId(id(meshIds, renderable.mesh, MAX_MESH), renderable.meshPartOffset);
+
+		if (blending != null && blending.blended) {
+			// Back to front, the state only breaks ties. 31 + 10 + 12 + 10 bits.
+			return BLENDED | (~depth & 0x7fffffff) << 32 | shader << 22 | textureId << 10 | Math.min(part, 1023);
+		}
+		// State first, then front to back. 10 + 12 + 12 + 29 bits.
+		return shader << 53 | textureId << 41 | part << 29 | depth >>> 2;
+	}
+
+	/** Returns an ID for the object that is the same for the same object until the end of the current sort. Null is always 0. */
+	private int id (final ObjectIntMap<Object> ids, final Object object, final int max) {
+		if (object == null) return 0;
+		int id = ids.get(object, -1);
+		if (id == -1) {
+			id = Math.min(ids.size + 1, max);
+			ids.put(object, id);
+		}
+		return id;
+	}
+
+	/** Returns an ID for the part of the mesh starting at the offset. Parts which start beyond the first million vertices or
+	 * indices of their mesh may share an ID with other parts.
+	 * @param meshId At most {@link #MAX_MESH}, so the mesh ID and the first 20 bits of the offset fit in the int key. */
+	private int partId (final int meshId, final int offset) {
+		final int key = meshId << 20 ^ offset;
+		int id = partIds.get(key, -1);
+		if (id == -1) {
+			id = Math.min(partIds.size + 1, MAX_PART);
+			partIds.put(key, id);
+		}
+		return id;
+	}
+
+	/** Sorts the first size keys and their indices with a least significant digit radix sort, one byte per pass. Passes where all
+	 * keys have the same byte are skipped.
+	 * @return The indices in sorted order. */
+	private int[] radixSort (final int size) {
+		final int[] counts = this.counts;
+		for (int i = 0, n = counts.length; i < n; i++)
+			counts[i] = 0;
+		long[] keys = this.keys, keysTemp = this.keysTemp;
+		int[] indices = this.indices, indicesTemp = this.indicesTemp;
+		for (int i = 0; i < size; i++) {
+			final long key = keys[i];
+			for (int pass = 0; pass < 8; pass++)
+				counts[pass << 8 | (int)(key >>> (pass << 3)) & 0xff]++;
+		}
+
+		for (int pass = 0; pass < 8; pass++) {
+			final int offset = pass << 8, shift = pass << 3;
+			if (counts[offset | (int)(keys[0] >>> shift) & 0xff] == size) continue;
+			for (int i = 0, total = 0; i < 256; i++) {
+				final int count = counts[offset + i];
+				counts[offset + i] = total;
+				total += count;
+			}
+			for (int i = 0; i < size; i++) {
+				final long key = keys[i];
+				final int index = counts[offset | (int)(key >>> shift) & 0xff]++;
+				keysTemp[index] = key;
+				indicesTemp[index] = indices[i];
+			}
+			long[] swapKeys = keys;
+			keys = keysTemp;
+			keysTemp = swapKeys;
+			int[] swapIndices = indices;
+			indices = indicesTemp;
+			indicesTemp = swapIndices;
+		}
+
+		this.keys = keys;
+		this.keysTemp = keysTemp;
+		this.indices = indices;
+		this.indicesTemp = indicesTemp;
+		return indices;
+	}
+}
@@ -51,12 +51,31 @@ public class ETC1 {
 		public final ByteBuffer compressedData;
 		/** the offset in bytes to the actual compressed data. Might be 16 if this contains a PKM header, 0 otherwise **/
 		public final int dataOffset;
+		/** whether the compressed data is freed by {@link #dispose()} **/
+		private final boolean ownsData;
 
 		public ETC1Data (int width, int height, ByteBuffer compressedData, int dataOffset) {
 			this.width = width;
 			this.height = height;
 			this.compressedData = compressedData;
 			this.dataOffset = dataOffset;
+			ownsData = true;
+			checkNPOT();
+		}
+
+		/** Uses the PKM header and compressed image data starting at the buffer's position without copying them, eg from an
+		 * uncompressed PKM file mapped with {@link FileHandle#map()}. The buffer is not freed by {@link #dispose()}.
+		 * @param pkmData a direct buffer */
+		public ETC1Data (ByteBuffer pkmData) {
+			if (!pkmData.isDirect()) throw new GdxRuntimeException("PKM data must be in a direct buffer");
+			compressedData = pkmData.slice();
+			if (compressedData.capacity() < PKM_HEADER_SIZE || !isValidPKM(compressedData, 0))
+				throw new GdxRuntimeException("Invalid PKM data");
+			width = getWidthPKM(compressedData, 0);
+			height = getHeightPKM(compressedData, 0);
+			dataOffset = PKM_HEADER_SIZE;
+			compressedData.position(dataOffset);
+			ownsData = false;
 			checkNPOT();
 		}
 
@@ -83,6 +102,7 @@ public class ETC1 {
 			height = getHeightPKM(compressedData, 0);
 			dataOffset = PKM_HEADER_SIZE;
 			compressedData.position(dataOffset);
+			ownsData = true;
 			checkNPOT();
 		}
 		
@@ -125,7 +145,7 @@ public class ETC1 {
 
 		/** Releases the native resources of the ETC1Data instance. */
 		public void dispose () {
-			BufferUtils.disposeUnsafeByteBuffer(compressedData);
+			if (ownsData) BufferUtils.disposeUnsafeByteBuffer(compressedData);
 		}
 
 		public String toString () {
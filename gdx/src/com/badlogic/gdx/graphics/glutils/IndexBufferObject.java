@@ -55,6 +55,8 @@ public class IndexBufferObject implements IndexData {
 	boolean isDirty = true;
 	boolean isBound = false;
 	final int usage;
+	/** The number of bytes uploaded by {@link #upload(int)} so far, 0 if it didn't start uploading the indices yet. */
+	int uploadOffset;
 
 	/** Creates a new IndexBufferObject.
 	 * 
@@ -114,6 +116,7 @@ public class IndexBufferObject implements IndexData {
 	 * @param count the number of shorts to copy */
 	public void setIndices (short[] indices, int offset, int count) {
 		isDirty = true;
+		uploadOffset = 0;
 		buffer.clear();
 		buffer.put(indices, offset, count);
 		buffer.flip();
@@ -134,6 +137,7 @@ public class IndexBufferObject implements IndexData {
 	 * @return the underlying short buffer. */
 	public ShortBuffer getBuffer () {
 		isDirty = true;
+		uploadOffset = 0;
 		return buffer;
 	}
 
@@ -146,10 +150,37 @@ public class IndexBufferObject implements IndexData {
 			byteBuffer.limit(buffer.limit() * 2);
 			Gdx.gl20.glBufferData(GL20.GL_ELEMENT_ARRAY_BUFFER, byteBuffer.limit(), byteBuffer, usage);
 			isDirty = false;
+			uploadOffset = 0;
 		}
 		isBound = true;
 	}
 
+	/** Uploads the indices if they were changed, like {@link #bind()} does, but at most the given number of bytes per call, so
+	 * the upload of a large buffer can be spread over several frames. The first call allocates the buffer object, the following
+	 * calls upload the next range of the indices with glBufferSubData.
+	 * @param maxBytes the maximum number of bytes to upload
+	 * @return the number of bytes left to upload, 0 if the buffer object is up to date */
+	public int upload (int maxBytes) {
+		if (!isDirty) return 0;
+		final GL20 gl = Gdx.gl20;
+		final int size = buffer.limit() * 2;
+		gl.glBindBuffer(GL20.GL_ELEMENT_ARRAY_BUFFER, bufferHandle);
+		if (uploadOffset == 0) gl.glBufferData(GL20.GL_ELEMENT_ARRAY_BUFFER, size, null, usage);
+		final int count = Math.min(maxBytes, size - uploadOffset);
+		byteBuffer.limit(uploadOffset + count);
+		byteBuffer.position(uploadOffset);
+		gl.glBufferSubData(GL20.GL_ELEMENT_ARRAY_BUFFER, uploadOffset, count, byteBuffer);
+		byteBuffer.position(0);
+		byteBuffer.limit(size);
+		if (!isBound) gl.glBindBuffer(GL20.GL_ELEMENT_ARRAY_BUFFER, 0);
+
+		uploadOffset += count;
+		if (uploadOffset < size) return size - uploadOffset;
+		isDirty = false;
+		uploadOffset = 0;
+		return 0;
+	}
+
 	/** Unbinds this IndexBufferObject. */
 	public void unbind () {		
 		Gdx.gl20.glBindBuffer(GL20.GL_ELEMENT_ARRAY_BUFFER, 0);
@@ -160,6 +191,7 @@ public class IndexBufferObject implements IndexData {
 	public void invalidate () {
 		bufferHandle = createBufferObject();
 		isDirty = true;
+		uploadOffset = 0;
 	}
 
 	/** Disposes this IndexBufferObject and all its associated OpenGL resources. */
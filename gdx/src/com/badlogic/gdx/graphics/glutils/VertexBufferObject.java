@@ -59,8 +59,11 @@ public class VertexBufferObject implements VertexData {
 	int bufferHandle;
 	final boolean isStatic;
 	final int usage;
+	final boolean ownsBuffer;
 	boolean isDirty = false;
 	boolean isBound = false;
+	/** The number of bytes uploaded by {@link #upload(int)} so far, 0 if it didn't start uploading the vertices yet. */
+	int uploadOffset;
 
 	/** Constructs a new interleaved VertexBufferObject.
 	 * 
@@ -86,6 +89,27 @@ public class VertexBufferObject implements VertexData {
 		byteBuffer.flip();
 		bufferHandle = createBufferObject();
 		usage = isStatic ? GL20.GL_STATIC_DRAW : GL20.GL_DYNAMIC_DRAW;
+		ownsBuffer = true;
+	}
+
+	/** Constructs a new interleaved VertexBufferObject which holds its vertices in the given buffer. The buffer can be shared by
+	 * VertexBufferObjects whose vertices are always set right before they are bound, as it only holds the vertices set last.
+	 * 
+	 * @param usage the usage of the buffer object, eg GL_STREAM_DRAW for vertices which are drawn once
+	 * @param data a direct buffer with native byte order, its capacity is the maximum size of the vertices in bytes
+	 * @param ownsBuffer whether the buffer is disposed with this VertexBufferObject
+	 * @param attributes the {@link VertexAttributes}. */
+	protected VertexBufferObject (int usage, ByteBuffer data, boolean ownsBuffer, VertexAttributes attributes) {
+		this.isStatic = usage == GL20.GL_STATIC_DRAW;
+		this.usage = usage;
+		this.ownsBuffer = ownsBuffer;
+		this.attributes = attributes;
+		byteBuffer = data;
+		ByteBuffer view = data.duplicate();
+		view.clear();
+		buffer = view.order(data.order()).asFloatBuffer();
+		buffer.flip();
+		bufferHandle = createBufferObject();
 	}
 
 	private int createBufferObject () {
@@ -111,6 +135,7 @@ public class VertexBufferObject implements VertexData {
 	@Override
 	public FloatBuffer getBuffer () {
 		isDirty = true;
+		uploadOffset = 0;
 		return buffer;
 	}
 	
@@ -124,6 +149,7 @@ public class VertexBufferObject implements VertexData {
 	@Override
 	public void setVertices (float[] vertices, int offset, int count) {
 		isDirty = true;
+		uploadOffset = 0;
 		BufferUtils.copy(vertices, byteBuffer, count, offset);
 		buffer.position(0);
 		buffer.limit(count);
@@ -133,6 +159,7 @@ public class VertexBufferObject implements VertexData {
 	@Override
 	public void updateVertices (int targetOffset, float[] vertices, int sourceOffset, int count) {
 		isDirty = true;
+		uploadOffset = 0;
 		final int pos = byteBuffer.position();
 		byteBuffer.position(targetOffset * 4);
 		BufferUtils.copy(vertices, sourceOffset, count, byteBuffer);
@@ -158,6 +185,7 @@ public class VertexBufferObject implements VertexData {
 			byteBuffer.limit(buffer.limit() * 4);
 			gl.glBufferData(GL20.GL_ARRAY_BUFFER, byteBuffer.limit(), byteBuffer, usage);
 			isDirty = false;
+			uploadOffset = 0;
 		}
 
 		final int numAttributes = attributes.size();
@@ -195,6 +223,32 @@ public class VertexBufferObject implements VertexData {
 		isBound = true;
 	}
 	
+	/** Uploads the vertices if they were changed, like {@link #bind(ShaderProgram)} does, but at most the given number of bytes
+	 * per call, so the upload of a large buffer can be spread over several frames. The first call allocates the buffer object,
+	 * the following calls upload the next range of the vertices with glBufferSubData.
+	 * @param maxBytes the maximum number of bytes to upload
+	 * @return the number of bytes left to upload, 0 if the buffer object is up to date */
+	public int upload (int maxBytes) {
+		if (!isDirty) return 0;
+		final GL20 gl = Gdx.gl20;
+		final int size = buffer.limit() * 4;
+		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, bufferHandle);
+		if (uploadOffset == 0) gl.glBufferData(GL20.GL_ARRAY_BUFFER, size, null, usage);
+		final int count = Math.min(maxBytes, size - uploadOffset);
+		byteBuffer.limit(uploadOffset + count);
+		byteBuffer.position(uploadOffset);
+		gl.glBufferSubData(GL20.GL_ARRAY_BUFFER, uploadOffset, count, byteBuffer);
+		byteBuffer.position(0);
+		byteBuffer.limit(size);
+		if (!isBound) gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
+
+		uploadOffset += count;
+		if (uploadOffset < size) return size - uploadOffset;
+		isDirty = false;
+		uploadOffset = 0;
+		return 0;
+	}
+
 	/** Unbinds this VertexBufferObject.
 	 * 
 	 * @param shader the shader */
@@ -226,6 +280,7 @@ public class VertexBufferObject implements VertexData {
 	public void invalidate () {
 		bufferHandle = createBufferObject();
 		isDirty = true;
+		uploadOffset = 0;
 	}
 
 	/** Disposes of all resources this VertexBufferObject uses. */
@@ -238,6 +293,6 @@ public class VertexBufferObject implements VertexData {
 		gl.glBindBuffer(GL20.GL_ARRAY_BUFFER, 0);
 		gl.glDeleteBuffers(1, tmpHandle);
 		bufferHandle = 0;		
-		BufferUtils.disposeUnsafeByteBuffer(byteBuffer);
+		if (ownsBuffer) BufferUtils.disposeUnsafeByteBuffer(byteBuffer);
 	}
 }
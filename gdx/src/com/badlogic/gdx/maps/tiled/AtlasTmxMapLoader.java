@@ -68,6 +68,10 @@ public class AtlasTmxMapLoader extends AsynchronousAssetLoader<TiledMap, AtlasTm
 		public TextureFilter textureMagFilter = TextureFilter.Nearest;
 		/** Whether to convert the objects' pixel position and size to the equivalent in tile space. **/
 		public boolean convertObjectToTileSpace = false;
+		/** Whether to store tile layers as {@link PackedTiledMapTileLayer}, which takes much less memory for large maps but returns
+		 * a reused cell from {@link TiledMapTileLayer#getCell(int, int)}. The global tile IDs of packed layers are stored as they
+		 * are in the file, {@link AtlasTmxMapLoader#createTileLayerCell(boolean, boolean, boolean)} is not called for them. **/
+		public boolean packTileLayers = false;
 	}
 
 	protected static final int FLAG_FLIP_HORIZONTALLY = 0x80000000;
@@ -79,6 +83,7 @@ public class AtlasTmxMapLoader extends AsynchronousAssetLoader<TiledMap, AtlasTm
 	protected Element root;
 	protected boolean yUp;
 	protected boolean convertObjectToTileSpace;
+	protected boolean packTileLayers;
 
 	protected int mapTileWidth;
 	protected int mapTileHeight;
@@ -161,9 +166,11 @@ public class AtlasTmxMapLoader extends AsynchronousAssetLoader<TiledMap, AtlasTm
 			if (parameter != null) {
 				yUp = parameter.yUp;
 				convertObjectToTileSpace = parameter.convertObjectToTileSpace;
+				packTileLayers = parameter.packTileLayers;
 			} else {
 				yUp = true;
 				convertObjectToTileSpace = false;
+				packTileLayers = false;
 			}
 
 			FileHandle tmxFile = resolve(fileName);
@@ -226,9 +233,11 @@ public class AtlasTmxMapLoader extends AsynchronousAssetLoader<TiledMap, AtlasTm
 		if (parameter != null) {
 			yUp = parameter.yUp;
 			convertObjectToTileSpace = parameter.convertObjectToTileSpace;
+			packTileLayers = parameter.packTileLayers;
 		} else {
 			yUp = true;
 			convertObjectToTileSpace = false;
+			packTileLayers = false;
 		}
 
 		try {
@@ -408,25 +417,34 @@ public class AtlasTmxMapLoader extends AsynchronousAssetLoader<TiledMap, AtlasTm
 			int tileHeight = element.getParent().getIntAttribute("tileheight", 0);
 			boolean visible = element.getIntAttribute("visible", 1) == 1;
 			float opacity = element.getFloatAttribute("opacity", 1.0f);
-			TiledMapTileLayer layer = new TiledMapTileLayer(width, height, tileWidth, tileHeight);
+			TiledMapTileSets tilesets = map.getTileSets();
+			TiledMapTileLayer layer = packTileLayers
+				? new PackedTiledMapTileLayer(width, height, tileWidth, tileHeight, tilesets, yUp)
+				: new TiledMapTileLayer(width, height, tileWidth, tileHeight);
 			layer.setVisible(visible);
 			layer.setOpacity(opacity);
 			layer.setName(name);
 
 			int[] ids = TmxMapHelper.getTileIds(element, width, height);
-			TiledMapTileSets tilesets = map.getTileSets();
-			for (int y = 0; y < height; y++) {
-				for (int x = 0; x < width; x++) {
-					int id = ids[y * width + x];
-					boolean flipHorizontally = ((id & FLAG_FLIP_HORIZONTALLY) != 0);
-					boolean flipVertically = ((id & FLAG_FLIP_VERTICALLY) != 0);
-					boolean flipDiagonally = ((id & FLAG_FLIP_DIAGONALLY) != 0);
-
-					TiledMapTile tile = tilesets.getTile(id & ~MASK_CLEAR);
-					if (tile != null) {
-						Cell cell = createTileLayerCell(flipHorizontally, flipVertically, flipDiagonally);
-						cell.setTile(tile);
-						layer.setCell(x, yUp ? height - 1 - y : y, cell);
+			if (layer instanceof PackedTiledMapTileLayer) {
+				// The packed layer stores the global tile IDs as they are in the file, only the rows are flipped for y-up.
+				int[] packedIds = ((PackedTiledMapTileLayer)layer).getTileIds();
+				for (int y = 0; y < height; y++)
+					System.arraycopy(ids, y * width, packedIds, (yUp ? height - 1 - y : y) * width, width);
+			} else {
+				for (int y = 0; y < height; y++) {
+					for (int x = 0; x < width; x++) {
+						int id = ids[y * width + x];
+						boolean flipHorizontally = ((id & FLAG_FLIP_HORIZONTALLY) != 0);
+						boolean flipVertically = ((id & FLAG_FLIP_VERTICALLY) != 0);
+						boolean flipDiagonally = ((id & FLAG_FLIP_DIAGONALLY) != 0);
+
+						TiledMapTile tile = tilesets.getTile(id & ~MASK_CLEAR);
+						if (tile != null) {
+							Cell cell = createTileLayerCell(flipHorizontally, flipVertically, flipDiagonally);
+							cell.setTile(tile);
+							layer.setCell(x, yUp ? height - 1 - y : y, cell);
+						}
 					}
 				}
 			}
@@ -0,0 +1,224 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.maps.tiled;
+
+/** A {@link TiledMapTileLayer} that stores each cell as one int in a flat array instead of a {@link Cell} object, so a layer of
+ * 2000x2000 tiles takes 16 MB and reading the cells of a row touches consecutive memory. Each int is a global tile ID as in TMX
+ * files: the ID of the tile in the {@link TiledMapTileSets} of the layer in the low 29 bits and the {@link #FLIP_HORIZONTALLY},
+ * {@link #FLIP_VERTICALLY} and {@link #FLIP_DIAGONALLY} flags in the high 3 bits. 0 is an empty cell. <br>
+ * <br>
+ * {@link #getCell(int, int)} returns a flyweight that is reused by the next call, it must not be kept. Changing the flyweight
+ * changes the layer. {@link #setCell(int, int, Cell)} copies the cell, whose tile must be in the tile sets with its
+ * {@link TiledMapTile#getId() ID}. A cell without a tile is stored as an empty cell. Rotations and flips which show the tile the
+ * same way are stored the same, so the cell returned for a position may describe the transform differently than the cell it
+ * was set with. The flyweight keeps the flips and rotation it was returned with, so a sequence of setter calls gives the same
+ * result as on a {@link Cell}. The layer is not thread safe, because of the flyweight even reading cells from multiple threads
+ * is not allowed.
+ * <br>
+ * <br>
+ * Tiles are looked up in the tile sets the first time an ID is used, tiles added to or replaced in the tile sets later are not
+ * seen by the layer. {@link TmxMapLoader} and {@link AtlasTmxMapLoader} create this layer when
+ * {@link TmxMapLoader.Parameters#packTileLayers} is set. */
+public class PackedTiledMapTileLayer extends TiledMapTileLayer {
+	public static final int FLIP_HORIZONTALLY = 0x80000000;
+	public static final int FLIP_VERTICALLY = 0x40000000;
+	public static final int FLIP_DIAGONALLY = 0x20000000;
+	public static final int ID_MASK = 0x1fffffff;
+
+	// The flips and rotation of a Cell, flipHorizontally << 3 | flipVertically << 2 | rotation, for the flags of a global tile ID,
+	// horizontally << 2 | vertically << 1 | diagonally, and the other way around. The diagonal flip turns into a rotation in
+	// different directions depending on whether the rows were flipped for y-up, like TmxMapLoader#createTileLayerCell does.
+	static private final int[] cellFromFlagsYUp = {0, 7, 4, 1, 8, 3, 12, 11};
+	static private final int[] cellFromFlagsYDown = {0, 5, 4, 3, 8, 1, 12, 9};
+	static private final int[] flagsFromCellYUp = {0, 3, 6, 5, 2, 7, 4, 1, 4, 1, 2, 7, 6, 5, 0, 3};
+	static private final int[] flagsFromCellYDown = {0, 5, 6, 3, 2, 1, 4, 7, 4, 7, 2, 1, 6, 3, 0, 5};
+
+	private final int width, height;
+	private final int[] ids;
+	private final TiledMapTileSets tileSets;
+	private final int[] cellFromFlags, flagsFromCell;
+	private TiledMapTile[] tiles = new TiledMapTile[64];
+	private final PackedCell cell = new PackedCell();
+
+	/** Creates a layer for a y-up coordinate system.
+	 * @see #PackedTiledMapTileLayer(int, int, int, int, TiledMapTileSets, boolean) */
+	public PackedTiledMapTileLayer (int width, int height, int tileWidth, int tileHeight, TiledMapTileSets tileSets) {
+		this(width, height, tileWidth, tileHeight, tileSets, true);
+	}
+
+	/** @param width layer width in tiles
+	 * @param height layer height in tiles
+	 * @param tileWidth tile width in pixels
+	 * @param tileHeight tile height in pixels
+	 * @param tileSets The tile sets the tile IDs of the cells refer to, usually {@link TiledMap#getTileSets()}.
+	 * @param yUp Whether the rows of the map are flipped for a y-up coordinate system, which changes how the diagonal flip of a
+	 *           global tile ID is rotated. Only matters when global tile IDs from a TMX file are set directly, cells set with
+	 *           {@link #setCell(int, int, Cell)} are always returned the same way. */
+	public PackedTiledMapTileLayer (int width, int height, int tileWidth, int tileHeight, TiledMapTileSets tileSets, boolean yUp) {
+		super(width, height, tileWidth, tileHeight, false);
+		if (tileSets == null) throw new IllegalArgumentException("tileSets cannot be null.");
+		this.width = width;
+		this.height = height;
+		this.tileSets = tileSets;
+		ids = new int[width * height];
+		cellFromFlags = yUp ? cellFromFlagsYUp : cellFromFlagsYDown;
+		flagsFromCell = yUp ? flagsFromCellYUp : flagsFromCellYDown;
+	}
+
+	/** @return The global tile ID at (x, y) including the flip flags, 0 if the cell is empty or outside the layer. */
+	public int getTileId (int x, int y) {
+		if (x < 0 || x >= width) return 0;
+		if (y < 0 || y >= height) return 0;
+		return ids[x + y * width];
+	}
+
+	/** Sets the global tile ID at (x, y) including the flip flags. The tile is not checked to exist, cells with an ID that is not
+	 * in the tile sets are empty.
+	 * @param id The global tile ID, 0 for an empty cell. */
+	public void setTileId (int x, int y, int id) {
+		if (x < 0 || x >= width) return;
+		if (y < 0 || y >= height) return;
+		ids[x + y * width] = id;
+	}
+
+	/** Returns the global tile IDs of all cells, the ID at (x, y) is at index x + y * width. Changes to the array change the
+	 * layer. */
+	public int[] getTileIds () {
+		return ids;
+	}
+
+	/** @return A flyweight describing the cell at (x, y) until the next call, or null if the cell is empty, outside the layer or
+	 *         its tile is not in the tile sets. */
+	@Override
+	public Cell getCell (int x, int y) {
+		if (x < 0 || x >= width) return null;
+		if (y < 0 || y >= height) return null;
+		int index = x + y * width;
+		int id = ids[index];
+		if (getTile(id & ID_MASK) == null) return null;
+		int flips = cellFromFlags[id >>> 29];
+		cell.index = index;
+		cell.flipHorizontally = (flips & 8) != 0;
+		cell.flipVertically = (flips & 4) != 0;
+		cell.rotation = flips & 3;
+		return cell;
+	}
+
+	/** Stores the tile, flips and rotation of the cell at (x, y).
+	 * @param cell May be null to empty the cell.
+	 * @throws IllegalArgumentException if the tile of the cell is not in the tile sets of this layer with its ID. */
+	@Override
+	public void setCell (int x, int y, Cell cell) {
+		if (x < 0 || x >= width) return;
+		if (y < 0 || y >= height) return;
+		ids[x + y * width] = pack(cell);
+	}
+
+	private int pack (Cell cell) {
+		if (cell == null || cell.getTile() == null) return 0;
+		return flags(cell.getFlipHorizontally(), cell.getFlipVertically(), cell.getRotation()) | tileId(cell.getTile());
+	}
+
+	private int flags (boolean flipHorizontally, boolean flipVertically, int rotation) {
+		return flagsFromCell[(flipHorizontally ? 8 : 0) | (flipVertically ? 4 : 0) | rotation & 3] << 29;
+	}
+
+	private int tileId (TiledMapTile tile) {
+		int id = tile.getId();
+		if (id <= 0 || id > ID_MASK || getTile(id) != tile)
+			throw new IllegalArgumentException("The tile must be in the tile sets of the layer, tile ID: " + id);
+		return id;
+	}
+
+	private TiledMapTile getTile (int id) {
+		if (id == 0) return null;
+		TiledMapTile[] tiles = this.tiles;
+		if (id < tiles.length) {
+			TiledMapTile tile = tiles[id];
+			if (tile != null) return tile;
+		}
+		TiledMapTile tile = tileSets.getTile(id);
+		if (tile == null) return null;
+		if (id >= tiles.length) {
+			TiledMapTile[] newTiles = new TiledMapTile[Math.max(id + 1, tiles.length * 2)];
+			System.arraycopy(tiles, 0, newTiles, 0, tiles.length);
+			this.tiles = tiles = newTiles;
+		}
+		tiles[id] = tile;
+		return tile;
+	}
+
+	/** The cell returned by {@link PackedTiledMapTileLayer#getCell(int, int)}, reads and writes the global tile ID of the cell it
+	 * was last returned for. The flips and rotation are kept in fields and the flags of the ID are written from them, because
+	 * packing them can describe the same transform differently. */
+	private class PackedCell extends Cell {
+		int index;
+		boolean flipHorizontally, flipVertically;
+		int rotation;
+
+		@Override
+		public TiledMapTile getTile () {
+			return PackedTiledMapTileLayer.this.getTile(ids[index] & ID_MASK);
+		}
+
+		@Override
+		public void setTile (TiledMapTile tile) {
+			if (tile == null)
+				ids[index] = 0;
+			else
+				ids[index] = flags(flipHorizontally, flipVertically, rotation) | tileId(tile);
+		}
+
+		@Override
+		public boolean getFlipHorizontally () {
+			return flipHorizontally;
+		}
+
+		@Override
+		public void setFlipHorizontally (boolean flipHorizontally) {
+			this.flipHorizontally = flipHorizontally;
+			updateFlags();
+		}
+
+		@Override
+		public boolean getFlipVertically () {
+			return flipVertically;
+		}
+
+		@Override
+		public void setFlipVertically (boolean flipVertically) {
+			this.flipVertically = flipVertically;
+			updateFlags();
+		}
+
+		@Override
+		public int getRotation () {
+			return rotation;
+		}
+
+		@Override
+		public void setRotation (int rotation) {
+			this.rotation = rotation;
+			updateFlags();
+		}
+
+		private void updateFlags () {
+			int id = ids[index] & ID_MASK;
+			if (id != 0) ids[index] = flags(flipHorizontally, flipVertically, rotation) | id;
+		}
+	}
+}
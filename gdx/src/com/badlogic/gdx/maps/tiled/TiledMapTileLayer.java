@@ -68,12 +68,22 @@ public class TiledMapTileLayer extends MapLayer {
 	 * @param tileHeight tile height in pixels 
 	 */
 	public TiledMapTileLayer(int width, int height, int tileWidth, int tileHeight) {
+		this(width, height, tileWidth, tileHeight, true);
+	}
+
+	/**
+	 * Creates TiledMap layer, for subclasses that store the cells themselves
+	 *
+	 * @param allocateCells whether to allocate the {@link Cell} array used by {@link #getCell(int, int)} and
+	 *           {@link #setCell(int, int, Cell)}
+	 */
+	TiledMapTileLayer(int width, int height, int tileWidth, int tileHeight, boolean allocateCells) {
 		super();
 		this.width = width;
 		this.height = height;
 		this.tileWidth = tileWidth;
 		this.tileHeight = tileHeight;
-		this.cells = new Cell[width][height];
+		if (allocateCells) this.cells = new Cell[width][height];
 	}
 	
 	/**
@@ -0,0 +1,451 @@
+/*******************************************************************************
+ * Copyright 2013 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.maps.tiled.renderers;
+
+import java.util.Comparator;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.tiles.AnimatedTiledMapTile;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.IdentityMap;
+import com.badlogic.gdx.utils.IntArray;
+
+/** An {@link OrthogonalTiledMapRenderer} that bakes the tiles of each tile layer into chunks of chunk size by chunk size tiles
+ * stored in static meshes, so drawing a layer costs one draw call per texture and visible chunk instead of sending the vertices
+ * of every visible tile to the GPU each frame. Layers are culled per chunk. A chunk is baked when it first becomes visible and
+ * again only after it was invalidated. <br>
+ * <br>
+ * Changing a layer with {@link TiledMapTileLayer#setCell(int, int, Cell)} or changing a {@link Cell} is not noticed, call one of
+ * the invalidate methods afterwards. Cells with an {@link AnimatedTiledMapTile} are not baked and are drawn with the batch every
+ * frame. Changing the batch color or the opacity of a layer rebakes its visible chunks. Once more than {@link #setMaxChunks(int)
+ * max chunks} are baked, the meshes of the chunks that have not been visible for the longest time are reused. <br>
+ * <br>
+ * The batch is ended before and begun after drawing the chunks of a layer. The chunks are drawn with the projection, transform
+ * and blending of the batch, but with their own shader. */
+public class OrthogonalCachedTiledMapRenderer extends OrthogonalTiledMapRenderer {
+	private final int chunkSize;
+	private final ShaderProgram shader;
+	private final short[] indices;
+	private final IdentityMap<TiledMapTileLayer, LayerChunks> layerChunks = new IdentityMap();
+	private final Array<Chunk> baked = new Array(false, 64, Chunk.class);
+	private final Array<Mesh> freeMeshes = new Array(false, 16, Mesh.class);
+	private final Array<Chunk> visible = new Array(false, 16, Chunk.class);
+	private final Array<Texture> textures = new Array(true, 4, Texture.class);
+	private final float[] tileVertices, sortedVertices;
+	private final int[] tileTextures;
+	private final Matrix4 combined = new Matrix4();
+	private int maxChunks = 128;
+	private int frame;
+
+	/** The number of chunks baked since this renderer was created. */
+	public int bakeCount;
+
+	static private final Comparator<Chunk> leastRecentlyVisible = new Comparator<Chunk>() {
+		public int compare (Chunk a, Chunk b) {
+			return a.lastFrame - b.lastFrame;
+		}
+	};
+
+	public OrthogonalCachedTiledMapRenderer (TiledMap map) {
+		this(map, 1, 32);
+	}
+
+	public OrthogonalCachedTiledMapRenderer (TiledMap map, Batch batch) {
+		this(map, 1, batch, 32);
+	}
+
+	public OrthogonalCachedTiledMapRenderer (TiledMap map, float unitScale) {
+		this(map, unitScale, 32);
+	}
+
+	public OrthogonalCachedTiledMapRenderer (TiledMap map, float unitScale, Batch batch) {
+		this(map, unitScale, batch, 32);
+	}
+
+	/** @param chunkSize The width and height of the chunks in tiles. Max of 90. */
+	public OrthogonalCachedTiledMapRenderer (TiledMap map, float unitScale, int chunkSize) {
+		super(map, unitScale);
+		this.chunkSize = chunkSize;
+		checkChunkSize();
+		shader = SpriteBatch.createDefaultShader();
+		indices = createIndices();
+		tileVertices = new float[chunkSize * chunkSize * 20];
+		sortedVertices = new float[chunkSize * chunkSize * 20];
+		tileTextures = new int[chunkSize * chunkSize];
+	}
+
+	/** @param chunkSize The width and height of the chunks in tiles. Max of 90. */
+	public OrthogonalCachedTiledMapRenderer (TiledMap map, float unitScale, Batch batch, int chunkSize) {
+		super(map, unitScale, batch);
+		this.chunkSize = chunkSize;
+		checkChunkSize();
+		shader = SpriteBatch.createDefaultShader();
+		indices = createIndices();
+		tileVertices = new float[chunkSize * chunkSize * 20];
+		sortedVertices = new float[chunkSize * chunkSize * 20];
+		tileTextures = new int[chunkSize * chunkSize];
+	}
+
+	private void checkChunkSize () {
+		// 32767 is max index, so 90 * 90 * 4 vertices is the most that fit.
+		if (chunkSize < 1 || chunkSize > 90) throw new IllegalArgumentException("chunkSize must be between 1 and 90: " + chunkSize);
+	}
+
+	private short[] createIndices () {
+		int length = chunkSize * chunkSize * 6;
+		short[] indices = new short[length];
+		short j = 0;
+		for (int i = 0; i < length; i += 6, j += 4) {
+			indices[i] = j;
+			indices[i + 1] = (short)(j + 1);
+			indices[i + 2] = (short)(j + 2);
+			indices[i + 3] = (short)(j + 2);
+			indices[i + 4] = (short)(j + 3);
+			indices[i + 5] = j;
+		}
+		return indices;
+	}
+
+	@Override
+	public void setMap (TiledMap map) {
+		super.setMap(map);
+		releaseChunks();
+	}
+
+	private void releaseChunks () {
+		for (LayerChunks chunks : layerChunks.values())
+			chunks.release();
+		layerChunks.clear();
+	}
+
+	@Override
+	public void renderTileLayer (TiledMapTileLayer layer) {
+		final Color batchColor = spriteBatch.getColor();
+		final float color = Color.toFloatBits(batchColor.r, batchColor.g, batchColor.b, batchColor.a * layer.getOpacity());
+
+		final int layerWidth = layer.getWidth();
+		final int layerHeight = layer.getHeight();
+
+		final float layerTileWidth = layer.getTileWidth() * unitScale;
+		final float layerTileHeight = layer.getTileHeight() * unitScale;
+
+		final int col1 = Math.max(0, (int)(viewBounds.x / layerTileWidth));
+		final int col2 = Math.min(layerWidth, (int)((viewBounds.x + viewBounds.width + layerTileWidth) / layerTileWidth));
+
+		final int row1 = Math.max(0, (int)(viewBounds.y / layerTileHeight));
+		final int row2 = Math.min(layerHeight, (int)((viewBounds.y + viewBounds.height + layerTileHeight) / layerTileHeight));
+		if (col1 >= col2 || row1 >= row2) return;
+
+		LayerChunks chunks = layerChunks.get(layer);
+		if (chunks == null) {
+			chunks = new LayerChunks(layer);
+			layerChunks.put(layer, chunks);
+		}
+
+		final Array<Chunk> visible = this.visible;
+		boolean hasMeshes = false, hasAnimated = false;
+		for (int chunkRow = row1 / chunkSize, lastRow = (row2 - 1) / chunkSize; chunkRow <= lastRow; chunkRow++) {
+			for (int chunkCol = col1 / chunkSize, lastCol = (col2 - 1) / chunkSize; chunkCol <= lastCol; chunkCol++) {
+				Chunk chunk = chunks.get(chunkCol, chunkRow);
+				if (chunk.dirty || chunk.color != color) bake(chunk, color);
+				chunk.lastFrame = frame;
+				visible.add(chunk);
+				hasMeshes |= chunk.mesh != null;
+				hasAnimated |= chunk.animated.size > 0;
+			}
+		}
+
+		if (hasMeshes) {
+			spriteBatch.end();
+			GL20 gl = Gdx.gl20;
+			gl.glDepthMask(false);
+			boolean blending = spriteBatch.isBlendingEnabled();
+			if (blending) {
+				gl.glEnable(GL20.GL_BLEND);
+				if (spriteBatch.getBlendSrcFunc() != -1) gl.glBlendFunc(spriteBatch.getBlendSrcFunc(), spriteBatch.getBlendDstFunc());
+			}
+			shader.begin();
+			combined.set(spriteBatch.getProjectionMatrix()).mul(spriteBatch.getTransformMatrix());
+			shader.setUniformMatrix("u_projTrans", combined);
+			shader.setUniformi("u_texture", 0);
+			for (int i = 0, n = visible.size; i < n; i++) {
+				Chunk chunk = visible.get(i);
+				if (chunk.mesh != null) chunk.draw(shader);
+			}
+			shader.end();
+			if (blending) gl.glDisable(GL20.GL_BLEND);
+			spriteBatch.begin();
+		}
+
+		if (hasAnimated) {
+			for (int i = 0, n = visible.size; i < n; i++) {
+				IntArray animated = visible.get(i).animated;
+				for (int ii = 0, nn = animated.size; ii < nn; ii += 2) {
+					int col = animated.get(ii), row = animated.get(ii + 1);
+					if (col < col1 || col >= col2 || row < row1 || row >= row2) continue;
+					Cell cell = layer.getCell(col, row);
+					if (cell == null || cell.getTile() == null) continue;
+					TextureRegion region = cell.getTile().getTextureRegion();
+					float[] vertices = tileVertices(cell, region, col * layerTileWidth, row * layerTileHeight, color);
+					spriteBatch.draw(region.getTexture(), vertices, 0, 20);
+				}
+			}
+		}
+		visible.clear();
+	}
+
+	/** Computes the vertices of the static tiles of the chunk, sorted by texture, and uploads them to the mesh of the chunk. */
+	private void bake (Chunk chunk, float color) {
+		TiledMapTileLayer layer = chunk.layer;
+		final float layerTileWidth = layer.getTileWidth() * unitScale;
+		final float layerTileHeight = layer.getTileHeight() * unitScale;
+		final int col1 = chunk.col * chunkSize, col2 = Math.min(col1 + chunkSize, layer.getWidth());
+		final int row1 = chunk.row * chunkSize, row2 = Math.min(row1 + chunkSize, layer.getHeight());
+
+		final Array<Texture> textures = this.textures;
+		final float[] tileVertices = this.tileVertices;
+		final int[] tileTextures = this.tileTextures;
+		chunk.animated.clear();
+		int tiles = 0;
+		for (int row = row1; row < row2; row++) {
+			for (int col = col1; col < col2; col++) {
+				Cell cell = layer.getCell(col, row);
+				if (cell == null) continue;
+				TiledMapTile tile = cell.getTile();
+				if (tile == null) continue;
+				if (tile instanceof AnimatedTiledMapTile) {
+					chunk.animated.add(col);
+					chunk.animated.add(row);
+					continue;
+				}
+				TextureRegion region = tile.getTextureRegion();
+				Texture texture = region.getTexture();
+				int textureIndex = textures.indexOf(texture, true);
+				if (textureIndex == -1) {
+					textureIndex = textures.size;
+					textures.add(texture);
+				}
+				float[] vertices = tileVertices(cell, region, col * layerTileWidth, row * layerTileHeight, color);
+				System.arraycopy(vertices, 0, tileVertices, tiles * 20, 20);
+				tileTextures[tiles++] = textureIndex;
+			}
+		}
+		chunk.dirty = false;
+		chunk.color = color;
+		bakeCount++;
+
+		if (tiles == 0) {
+			chunk.release();
+			textures.clear();
+			return;
+		}
+
+		// Group the tiles by texture so each texture is drawn with one call.
+		float[] vertices = tileVertices;
+		int textureCount = textures.size;
+		if (chunk.textures.length < textureCount) {
+			chunk.textures = new Texture[textureCount];
+			chunk.counts = new int[textureCount];
+		}
+		if (textureCount == 1)
+			chunk.counts[0] = tiles * 6;
+		else {
+			vertices = sortedVertices;
+			for (int i = 0, offset = 0; i < textureCount; i++) {
+				int start = offset;
+				for (int ii = 0; ii < tiles; ii++) {
+					if (tileTextures[ii] != i) continue;
+					System.arraycopy(tileVertices, ii * 20, vertices, offset, 20);
+					offset += 20;
+				}
+				chunk.counts[i] = (offset - start) / 20 * 6;
+			}
+		}
+		for (int i = 0; i < textureCount; i++)
+			chunk.textures[i] = textures.get(i);
+		chunk.textureCount = textureCount;
+		textures.clear();
+
+		if (chunk.mesh == null) {
+			chunk.mesh = obtainMesh();
+			baked.add(chunk);
+		}
+		chunk.mesh.setVertices(vertices, 0, tiles * 20);
+	}
+
+	private Mesh obtainMesh () {
+		if (freeMeshes.size > 0) return freeMeshes.pop();
+		int tiles = chunkSize * chunkSize;
+		Mesh mesh = new Mesh(true, tiles * 4, tiles * 6, new VertexAttribute(Usage.Position, 2, ShaderProgram.POSITION_ATTRIBUTE),
+			new VertexAttribute(Usage.ColorPacked, 4, ShaderProgram.COLOR_ATTRIBUTE), new VertexAttribute(
+				Usage.TextureCoordinates, 2, ShaderProgram.TEXCOORD_ATTRIBUTE + "0"));
+		mesh.setIndices(indices);
+		return mesh;
+	}
+
+	@Override
+	protected void endRender () {
+		super.endRender();
+		// Reuse the meshes of the chunks not visible for the longest time.
+		if (baked.size > maxChunks) {
+			baked.sort(leastRecentlyVisible);
+			int release = baked.size - maxChunks;
+			for (int i = 0; i < release; i++) {
+				Chunk chunk = baked.get(i);
+				if (chunk.lastFrame == frame) {
+					release = i;
+					break;
+				}
+				freeMeshes.add(chunk.mesh);
+				chunk.mesh = null;
+				chunk.dirty = true;
+			}
+			for (int i = release - 1; i >= 0; i--)
+				baked.removeIndex(i);
+		}
+		frame++;
+	}
+
+	/** Rebakes all chunks of all layers when they are next visible. */
+	public void invalidate () {
+		for (LayerChunks chunks : layerChunks.values())
+			chunks.invalidate();
+	}
+
+	/** Rebakes all chunks of the layer when they are next visible. */
+	public void invalidate (TiledMapTileLayer layer) {
+		LayerChunks chunks = layerChunks.get(layer);
+		if (chunks != null) chunks.invalidate();
+	}
+
+	/** Rebakes the chunk containing the cell at x, y when it is next visible. Call this after the cell was changed. */
+	public void invalidate (TiledMapTileLayer layer, int x, int y) {
+		LayerChunks chunks = layerChunks.get(layer);
+		if (chunks == null || x < 0 || y < 0 || x >= layer.getWidth() || y >= layer.getHeight()) return;
+		Chunk chunk = chunks.chunks[y / chunkSize * chunks.cols + x / chunkSize];
+		if (chunk != null) chunk.dirty = true;
+	}
+
+	public int getChunkSize () {
+		return chunkSize;
+	}
+
+	/** Sets how many chunks keep their mesh when they are not visible. Each mesh uses 92 bytes of GPU memory per tile of a chunk.
+	 * Default is 128. */
+	public void setMaxChunks (int maxChunks) {
+		this.maxChunks = maxChunks;
+	}
+
+	public int getMaxChunks () {
+		return maxChunks;
+	}
+
+	@Override
+	public void dispose () {
+		releaseChunks();
+		for (int i = 0, n = freeMeshes.size; i < n; i++)
+			freeMeshes.get(i).dispose();
+		freeMeshes.clear();
+		shader.dispose();
+		super.dispose();
+	}
+
+	private class LayerChunks {
+		final TiledMapTileLayer layer;
+		final int cols;
+		final Chunk[] chunks;
+
+		LayerChunks (TiledMapTileLayer layer) {
+			this.layer = layer;
+			cols = (layer.getWidth() + chunkSize - 1) / chunkSize;
+			chunks = new Chunk[cols * ((layer.getHeight() + chunkSize - 1) / chunkSize)];
+		}
+
+		Chunk get (int col, int row) {
+			int index = row * cols + col;
+			Chunk chunk = chunks[index];
+			if (chunk == null) chunks[index] = chunk = new Chunk(layer, col, row);
+			return chunk;
+		}
+
+		void invalidate () {
+			for (Chunk chunk : chunks)
+				if (chunk != null) chunk.dirty = true;
+		}
+
+		void release () {
+			for (Chunk chunk : chunks)
+				if (chunk != null) chunk.release();
+		}
+	}
+
+	private class Chunk {
+		final TiledMapTileLayer layer;
+		final int col, row;
+		final IntArray animated = new IntArray(0);
+		Mesh mesh;
+		Texture[] textures = new Texture[1];
+		int[] counts = new int[1];
+		int textureCount;
+		boolean dirty = true;
+		float color;
+		int lastFrame;
+
+		Chunk (TiledMapTileLayer layer, int col, int row) {
+			this.layer = layer;
+			this.col = col;
+			this.row = row;
+		}
+
+		void draw (ShaderProgram shader) {
+			mesh.bind(shader);
+			for (int i = 0, offset = 0; i < textureCount; i++) {
+				textures[i].bind();
+				mesh.render(shader, GL20.GL_TRIANGLES, offset, counts[i], false);
+				offset += counts[i];
+			}
+			mesh.unbind(shader);
+		}
+
+		/** Returns the mesh to the free meshes. */
+		void release () {
+			if (mesh != null) {
+				baked.removeValue(this, true);
+				freeMeshes.add(mesh);
+				mesh = null;
+			}
+			textureCount = 0;
+			for (int i = 0; i < textures.length; i++)
+				textures[i] = null;
+		}
+	}
+}
@@ -414,6 +414,7 @@ public final class Intersector {
 		Vector3.tmp2.sub(box.max);
 		if (Vector3.tmp.x > 0 && Vector3.tmp.y > 0 && Vector3.tmp.z > 0 && Vector3.tmp2.x < 0 && Vector3.tmp2.y < 0
 			&& Vector3.tmp2.z < 0) {
+			if (intersection != null) intersection.set(ray.origin);
 			return true;
 		}
 		float lowest = 0, t;
@@ -468,7 +469,7 @@ public final class Intersector {
 			}
 		}
 		// min z
-		if (ray.origin.z <= box.min.y && ray.direction.z > 0) {
+		if (ray.origin.z <= box.min.z && ray.direction.z > 0) {
 			t = (box.min.z - ray.origin.z) / ray.direction.z;
 			if (t >= 0) {
 				Vector3.tmp3.set(ray.direction).scl(t).add(ray.origin);
@@ -0,0 +1,182 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.math;
+
+/** Operations on many matrices or vectors stored in float arrays, for transforming whole skeletons, instance lists or vertex
+ * arrays at once. Matrices are 16 floats in column major order as in {@link Matrix4#val}. <br>
+ * <br>
+ * The methods are plain Java loops, which avoids the JNI call per matrix or vector of {@link Matrix4#mul(float[], float[])}
+ * and the per object overhead of {@link Matrix4} and {@link Vector3}, and works the same on every backend.
+ * {@link #mulVec(float[], float[], float[], float[], int, int)} takes the coordinates in separate arrays, a layout the JIT
+ * can compile to SIMD instructions. */
+public final class Matrix4Arrays {
+	private Matrix4Arrays () {
+	}
+
+	/** Multiplies count pairs of matrices, out[i] = left[i] * right[i]. The output may be the same memory as either input.
+	 * @param leftOffset The index of the first float of the first left matrix, the matrices are consecutive.
+	 * @param rightOffset The index of the first float of the first right matrix, the matrices are consecutive.
+	 * @param outOffset The index of the first float of the first result, the results are consecutive. */
+	static public void mul (float[] left, int leftOffset, float[] right, int rightOffset, float[] out, int outOffset, int count) {
+		for (int i = 0; i < count; i++, leftOffset += 16, rightOffset += 16, outOffset += 16) {
+			float l00 = left[leftOffset], l10 = left[leftOffset + 1], l20 = left[leftOffset + 2], l30 = left[leftOffset + 3];
+			float l01 = left[leftOffset + 4], l11 = left[leftOffset + 5], l21 = left[leftOffset + 6], l31 = left[leftOffset + 7];
+			float l02 = left[leftOffset + 8], l12 = left[leftOffset + 9], l22 = left[leftOffset + 10], l32 = left[leftOffset + 11];
+			float l03 = left[leftOffset + 12], l13 = left[leftOffset + 13], l23 = left[leftOffset + 14], l33 = left[leftOffset + 15];
+			mul(l00, l10, l20, l30, l01, l11, l21, l31, l02, l12, l22, l32, l03, l13, l23, l33, right, rightOffset, out, outOffset);
+		}
+	}
+
+	/** Multiplies one matrix with count matrices, out[i] = left * right[i], eg to transform the local transforms of many nodes
+	 * with the same parent to world transforms. The output may be the same memory as right.
+	 * @param left The matrix, the first 16 floats are used.
+	 * @param rightOffset The index of the first float of the first right matrix, the matrices are consecutive.
+	 * @param outOffset The index of the first float of the first result, the results are consecutive. */
+	static public void mul (float[] left, float[] right, int rightOffset, float[] out, int outOffset, int count) {
+		float l00 = left[0], l10 = left[1], l20 = left[2], l30 = left[3];
+		float l01 = left[4], l11 = left[5], l21 = left[6], l31 = left[7];
+		float l02 = left[8], l12 = left[9], l22 = left[10], l32 = left[11];
+		float l03 = left[12], l13 = left[13], l23 = left[14], l33 = left[15];
+		for (int i = 0; i < count; i++, rightOffset += 16, outOffset += 16)
+			mul(l00, l10, l20, l30, l01, l11, l21, l31, l02, l12, l22, l32, l03, l13, l23, l33, right, rightOffset, out, outOffset);
+	}
+
+	static private void mul (float l00, float l10, float l20, float l30, float l01, float l11, float l21, float l31, float l02,
+		float l12, float l22, float l32, float l03, float l13, float l23, float l33, float[] right, int r, float[] out, int o) {
+		for (int column = 0; column < 16; column += 4) {
+			float r0 = right[r + column], r1 = right[r + column + 1], r2 = right[r + column + 2], r3 = right[r + column + 3];
+			out[o + column] = l00 * r0 + l01 * r1 + l02 * r2 + l03 * r3;
+			out[o + column + 1] = l10 * r0 + l11 * r1 + l12 * r2 + l13 * r3;
+			out[o + column + 2] = l20 * r0 + l21 * r1 + l22 * r2 + l23 * r3;
+			out[o + column + 3] = l30 * r0 + l31 * r1 + l32 * r2 + l33 * r3;
+		}
+	}
+
+	/** Multiplies the points with the matrix, like {@link Vector3#mul(Matrix4)} for each point.
+	 * @param mat The matrix, the first 16 floats are used.
+	 * @param vecs The x, y and z of each point.
+	 * @param offset The index of the x of the first point.
+	 * @param numVecs The number of points.
+	 * @param stride The number of floats from one point to the next, at least 3. */
+	static public void mulVec (float[] mat, float[] vecs, int offset, int numVecs, int stride) {
+		mulVec(mat, vecs, offset, stride, vecs, offset, stride, numVecs);
+	}
+
+	/** Multiplies the points with the matrix, like {@link Vector3#mul(Matrix4)} for each point, and stores the results in
+	 * another array. The output may be the same memory as the input.
+	 * @param mat The matrix, the first 16 floats are used.
+	 * @param src The x, y and z of each point.
+	 * @param srcOffset The index of the x of the first point in src.
+	 * @param srcStride The number of floats from one point to the next in src, at least 3.
+	 * @param dst The array for the results.
+	 * @param dstOffset The index of the x of the first result in dst.
+	 * @param dstStride The number of floats from one result to the next in dst, at least 3.
+	 * @param count The number of points. */
+	static public void mulVec (float[] mat, float[] src, int srcOffset, int srcStride, float[] dst, int dstOffset,
+		int dstStride, int count) {
+		float m00 = mat[0], m10 = mat[1], m20 = mat[2];
+		float m01 = mat[4], m11 = mat[5], m21 = mat[6];
+		float m02 = mat[8], m12 = mat[9], m22 = mat[10];
+		float m03 = mat[12], m13 = mat[13], m23 = mat[14];
+		for (int i = 0; i < count; i++, srcOffset += srcStride, dstOffset += dstStride) {
+			float x = src[srcOffset], y = src[srcOffset + 1], z = src[srcOffset + 2];
+			dst[dstOffset] = m00 * x + m01 * y + m02 * z + m03;
+			dst[dstOffset + 1] = m10 * x + m11 * y + m12 * z + m13;
+			dst[dstOffset + 2] = m20 * x + m21 * y + m22 * z + m23;
+		}
+	}
+
+	/** Multiplies the points with the matrix, like {@link Vector3#mul(Matrix4)} for each point. The coordinates are stored in
+	 * separate arrays, so the same operation is done on consecutive floats, which the JIT can compile to SIMD instructions.
+	 * @param mat The matrix, the first 16 floats are used.
+	 * @param offset The index of the first point in each array.
+	 * @param count The number of points. */
+	static public void mulVec (float[] mat, float[] x, float[] y, float[] z, int offset, int count) {
+		float m00 = mat[0], m10 = mat[1], m20 = mat[2];
+		float m01 = mat[4], m11 = mat[5], m21 = mat[6];
+		float m02 = mat[8], m12 = mat[9], m22 = mat[10];
+		float m03 = mat[12], m13 = mat[13], m23 = mat[14];
+		for (int i = offset, n = offset + count; i < n; i++) {
+			float px = x[i], py = y[i], pz = z[i];
+			x[i] = m00 * px + m01 * py + m02 * pz + m03;
+			y[i] = m10 * px + m11 * py + m12 * pz + m13;
+			z[i] = m20 * px + m21 * py + m22 * pz + m23;
+		}
+	}
+
+	/** Multiplies the vectors with the top left 3x3 part of the matrix, like {@link Vector3#rot(Matrix4)} for each vector. This
+	 * transforms directions, normals have to be transformed with the inverse transpose of the matrix if it scales non uniformly.
+	 * @param mat The matrix, the first 16 floats are used.
+	 * @param vecs The x, y and z of each vector.
+	 * @param offset The index of the x of the first vector.
+	 * @param numVecs The number of vectors.
+	 * @param stride The number of floats from one vector to the next, at least 3. */
+	static public void rot (float[] mat, float[] vecs, int offset, int numVecs, int stride) {
+		float m00 = mat[0], m10 = mat[1], m20 = mat[2];
+		float m01 = mat[4], m11 = mat[5], m21 = mat[6];
+		float m02 = mat[8], m12 = mat[9], m22 = mat[10];
+		for (int i = 0; i < numVecs; i++, offset += stride) {
+			float x = vecs[offset], y = vecs[offset + 1], z = vecs[offset + 2];
+			vecs[offset] = m00 * x + m01 * y + m02 * z;
+			vecs[offset + 1] = m10 * x + m11 * y + m12 * z;
+			vecs[offset + 2] = m20 * x + m21 * y + m22 * z;
+		}
+	}
+
+	/** Sets count matrices to translation, rotation and scale, like
+	 * {@link Matrix4#set(float, float, float, float, float, float, float, float, float, float)} for each matrix.
+	 * @param translations The x, y and z of each translation, 3 floats per matrix.
+	 * @param rotations The x, y, z and w of each rotation quaternion, 4 floats per matrix.
+	 * @param scales The x, y and z of each scale, 3 floats per matrix. May be null to not scale.
+	 * @param out The array for the matrices, 16 floats per matrix.
+	 * @param start The index of the first matrix, the first floats used are translations[start * 3], rotations[start * 4],
+	 *           scales[start * 3] and out[start * 16].
+	 * @param count The number of matrices. */
+	static public void set (float[] translations, float[] rotations, float[] scales, float[] out, int start, int count) {
+		for (int i = start, n = start + count; i < n; i++) {
+			int t = i * 3, r = i * 4, o = i * 16;
+			float scaleX = 1, scaleY = 1, scaleZ = 1;
+			if (scales != null) {
+				scaleX = scales[t];
+				scaleY = scales[t + 1];
+				scaleZ = scales[t + 2];
+			}
+			float quaternionX = rotations[r], quaternionY = rotations[r + 1], quaternionZ = rotations[r + 2];
+			float quaternionW = rotations[r + 3];
+			float xs = quaternionX * 2f, ys = quaternionY * 2f, zs = quaternionZ * 2f;
+			float wx = quaternionW * xs, wy = quaternionW * ys, wz = quaternionW * zs;
+			float xx = quaternionX * xs, xy = quaternionX * ys, xz = quaternionX * zs;
+			float yy = quaternionY * ys, yz = quaternionY * zs, zz = quaternionZ * zs;
+			out[o] = scaleX * (1.0f - (yy + zz));
+			out[o + 1] = scaleX * (xy + wz);
+			out[o + 2] = scaleX * (xz - wy);
+			out[o + 3] = 0;
+			out[o + 4] = scaleY * (xy - wz);
+			out[o + 5] = scaleY * (1.0f - (xx + zz));
+			out[o + 6] = scaleY * (yz + wx);
+			out[o + 7] = 0;
+			out[o + 8] = scaleZ * (xz + wy);
+			out[o + 9] = scaleZ * (yz - wx);
+			out[o + 10] = scaleZ * (1.0f - (xx + yy));
+			out[o + 11] = 0;
+			out[o + 12] = translations[t];
+			out[o + 13] = translations[t + 1];
+			out[o + 14] = translations[t + 2];
+			out[o + 15] = 1;
+		}
+	}
+}
@@ -0,0 +1,802 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.math.collision;
+
+import com.badlogic.gdx.math.Frustum;
+import com.badlogic.gdx.math.Plane;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.Array;
+
+/** A dynamic bounding volume hierarchy of axis aligned boxes, each with a user object, to find the objects in a {@link Frustum},
+ * hit by a {@link Ray} or overlapping a {@link BoundingBox} without testing every object. Typically the objects are
+ * {@link com.badlogic.gdx.graphics.g3d.ModelInstance}s with their world bounds, so picking and visibility of thousands of
+ * instances only tests a few boxes each. <br>
+ * <br>
+ * Boxes can be added, removed and moved at any time, each gets an ID that stays the same until it is removed. A new box is
+ * inserted next to the node which adds the least surface area to the tree and the tree is kept balanced with rotations. Each
+ * box is stored enlarged by the margin given to the constructor, so a moving object only changes the tree when it leaves its
+ * enlarged box. The queries always test the exact boxes. After adding many boxes at once, {@link #rebuild()} builds the whole
+ * tree again using the surface area heuristic, which gives faster queries than the incremental inserts. <br>
+ * <br>
+ * The tree is stored in flat arrays and does not allocate while querying, it is not thread safe.
+ * @param <T> the type of the user objects */
+public class BoundingBoxTree<T> {
+	static private final int NULL = -1;
+	static private final int BINS = 16;
+	/** The depth below which {@link #rebuild()} splits at the median instead of using the surface area heuristic, which can split
+	 * off one leaf at a time for unevenly spread boxes. This bounds the recursion to this depth plus the log2 of the box count. */
+	static private final int MAX_SAH_DEPTH = 64;
+	static private final int OUTSIDE = 0, INTERSECTS = 1, INSIDE = 2;
+
+	private final float margin;
+
+	// Per node: minX, minY, minZ, maxX, maxY, maxZ of the enlarged box, for leaves also of the exact box.
+	private float[] bounds, leafBounds;
+	// The parent is the next free node for nodes in the free list. The height is 0 for leaves and -1 for free nodes.
+	private int[] parents, children1, children2, heights;
+	private Object[] userObjects;
+	private int capacity, root = NULL, freeList = NULL, size;
+
+	private int[] stack = new int[64];
+	private int[] binCounts = new int[BINS];
+	private float[] binBounds = new float[BINS * 6];
+	private float[] binAreas = new float[BINS];
+
+	/** Creates a tree which stores the boxes enlarged by 0.1 on each side. */
+	public BoundingBoxTree () {
+		this(0.1f);
+	}
+
+	/** @param margin The amount the boxes are enlarged by on each side. A larger margin makes {@link #update(int, BoundingBox)}
+	 *           cheaper for objects moving a little but makes the queries test more boxes. Use 0 for static objects. */
+	public BoundingBoxTree (float margin) {
+		if (margin < 0) throw new IllegalArgumentException("margin cannot be < 0: " + margin);
+		this.margin = margin;
+		resize(16);
+	}
+
+	/** Adds a box to the tree.
+	 * @param userObject The object returned by the queries for the box, may be null.
+	 * @return The ID of the box, used to update or remove it. */
+	public int add (BoundingBox box, T userObject) {
+		return add(box.min.x, box.min.y, box.min.z, box.max.x, box.max.y, box.max.z, userObject);
+	}
+
+	/** Adds a box to the tree.
+	 * @param userObject The object returned by the queries for the box, may be null.
+	 * @return The ID of the box, used to update or remove it. */
+	public int add (float minX, float minY, float minZ, float maxX, float maxY, float maxZ, T userObject) {
+		int leaf = allocateNode();
+		setLeafBounds(leaf, minX, minY, minZ, maxX, maxY, maxZ);
+		enlarge(leaf);
+		heights[leaf] = 0;
+		userObjects[leaf] = userObject;
+		insertLeaf(leaf);
+		size++;
+		return leaf;
+	}
+
+	/** Removes the box with the ID returned by {@link #add(BoundingBox, Object)}. The ID may be reused by boxes added later.
+	 * @return The user object of the box. */
+	public T remove (int id) {
+		checkLeaf(id);
+		T userObject = (T)userObjects[id];
+		removeLeaf(id);
+		freeNode(id);
+		size--;
+		return userObject;
+	}
+
+	/** Changes the box with the ID returned by {@link #add(BoundingBox, Object)}, eg after its object moved.
+	 * @return True if the tree changed because the box was not inside its enlarged box. */
+	public boolean update (int id, BoundingBox box) {
+		return update(id, box.min.x, box.min.y, box.min.z, box.max.x, box.max.y, box.max.z);
+	}
+
+	/** Changes the box with the ID returned by {@link #add(BoundingBox, Object)}, eg after its object moved.
+	 * @return True if the tree changed because the box was not inside its enlarged box. */
+	public boolean update (int id, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+		checkLeaf(id);
+		setLeafBounds(id, minX, minY, minZ, maxX, maxY, maxZ);
+		float[] bounds = this.bounds;
+		int i = id * 6;
+		if (minX >= bounds[i] && minY >= bounds[i + 1] && minZ >= bounds[i + 2] && maxX <= bounds[i + 3]
+			&& maxY <= bounds[i + 4] && maxZ <= bounds[i + 5]) return false;
+		removeLeaf(id);
+		enlarge(id);
+		insertLeaf(id);
+		return true;
+	}
+
+	/** @return The user object of the box with the ID returned by {@link #add(BoundingBox, Object)}. */
+	public T getUserObject (int id) {
+		checkLeaf(id);
+		return (T)userObjects[id];
+	}
+
+	/** Sets the exact box with the ID returned by {@link #add(BoundingBox, Object)} to out.
+	 * @return The out param. */
+	public BoundingBox getBounds (int id, BoundingBox out) {
+		checkLeaf(id);
+		float[] leafBounds = this.leafBounds;
+		int i = id * 6;
+		out.min.set(leafBounds[i], leafBounds[i + 1], leafBounds[i + 2]);
+		out.max.set(leafBounds[i + 3], leafBounds[i + 4], leafBounds[i + 5]);
+		return out.set(out.min, out.max);
+	}
+
+	/** @return The number of boxes in the tree. */
+	public int size () {
+		return size;
+	}
+
+	/** @return The number of nodes on the longest path from the root to a box, 0 if the tree is empty. */
+	public int getHeight () {
+		return root == NULL ? 0 : heights[root] + 1;
+	}
+
+	/** Removes all boxes. */
+	public void clear () {
+		root = NULL;
+		size = 0;
+		freeList = NULL;
+		for (int i = capacity - 1; i >= 0; i--)
+			freeNode(i);
+	}
+
+	/** Builds the tree again from all boxes using the surface area heuristic. The IDs of the boxes do not change. This is slower
+	 * than adding a box but gives a tree with faster queries, eg after adding many boxes at once. */
+	public void rebuild () {
+		if (size < 3) return;
+		int[] leaves = new int[size];
+		int count = 0;
+		int[] heights = this.heights;
+		for (int i = 0; i < capacity; i++) {
+			if (heights[i] == 0)
+				leaves[count++] = i;
+			else if (heights[i] > 0)
+				freeNode(i);
+		}
+		root = build(leaves, 0, count, 0);
+		parents[root] = NULL;
+	}
+
+	/** Adds the user objects of the boxes that are at least partly inside the frustum to the array. */
+	public void query (Frustum frustum, Array<T> out) {
+		if (root == NULL) return;
+		float[] bounds = this.bounds, leafBounds = this.leafBounds;
+		int[] children1 = this.children1, children2 = this.children2, heights = this.heights;
+		Object[] userObjects = this.userObjects;
+		Plane[] planes = frustum.planes;
+		int[] stack = this.stack;
+		int top = 0;
+		stack[top++] = root;
+		while (top > 0) {
+			int node = stack[--top];
+			// Nodes inside the frustum push their children complemented, so the boxes below them are not tested.
+			boolean inside = node < 0;
+			if (inside) node = ~node;
+			if (heights[node] == 0) {
+				if (inside || classify(planes, leafBounds, node * 6) != OUTSIDE) out.add((T)userObjects[node]);
+				continue;
+			}
+			if (!inside) {
+				int result = classify(planes, bounds, node * 6);
+				if (result == OUTSIDE) continue;
+				inside = result == INSIDE;
+			}
+			if (top + 2 > stack.length) stack = growStack();
+			if (inside) {
+				stack[top++] = ~children2[node];
+				stack[top++] = ~children1[node];
+			} else {
+				stack[top++] = children2[node];
+				stack[top++] = children1[node];
+			}
+		}
+	}
+
+	/** Adds the user objects of the boxes that overlap the box to the array. Boxes that only touch the box overlap it too. */
+	public void query (BoundingBox box, Array<T> out) {
+		query(box.min.x, box.min.y, box.min.z, box.max.x, box.max.y, box.max.z, out);
+	}
+
+	/** Adds the user objects of the boxes that overlap the box to the array. Boxes that only touch the box overlap it too. */
+	public void query (float minX, float minY, float minZ, float maxX, float maxY, float maxZ, Array<T> out) {
+		if (root == NULL) return;
+		float[] bounds = this.bounds, leafBounds = this.leafBounds;
+		int[] children1 = this.children1, children2 = this.children2, heights = this.heights;
+		Object[] userObjects = this.userObjects;
+		int[] stack = this.stack;
+		int top = 0;
+		stack[top++] = root;
+		while (top > 0) {
+			int node = stack[--top];
+			int i = node * 6;
+			if (heights[node] == 0) {
+				if (minX <= leafBounds[i + 3] && maxX >= leafBounds[i] && minY <= leafBounds[i + 4] && maxY >= leafBounds[i + 1]
+					&& minZ <= leafBounds[i + 5] && maxZ >= leafBounds[i + 2]) out.add((T)userObjects[node]);
+				continue;
+			}
+			if (minX > bounds[i + 3] || maxX < bounds[i] || minY > bounds[i + 4] || maxY < bounds[i + 1] || minZ > bounds[i + 5]
+				|| maxZ < bounds[i + 2]) continue;
+			if (top + 2 > stack.length) stack = growStack();
+			stack[top++] = children2[node];
+			stack[top++] = children1[node];
+		}
+	}
+
+	/** Finds the box the ray hits first. A box containing the origin of the ray is hit at the origin.
+	 * @param intersection Set to the point where the ray enters the box, may be null.
+	 * @return The user object of the box, or null if the ray hits no box. */
+	public T rayCast (Ray ray, Vector3 intersection) {
+		int hit = rayCast(ray, Float.POSITIVE_INFINITY, null);
+		if (hit == NULL) return null;
+		if (intersection != null) intersection.set(ray.direction).scl(hitDistance).add(ray.origin);
+		return (T)userObjects[hit];
+	}
+
+	/** Adds the user objects of all boxes the ray hits to the array, in no particular order. */
+	public void rayCastAll (Ray ray, Array<T> out) {
+		rayCast(ray, Float.POSITIVE_INFINITY, out);
+	}
+
+	private float hitDistance;
+
+	/** Finds the box hit first, or adds all hit boxes to the array if it is not null. The distance of the first hit is stored in
+	 * {@link #hitDistance}. */
+	private int rayCast (Ray ray, float maxDistance, Array<T> out) {
+		if (root == NULL) return NULL;
+		float[] bounds = this.bounds, leafBounds = this.leafBounds;
+		int[] children1 = this.children1, children2 = this.children2, heights = this.heights;
+		Object[] userObjects = this.userObjects;
+		float originX = ray.origin.x, originY = ray.origin.y, originZ = ray.origin.z;
+		float directionX = ray.direction.x, directionY = ray.direction.y, directionZ = ray.direction.z;
+		float invX = 1 / directionX, invY = 1 / directionY, invZ = 1 / directionZ;
+		int[] stack = this.stack;
+		int top = 0, nearest = NULL;
+		stack[top++] = root;
+		while (top > 0) {
+			int node = stack[--top];
+			if (heights[node] == 0) {
+				float distance = intersect(leafBounds, node * 6, originX, originY, originZ, directionX, directionY, directionZ, invX,
+					invY, invZ, maxDistance);
+				if (distance < 0) continue;
+				if (out != null)
+					out.add((T)userObjects[node]);
+				else {
+					maxDistance = distance;
+					nearest = node;
+				}
+				continue;
+			}
+			float distance = intersect(bounds, node * 6, originX, originY, originZ, directionX, directionY, directionZ, invX, invY,
+				invZ, maxDistance);
+			if (distance < 0) continue;
+			if (top + 2 > stack.length) stack = growStack();
+			stack[top++] = children2[node];
+			stack[top++] = children1[node];
+		}
+		hitDistance = maxDistance;
+		return nearest;
+	}
+
+	/** @return The distance along the ray at which it enters the box, 0 if the origin is inside the box, or -1 if the ray misses
+	 *         the box or enters it further than maxDistance. */
+	static private float intersect (float[] bounds, int i, float originX, float originY, float originZ, float directionX,
+		float directionY, float directionZ, float invX, float invY, float invZ, float maxDistance) {
+		float near = 0, far = maxDistance;
+		if (directionX == 0) {
+			if (originX < bounds[i] || originX > bounds[i + 3]) return -1;
+		} else {
+			float t1 = (bounds[i] - originX) * invX, t2 = (bounds[i + 3] - originX) * invX;
+			if (t1 > t2) {
+				float t = t1;
+				t1 = t2;
+				t2 = t;
+			}
+			if (t1 > near) near = t1;
+			if (t2 < far) far = t2;
+			if (near > far) return -1;
+		}
+		if (directionY == 0) {
+			if (originY < bounds[i + 1] || originY > bounds[i + 4]) return -1;
+		} else {
+			float t1 = (bounds[i + 1] - originY) * invY, t2 = (bounds[i + 4] - originY) * invY;
+			if (t1 > t2) {
+				float t = t1;
+				t1 = t2;
+				t2 = t;
+			}
+			if (t1 > near) near = t1;
+			if (t2 < far) far = t2;
+			if (near > far) return -1;
+		}
+		if (directionZ == 0) {
+			if (originZ < bounds[i + 2] || originZ > bounds[i + 5]) return -1;
+		} else {
+			float t1 = (bounds[i + 2] - originZ) * invZ, t2 = (bounds[i + 5] - originZ) * invZ;
+			if (t1 > t2) {
+				float t = t1;
+				t1 = t2;
+				t2 = t;
+			}
+			if (t1 > near) near = t1;
+			if (t2 < far) far = t2;
+			if (near > far) return -1;
+		}
+		return near;
+	}
+
+	/** @return {@link #OUTSIDE} if the box is behind one of the planes, {@link #INSIDE} if it is in front of all planes, else
+	 *         {@link #INTERSECTS}. */
+	static private int classify (Plane[] planes, float[] bounds, int i) {
+		float centerX = (bounds[i] + bounds[i + 3]) * 0.5f, halfX = (bounds[i + 3] - bounds[i]) * 0.5f;
+		float centerY = (bounds[i + 1] + bounds[i + 4]) * 0.5f, halfY = (bounds[i + 4] - bounds[i + 1]) * 0.5f;
+		float centerZ = (bounds[i + 2] + bounds[i + 5]) * 0.5f, halfZ = (bounds[i + 5] - bounds[i + 2]) * 0.5f;
+		int result = INSIDE;
+		for (int p = 0, n = planes.length; p < n; p++) {
+			Plane plane = planes[p];
+			Vector3 normal = plane.normal;
+			float distance = normal.x * centerX + normal.y * centerY + normal.z * centerZ + plane.d;
+			float radius = Math.abs(normal.x) * halfX + Math.abs(normal.y) * halfY + Math.abs(normal.z) * halfZ;
+			if (distance + radius < 0) return OUTSIDE;
+			if (distance - radius < 0) result = INTERSECTS;
+		}
+		return result;
+	}
+
+	private int[] growStack () {
+		int[] newStack = new int[stack.length * 2];
+		System.arraycopy(stack, 0, newStack, 0, stack.length);
+		return stack = newStack;
+	}
+
+	private void insertLeaf (int leaf) {
+		if (root == NULL) {
+			root = leaf;
+			parents[leaf] = NULL;
+			return;
+		}
+
+		// Find the node the leaf is cheapest to be a sibling of.
+		int[] children1 = this.children1, children2 = this.children2, heights = this.heights;
+		int index = root;
+		while (heights[index] > 0) {
+			int child1 = children1[index], child2 = children2[index];
+			float area = area(index);
+			float combinedArea = combinedArea(index, leaf);
+			// Cost of making the leaf and this node the children of a new node.
+			float cost = 2 * combinedArea;
+			// Cost of enlarging the nodes above, paid for any sibling below this node.
+			float inheritanceCost = 2 * (combinedArea - area);
+			float cost1 = combinedArea(child1, leaf) + inheritanceCost;
+			if (heights[child1] > 0) cost1 -= area(child1);
+			float cost2 = combinedArea(child2, leaf) + inheritanceCost;
+			if (heights[child2] > 0) cost2 -= area(child2);
+			if (cost < cost1 && cost < cost2) break;
+			index = cost1 < cost2 ? child1 : child2;
+		}
+		int sibling = index;
+
+		int oldParent = parents[sibling];
+		int newParent = allocateNode();
+		int[] parents = this.parents;
+		children1 = this.children1;
+		children2 = this.children2;
+		heights = this.heights;
+		parents[newParent] = oldParent;
+		userObjects[newParent] = null;
+		union(newParent, leaf, sibling);
+		heights[newParent] = heights[sibling] + 1;
+		if (oldParent != NULL) {
+			if (children1[oldParent] == sibling)
+				children1[oldParent] = newParent;
+			else
+				children2[oldParent] = newParent;
+		} else
+			root = newParent;
+		children1[newParent] = sibling;
+		children2[newParent] = leaf;
+		parents[sibling] = newParent;
+		parents[leaf] = newParent;
+
+		refitUp(parents[leaf]);
+	}
+
+	private void removeLeaf (int leaf) {
+		if (leaf == root) {
+			root = NULL;
+			return;
+		}
+		int[] parents = this.parents, children1 = this.children1, children2 = this.children2;
+		int parent = parents[leaf];
+		int grandParent = parents[parent];
+		int sibling = children1[parent] == leaf ? children2[parent] : children1[parent];
+		if (grandParent != NULL) {
+			if (children1[grandParent] == parent)
+				children1[grandParent] = sibling;
+			else
+				children2[grandParent] = sibling;
+			parents[sibling] = grandParent;
+			freeNode(parent);
+			refitUp(grandParent);
+		} else {
+			root = sibling;
+			parents[sibling] = NULL;
+			freeNode(parent);
+		}
+	}
+
+	/** Balances and recalculates the boxes and heights of the node and all nodes above it. */
+	private void refitUp (int index) {
+		int[] parents = this.parents, children1 = this.children1, children2 = this.children2, heights = this.heights;
+		while (index != NULL) {
+			index = balance(index);
+			int child1 = children1[index], child2 = children2[index];
+			heights[index] = 1 + Math.max(heights[child1], heights[child2]);
+			union(index, child1, child2);
+			index = parents[index];
+		}
+	}
+
+	/** Rotates the taller child of the node up if the heights of the children differ by more than 1.
+	 * @return The node now in the place of the node. */
+	private int balance (int a) {
+		int[] parents = this.parents, children1 = this.children1, children2 = this.children2, heights = this.heights;
+		if (heights[a] < 2) return a;
+		int b = children1[a], c = children2[a];
+		int balance = heights[c] - heights[b];
+
+		if (balance > 1) {
+			// Rotate c up.
+			int f = children1[c], g = children2[c];
+			children1[c] = a;
+			parents[c] = parents[a];
+			parents[a] = c;
+			replaceChild(parents[c], a, c);
+			if (heights[f] > heights[g]) {
+				children2[c] = f;
+				children2[a] = g;
+				parents[g] = a;
+				union(a, b, g);
+				union(c, a, f);
+				heights[a] = 1 + Math.max(heights[b], heights[g]);
+				heights[c] = 1 + Math.max(heights[a], heights[f]);
+			} else {
+				children2[c] = g;
+				children2[a] = f;
+				parents[f] = a;
+				union(a, b, f);
+				union(c, a, g);
+				heights[a] = 1 + Math.max(heights[b], heights[f]);
+				heights[c] = 1 + Math.max(heights[a], heights[g]);
+			}
+			return c;
+		}
+
+		if (balance < -1) {
+			// Rotate b up.
+			int d = children1[b], e = children2[b];
+			children1[b] = a;
+			parents[b] = parents[a];
+			parents[a] = b;
+			replaceChild(parents[b], a, b);
+			if (heights[d] > heights[e]) {
+				children2[b] = d;
+				children1[a] = e;
+				parents[e] = a;
+				union(a, c, e);
+				union(b, a, d);
+				heights[a] = 1 + Math.max(heights[c], heights[e]);
+				heights[b] = 1 + Math.max(heights[a], heights[d]);
+			} else {
+				children2[b] = e;
+				children1[a] = d;
+				parents[d] = a;
+				union(a, c, d);
+				union(b, a, e);
+				heights[a] = 1 + Math.max(heights[c], heights[d]);
+				heights[b] = 1 + Math.max(heights[a], heights[e]);
+			}
+			return b;
+		}
+		return a;
+	}
+
+	private void replaceChild (int parent, int oldChild, int newChild) {
+		if (parent == NULL)
+			root = newChild;
+		else if (children1[parent] == oldChild)
+			children1[parent] = newChild;
+		else
+			children2[parent] = newChild;
+	}
+
+	/** Builds the tree for the leaves from start to end with binned surface area heuristic splits, or median splits below
+	 * {@link #MAX_SAH_DEPTH}.
+	 * @return The root of the tree. */
+	private int build (int[] leaves, int start, int end, int depth) {
+		int count = end - start;
+		if (count == 1) return leaves[start];
+		float[] bounds = this.bounds;
+
+		// Find the axis along which the centers of the leaves are spread the most.
+		float minX = Float.POSITIVE_INFINITY, minY = minX, minZ = minX;
+		float maxX = Float.NEGATIVE_INFINITY, maxY = maxX, maxZ = maxX;
+		for (int l = start; l < end; l++) {
+			int i = leaves[l] * 6;
+			float x = bounds[i] + bounds[i + 3], y = bounds[i + 1] + bounds[i + 4], z = bounds[i + 2] + bounds[i + 5];
+			if (x < minX) minX = x;
+			if (x > maxX) maxX = x;
+			if (y < minY) minY = y;
+			if (y > maxY) maxY = y;
+			if (z < minZ) minZ = z;
+			if (z > maxZ) maxZ = z;
+		}
+		int axis = 0;
+		float axisMin = minX, extent = maxX - minX;
+		if (maxY - minY > extent) {
+			axis = 1;
+			axisMin = minY;
+			extent = maxY - minY;
+		}
+		if (maxZ - minZ > extent) {
+			axis = 2;
+			axisMin = minZ;
+			extent = maxZ - minZ;
+		}
+
+		int mid = start + count / 2;
+		if (depth >= MAX_SAH_DEPTH) {
+			if (extent > 0) select(leaves, start, end, mid, axis);
+		} else if (extent > 0) {
+			// Sort the leaves into bins by their center and split between the bins where the sum of the areas of both sides times
+			// their number of leaves is the smallest.
+			int[] binCounts = this.binCounts;
+			float[] binBounds = this.binBounds, binAreas = this.binAreas;
+			for (int b = 0; b < BINS; b++) {
+				binCounts[b] = 0;
+				empty(binBounds, b * 6);
+			}
+			float scale = BINS / extent;
+			for (int l = start; l < end; l++) {
+				int i = leaves[l] * 6;
+				int b = bin(bounds, i, axis, axisMin, scale);
+				binCounts[b]++;
+				include(binBounds, b * 6, bounds, i);
+			}
+			// binAreas[b] is the area of the bins after b.
+			float minAreaX = Float.POSITIVE_INFINITY, minAreaY = minAreaX, minAreaZ = minAreaX;
+			float maxAreaX = Float.NEGATIVE_INFINITY, maxAreaY = maxAreaX, maxAreaZ = maxAreaX;
+			for (int b = BINS - 1; b > 0; b--) {
+				int i = b * 6;
+				minAreaX = Math.min(minAreaX, binBounds[i]);
+				minAreaY = Math.min(minAreaY, binBounds[i + 1]);
+				minAreaZ = Math.min(minAreaZ, binBounds[i + 2]);
+				maxAreaX = Math.max(maxAreaX, binBounds[i + 3]);
+				maxAreaY = Math.max(maxAreaY, binBounds[i + 4]);
+				maxAreaZ = Math.max(maxAreaZ, binBounds[i + 5]);
+				binAreas[b - 1] = area(maxAreaX - minAreaX, maxAreaY - minAreaY, maxAreaZ - minAreaZ);
+			}
+			minAreaX = minAreaY = minAreaZ = Float.POSITIVE_INFINITY;
+			maxAreaX = maxAreaY = maxAreaZ = Float.NEGATIVE_INFINITY;
+			int split = -1, leftCount = 0;
+			float bestCost = Float.POSITIVE_INFINITY;
+			for (int b = 0; b < BINS - 1; b++) {
+				int i = b * 6;
+				minAreaX = Math.min(minAreaX, binBounds[i]);
+				minAreaY = Math.min(minAreaY, binBounds[i + 1]);
+				minAreaZ = Math.min(minAreaZ, binBounds[i + 2]);
+				maxAreaX = Math.max(maxAreaX, binBounds[i + 3]);
+				maxAreaY = Math.max(maxAreaY, binBounds[i + 4]);
+				maxAreaZ = Math.max(maxAreaZ, binBounds[i + 5]);
+				leftCount += binCounts[b];
+				if (leftCount == 0 || leftCount == count) continue;
+				float cost = area(maxAreaX - minAreaX, maxAreaY - minAreaY, maxAreaZ - minAreaZ) * leftCount + binAreas[b]
+					* (count - leftCount);
+				if (cost < bestCost) {
+					bestCost = cost;
+					split = b;
+				}
+			}
+			if (split != -1) {
+				int left = start, right = end - 1;
+				while (left <= right) {
+					if (bin(bounds, leaves[left] * 6, axis, axisMin, scale) <= split)
+						left++;
+					else {
+						int temp = leaves[left];
+						leaves[left] = leaves[right];
+						leaves[right--] = temp;
+					}
+				}
+				mid = left;
+			}
+		}
+
+		int child1 = build(leaves, start, mid, depth + 1);
+		int child2 = build(leaves, mid, end, depth + 1);
+		int node = allocateNode();
+		parents[child1] = node;
+		parents[child2] = node;
+		children1[node] = child1;
+		children2[node] = child2;
+		heights[node] = 1 + Math.max(heights[child1], heights[child2]);
+		userObjects[node] = null;
+		union(node, child1, child2);
+		return node;
+	}
+
+	/** Reorders the leaves from start to end so the leaves before mid have centers on the axis that are not after the centers of
+	 * the leaves from mid on. */
+	private void select (int[] leaves, int start, int end, int mid, int axis) {
+		float[] bounds = this.bounds;
+		int low = start, high = end - 1;
+		while (low < high) {
+			int pivotLeaf = leaves[(low + high) >>> 1] * 6 + axis;
+			float pivot = bounds[pivotLeaf] + bounds[pivotLeaf + 3];
+			int left = low, right = high;
+			while (left <= right) {
+				while (center(bounds, leaves[left], axis) < pivot)
+					left++;
+				while (center(bounds, leaves[right], axis) > pivot)
+					right--;
+				if (left <= right) {
+					int temp = leaves[left];
+					leaves[left++] = leaves[right];
+					leaves[right--] = temp;
+				}
+			}
+			if (mid <= right)
+				high = right;
+			else if (mid >= left)
+				low = left;
+			else
+				break;
+		}
+	}
+
+	static private float center (float[] bounds, int leaf, int axis) {
+		int i = leaf * 6 + axis;
+		return bounds[i] + bounds[i + 3];
+	}
+
+	static private int bin (float[] bounds, int i, int axis, float axisMin, float scale) {
+		return Math.min(BINS - 1, (int)((bounds[i + axis] + bounds[i + axis + 3] - axisMin) * scale));
+	}
+
+	static private void empty (float[] bounds, int i) {
+		bounds[i] = bounds[i + 1] = bounds[i + 2] = Float.POSITIVE_INFINITY;
+		bounds[i + 3] = bounds[i + 4] = bounds[i + 5] = Float.NEGATIVE_INFINITY;
+	}
+
+	static private void include (float[] bounds, int i, float[] other, int o) {
+		bounds[i] = Math.min(bounds[i], other[o]);
+		bounds[i + 1] = Math.min(bounds[i + 1], other[o + 1]);
+		bounds[i + 2] = Math.min(bounds[i + 2], other[o + 2]);
+		bounds[i + 3] = Math.max(bounds[i + 3], other[o + 3]);
+		bounds[i + 4] = Math.max(bounds[i + 4], other[o + 4]);
+		bounds[i + 5] = Math.max(bounds[i + 5], other[o + 5]);
+	}
+
+	static private float area (float width, float height, float depth) {
+		return width * height + height * depth + depth * width;
+	}
+
+	/** @return Half the surface area of the enlarged box of the node. */
+	private float area (int node) {
+		float[] bounds = this.bounds;
+		int i = node * 6;
+		return area(bounds[i + 3] - bounds[i], bounds[i + 4] - bounds[i + 1], bounds[i + 5] - bounds[i + 2]);
+	}
+
+	/** @return Half the surface area of the box containing the enlarged boxes of both nodes. */
+	private float combinedArea (int node1, int node2) {
+		float[] bounds = this.bounds;
+		int i = node1 * 6, j = node2 * 6;
+		float width = Math.max(bounds[i + 3], bounds[j + 3]) - Math.min(bounds[i], bounds[j]);
+		float height = Math.max(bounds[i + 4], bounds[j + 4]) - Math.min(bounds[i + 1], bounds[j + 1]);
+		float depth = Math.max(bounds[i + 5], bounds[j + 5]) - Math.min(bounds[i + 2], bounds[j + 2]);
+		return area(width, height, depth);
+	}
+
+	/** Sets the enlarged box of the node to contain the enlarged boxes of both other nodes. */
+	private void union (int node, int node1, int node2) {
+		float[] bounds = this.bounds;
+		int n = node * 6, i = node1 * 6, j = node2 * 6;
+		bounds[n] = Math.min(bounds[i], bounds[j]);
+		bounds[n + 1] = Math.min(bounds[i + 1], bounds[j + 1]);
+		bounds[n + 2] = Math.min(bounds[i + 2], bounds[j + 2]);
+		bounds[n + 3] = Math.max(bounds[i + 3], bounds[j + 3]);
+		bounds[n + 4] = Math.max(bounds[i + 4], bounds[j + 4]);
+		bounds[n + 5] = Math.max(bounds[i + 5], bounds[j + 5]);
+	}
+
+	private void setLeafBounds (int leaf, float minX, float minY, float minZ, float maxX, float maxY, float maxZ) {
+		float[] leafBounds = this.leafBounds;
+		int i = leaf * 6;
+		leafBounds[i] = Math.min(minX, maxX);
+		leafBounds[i + 1] = Math.min(minY, maxY);
+		leafBounds[i + 2] = Math.min(minZ, maxZ);
+		leafBounds[i + 3] = Math.max(minX, maxX);
+		leafBounds[i + 4] = Math.max(minY, maxY);
+		leafBounds[i + 5] = Math.max(minZ, maxZ);
+	}
+
+	/** Sets the enlarged box of the leaf from its exact box. */
+	private void enlarge (int leaf) {
+		float[] bounds = this.bounds, leafBounds = this.leafBounds;
+		float margin = this.margin;
+		int i = leaf * 6;
+		bounds[i] = leafBounds[i] - margin;
+		bounds[i + 1] = leafBounds[i + 1] - margin;
+		bounds[i + 2] = leafBounds[i + 2] - margin;
+		bounds[i + 3] = leafBounds[i + 3] + margin;
+		bounds[i + 4] = leafBounds[i + 4] + margin;
+		bounds[i + 5] = leafBounds[i + 5] + margin;
+	}
+
+	private void checkLeaf (int id) {
+		if (id < 0 || id >= capacity || heights[id] != 0) throw new IllegalArgumentException("Invalid box ID: " + id);
+	}
+
+	private int allocateNode () {
+		if (freeList == NULL) resize(capacity * 2);
+		int node = freeList;
+		freeList = parents[node];
+		parents[node] = NULL;
+		children1[node] = NULL;
+		children2[node] = NULL;
+		heights[node] = 0;
+		return node;
+	}
+
+	private void freeNode (int node) {
+		parents[node] = freeList;
+		heights[node] = -1;
+		userObjects[node] = null;
+		freeList = node;
+	}
+
+	private void resize (int newCapacity) {
+		int oldCapacity = capacity;
+		float[] newBounds = new float[newCapacity * 6], newLeafBounds = new float[newCapacity * 6];
+		int[] newParents = new int[newCapacity], newChildren1 = new int[newCapacity], newChildren2 = new int[newCapacity];
+		int[] newHeights = new int[newCapacity];
+		Object[] newUserObjects = new Object[newCapacity];
+		if (oldCapacity > 0) {
+			System.arraycopy(bounds, 0, newBounds, 0, oldCapacity * 6);
+			System.arraycopy(leafBounds, 0, newLeafBounds, 0, oldCapacity * 6);
+			System.arraycopy(parents, 0, newParents, 0, oldCapacity);
+			System.arraycopy(children1, 0, newChildren1, 0, oldCapacity);
+			System.arraycopy(children2, 0, newChildren2, 0, oldCapacity);
+			System.arraycopy(heights, 0, newHeights, 0, oldCapacity);
+			System.arraycopy(userObjects, 0, newUserObjects, 0, oldCapacity);
+		}
+		bounds = newBounds;
+		leafBounds = newLeafBounds;
+		parents = newParents;
+		children1 = newChildren1;
+		children2 = newChildren2;
+		heights = newHeights;
+		userObjects = newUserObjects;
+		capacity = newCapacity;
+		for (int i = newCapacity - 1; i >= oldCapacity; i--)
+			freeNode(i);
+	}
+}
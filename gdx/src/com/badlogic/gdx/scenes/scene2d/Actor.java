@@ -64,6 +64,7 @@ public class Actor {
 	float rotation;
 	final Color color = new Color(1, 1, 1, 1);
 	private Object userObject;
+	ActorGrid.Entry gridEntry;
 
 	/** Draws the actor. The Batch is configured to draw in the parent's coordinate system.
 	 * {@link Batch#draw(com.badlogic.gdx.graphics.g2d.TextureRegion, float, float, float, float, float, float, float, float, float)
@@ -355,6 +356,7 @@ public class Actor {
 
 	public void setX (float x) {
 		this.x = x;
+		if (gridEntry != null) parent.grid.update(this);
 	}
 
 	public float getY () {
@@ -363,17 +365,20 @@ public class Actor {
 
 	public void setY (float y) {
 		this.y = y;
+		if (gridEntry != null) parent.grid.update(this);
 	}
 
 	/** Sets the x and y. */
 	public void setPosition (float x, float y) {
 		this.x = x;
 		this.y = y;
+		if (gridEntry != null) parent.grid.update(this);
 	}
 
 	public void moveBy (float x, float y) {
 		this.x += x;
 		this.y += y;
+		if (gridEntry != null) parent.grid.update(this);
 	}
 
 	public float getWidth () {
@@ -383,6 +388,7 @@ public class Actor {
 	public void setWidth (float width) {
 		float oldWidth = this.width;
 		this.width = width;
+		if (gridEntry != null) parent.grid.update(this);
 		if (width != oldWidth) sizeChanged();
 	}
 
@@ -393,6 +399,7 @@ public class Actor {
 	public void setHeight (float height) {
 		float oldHeight = this.height;
 		this.height = height;
+		if (gridEntry != null) parent.grid.update(this);
 		if (height != oldHeight) sizeChanged();
 	}
 
@@ -416,6 +423,7 @@ public class Actor {
 		float oldHeight = this.height;
 		this.width = width;
 		this.height = height;
+		if (gridEntry != null) parent.grid.update(this);
 		if (width != oldWidth || height != oldHeight) sizeChanged();
 	}
 
@@ -423,6 +431,7 @@ public class Actor {
 	public void sizeBy (float size) {
 		width += size;
 		height += size;
+		if (gridEntry != null) parent.grid.update(this);
 		sizeChanged();
 	}
 
@@ -430,6 +439,7 @@ public class Actor {
 	public void sizeBy (float width, float height) {
 		this.width += width;
 		this.height += height;
+		if (gridEntry != null) parent.grid.update(this);
 		sizeChanged();
 	}
 
@@ -441,6 +451,7 @@ public class Actor {
 		this.y = y;
 		this.width = width;
 		this.height = height;
+		if (gridEntry != null) parent.grid.update(this);
 		if (width != oldWidth || height != oldHeight) sizeChanged();
 	}
 
@@ -450,6 +461,7 @@ public class Actor {
 
 	public void setOriginX (float originX) {
 		this.originX = originX;
+		if (gridEntry != null) parent.grid.update(this);
 	}
 
 	public float getOriginY () {
@@ -458,12 +470,14 @@ public class Actor {
 
 	public void setOriginY (float originY) {
 		this.originY = originY;
+		if (gridEntry != null) parent.grid.update(this);
 	}
 
 	/** Sets the originx and originy. */
 	public void setOrigin (float originX, float originY) {
 		this.originX = originX;
 		this.originY = originY;
+		if (gridEntry != null) parent.grid.update(this);
 	}
 
 	public float getScaleX () {
@@ -472,6 +486,7 @@ public class Actor {
 
 	public void setScaleX (float scaleX) {
 		this.scaleX = scaleX;
+		if (gridEntry != null) parent.grid.update(this);
 	}
 
 	public float getScaleY () {
@@ -480,30 +495,35 @@ public class Actor {
 
 	public void setScaleY (float scaleY) {
 		this.scaleY = scaleY;
+		if (gridEntry != null) parent.grid.update(this);
 	}
 
 	/** Sets the scalex and scaley. */
 	public void setScale (float scaleXY) {
 		this.scaleX = scaleXY;
 		this.scaleY = scaleXY;
+		if (gridEntry != null) parent.grid.update(this);
 	}
 
 	/** Sets the scalex and scaley. */
 	public void setScale (float scaleX, float scaleY) {
 		this.scaleX = scaleX;
 		this.scaleY = scaleY;
+		if (gridEntry != null) parent.grid.update(this);
 	}
 
 	/** Adds the specified scale to the current scale. */
 	public void scaleBy (float scale) {
 		scaleX += scale;
 		scaleY += scale;
+		if (gridEntry != null) parent.grid.update(this);
 	}
 
 	/** Adds the specified scale to the current scale. */
 	public void scaleBy (float scaleX, float scaleY) {
 		this.scaleX += scaleX;
 		this.scaleY += scaleY;
+		if (gridEntry != null) parent.grid.update(this);
 	}
 
 	public float getRotation () {
@@ -512,11 +532,13 @@ public class Actor {
 
 	public void setRotation (float degrees) {
 		this.rotation = degrees;
+		if (gridEntry != null) parent.grid.update(this);
 	}
 
 	/** Adds the specified rotation to the current rotation. */
 	public void rotateBy (float amountInDegrees) {
 		rotation += amountInDegrees;
+		if (gridEntry != null) parent.grid.update(this);
 	}
 
 	public void setColor (Color color) {
@@ -0,0 +1,258 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.scenes.scene2d;
+
+import java.util.Comparator;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.LongMap;
+
+/** A uniform grid over the bounds of the children of a {@link Group}, so hit detection and culling only look at the children in
+ * the cells near a point or area instead of all children. The bounds of a child are the axis aligned box around its rectangle
+ * after scale and rotation, grown to contain the unscaled and unrotated rectangle that culling tests. {@link Actor} moves a child
+ * between cells when its position, size, origin, scale or rotation changes. Children covering many cells are kept in a separate
+ * list that every query includes.
+ * @see Group#setGridIndex(float) */
+class ActorGrid {
+	static private final int MAX_CELLS = 64;
+
+	final float cellSize;
+	private final LongMap<Array<Actor>> cells = new LongMap();
+	private final Array<Actor> large = new Array(false, 8, Actor.class);
+	private final Array<Array<Actor>> freeCells = new Array(false, 16);
+	final Array<Actor> hitCandidates = new Array(false, 16, Actor.class);
+	final Array<Actor> drawCandidates = new Array(false, 64, Actor.class);
+	private final Entry bounds = new Entry();
+	private int queryId;
+
+	static private final Comparator<Actor> zOrder = new Comparator<Actor>() {
+		public int compare (Actor a, Actor b) {
+			return a.gridEntry.index - b.gridEntry.index;
+		}
+	};
+
+	ActorGrid (float cellSize) {
+		this.cellSize = cellSize;
+	}
+
+	void add (Actor actor, int index) {
+		Entry entry = new Entry();
+		entry.index = index;
+		actor.gridEntry = entry;
+		insert(actor, entry);
+	}
+
+	void remove (Actor actor) {
+		Entry entry = actor.gridEntry;
+		if (entry == null) return;
+		erase(actor, entry);
+		actor.gridEntry = null;
+	}
+
+	/** Removes all children from the grid. */
+	void clear (Array<Actor> children) {
+		for (int i = 0, n = children.size; i < n; i++)
+			children.get(i).gridEntry = null;
+		for (Array<Actor> cell : cells.values()) {
+			cell.clear();
+			freeCells.add(cell);
+		}
+		cells.clear();
+		large.clear();
+	}
+
+	/** Moves the child to the cells covered by its current bounds. */
+	void update (Actor actor) {
+		Entry entry = actor.gridEntry, bounds = this.bounds;
+		computeCells(actor, bounds);
+		if (bounds.large && entry.large) return;
+		if (bounds.large == entry.large && bounds.x0 == entry.x0 && bounds.y0 == entry.y0 && bounds.x1 == entry.x1
+			&& bounds.y1 == entry.y1) return;
+		erase(actor, entry);
+		entry.x0 = bounds.x0;
+		entry.y0 = bounds.y0;
+		entry.x1 = bounds.x1;
+		entry.y1 = bounds.y1;
+		entry.large = bounds.large;
+		store(actor, entry);
+	}
+
+	private void insert (Actor actor, Entry entry) {
+		computeCells(actor, entry);
+		store(actor, entry);
+	}
+
+	private void store (Actor actor, Entry entry) {
+		if (entry.large) {
+			large.add(actor);
+			return;
+		}
+		for (int x = entry.x0; x <= entry.x1; x++) {
+			for (int y = entry.y0; y <= entry.y1; y++) {
+				long key = key(x, y);
+				Array<Actor> cell = cells.get(key);
+				if (cell == null) {
+					cell = freeCells.size > 0 ? freeCells.pop() : new Array(false, 4, Actor.class);
+					cells.put(key, cell);
+				}
+				cell.add(actor);
+			}
+		}
+	}
+
+	private void erase (Actor actor, Entry entry) {
+		if (entry.large) {
+			large.removeValue(actor, true);
+			return;
+		}
+		for (int x = entry.x0; x <= entry.x1; x++) {
+			for (int y = entry.y0; y <= entry.y1; y++) {
+				long key = key(x, y);
+				Array<Actor> cell = cells.get(key);
+				cell.removeValue(actor, true);
+				if (cell.size == 0) {
+					cells.remove(key);
+					freeCells.add(cell);
+				}
+			}
+		}
+	}
+
+	/** Stores the range of cells covered by the bounds of the actor in the entry. */
+	private void computeCells (Actor actor, Entry entry) {
+		float x = actor.x, y = actor.y, width = actor.width, height = actor.height;
+		float minX = Math.min(x, x + width), maxX = Math.max(x, x + width);
+		float minY = Math.min(y, y + height), maxY = Math.max(y, y + height);
+		float rotation = actor.rotation, scaleX = actor.scaleX, scaleY = actor.scaleY;
+		if (rotation != 0 || scaleX != 1 || scaleY != 1) {
+			// Same transform as Actor#localToParentCoordinates for each corner.
+			float cos = 1, sin = 0;
+			if (rotation != 0) {
+				cos = (float)Math.cos(-rotation * MathUtils.degreesToRadians);
+				sin = (float)Math.sin(-rotation * MathUtils.degreesToRadians);
+			}
+			float originX = actor.originX, originY = actor.originY;
+			for (int i = 0; i < 4; i++) {
+				float tox = ((i == 1 || i == 2 ? width : 0) - originX) * scaleX;
+				float toy = ((i >= 2 ? height : 0) - originY) * scaleY;
+				float cornerX = tox * cos + toy * sin + originX + x;
+				float cornerY = tox * -sin + toy * cos + originY + y;
+				minX = Math.min(minX, cornerX);
+				maxX = Math.max(maxX, cornerX);
+				minY = Math.min(minY, cornerY);
+				maxY = Math.max(maxY, cornerY);
+			}
+		}
+		entry.x0 = cell(minX);
+		entry.y0 = cell(minY);
+		entry.x1 = cell(maxX);
+		entry.y1 = cell(maxY);
+		boolean nan = minX != minX || minY != minY || maxX != maxX || maxY != maxY;
+		entry.large = nan || (long)(entry.x1 - entry.x0 + 1) * (entry.y1 - entry.y0 + 1) > MAX_CELLS;
+	}
+
+	private int cell (float value) {
+		return (int)Math.max(Integer.MIN_VALUE / 2, Math.min(Integer.MAX_VALUE / 2, Math.floor(value / cellSize)));
+	}
+
+	static private long key (int x, int y) {
+		return (long)x << 32 | y & 0xffffffffL;
+	}
+
+	/** Collects the children whose bounds may overlap the area, in the order of the children.
+	 * @param out Cleared and filled with the children.
+	 * @return The out array, or null if the area covers so many cells that looking at all children is faster. */
+	Array<Actor> query (float minX, float minY, float maxX, float maxY, Array<Actor> children, Array<Actor> out) {
+		out.clear();
+		int x0 = cell(minX), y0 = cell(minY), x1 = cell(maxX), y1 = cell(maxY);
+		long cellCount = (long)(x1 - x0 + 1) * (y1 - y0 + 1);
+		if (cellCount > cells.size) return null;
+
+		int queryId = nextQueryId(children);
+		for (int x = x0; x <= x1; x++) {
+			for (int y = y0; y <= y1; y++) {
+				Array<Actor> cell = cells.get(key(x, y));
+				if (cell != null) collect(cell, queryId, out);
+			}
+		}
+		collect(large, queryId, out);
+
+		if (out.size > children.size >> 3) {
+			// Many candidates, taking them in order from the children is faster than sorting.
+			out.clear();
+			Actor[] actors = children.items;
+			for (int i = 0, n = children.size; i < n; i++) {
+				Entry entry = actors[i].gridEntry;
+				if (entry != null && entry.query == queryId) out.add(actors[i]);
+			}
+			return out;
+		}
+		// Children can be reordered without telling the group, so the stored indices are checked before sorting by them.
+		Actor[] actors = children.items;
+		Actor[] candidates = out.items;
+		for (int i = 0, n = out.size; i < n; i++) {
+			Actor actor = candidates[i];
+			int index = actor.gridEntry.index;
+			if (index >= children.size || actors[index] != actor) {
+				updateIndices(children);
+				break;
+			}
+		}
+		out.sort(zOrder);
+		return out;
+	}
+
+	private void collect (Array<Actor> cell, int queryId, Array<Actor> out) {
+		Actor[] actors = cell.items;
+		for (int i = 0, n = cell.size; i < n; i++) {
+			Actor actor = actors[i];
+			Entry entry = actor.gridEntry;
+			if (entry.query == queryId) continue;
+			entry.query = queryId;
+			out.add(actor);
+		}
+	}
+
+	private int nextQueryId (Array<Actor> children) {
+		if (++queryId == 0) {
+			// Wrapped around, forget the old IDs so none matches by accident.
+			for (int i = 0, n = children.size; i < n; i++) {
+				Entry entry = children.get(i).gridEntry;
+				if (entry != null) entry.query = 0;
+			}
+			queryId = 1;
+		}
+		return queryId;
+	}
+
+	private void updateIndices (Array<Actor> children) {
+		Actor[] actors = children.items;
+		for (int i = 0, n = children.size; i < n; i++) {
+			Entry entry = actors[i].gridEntry;
+			if (entry != null) entry.index = i;
+		}
+	}
+
+	/** The cells and z-order of one child. */
+	static class Entry {
+		int x0, y0, x1, y1;
+		boolean large;
+		int index;
+		int query;
+	}
+}
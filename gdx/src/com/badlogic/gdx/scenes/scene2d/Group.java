@@ -40,6 +40,7 @@ public class Group extends Actor implements Cullable {
 	private boolean transform = true;
 	private Rectangle cullingArea;
 	private final Vector2 point = new Vector2();
+	ActorGrid grid;
 
 	public void act (float delta) {
 		super.act(delta);
@@ -60,7 +61,8 @@ public class Group extends Actor implements Cullable {
 	/** Draws all children. {@link #applyTransform(Batch, Matrix4)} should be called before and {@link #resetTransform(Batch)} after
 	 * this method if {@link #setTransform(boolean) transform} is true. If {@link #setTransform(boolean) transform} is false these
 	 * methods don't need to be called, children positions are temporarily offset by the group position when drawn. This method
-	 * avoids drawing children completely outside the {@link #setCullingArea(Rectangle) culling area}, if set. */
+	 * avoids drawing children completely outside the {@link #setCullingArea(Rectangle) culling area}, if set. With a
+	 * {@link #setGridIndex(float) grid index} only the children in the grid cells overlapping the culling area are looked at. */
 	protected void drawChildren (Batch batch, float parentAlpha) {
 		parentAlpha *= this.color.a;
 		SnapshotArray<Actor> children = this.children;
@@ -72,8 +74,16 @@ public class Group extends Actor implements Cullable {
 			float cullRight = cullLeft + cullingArea.width;
 			float cullBottom = cullingArea.y;
 			float cullTop = cullBottom + cullingArea.height;
+			int count = children.size;
+			if (grid != null) {
+				Array<Actor> candidates = grid.query(cullLeft, cullBottom, cullRight, cullTop, children, grid.drawCandidates);
+				if (candidates != null) {
+					actors = candidates.items;
+					count = candidates.size;
+				}
+			}
 			if (transform) {
-				for (int i = 0, n = children.size; i < n; i++) {
+				for (int i = 0; i < count; i++) {
 					Actor child = actors[i];
 					if (!child.isVisible()) continue;
 					float cx = child.x, cy = child.y;
@@ -86,7 +96,7 @@ public class Group extends Actor implements Cullable {
 				float offsetX = x, offsetY = y;
 				x = 0;
 				y = 0;
-				for (int i = 0, n = children.size; i < n; i++) {
+				for (int i = 0; i < count; i++) {
 					Actor child = actors[i];
 					if (!child.isVisible()) continue;
 					float cx = child.x, cy = child.y;
@@ -101,6 +111,7 @@ public class Group extends Actor implements Cullable {
 				x = offsetX;
 				y = offsetY;
 			}
+			if (grid != null) grid.drawCandidates.clear();
 		} else {
 			// No culling, draw all children.
 			if (transform) {
@@ -188,16 +199,49 @@ public class Group extends Actor implements Cullable {
 		this.cullingArea = cullingArea;
 	}
 
+	/** Enables or disables a grid that indexes the children by their bounds, so {@link #hit(float, float, boolean)} and drawing
+	 * with a {@link #setCullingArea(Rectangle) culling area} only look at the children near the point or area. This is faster for
+	 * groups with many children spread over a large area, such as map markers, at the cost of updating the grid when a child is
+	 * moved, resized, scaled or rotated.
+	 * <p>
+	 * The grid assumes each child is only hit within its bounds, like {@link Actor#hit(float, float, boolean)} does. A child
+	 * {@link Group} is hit wherever its own children are, so it should be sized to contain them. Children must be added and
+	 * removed with the methods of this group, not by modifying {@link #getChildren()}, reordering them is fine.
+	 * @param cellSize The width and height of the grid cells in this group's coordinates, about the size of a typical child, or 0
+	 *           to disable the grid. */
+	public void setGridIndex (float cellSize) {
+		if (cellSize < 0) throw new IllegalArgumentException("cellSize must be >= 0: " + cellSize);
+		if (grid != null) grid.clear(children);
+		grid = null;
+		if (cellSize == 0) return;
+		grid = new ActorGrid(cellSize);
+		for (int i = 0, n = children.size; i < n; i++)
+			grid.add(children.get(i), i);
+	}
+
+	/** Returns the cell size of the grid index, or 0 if this group has none.
+	 * @see #setGridIndex(float) */
+	public float getGridCellSize () {
+		return grid == null ? 0 : grid.cellSize;
+	}
+
 	public Actor hit (float x, float y, boolean touchable) {
 		if (touchable && getTouchable() == Touchable.disabled) return null;
-		Array<Actor> children = this.children;
+		Array<Actor> children = this.children, candidates = null;
+		if (grid != null) {
+			candidates = grid.query(x, y, x, y, children, grid.hitCandidates);
+			if (candidates != null) children = candidates;
+		}
+		Actor hit = null;
 		for (int i = children.size - 1; i >= 0; i--) {
 			Actor child = children.get(i);
 			if (!child.isVisible()) continue;
 			child.parentToLocalCoordinates(point.set(x, y));
-			Actor hit = child.hit(point.x, point.y, touchable);
-			if (hit != null) return hit;
+			hit = child.hit(point.x, point.y, touchable);
+			if (hit != null) break;
 		}
+		if (candidates != null) candidates.clear();
+		if (hit != null) return hit;
 		return super.hit(x, y, touchable);
 	}
 
@@ -212,6 +256,7 @@ public class Group extends Actor implements Cullable {
 		children.add(actor);
 		actor.setParent(this);
 		actor.setStage(getStage());
+		if (grid != null) grid.add(actor, children.size - 1);
 		childrenChanged();
 	}
 
@@ -225,6 +270,7 @@ public class Group extends Actor implements Cullable {
 			children.insert(index, actor);
 		actor.setParent(this);
 		actor.setStage(getStage());
+		if (grid != null) grid.add(actor, Math.min(index, children.size - 1));
 		childrenChanged();
 	}
 
@@ -236,6 +282,7 @@ public class Group extends Actor implements Cullable {
 		children.insert(index, actor);
 		actor.setParent(this);
 		actor.setStage(getStage());
+		if (grid != null) grid.add(actor, index);
 		childrenChanged();
 	}
 
@@ -250,6 +297,7 @@ public class Group extends Actor implements Cullable {
 			children.insert(index + 1, actor);
 		actor.setParent(this);
 		actor.setStage(getStage());
+		if (grid != null) grid.add(actor, index + 1);
 		childrenChanged();
 	}
 
@@ -260,6 +308,7 @@ public class Group extends Actor implements Cullable {
 		if (!children.removeValue(actor, true)) return false;
 		Stage stage = getStage();
 		if (stage != null) stage.unfocus(actor);
+		if (grid != null) grid.remove(actor);
 		actor.setParent(null);
 		actor.setStage(null);
 		childrenChanged();
@@ -275,6 +324,7 @@ public class Group extends Actor implements Cullable {
 			child.setParent(null);
 		}
 		children.end();
+		if (grid != null) grid.clear(children);
 		children.clear();
 		childrenChanged();
 	}
@@ -22,6 +22,7 @@ import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.BitmapFont.HAlignment;
 import com.badlogic.gdx.graphics.g2d.BitmapFont.TextBounds;
 import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.GlyphLayoutCache;
 import com.badlogic.gdx.scenes.scene2d.utils.Align;
 import com.badlogic.gdx.scenes.scene2d.utils.Drawable;
 import com.badlogic.gdx.utils.StringBuilder;
@@ -38,11 +39,17 @@ public class Label extends Widget {
 	private final StringBuilder text = new StringBuilder();
 	private StringBuilder tempText;
 	private BitmapFontCache cache;
+	private GlyphLayoutCache layoutCache;
 	private int labelAlign = Align.left;
 	private HAlignment lineAlign = HAlignment.LEFT;
 	private boolean wrap;
 	private float lastPrefHeight;
 	private boolean sizeInvalid = true;
+	/** True if the text bounds must be computed again even if the text, wrapping, wrap width and font scale are unchanged. */
+	private boolean boundsInvalid = true;
+	private final StringBuilder boundsText = new StringBuilder();
+	private boolean boundsWrap;
+	private float boundsWidth, boundsScaleX, boundsScaleY;
 	private float fontScaleX = 1, fontScaleY = 1;
 	private boolean ellipse;
 
@@ -77,6 +84,8 @@ public class Label extends Widget {
 		if (style.font == null) throw new IllegalArgumentException("Missing LabelStyle font.");
 		this.style = style;
 		cache = new BitmapFontCache(style.font, style.font.usesIntegerPositions());
+		cache.setLayoutCache(layoutCache);
+		boundsInvalid = true;
 		invalidateHierarchy();
 	}
 
@@ -132,12 +141,26 @@ public class Label extends Widget {
 
 	private void computeSize () {
 		sizeInvalid = false;
+		BitmapFont font = cache.getFont();
+		float width = 0;
 		if (wrap) {
-			float width = getWidth();
+			width = getWidth();
 			if (style.background != null) width -= style.background.getLeftWidth() + style.background.getRightWidth();
-			bounds.set(cache.getFont().getWrappedBounds(text, width));
-		} else
-			bounds.set(cache.getFont().getMultiLineBounds(text));
+		}
+		// Invalidating the label, eg when its parent is resized, doesn't change the text bounds.
+		if (!boundsInvalid && wrap == boundsWrap && width == boundsWidth && font.getScaleX() == boundsScaleX
+			&& font.getScaleY() == boundsScaleY && text.equals(boundsText)) return;
+		boundsInvalid = false;
+		boundsText.setLength(0);
+		boundsText.append(text);
+		boundsWrap = wrap;
+		boundsWidth = width;
+		boundsScaleX = font.getScaleX();
+		boundsScaleY = font.getScaleY();
+		if (wrap)
+			bounds.set(font.getWrappedBounds(text, width));
+		else
+			bounds.set(font.getMultiLineBounds(text));
 	}
 
 	public void layout () {
@@ -307,6 +330,18 @@ public class Label extends Widget {
 		this.ellipse = ellipse;
 	}
 
+	/** Sets the cache used to reuse the glyph layouts of the text, see {@link BitmapFontCache#setLayoutCache(GlyphLayoutCache)}.
+	 * Many labels can share one cache, eg labels which show the same texts.
+	 * @param layoutCache May be null. */
+	public void setLayoutCache (GlyphLayoutCache layoutCache) {
+		this.layoutCache = layoutCache;
+		cache.setLayoutCache(layoutCache);
+	}
+
+	public GlyphLayoutCache getLayoutCache () {
+		return layoutCache;
+	}
+
 	/** Allows subclasses to access the cache in {@link #draw(Batch, float)}. */
 	protected BitmapFontCache getBitmapFontCache () {
 		return cache;
@@ -0,0 +1,201 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import com.badlogic.gdx.utils.JsonValue.ValueType;
+
+/** Reads a JSON document as a stream of tokens, without building a {@link JsonValue} DOM. Each {@link #next()} reads the next
+ * token, the start or end of an object or array or a value. Values in objects have a {@link #getName() name}. Only the current
+ * token is kept in memory, so documents of any size can be read with a small buffer. {@link Json#fromJson(Class,
+ * BaseJsonStreamReader)} reads objects straight from a stream reader.
+ *
+ * <pre>
+ * JsonStreamReader reader = new JsonStreamReader(file.reader(&quot;UTF-8&quot;));
+ * while (reader.next() != Token.end)
+ * 	if (reader.getToken() == Token.doubleValue) System.out.println(reader.getName() + &quot; = &quot; + reader.getDouble());
+ * reader.close();
+ * </pre>
+ * @see JsonStreamReader
+ * @see UBJsonStreamReader */
+abstract public class BaseJsonStreamReader {
+	Token token;
+	String name;
+	/** The number of objects and arrays which are started but not ended. */
+	int depth;
+	/** The current value, used for its conversions. */
+	final JsonValue value = new JsonValue(ValueType.nullValue);
+
+	/** Reads the next token.
+	 * @return The token, {@link Token#end} once the whole document was read.
+	 * @throws SerializationException if the document is invalid or can't be read. */
+	abstract public Token next ();
+
+	/** Closes the underlying stream. */
+	abstract public void close ();
+
+	/** @return The token read by the last call to {@link #next()}, null if it was not called yet. */
+	public Token getToken () {
+		return token;
+	}
+
+	/** @return The name of the current value or started object or array, null in arrays, for the root and for end tokens. */
+	public String getName () {
+		return name;
+	}
+
+	/** @return The number of objects and arrays which are started but not ended, including a started object or array. */
+	public int getDepth () {
+		return depth;
+	}
+
+	/** @return Whether the current token is a string, number, boolean or null. */
+	public boolean isValue () {
+		if (token == null) return false;
+		switch (token) {
+		case stringValue:
+		case doubleValue:
+		case longValue:
+		case booleanValue:
+		case nullValue:
+			return true;
+		default:
+			return false;
+		}
+	}
+
+	/** @return Whether the current token is a double or long value. */
+	public boolean isNumber () {
+		return token == Token.doubleValue || token == Token.longValue;
+	}
+
+	/** Returns the current value as a string, converted as {@link JsonValue#asString()} does.
+	 * @throws IllegalStateException if the current token is not a value. */
+	public String getString () {
+		return value().asString();
+	}
+
+	/** @see #getString() */
+	public float getFloat () {
+		return value().asFloat();
+	}
+
+	/** @see #getString() */
+	public double getDouble () {
+		return value().asDouble();
+	}
+
+	/** @see #getString() */
+	public long getLong () {
+		return value().asLong();
+	}
+
+	/** @see #getString() */
+	public int getInt () {
+		return value().asInt();
+	}
+
+	/** @see #getString() */
+	public short getShort () {
+		return value().asShort();
+	}
+
+	/** @see #getString() */
+	public byte getByte () {
+		return value().asByte();
+	}
+
+	/** @see #getString() */
+	public char getChar () {
+		return value().asChar();
+	}
+
+	/** @see #getString() */
+	public boolean getBoolean () {
+		return value().asBoolean();
+	}
+
+	private JsonValue value () {
+		if (!isValue()) throw new IllegalStateException("The current token is not a value: " + token);
+		return value;
+	}
+
+	/** If the current token starts an object or array, reads until its end, so the next token is the one after it. Does nothing
+	 * for values. */
+	public void skipValue () {
+		if (token != Token.startObject && token != Token.startArray) return;
+		int depth = this.depth;
+		while (this.depth >= depth)
+			if (next() == Token.end) throw new SerializationException("Unexpected end of input.");
+	}
+
+	/** Reads the current value, or the object or array it starts, into a {@link JsonValue}. Can be used to read only the parts of
+	 * a document that are needed as a DOM.
+	 * @return May be null if the whole document was read.
+	 * @throws IllegalStateException if the current token ends an object or array. */
+	public JsonValue readValue () {
+		if (token == null || token == Token.end) return null;
+		String name = this.name;
+		JsonValue result;
+		switch (token) {
+		case startObject:
+		case startArray:
+			result = new JsonValue(token == Token.startObject ? ValueType.object : ValueType.array);
+			int depth = this.depth;
+			JsonValue last = null;
+			while (true) {
+				next();
+				if (this.depth < depth) break;
+				if (token == Token.end) throw new SerializationException("Unexpected end of input.");
+				JsonValue child = readValue();
+				if (last == null)
+					result.child = child;
+				else {
+					last.next = child;
+					child.prev = last;
+				}
+				last = child;
+				result.size++;
+			}
+			break;
+		case stringValue:
+			result = new JsonValue(getString());
+			break;
+		case doubleValue:
+			result = new JsonValue(getDouble());
+			break;
+		case longValue:
+			result = new JsonValue(getLong());
+			break;
+		case booleanValue:
+			result = new JsonValue(getBoolean());
+			break;
+		case nullValue:
+			result = new JsonValue(ValueType.nullValue);
+			break;
+		default:
+			throw new IllegalStateException("The current token is not a value: " + token);
+		}
+		result.setName(name);
+		return result;
+	}
+
+	static public enum Token {
+		startObject, endObject, startArray, endArray, stringValue, doubleValue, longValue, booleanValue, nullValue,
+		/** The whole document was read. */
+		end
+	}
+}
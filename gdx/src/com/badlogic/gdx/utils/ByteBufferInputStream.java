@@ -0,0 +1,59 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+/** An {@link InputStream} which reads the bytes between a {@link ByteBuffer}'s position and limit, advancing the position. Reads
+ * a file mapped with {@link com.badlogic.gdx.files.FileHandle#map()} without copying the whole file to the Java heap. Closing
+ * the stream does nothing. */
+public class ByteBufferInputStream extends InputStream {
+	private final ByteBuffer buffer;
+
+	public ByteBufferInputStream (ByteBuffer buffer) {
+		this.buffer = buffer;
+	}
+
+	public ByteBuffer getByteBuffer () {
+		return buffer;
+	}
+
+	public int read () {
+		if (!buffer.hasRemaining()) return -1;
+		return buffer.get() & 0xff;
+	}
+
+	public int read (byte[] bytes, int offset, int length) {
+		if (length == 0) return 0;
+		int count = Math.min(buffer.remaining(), length);
+		if (count == 0) return -1;
+		buffer.get(bytes, offset, count);
+		return count;
+	}
+
+	public long skip (long count) {
+		if (count <= 0) return 0;
+		int skipped = (int)Math.min(buffer.remaining(), count);
+		buffer.position(buffer.position() + skipped);
+		return skipped;
+	}
+
+	public int available () {
+		return buffer.remaining();
+	}
+}
@@ -0,0 +1,214 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/** A {@link Pool} that can be used from multiple threads at once. The free objects are split into stripes, each with its own lock,
+ * and a thread starts with the stripe chosen by its thread ID, so threads rarely contend for the same lock. When its stripe is
+ * empty, obtain takes an object from the other stripes before creating a new one. <br>
+ * <br>
+ * Each stripe stores at most {@link #max} divided by the number of stripes free objects. The {@link #peak} is the sum of the
+ * highest number of free objects of each stripe. {@link ThreadLocalPool} avoids locking altogether most of the time when the
+ * same threads obtain and free most objects.
+ * @see ThreadLocalPool */
+abstract public class ConcurrentPool<T> extends Pool<T> {
+	private final Stripe<T>[] stripes;
+	private final int stripeMask;
+
+	/** Creates a pool with an initial capacity of 16 and no maximum. */
+	public ConcurrentPool () {
+		this(16, Integer.MAX_VALUE);
+	}
+
+	/** Creates a pool with the specified initial capacity and no maximum. */
+	public ConcurrentPool (int initialCapacity) {
+		this(initialCapacity, Integer.MAX_VALUE);
+	}
+
+	/** Creates a pool with one stripe per available processor, rounded up to a power of two.
+	 * @param max The maximum number of free objects to store in this pool. */
+	public ConcurrentPool (int initialCapacity, int max) {
+		this(initialCapacity, max, Runtime.getRuntime().availableProcessors());
+	}
+
+	/** @param initialCapacity The initial capacity of all the stripes combined.
+	 * @param max The maximum number of free objects to store in this pool.
+	 * @param stripes The number of stripes, rounded up to a power of two. */
+	public ConcurrentPool (int initialCapacity, int max, int stripes) {
+		super(0, max);
+		if (stripes < 1) throw new IllegalArgumentException("stripes must be > 0: " + stripes);
+		int count = Math.min(MathUtils.nextPowerOfTwo(stripes), 64);
+		int stripeMax = max == Integer.MAX_VALUE ? max : (max + count - 1) / count;
+		int stripeCapacity = Math.min((initialCapacity + count - 1) / count, stripeMax);
+		this.stripes = new Stripe[count];
+		for (int i = 0; i < count; i++)
+			this.stripes[i] = new Stripe(stripeCapacity, stripeMax);
+		stripeMask = count - 1;
+	}
+
+	private Stripe<T> stripe () {
+		return stripes[(int)Thread.currentThread().getId() & stripeMask];
+	}
+
+	public T obtain () {
+		Stripe<T> home = stripe();
+		synchronized (home) {
+			home.obtained++;
+			if (home.objects.size > 0) return home.objects.pop();
+		}
+		Stripe<T>[] stripes = this.stripes;
+		for (int i = 0, n = stripes.length; i < n; i++) {
+			Stripe<T> stripe = stripes[i];
+			if (stripe == home || stripe.objects.size == 0) continue;
+			synchronized (stripe) {
+				if (stripe.objects.size > 0) return stripe.objects.pop();
+			}
+		}
+		synchronized (home) {
+			home.misses++;
+		}
+		return newObject();
+	}
+
+	public void free (T object) {
+		if (object == null) throw new IllegalArgumentException("object cannot be null.");
+		if (object instanceof Poolable) ((Poolable)object).reset();
+		Stripe<T> stripe = stripe();
+		boolean newPeak;
+		synchronized (stripe) {
+			newPeak = stripe.add(object);
+		}
+		if (newPeak) updatePeak();
+	}
+
+	public void freeAll (Array<T> objects) {
+		if (objects == null) throw new IllegalArgumentException("object cannot be null.");
+		Stripe<T> stripe = stripe();
+		boolean newPeak = false;
+		for (int i = 0; i < objects.size; i++) {
+			T object = objects.get(i);
+			if (object == null) continue;
+			if (object instanceof Poolable) ((Poolable)object).reset();
+			synchronized (stripe) {
+				newPeak |= stripe.add(object);
+			}
+		}
+		if (newPeak) updatePeak();
+	}
+
+	private void updatePeak () {
+		int total = 0;
+		for (Stripe stripe : stripes)
+			total += stripe.peak;
+		synchronized (this) {
+			peak = Math.max(peak, total);
+		}
+	}
+
+	public void clear () {
+		for (Stripe stripe : stripes) {
+			synchronized (stripe) {
+				stripe.objects.clear();
+			}
+		}
+	}
+
+	/** Returns the number of objects available to be obtained. The result is a snapshot and can change at any time when other
+	 * threads use the pool. */
+	public int getFree () {
+		int free = 0;
+		for (Stripe stripe : stripes) {
+			synchronized (stripe) {
+				free += stripe.objects.size;
+			}
+		}
+		return free;
+	}
+
+	public int getObtained () {
+		int obtained = 0;
+		for (Stripe stripe : stripes) {
+			synchronized (stripe) {
+				obtained += stripe.obtained;
+			}
+		}
+		return obtained;
+	}
+
+	public int getMisses () {
+		int misses = 0;
+		for (Stripe stripe : stripes) {
+			synchronized (stripe) {
+				misses += stripe.misses;
+			}
+		}
+		return misses;
+	}
+
+	public int getDiscarded () {
+		int discarded = 0;
+		for (Stripe stripe : stripes) {
+			synchronized (stripe) {
+				discarded += stripe.discarded;
+			}
+		}
+		return discarded;
+	}
+
+	public void resetStatistics () {
+		for (Stripe stripe : stripes) {
+			synchronized (stripe) {
+				stripe.obtained = 0;
+				stripe.misses = 0;
+				stripe.discarded = 0;
+				stripe.peak = 0;
+			}
+		}
+		synchronized (this) {
+			peak = 0;
+		}
+	}
+
+	/** Returns the number of stripes the free objects are split into. */
+	public int getStripes () {
+		return stripes.length;
+	}
+
+	static private class Stripe<T> {
+		final Array<T> objects;
+		final int max;
+		int peak, obtained, misses, discarded;
+
+		Stripe (int initialCapacity, int max) {
+			objects = new Array(false, initialCapacity);
+			this.max = max;
+		}
+
+		/** Returns true if the peak of this stripe increased. */
+		boolean add (T object) {
+			if (objects.size >= max) {
+				discarded++;
+				return false;
+			}
+			objects.add(object);
+			if (objects.size <= peak) return false;
+			peak = objects.size;
+			return true;
+		}
+	}
+}
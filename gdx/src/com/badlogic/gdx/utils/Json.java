@@ -17,10 +17,11 @@
 package com.badlogic.gdx.utils;
 
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.utils.BaseJsonStreamReader.Token;
 import com.badlogic.gdx.utils.JsonValue.PrettyPrintSettings;
+import com.badlogic.gdx.utils.JsonValue.ValueType;
 import com.badlogic.gdx.utils.JsonWriter.OutputType;
 import com.badlogic.gdx.utils.ObjectMap.Entry;
-import com.badlogic.gdx.utils.ObjectMap.Values;
 import com.badlogic.gdx.utils.reflect.ArrayReflection;
 import com.badlogic.gdx.utils.reflect.ClassReflection;
 import com.badlogic.gdx.utils.reflect.Constructor;
@@ -51,12 +52,15 @@ public class Json {
 	private boolean usePrototypes = true;
 	private OutputType outputType;
 	private final ObjectMap<Class, ObjectMap<String, FieldMetadata>> typeToFields = new ObjectMap();
+	private final ObjectMap<Class, FieldMetadata[]> typeToFieldArray = new ObjectMap();
 	private final ObjectMap<String, Class> tagToClass = new ObjectMap();
 	private final ObjectMap<Class, String> classToTag = new ObjectMap();
 	private final ObjectMap<Class, Serializer> classToSerializer = new ObjectMap();
 	private final ObjectMap<Class, Object[]> classToDefaultValues = new ObjectMap();
 	private Serializer defaultSerializer;
 	private boolean ignoreUnknownFields;
+	/** Holds the current value of a {@link BaseJsonStreamReader} while it is converted. */
+	private final JsonValue streamValue = new JsonValue(ValueType.nullValue);
 
 	public Json () {
 		outputType = OutputType.minimal;
@@ -152,9 +156,22 @@ public class Json {
 			nameToField.put(field.getName(), new FieldMetadata(field));
 		}
 		typeToFields.put(type, nameToField);
+		// The fields are written in the iteration order of the map.
+		FieldMetadata[] fieldArray = new FieldMetadata[nameToField.size];
+		int i = 0;
+		for (FieldMetadata metadata : nameToField.values())
+			fieldArray[i++] = metadata;
+		typeToFieldArray.put(type, fieldArray);
 		return nameToField;
 	}
 
+	private FieldMetadata[] getFieldArray (Class type) {
+		FieldMetadata[] fields = typeToFieldArray.get(type);
+		if (fields != null) return fields;
+		cacheFields(type);
+		return typeToFieldArray.get(type);
+	}
+
 	public String toJson (Object object) {
 		return toJson(object, object == null ? null : object.getClass(), (Class)null);
 	}
@@ -232,21 +249,29 @@ public class Json {
 
 		Object[] defaultValues = getDefaultValues(type);
 
-		ObjectMap<String, FieldMetadata> fields = typeToFields.get(type);
-		if (fields == null) fields = cacheFields(type);
-		int i = 0;
-		for (FieldMetadata metadata : new Values<FieldMetadata>(fields)) {
+		FieldMetadata[] fields = getFieldArray(type);
+		for (int i = 0, n = fields.length; i < n; i++) {
+			FieldMetadata metadata = fields[i];
 			Field field = metadata.field;
 			try {
+				if (metadata.primitive) {
+					String value = primitiveToString(object, metadata, defaultValues == null ? null : defaultValues[i]);
+					if (value == null) continue;
+					if (debug) System.out.println("Writing field: " + field.getName() + " (" + type.getName() + ")");
+					writeFieldName(metadata);
+					writer.rawValue(value);
+					continue;
+				}
+
 				Object value = field.get(object);
 				if (defaultValues != null) {
-					Object defaultValue = defaultValues[i++];
+					Object defaultValue = defaultValues[i];
 					if (value == null && defaultValue == null) continue;
 					if (value != null && defaultValue != null && value.equals(defaultValue)) continue;
 				}
 
 				if (debug) System.out.println("Writing field: " + field.getName() + " (" + type.getName() + ")");
-				writer.name(field.getName());
+				writeFieldName(metadata);
 				writeValue(value, field.getType(), metadata.elementType);
 			} catch (ReflectionException ex) {
 				throw new SerializationException("Error accessing field: " + field.getName() + " (" + type.getName() + ")", ex);
@@ -261,6 +286,60 @@ public class Json {
 		}
 	}
 
+	/** Writes the name of a field, which is quoted only once per output type. */
+	private void writeFieldName (FieldMetadata metadata) throws IOException {
+		OutputType outputType = writer.outputType;
+		if (metadata.quotedNameType != outputType) {
+			metadata.quotedName = outputType.quoteName(metadata.field.getName());
+			metadata.quotedNameType = outputType;
+		}
+		writer.rawName(metadata.quotedName);
+	}
+
+	/** Returns a primitive field as {@link JsonWriter#value(Object)} writes the boxed value, without boxing it. Char fields are
+	 * not handled here, they are written as strings.
+	 * @param defaultValue May be null.
+	 * @return null if the value equals the default value. */
+	private String primitiveToString (Object object, FieldMetadata metadata, Object defaultValue) throws ReflectionException {
+		Field field = metadata.field;
+		Class type = metadata.type;
+		if (type == float.class) {
+			float value = field.getFloat(object);
+			if (defaultValue != null && Float.floatToIntBits((Float)defaultValue) == Float.floatToIntBits(value)) return null;
+			long longValue = (long)value;
+			return (double)value == longValue ? Long.toString(longValue) : Float.toString(value);
+		}
+		if (type == int.class) {
+			int value = field.getInt(object);
+			if (defaultValue != null && (Integer)defaultValue == value) return null;
+			return Integer.toString(value);
+		}
+		if (type == boolean.class) {
+			boolean value = field.getBoolean(object);
+			if (defaultValue != null && (Boolean)defaultValue == value) return null;
+			return value ? "true" : "false";
+		}
+		if (type == long.class) {
+			long value = field.getLong(object);
+			if (defaultValue != null && (Long)defaultValue == value) return null;
+			return Long.toString(value);
+		}
+		if (type == double.class) {
+			double value = field.getDouble(object);
+			if (defaultValue != null && Double.doubleToLongBits((Double)defaultValue) == Double.doubleToLongBits(value)) return null;
+			long longValue = (long)value;
+			return value == longValue ? Long.toString(longValue) : Double.toString(value);
+		}
+		if (type == short.class) {
+			short value = field.getShort(object);
+			if (defaultValue != null && (Short)defaultValue == value) return null;
+			return Integer.toString(value);
+		}
+		byte value = field.getByte(object);
+		if (defaultValue != null && (Byte)defaultValue == value) return null;
+		return Integer.toString(value);
+	}
+
 	private Object[] getDefaultValues (Class type) {
 		if (!usePrototypes) return null;
 		if (classToDefaultValues.containsKey(type)) return classToDefaultValues.get(type);
@@ -272,17 +351,15 @@ public class Json {
 			return null;
 		}
 
-		ObjectMap<String, FieldMetadata> fields = typeToFields.get(type);
-		if (fields == null) fields = cacheFields(type);
+		FieldMetadata[] fields = getFieldArray(type);
 
-		Object[] values = new Object[fields.size];
+		Object[] values = new Object[fields.length];
 		classToDefaultValues.put(type, values);
 
-		int i = 0;
-		for (FieldMetadata metadata : fields.values()) {
-			Field field = metadata.field;
+		for (int i = 0, n = fields.length; i < n; i++) {
+			Field field = fields[i].field;
 			try {
-				values[i++] = field.get(object);
+				values[i] = field.get(object);
 			} catch (ReflectionException ex) {
 				throw new SerializationException("Error accessing field: " + field.getName() + " (" + type.getName() + ")", ex);
 			} catch (SerializationException ex) {
@@ -700,6 +777,29 @@ public class Json {
 		return (T)readValue(type, elementType, new JsonReader().parse(json));
 	}
 
+	/** Reads an object from a stream of tokens, without building a {@link JsonValue} DOM for the whole document. The result is the
+	 * same as reading the DOM, except that the class of an object is only read from the first field, where it is written by this
+	 * class. A DOM is still built for objects read by a {@link Serializer} or a {@link Serializable} and for objects of an unknown
+	 * type. The reader is closed afterward.
+	 * @param type May be null if the type is unknown.
+	 * @return May be null. */
+	public <T> T fromJson (Class<T> type, BaseJsonStreamReader reader) {
+		return fromJson(type, null, reader);
+	}
+
+	/** @param type May be null if the type is unknown.
+	 * @param elementType May be null if the type is unknown.
+	 * @return May be null.
+	 * @see #fromJson(Class, BaseJsonStreamReader) */
+	public <T> T fromJson (Class<T> type, Class elementType, BaseJsonStreamReader reader) {
+		try {
+			reader.next();
+			return readValue(type, elementType, reader);
+		} finally {
+			reader.close();
+		}
+	}
+
 	public void readField (Object object, String name, JsonValue jsonData) {
 		readField(object, name, name, null, jsonData);
 	}
@@ -753,6 +853,7 @@ public class Json {
 			Field field = metadata.field;
 			// if (entry.value == null) continue; // I don't remember what this did. :(
 			try {
+				if (metadata.primitive && readPrimitive(object, metadata, child)) continue;
 				field.set(object, readValue(field.getType(), metadata.elementType, child));
 			} catch (ReflectionException ex) {
 				throw new SerializationException("Error accessing field: " + field.getName() + " (" + type.getName() + ")", ex);
@@ -767,6 +868,70 @@ public class Json {
 		}
 	}
 
+	/** Reads the fields of an object from a stream whose current token is the first after the start of the object, up to the end
+	 * of the object. */
+	private void readFields (Object object, BaseJsonStreamReader reader) {
+		Class type = object.getClass();
+		ObjectMap<String, FieldMetadata> fields = typeToFields.get(type);
+		if (fields == null) fields = cacheFields(type);
+		for (; reader.getToken() != Token.endObject; reader.next()) {
+			String name = reader.getName();
+			FieldMetadata metadata = fields.get(name);
+			if (metadata == null) {
+				if (ignoreUnknownFields) {
+					if (debug) System.out.println("Ignoring unknown field: " + name + " (" + type.getName() + ")");
+					reader.skipValue();
+					continue;
+				} else
+					throw new SerializationException("Field not found: " + name + " (" + type.getName() + ")");
+			}
+			Field field = metadata.field;
+			try {
+				if (metadata.primitive && reader.isValue() && readPrimitive(object, metadata, streamValue(reader))) continue;
+				field.set(object, readValue(field.getType(), metadata.elementType, reader));
+			} catch (ReflectionException ex) {
+				throw new SerializationException("Error accessing field: " + field.getName() + " (" + type.getName() + ")", ex);
+			} catch (SerializationException ex) {
+				ex.addTrace(field.getName() + " (" + type.getName() + ")");
+				throw ex;
+			} catch (RuntimeException runtimeEx) {
+				SerializationException ex = new SerializationException(runtimeEx);
+				ex.addTrace(field.getName() + " (" + type.getName() + ")");
+				throw ex;
+			}
+		}
+	}
+
+	/** Sets a primitive field to a JSON number or boolean without boxing the value, as {@link #readValue(Class, Class, JsonValue)}
+	 * would convert it.
+	 * @return false if the JSON value is of another type and was not read. */
+	private boolean readPrimitive (Object object, FieldMetadata metadata, JsonValue jsonValue) throws ReflectionException {
+		Field field = metadata.field;
+		Class type = metadata.type;
+		if (jsonValue.isNumber()) {
+			if (type == float.class)
+				field.setFloat(object, jsonValue.asFloat());
+			else if (type == int.class)
+				field.setInt(object, jsonValue.asInt());
+			else if (type == long.class)
+				field.setLong(object, jsonValue.asLong());
+			else if (type == double.class)
+				field.setDouble(object, jsonValue.asDouble());
+			else if (type == short.class)
+				field.setShort(object, jsonValue.asShort());
+			else if (type == byte.class)
+				field.setByte(object, jsonValue.asByte());
+			else
+				return false;
+			return true;
+		}
+		if (jsonValue.isBoolean() && type == boolean.class) {
+			field.setBoolean(object, jsonValue.asBoolean());
+			return true;
+		}
+		return false;
+	}
+
 	/** @param type May be null if the type is unknown.
 	 * @return May be null. */
 	public <T> T readValue (String name, Class<T> type, JsonValue jsonMap) {
@@ -945,6 +1110,148 @@ public class Json {
 		return null;
 	}
 
+	/** Reads the current value of a stream, or the object or array it starts, the same as
+	 * {@link #readValue(Class, Class, JsonValue)} reads it from a DOM. Afterward the current token is the value or the end of the
+	 * object or array.
+	 * @param type May be null if the type is unknown.
+	 * @param elementType May be null if the type is unknown.
+	 * @return May be null.
+	 * @see #fromJson(Class, BaseJsonStreamReader) */
+	public <T> T readValue (Class<T> type, Class elementType, BaseJsonStreamReader reader) {
+		Token token = reader.getToken();
+		if (token == Token.startObject) return readObject(type, elementType, reader);
+		if (token == Token.startArray) return readArray(type, elementType, reader);
+		if (!reader.isValue()) return null;
+		// A serializer may keep the JsonValue, the others only convert it.
+		if (type != null && classToSerializer.get(type) != null) return readValue(type, elementType, reader.readValue());
+		return readValue(type, elementType, streamValue(reader));
+	}
+
+	private <T> T readObject (Class<T> type, Class elementType, BaseJsonStreamReader reader) {
+		reader.next();
+		if (typeName != null && typeName.equals(reader.getName())
+			&& (reader.getToken() == Token.stringValue || reader.getToken() == Token.nullValue)) {
+			String className = reader.getString();
+			if (className != null) {
+				try {
+					type = (Class<T>)ClassReflection.forName(className);
+				} catch (ReflectionException ex) {
+					type = tagToClass.get(className);
+					if (type == null) throw new SerializationException(ex);
+				}
+			}
+			reader.next();
+		}
+
+		if (type == null || type == String.class || type == Integer.class || type == Boolean.class || type == Float.class
+			|| type == Long.class || type == Double.class || type == Short.class || type == Byte.class || type == Character.class
+			|| ClassReflection.isAssignableFrom(Enum.class, type) || ClassReflection.isAssignableFrom(Serializable.class, type)
+			|| classToSerializer.get(type) != null) {
+			// Read the rest of the object as a DOM.
+			JsonValue jsonData = new JsonValue(ValueType.object);
+			JsonValue last = null;
+			for (; reader.getToken() != Token.endObject; reader.next()) {
+				JsonValue child = reader.readValue();
+				if (last == null)
+					jsonData.child = child;
+				else {
+					last.next = child;
+					child.prev = last;
+				}
+				last = child;
+				jsonData.size++;
+			}
+			return readValue(type, elementType, jsonData);
+		}
+
+		Object object = newInstance(type);
+		if (object instanceof HashMap) {
+			HashMap result = (HashMap)object;
+			for (; reader.getToken() != Token.endObject; reader.next())
+				result.put(reader.getName(), readValue(elementType, null, reader));
+			return (T)result;
+		}
+		if (object instanceof ObjectMap) {
+			ObjectMap result = (ObjectMap)object;
+			for (; reader.getToken() != Token.endObject; reader.next())
+				result.put(reader.getName(), readValue(elementType, null, reader));
+			return (T)result;
+		}
+		readFields(object, reader);
+		return (T)object;
+	}
+
+	private <T> T readArray (Class<T> type, Class elementType, BaseJsonStreamReader reader) {
+		if (type != null && classToSerializer.get(type) != null) return readValue(type, elementType, reader.readValue());
+
+		if ((type == null || type == Object.class) || ClassReflection.isAssignableFrom(Array.class, type)) {
+			Array newArray = (type == null || type == Object.class) ? new Array() : (Array)newInstance(type);
+			while (reader.next() != Token.endArray)
+				newArray.add(readValue(elementType, null, reader));
+			return (T)newArray;
+		}
+		if (ClassReflection.isAssignableFrom(List.class, type)) {
+			List newArray = type.isInterface() ? new ArrayList() : (List)newInstance(type);
+			while (reader.next() != Token.endArray)
+				newArray.add(readValue(elementType, null, reader));
+			return (T)newArray;
+		}
+		if (type.isArray()) {
+			Class componentType = type.getComponentType();
+			if (elementType == null) elementType = componentType;
+			// Primitive arrays, eg the vertices of a model, are read without boxing each value.
+			if (elementType == float.class) {
+				FloatArray values = new FloatArray();
+				while (reader.next() != Token.endArray)
+					values.add(reader.isNumber() ? reader.getFloat() : readValue(float.class, null, reader));
+				return (T)values.toArray();
+			}
+			if (elementType == int.class) {
+				IntArray values = new IntArray();
+				while (reader.next() != Token.endArray)
+					values.add(reader.isNumber() ? reader.getInt() : readValue(int.class, null, reader));
+				return (T)values.toArray();
+			}
+			if (elementType == short.class) {
+				ShortArray values = new ShortArray();
+				while (reader.next() != Token.endArray)
+					values.add(reader.isNumber() ? reader.getShort() : readValue(short.class, null, reader));
+				return (T)values.toArray();
+			}
+			Array values = new Array();
+			while (reader.next() != Token.endArray)
+				values.add(readValue(elementType, null, reader));
+			Object newArray = ArrayReflection.newInstance(componentType, values.size);
+			for (int i = 0, n = values.size; i < n; i++)
+				ArrayReflection.set(newArray, i, values.get(i));
+			return (T)newArray;
+		}
+		throw new SerializationException("Unable to convert value to required type: " + reader.readValue() + " ("
+			+ type.getName() + ")");
+	}
+
+	/** Returns the current value of a stream as a JsonValue, which is reused for the next value. */
+	private JsonValue streamValue (BaseJsonStreamReader reader) {
+		JsonValue value = streamValue;
+		switch (reader.getToken()) {
+		case stringValue:
+			value.set(reader.getString());
+			break;
+		case doubleValue:
+			value.set(reader.getDouble());
+			break;
+		case longValue:
+			value.set(reader.getLong());
+			break;
+		case booleanValue:
+			value.set(reader.getBoolean());
+			break;
+		default:
+			value.set((String)null);
+		}
+		return value;
+	}
+
 	private String convertToString (Object object) {
 		if (object instanceof Class) return ((Class)object).getName();
 		return String.valueOf(object);
@@ -1009,10 +1316,17 @@ public class Json {
 
 	static private class FieldMetadata {
 		Field field;
+		Class type;
 		Class elementType;
+		/** True if the field is a primitive other than char, which is read and written without boxing. */
+		boolean primitive;
+		String quotedName;
+		OutputType quotedNameType;
 
 		public FieldMetadata (Field field) {
 			this.field = field;
+			type = field.getType();
+			primitive = type.isPrimitive() && type != char.class;
 			int index = (ClassReflection.isAssignableFrom(ObjectMap.class, field.getType()) || ClassReflection.isAssignableFrom(
 				Map.class, field.getType())) ? 1 : 0;
 			this.elementType = field.getElementType(index);
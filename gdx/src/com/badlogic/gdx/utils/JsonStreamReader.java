@@ -0,0 +1,345 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.io.StringReader;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/** Reads JSON as a stream of tokens, see {@link BaseJsonStreamReader}. Accepts the same JSON as {@link JsonReader}, including
+ * unquoted names and values, and reads it through a fixed size buffer. Only a string or number longer than the buffer needs
+ * more memory. */
+public class JsonStreamReader extends BaseJsonStreamReader {
+	private final Reader reader;
+	private final char[] buffer;
+	private int position, limit;
+	private int line = 1;
+	private boolean started;
+
+	/** The characters of the current name, string or number. */
+	private char[] text = new char[64];
+	private int textLength;
+
+	/** For each started object or array, whether it is an object. */
+	private boolean[] objects = new boolean[16];
+	/** For each started object or array, whether it has a value which has to be followed by a comma. */
+	private boolean[] needsComma = new boolean[16];
+
+	public JsonStreamReader (String json) {
+		this(new StringReader(json));
+	}
+
+	/** Reads UTF-8 JSON from the stream. */
+	public JsonStreamReader (InputStream input) {
+		this(utf8(input));
+	}
+
+	public JsonStreamReader (FileHandle file) {
+		this(file.reader("UTF-8"));
+	}
+
+	public JsonStreamReader (Reader reader) {
+		this(reader, 8192);
+	}
+
+	/** @param bufferSize The number of characters to read from the reader at once. */
+	public JsonStreamReader (Reader reader, int bufferSize) {
+		if (bufferSize < 1) throw new IllegalArgumentException("bufferSize must be > 0: " + bufferSize);
+		this.reader = reader;
+		buffer = new char[bufferSize];
+	}
+
+	static private Reader utf8 (InputStream input) {
+		try {
+			return new InputStreamReader(input, "UTF-8");
+		} catch (IOException ex) {
+			throw new SerializationException(ex);
+		}
+	}
+
+	public Token next () {
+		try {
+			return token = nextToken();
+		} catch (IOException ex) {
+			throw new SerializationException(ex);
+		}
+	}
+
+	private Token nextToken () throws IOException {
+		name = null;
+		if (depth == 0) {
+			int c = skipSpace();
+			if (started) {
+				if (c != -1) throw error("Expected end of input: " + (char)c);
+				return Token.end;
+			}
+			started = true;
+			if (c == -1) return Token.end;
+			return value(c);
+		}
+
+		int level = depth - 1;
+		char end = objects[level] ? '}' : ']';
+		int c = skipSpace();
+		if (c == ',') {
+			boolean expected = needsComma[level];
+			needsComma[level] = false;
+			c = skipSpace();
+			if (!expected && c != end) throw error("Unexpected ','");
+		}
+		if (c == end) {
+			depth--;
+			return objects[level] ? Token.endObject : Token.endArray;
+		}
+		if (c == -1) throw error(objects[level] ? "Unmatched brace." : "Unmatched bracket.");
+		if (needsComma[level]) throw error("Expected ',' or '" + end + "': " + (char)c);
+		needsComma[level] = true;
+
+		if (objects[level]) {
+			readName(c);
+			name = new String(text, 0, textLength);
+			c = skipSpace();
+			if (c != ':') throw error("Expected ':' after name: " + name);
+			c = skipSpace();
+		}
+		return value(c);
+	}
+
+	private Token value (int c) throws IOException {
+		switch (c) {
+		case '{':
+			push(true);
+			return Token.startObject;
+		case '[':
+			push(false);
+			return Token.startArray;
+		case '"':
+			readQuoted();
+			value.set(new String(text, 0, textLength));
+			return Token.stringValue;
+		case -1:
+			throw error("Unexpected end of input.");
+		}
+		if (c == '-' || (c >= '0' && c <= '9')) return readNumber(c);
+		if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || c == '_' || c == '$') {
+			readUnquoted(c);
+			if (textEquals("true")) {
+				value.set(true);
+				return Token.booleanValue;
+			}
+			if (textEquals("false")) {
+				value.set(false);
+				return Token.booleanValue;
+			}
+			if (textEquals("null")) {
+				value.set((String)null);
+				return Token.nullValue;
+			}
+			value.set(new String(text, 0, textLength));
+			return Token.stringValue;
+		}
+		throw error("Unexpected character: " + (char)c);
+	}
+
+	private void push (boolean object) {
+		if (depth == objects.length) {
+			boolean[] newObjects = new boolean[depth * 2];
+			System.arraycopy(objects, 0, newObjects, 0, depth);
+			objects = newObjects;
+			boolean[] newNeedsComma = new boolean[depth * 2];
+			System.arraycopy(needsComma, 0, newNeedsComma, 0, depth);
+			needsComma = newNeedsComma;
+		}
+		objects[depth] = object;
+		needsComma[depth] = false;
+		depth++;
+	}
+
+	private void readName (int c) throws IOException {
+		if (c == '"')
+			readQuoted();
+		else if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') || c == '_' || c == '$' || c == '-')
+			readUnquoted(c);
+		else
+			throw error("Expected a name: " + (char)c);
+	}
+
+	/** Reads a quoted string after the opening quote into the text. */
+	private void readQuoted () throws IOException {
+		textLength = 0;
+		while (true) {
+			int c = read();
+			if (c == '"') return;
+			if (c == -1) throw error("Unterminated string.");
+			if (c == '\\') {
+				c = read();
+				switch (c) {
+				case '"':
+				case '\\':
+				case '/':
+					break;
+				case 'b':
+					c = '\b';
+					break;
+				case 'f':
+					c = '\f';
+					break;
+				case 'n':
+					c = '\n';
+					break;
+				case 'r':
+					c = '\r';
+					break;
+				case 't':
+					c = '\t';
+					break;
+				case 'u':
+					c = 0;
+					for (int i = 0; i < 4; i++) {
+						int digit = Character.digit((char)read(), 16);
+						if (digit == -1) throw error("Illegal unicode escape.");
+						c = c << 4 | digit;
+					}
+					break;
+				default:
+					throw error("Illegal escaped character: \\" + (char)c);
+				}
+			}
+			append((char)c);
+		}
+	}
+
+	/** Reads an unquoted name or value into the text, up to a colon, comma, closing brace or bracket or whitespace. */
+	private void readUnquoted (int c) throws IOException {
+		textLength = 0;
+		append((char)c);
+		while (true) {
+			c = peek();
+			if (c == -1 || c == ':' || c == ',' || c == '}' || c == ']' || isSpace(c)) return;
+			append((char)read());
+		}
+	}
+
+	private Token readNumber (int c) throws IOException {
+		textLength = 0;
+		append((char)c);
+		while (true) {
+			c = peek();
+			if ((c < '0' || c > '9') && c != '.' && c != 'e' && c != 'E' && c != '+' && c != '-') break;
+			append((char)read());
+		}
+		// -?[0-9]+ is a long, -?[0-9]+\.[0-9]*([eE][+-]?[0-9]+)? a double.
+		char[] text = this.text;
+		int i = text[0] == '-' ? 1 : 0, n = textLength;
+		int digits = i;
+		while (i < n && text[i] >= '0' && text[i] <= '9')
+			i++;
+		boolean valid = i > digits;
+		boolean isDouble = false;
+		if (valid && i < n) {
+			isDouble = true;
+			valid = text[i++] == '.';
+			while (i < n && text[i] >= '0' && text[i] <= '9')
+				i++;
+			if (valid && i < n) {
+				valid = text[i] == 'e' || text[i] == 'E';
+				i++;
+				if (i < n && (text[i] == '+' || text[i] == '-')) i++;
+				int exponent = i;
+				while (i < n && text[i] >= '0' && text[i] <= '9')
+					i++;
+				valid &= i > exponent && i == n;
+			}
+		}
+		String number = new String(text, 0, n);
+		if (!valid) throw error("Invalid number: " + number);
+		try {
+			if (isDouble) {
+				value.set(Double.parseDouble(number));
+				return Token.doubleValue;
+			}
+			value.set(Long.parseLong(number));
+			return Token.longValue;
+		} catch (NumberFormatException ex) {
+			throw new SerializationException("Error parsing JSON on line " + line + ", invalid number: " + number, ex);
+		}
+	}
+
+	private boolean textEquals (String string) {
+		int length = textLength;
+		if (string.length() != length) return false;
+		char[] text = this.text;
+		for (int i = 0; i < length; i++)
+			if (text[i] != string.charAt(i)) return false;
+		return true;
+	}
+
+	private void append (char c) {
+		if (textLength == text.length) {
+			char[] newText = new char[textLength * 2];
+			System.arraycopy(text, 0, newText, 0, textLength);
+			text = newText;
+		}
+		text[textLength++] = c;
+	}
+
+	/** @return The first character which is not whitespace, or -1 at the end of the input. */
+	private int skipSpace () throws IOException {
+		while (true) {
+			int c = read();
+			if (!isSpace(c)) return c;
+		}
+	}
+
+	static private boolean isSpace (int c) {
+		return c == ' ' || c == '\n' || c == '\r' || c == '\t' || c == '\f' || c == 0x0b;
+	}
+
+	private int read () throws IOException {
+		if (position == limit && !fill()) return -1;
+		char c = buffer[position++];
+		if (c == '\n') line++;
+		return c;
+	}
+
+	private int peek () throws IOException {
+		if (position == limit && !fill()) return -1;
+		return buffer[position];
+	}
+
+	private boolean fill () throws IOException {
+		int count;
+		do {
+			count = reader.read(buffer, 0, buffer.length);
+		} while (count == 0);
+		position = 0;
+		limit = Math.max(0, count);
+		return count > 0;
+	}
+
+	private SerializationException error (String message) {
+		return new SerializationException("Error parsing JSON on line " + line + ": " + message);
+	}
+
+	public void close () {
+		StreamUtils.closeQuietly(reader);
+	}
+}
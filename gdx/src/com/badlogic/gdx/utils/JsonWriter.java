@@ -27,7 +27,7 @@ public class JsonWriter extends Writer {
 	private final Array<JsonObject> stack = new Array();
 	private JsonObject current;
 	private boolean named;
-	private OutputType outputType = OutputType.json;
+	OutputType outputType = OutputType.json;
 
 	public JsonWriter (Writer writer) {
 		this.writer = writer;
@@ -42,12 +42,17 @@ public class JsonWriter extends Writer {
 	}
 
 	public JsonWriter name (String name) throws IOException {
+		return rawName(outputType.quoteName(name));
+	}
+
+	/** Writes a name that is already quoted for the output type, see {@link OutputType#quoteName(String)}. */
+	JsonWriter rawName (String name) throws IOException {
 		if (current == null || current.array) throw new IllegalStateException("Current item must be an object.");
 		if (!current.needsComma)
 			current.needsComma = true;
 		else
 			writer.write(',');
-		writer.write(outputType.quoteName(name));
+		writer.write(name);
 		writer.write(':');
 		named = true;
 		return this;
@@ -91,6 +96,11 @@ public class JsonWriter extends Writer {
 			long longValue = number.longValue();
 			if (number.doubleValue() == longValue) value = longValue;
 		}
+		return rawValue(outputType.quoteValue(value));
+	}
+
+	/** Writes a value that is already quoted as needed, eg a number or boolean converted to a string. */
+	JsonWriter rawValue (String value) throws IOException {
 		if (current != null) {
 			if (current.array) {
 				if (!current.needsComma)
@@ -102,7 +112,7 @@ public class JsonWriter extends Writer {
 				named = false;
 			}
 		}
-		writer.write(outputType.quoteValue(value));
+		writer.write(value);
 		return this;
 	}
 
@@ -0,0 +1,577 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/** An unordered map where the keys and values are ints, with the same API as {@link IntIntMap}. This implementation uses open
+ * addressing with linear probing and Fibonacci hashing, and removes with backward shifting, so there is no stash and no
+ * tombstones. No allocation is done except when growing the table size. <br>
+ * <br>
+ * Unlike the cuckoo {@link IntIntMap}, put never has to rehash because of unlucky hash collisions: the table only grows when the
+ * load factor is reached. This makes it a better choice for very large maps, eg counting occurrences of IDs, or for clustered
+ * keys. Lookups of missing keys stop at the first empty bucket, so load factors above 0.9 should be avoided.
+ * @see LinearIntMap */
+public class LinearIntIntMap {
+	private static final int EMPTY = 0;
+
+	public int size;
+
+	int[] keyTable, valueTable;
+	int capacity;
+	int zeroValue;
+	boolean hasZeroValue;
+
+	private float loadFactor;
+	private int shift, mask, threshold;
+
+	private Entries entries1, entries2;
+	private Values values1, values2;
+	private Keys keys1, keys2;
+
+	/** Creates a new map with an initial capacity of 32 and a load factor of 0.8. This map will hold 25 items before growing the
+	 * backing table. */
+	public LinearIntIntMap () {
+		this(32, 0.8f);
+	}
+
+	/** Creates a new map with a load factor of 0.8. This map will hold initialCapacity * 0.8 items before growing the backing
+	 * table. */
+	public LinearIntIntMap (int initialCapacity) {
+		this(initialCapacity, 0.8f);
+	}
+
+	/** Creates a new map with the specified initial capacity and load factor. This map will hold initialCapacity * loadFactor items
+	 * before growing the backing table.
+	 * @param loadFactor Must be > 0 and < 1. */
+	public LinearIntIntMap (int initialCapacity, float loadFactor) {
+		if (initialCapacity < 0) throw new IllegalArgumentException("initialCapacity must be >= 0: " + initialCapacity);
+		if (initialCapacity > 1 << 30) throw new IllegalArgumentException("initialCapacity is too large: " + initialCapacity);
+		if (loadFactor <= 0 || loadFactor >= 1) throw new IllegalArgumentException("loadFactor must be > 0 and < 1: " + loadFactor);
+		this.loadFactor = loadFactor;
+
+		setCapacity(Math.max(2, MathUtils.nextPowerOfTwo(initialCapacity)));
+		keyTable = new int[capacity];
+		valueTable = new int[capacity];
+	}
+
+	/** Creates a new map identical to the specified map. */
+	public LinearIntIntMap (LinearIntIntMap map) {
+		this(map.capacity, map.loadFactor);
+		System.arraycopy(map.keyTable, 0, keyTable, 0, map.keyTable.length);
+		System.arraycopy(map.valueTable, 0, valueTable, 0, map.valueTable.length);
+		size = map.size;
+		zeroValue = map.zeroValue;
+		hasZeroValue = map.hasZeroValue;
+	}
+
+	/** Returns the bucket where the key is placed when there are no collisions. Fibonacci hashing spreads keys that only differ in
+	 * the high bits, such as multiples of a power of two. */
+	int place (int key) {
+		return key * 0x9E3779B9 >>> shift;
+	}
+
+	/** Returns the index of the key, or -1 if it is not in the table. The key must not be zero. */
+	int locateKey (int key) {
+		int[] keyTable = this.keyTable;
+		for (int i = place(key);; i = i + 1 & mask) {
+			int other = keyTable[i];
+			if (other == EMPTY) return -1;
+			if (other == key) return i;
+		}
+	}
+
+	public void put (int key, int value) {
+		if (key == 0) {
+			zeroValue = value;
+			if (!hasZeroValue) {
+				hasZeroValue = true;
+				size++;
+			}
+			return;
+		}
+
+		int[] keyTable = this.keyTable;
+		int i = place(key);
+		while (true) {
+			int other = keyTable[i];
+			if (other == EMPTY) break;
+			if (other == key) {
+				valueTable[i] = value;
+				return;
+			}
+			i = i + 1 & mask;
+		}
+		keyTable[i] = key;
+		valueTable[i] = value;
+		if (size++ >= threshold) resize(capacity << 1);
+	}
+
+	public void putAll (LinearIntIntMap map) {
+		ensureCapacity(map.size);
+		if (map.hasZeroValue) put(0, map.zeroValue);
+		int[] keyTable = map.keyTable;
+		int[] valueTable = map.valueTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			int key = keyTable[i];
+			if (key != EMPTY) put(key, valueTable[i]);
+		}
+	}
+
+	/** Skips checks for existing keys. */
+	private void putResize (int key, int value) {
+		int[] keyTable = this.keyTable;
+		for (int i = place(key);; i = i + 1 & mask) {
+			if (keyTable[i] == EMPTY) {
+				keyTable[i] = key;
+				valueTable[i] = value;
+				return;
+			}
+		}
+	}
+
+	/** @param defaultValue Returned if the key was not associated with a value. */
+	public int get (int key, int defaultValue) {
+		if (key == 0) {
+			if (!hasZeroValue) return defaultValue;
+			return zeroValue;
+		}
+		int i = locateKey(key);
+		return i < 0 ? defaultValue : valueTable[i];
+	}
+
+	/** Returns the key's current value and increments the stored value. If the key is not in the map, defaultValue + increment is
+	 * put into the map. */
+	public int getAndIncrement (int key, int defaultValue, int increment) {
+		if (key == 0) {
+			if (hasZeroValue) {
+				int value = zeroValue;
+				zeroValue += increment;
+				return value;
+			}
+			hasZeroValue = true;
+			zeroValue = defaultValue + increment;
+			size++;
+			return defaultValue;
+		}
+
+		int[] keyTable = this.keyTable;
+		int i = place(key);
+		while (true) {
+			int other = keyTable[i];
+			if (other == EMPTY) break;
+			if (other == key) {
+				int value = valueTable[i];
+				valueTable[i] = value + increment;
+				return value;
+			}
+			i = i + 1 & mask;
+		}
+		keyTable[i] = key;
+		valueTable[i] = defaultValue + increment;
+		if (size++ >= threshold) resize(capacity << 1);
+		return defaultValue;
+	}
+
+	public int remove (int key, int defaultValue) {
+		if (key == 0) {
+			if (!hasZeroValue) return defaultValue;
+			hasZeroValue = false;
+			size--;
+			return zeroValue;
+		}
+
+		int i = locateKey(key);
+		if (i < 0) return defaultValue;
+		int oldValue = valueTable[i];
+		removeIndex(i);
+		size--;
+		return oldValue;
+	}
+
+	/** Removes the entry at the specified index by shifting back the following entries of the cluster that are allowed to move,
+	 * so lookups never need tombstones. The size is not changed.
+	 * @return The index that was left empty, which is not the specified index if an entry was moved into it. */
+	int removeIndex (int i) {
+		int[] keyTable = this.keyTable;
+		int[] valueTable = this.valueTable;
+		int mask = this.mask;
+		for (int next = i + 1 & mask;; next = next + 1 & mask) {
+			int key = keyTable[next];
+			if (key == EMPTY) break;
+			int placement = place(key);
+			// Move the entry if the empty bucket is between its placement and its current bucket.
+			if ((next - placement & mask) > (i - placement & mask)) {
+				keyTable[i] = key;
+				valueTable[i] = valueTable[next];
+				i = next;
+			}
+		}
+		keyTable[i] = EMPTY;
+		return i;
+	}
+
+	/** Reduces the size of the backing arrays to be the specified capacity or less. If the capacity is already less, nothing is
+	 * done. If the map contains more items than the specified capacity allows at the load factor, the next highest power of two
+	 * capacity that can hold them is used instead. */
+	public void shrink (int maximumCapacity) {
+		if (maximumCapacity < 0) throw new IllegalArgumentException("maximumCapacity must be >= 0: " + maximumCapacity);
+		int tableSize = Math.max(Math.max(2, MathUtils.nextPowerOfTwo(maximumCapacity)), tableSize(size));
+		if (capacity > tableSize) resize(tableSize);
+	}
+
+	/** Clears the map and reduces the size of the backing arrays to be the specified capacity if they are larger. */
+	public void clear (int maximumCapacity) {
+		int tableSize = Math.max(2, MathUtils.nextPowerOfTwo(maximumCapacity));
+		if (capacity <= tableSize) {
+			clear();
+			return;
+		}
+		hasZeroValue = false;
+		size = 0;
+		setCapacity(tableSize);
+		keyTable = new int[tableSize];
+		valueTable = new int[tableSize];
+	}
+
+	public void clear () {
+		if (size == 0) return;
+		int[] keyTable = this.keyTable;
+		for (int i = capacity; i-- > 0;)
+			keyTable[i] = EMPTY;
+		size = 0;
+		hasZeroValue = false;
+	}
+
+	/** Returns true if the specified value is in the map. Note this traverses the entire map and compares every value, which may be
+	 * an expensive operation. */
+	public boolean containsValue (int value) {
+		if (hasZeroValue && zeroValue == value) return true;
+		int[] keyTable = this.keyTable, valueTable = this.valueTable;
+		for (int i = capacity; i-- > 0;)
+			if (keyTable[i] != EMPTY && valueTable[i] == value) return true;
+		return false;
+	}
+
+	public boolean containsKey (int key) {
+		if (key == 0) return hasZeroValue;
+		return locateKey(key) >= 0;
+	}
+
+	/** Returns the key for the specified value, or <tt>notFound</tt> if it is not in the map. Note this traverses the entire map
+	 * and compares every value, which may be an expensive operation. */
+	public int findKey (int value, int notFound) {
+		if (hasZeroValue && zeroValue == value) return 0;
+		int[] keyTable = this.keyTable, valueTable = this.valueTable;
+		for (int i = capacity; i-- > 0;)
+			if (keyTable[i] != EMPTY && valueTable[i] == value) return keyTable[i];
+		return notFound;
+	}
+
+	/** Increases the size of the backing array to acommodate the specified number of additional items. Useful before adding many
+	 * items to avoid multiple backing array resizes. */
+	public void ensureCapacity (int additionalCapacity) {
+		int sizeNeeded = size + additionalCapacity;
+		if (sizeNeeded >= threshold) resize(tableSize(sizeNeeded));
+	}
+
+	/** Returns the smallest power of two table size that holds the specified number of items without exceeding the load factor. */
+	private int tableSize (int items) {
+		int tableSize = Math.max(2, MathUtils.nextPowerOfTwo(items));
+		while (tableSize < 1 << 30 && items > (int)(tableSize * loadFactor))
+			tableSize <<= 1;
+		return tableSize;
+	}
+
+	private void setCapacity (int newSize) {
+		capacity = newSize;
+		threshold = (int)(newSize * loadFactor);
+		mask = newSize - 1;
+		shift = Integer.numberOfLeadingZeros(mask);
+	}
+
+	private void resize (int newSize) {
+		int oldCapacity = capacity;
+		setCapacity(newSize);
+
+		int[] oldKeyTable = keyTable;
+		int[] oldValueTable = valueTable;
+
+		keyTable = new int[newSize];
+		valueTable = new int[newSize];
+
+		if (size > 0) {
+			for (int i = 0; i < oldCapacity; i++) {
+				int key = oldKeyTable[i];
+				if (key != EMPTY) putResize(key, oldValueTable[i]);
+			}
+		}
+	}
+
+	public String toString () {
+		if (size == 0) return "{}";
+		StringBuilder buffer = new StringBuilder(32);
+		buffer.append('{');
+		int[] keyTable = this.keyTable;
+		int[] valueTable = this.valueTable;
+		int i = keyTable.length;
+		if (hasZeroValue) {
+			buffer.append("0=");
+			buffer.append(zeroValue);
+		} else {
+			while (i-- > 0) {
+				int key = keyTable[i];
+				if (key == EMPTY) continue;
+				buffer.append(key);
+				buffer.append('=');
+				buffer.append(valueTable[i]);
+				break;
+			}
+		}
+		while (i-- > 0) {
+			int key = keyTable[i];
+			if (key == EMPTY) continue;
+			buffer.append(", ");
+			buffer.append(key);
+			buffer.append('=');
+			buffer.append(valueTable[i]);
+		}
+		buffer.append('}');
+		return buffer.toString();
+	}
+
+	/** Returns an iterator for the entries in the map. Remove is supported. Note that the same iterator instance is returned each
+	 * time this method is called. Use the {@link Entries} constructor for nested or multithreaded iteration. */
+	public Entries entries () {
+		if (entries1 == null) {
+			entries1 = new Entries(this);
+			entries2 = new Entries(this);
+		}
+		if (!entries1.valid) {
+			entries1.reset();
+			entries1.valid = true;
+			entries2.valid = false;
+			return entries1;
+		}
+		entries2.reset();
+		entries2.valid = true;
+		entries1.valid = false;
+		return entries2;
+	}
+
+	/** Returns an iterator for the values in the map. Remove is supported. Note that the same iterator instance is returned each
+	 * time this method is called. Use the {@link Entries} constructor for nested or multithreaded iteration. */
+	public Values values () {
+		if (values1 == null) {
+			values1 = new Values(this);
+			values2 = new Values(this);
+		}
+		if (!values1.valid) {
+			values1.reset();
+			values1.valid = true;
+			values2.valid = false;
+			return values1;
+		}
+		values2.reset();
+		values2.valid = true;
+		values1.valid = false;
+		return values2;
+	}
+
+	/** Returns an iterator for the keys in the map. Remove is supported. Note that the same iterator instance is returned each time
+	 * this method is called. Use the {@link Entries} constructor for nested or multithreaded iteration. */
+	public Keys keys () {
+		if (keys1 == null) {
+			keys1 = new Keys(this);
+			keys2 = new Keys(this);
+		}
+		if (!keys1.valid) {
+			keys1.reset();
+			keys1.valid = true;
+			keys2.valid = false;
+			return keys1;
+		}
+		keys2.reset();
+		keys2.valid = true;
+		keys1.valid = false;
+		return keys2;
+	}
+
+	static public class Entry {
+		public int key;
+		public int value;
+
+		public String toString () {
+			return key + "=" + value;
+		}
+	}
+
+	/** Iterates the zero key first, then the buckets starting after an empty bucket. No cluster spans the start, so when remove
+	 * shifts entries back they only move to buckets that are visited later, or to the removed bucket, which is then visited
+	 * again. */
+	static private class MapIterator {
+		static final int INDEX_ILLEGAL = -2;
+		static final int INDEX_ZERO = -1;
+
+		public boolean hasNext;
+
+		final LinearIntIntMap map;
+		int start, nextPosition, currentPosition, nextIndex, currentIndex;
+		boolean valid = true;
+
+		public MapIterator (LinearIntIntMap map) {
+			this.map = map;
+			reset();
+		}
+
+		public void reset () {
+			int[] keyTable = map.keyTable;
+			start = 0;
+			while (keyTable[start] != EMPTY)
+				start++;
+			currentIndex = INDEX_ILLEGAL;
+			nextPosition = 0;
+			if (map.hasZeroValue) {
+				nextIndex = INDEX_ZERO;
+				hasNext = true;
+			} else
+				findNextIndex();
+		}
+
+		void findNextIndex () {
+			hasNext = false;
+			int[] keyTable = map.keyTable;
+			int mask = map.mask;
+			for (int n = map.capacity; ++nextPosition < n;) {
+				nextIndex = start + nextPosition & mask;
+				if (keyTable[nextIndex] != EMPTY) {
+					hasNext = true;
+					break;
+				}
+			}
+		}
+
+		void step () {
+			currentIndex = nextIndex;
+			currentPosition = nextPosition;
+			findNextIndex();
+		}
+
+		public void remove () {
+			if (currentIndex == INDEX_ZERO && map.hasZeroValue) {
+				map.hasZeroValue = false;
+			} else if (currentIndex < 0) {
+				throw new IllegalStateException("next must be called before remove.");
+			} else if (map.removeIndex(currentIndex) != currentIndex) {
+				// An entry was shifted into the removed bucket, visit it.
+				nextPosition = currentPosition - 1;
+				findNextIndex();
+			}
+			currentIndex = INDEX_ILLEGAL;
+			map.size--;
+		}
+	}
+
+	static public class Entries extends MapIterator implements Iterable<Entry>, Iterator<Entry> {
+		private Entry entry = new Entry();
+
+		public Entries (LinearIntIntMap map) {
+			super(map);
+		}
+
+		/** Note the same entry instance is returned each time this method is called. */
+		public Entry next () {
+			if (!hasNext) throw new NoSuchElementException();
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			if (nextIndex == INDEX_ZERO) {
+				entry.key = 0;
+				entry.value = map.zeroValue;
+			} else {
+				entry.key = map.keyTable[nextIndex];
+				entry.value = map.valueTable[nextIndex];
+			}
+			step();
+			return entry;
+		}
+
+		public boolean hasNext () {
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			return hasNext;
+		}
+
+		public Iterator<Entry> iterator () {
+			return this;
+		}
+	}
+
+	static public class Values extends MapIterator {
+		public Values (LinearIntIntMap map) {
+			super(map);
+		}
+
+		public boolean hasNext () {
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			return hasNext;
+		}
+
+		public int next () {
+			if (!hasNext) throw new NoSuchElementException();
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			int value = nextIndex == INDEX_ZERO ? map.zeroValue : map.valueTable[nextIndex];
+			step();
+			return value;
+		}
+
+		/** Returns a new array containing the remaining values. */
+		public IntArray toArray () {
+			IntArray array = new IntArray(true, map.size);
+			while (hasNext)
+				array.add(next());
+			return array;
+		}
+	}
+
+	static public class Keys extends MapIterator {
+		public Keys (LinearIntIntMap map) {
+			super(map);
+		}
+
+		public boolean hasNext () {
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			return hasNext;
+		}
+
+		public int next () {
+			if (!hasNext) throw new NoSuchElementException();
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			int key = nextIndex == INDEX_ZERO ? 0 : map.keyTable[nextIndex];
+			step();
+			return key;
+		}
+
+		/** Returns a new array containing the remaining keys. */
+		public IntArray toArray () {
+			IntArray array = new IntArray(true, map.size);
+			while (hasNext)
+				array.add(next());
+			return array;
+		}
+	}
+}
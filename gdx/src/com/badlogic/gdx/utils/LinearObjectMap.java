@@ -0,0 +1,527 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/** An unordered map with the same API as {@link ObjectMap}. This implementation uses open addressing with linear probing and
+ * Fibonacci hashing, and removes with backward shifting, so there is no stash and no tombstones. Null keys are not allowed. Null
+ * values are allowed. No allocation is done except when growing the table size. <br>
+ * <br>
+ * Unlike the cuckoo {@link ObjectMap}, put never has to rehash because of unlucky hash collisions: the table only grows when the
+ * load factor is reached. This makes it a better choice for very large maps or for keys with poorly distributed hash codes.
+ * Lookups of missing keys stop at the first empty bucket, so load factors above 0.9 should be avoided. */
+public class LinearObjectMap<K, V> {
+	public int size;
+
+	K[] keyTable;
+	V[] valueTable;
+	int capacity;
+
+	private float loadFactor;
+	private int shift, mask, threshold;
+
+	private Entries entries1, entries2;
+	private Values values1, values2;
+	private Keys keys1, keys2;
+
+	/** Creates a new map with an initial capacity of 32 and a load factor of 0.8. This map will hold 25 items before growing the
+	 * backing table. */
+	public LinearObjectMap () {
+		this(32, 0.8f);
+	}
+
+	/** Creates a new map with a load factor of 0.8. This map will hold initialCapacity * 0.8 items before growing the backing
+	 * table. */
+	public LinearObjectMap (int initialCapacity) {
+		this(initialCapacity, 0.8f);
+	}
+
+	/** Creates a new map with the specified initial capacity and load factor. This map will hold initialCapacity * loadFactor items
+	 * before growing the backing table.
+	 * @param loadFactor Must be > 0 and < 1. */
+	public LinearObjectMap (int initialCapacity, float loadFactor) {
+		if (initialCapacity < 0) throw new IllegalArgumentException("initialCapacity must be >= 0: " + initialCapacity);
+		if (initialCapacity > 1 << 30) throw new IllegalArgumentException("initialCapacity is too large: " + initialCapacity);
+		if (loadFactor <= 0 || loadFactor >= 1) throw new IllegalArgumentException("loadFactor must be > 0 and < 1: " + loadFactor);
+		this.loadFactor = loadFactor;
+
+		setCapacity(Math.max(2, MathUtils.nextPowerOfTwo(initialCapacity)));
+		keyTable = (K[])new Object[capacity];
+		valueTable = (V[])new Object[capacity];
+	}
+
+	/** Creates a new map identical to the specified map. */
+	public LinearObjectMap (LinearObjectMap<? extends K, ? extends V> map) {
+		this(map.capacity, map.loadFactor);
+		System.arraycopy(map.keyTable, 0, keyTable, 0, map.keyTable.length);
+		System.arraycopy(map.valueTable, 0, valueTable, 0, map.valueTable.length);
+		size = map.size;
+	}
+
+	/** Returns the bucket where the key is placed when there are no collisions. Fibonacci hashing spreads keys whose hash codes
+	 * only differ in the high bits, such as multiples of a power of two. */
+	int place (Object key) {
+		return key.hashCode() * 0x9E3779B9 >>> shift;
+	}
+
+	/** Returns the index of the key, or -1 if it is not in the map. */
+	int locateKey (Object key) {
+		K[] keyTable = this.keyTable;
+		for (int i = place(key);; i = i + 1 & mask) {
+			K other = keyTable[i];
+			if (other == null) return -1;
+			if (key.equals(other)) return i;
+		}
+	}
+
+	/** Returns the old value associated with the specified key, or null. */
+	public V put (K key, V value) {
+		if (key == null) throw new IllegalArgumentException("key cannot be null.");
+		K[] keyTable = this.keyTable;
+		int i = place(key);
+		while (true) {
+			K other = keyTable[i];
+			if (other == null) break;
+			if (key.equals(other)) {
+				V oldValue = valueTable[i];
+				valueTable[i] = value;
+				return oldValue;
+			}
+			i = i + 1 & mask;
+		}
+		keyTable[i] = key;
+		valueTable[i] = value;
+		if (size++ >= threshold) resize(capacity << 1);
+		return null;
+	}
+
+	public void putAll (LinearObjectMap<K, V> map) {
+		ensureCapacity(map.size);
+		K[] keyTable = map.keyTable;
+		V[] valueTable = map.valueTable;
+		for (int i = 0, n = keyTable.length; i < n; i++) {
+			K key = keyTable[i];
+			if (key != null) put(key, valueTable[i]);
+		}
+	}
+
+	/** Skips checks for existing keys. */
+	private void putResize (K key, V value) {
+		K[] keyTable = this.keyTable;
+		for (int i = place(key);; i = i + 1 & mask) {
+			if (keyTable[i] == null) {
+				keyTable[i] = key;
+				valueTable[i] = value;
+				return;
+			}
+		}
+	}
+
+	public V get (K key) {
+		int i = locateKey(key);
+		return i < 0 ? null : valueTable[i];
+	}
+
+	public V get (K key, V defaultValue) {
+		int i = locateKey(key);
+		return i < 0 ? defaultValue : valueTable[i];
+	}
+
+	public V remove (K key) {
+		int i = locateKey(key);
+		if (i < 0) return null;
+		V oldValue = valueTable[i];
+		removeIndex(i);
+		size--;
+		return oldValue;
+	}
+
+	/** Removes the entry at the specified index by shifting back the following entries of the cluster that are allowed to move,
+	 * so lookups never need tombstones. The size is not changed.
+	 * @return The index that was left empty, which is not the specified index if an entry was moved into it. */
+	int removeIndex (int i) {
+		K[] keyTable = this.keyTable;
+		V[] valueTable = this.valueTable;
+		int mask = this.mask;
+		for (int next = i + 1 & mask;; next = next + 1 & mask) {
+			K key = keyTable[next];
+			if (key == null) break;
+			int placement = place(key);
+			// Move the entry if the empty bucket is between its placement and its current bucket.
+			if ((next - placement & mask) > (i - placement & mask)) {
+				keyTable[i] = key;
+				valueTable[i] = valueTable[next];
+				i = next;
+			}
+		}
+		keyTable[i] = null;
+		valueTable[i] = null;
+		return i;
+	}
+
+	/** Reduces the size of the backing arrays to be the specified capacity or less. If the capacity is already less, nothing is
+	 * done. If the map contains more items than the specified capacity allows at the load factor, the next highest power of two
+	 * capacity that can hold them is used instead. */
+	public void shrink (int maximumCapacity) {
+		if (maximumCapacity < 0) throw new IllegalArgumentException("maximumCapacity must be >= 0: " + maximumCapacity);
+		int tableSize = Math.max(Math.max(2, MathUtils.nextPowerOfTwo(maximumCapacity)), tableSize(size));
+		if (capacity > tableSize) resize(tableSize);
+	}
+
+	/** Clears the map and reduces the size of the backing arrays to be the specified capacity if they are larger. */
+	public void clear (int maximumCapacity) {
+		int tableSize = Math.max(2, MathUtils.nextPowerOfTwo(maximumCapacity));
+		if (capacity <= tableSize) {
+			clear();
+			return;
+		}
+		size = 0;
+		setCapacity(tableSize);
+		keyTable = (K[])new Object[tableSize];
+		valueTable = (V[])new Object[tableSize];
+	}
+
+	public void clear () {
+		if (size == 0) return;
+		K[] keyTable = this.keyTable;
+		V[] valueTable = this.valueTable;
+		for (int i = capacity; i-- > 0;) {
+			keyTable[i] = null;
+			valueTable[i] = null;
+		}
+		size = 0;
+	}
+
+	/** Returns true if the specified value is in the map. Note this traverses the entire map and compares every value, which may be
+	 * an expensive operation.
+	 * @param identity If true, uses == to compare the specified value with values in the map. If false, uses
+	 *           {@link #equals(Object)}. */
+	public boolean containsValue (Object value, boolean identity) {
+		return findKey(value, identity) != null;
+	}
+
+	public boolean containsKey (K key) {
+		return locateKey(key) >= 0;
+	}
+
+	/** Returns the key for the specified value, or null if it is not in the map. Note this traverses the entire map and compares
+	 * every value, which may be an expensive operation.
+	 * @param identity If true, uses == to compare the specified value with values in the map. If false, uses
+	 *           {@link #equals(Object)}. */
+	public K findKey (Object value, boolean identity) {
+		K[] keyTable = this.keyTable;
+		V[] valueTable = this.valueTable;
+		if (value == null) {
+			for (int i = capacity; i-- > 0;)
+				if (keyTable[i] != null && valueTable[i] == null) return keyTable[i];
+		} else if (identity) {
+			for (int i = capacity; i-- > 0;)
+				if (valueTable[i] == value) return keyTable[i];
+		} else {
+			for (int i = capacity; i-- > 0;)
+				if (value.equals(valueTable[i])) return keyTable[i];
+		}
+		return null;
+	}
+
+	/** Increases the size of the backing array to acommodate the specified number of additional items. Useful before adding many
+	 * items to avoid multiple backing array resizes. */
+	public void ensureCapacity (int additionalCapacity) {
+		int sizeNeeded = size + additionalCapacity;
+		if (sizeNeeded >= threshold) resize(tableSize(sizeNeeded));
+	}
+
+	/** Returns the smallest power of two table size that holds the specified number of items without exceeding the load factor. */
+	private int tableSize (int items) {
+		int tableSize = Math.max(2, MathUtils.nextPowerOfTwo(items));
+		while (tableSize < 1 << 30 && items > (int)(tableSize * loadFactor))
+			tableSize <<= 1;
+		return tableSize;
+	}
+
+	private void setCapacity (int newSize) {
+		capacity = newSize;
+		threshold = (int)(newSize * loadFactor);
+		mask = newSize - 1;
+		shift = Integer.numberOfLeadingZeros(mask);
+	}
+
+	private void resize (int newSize) {
+		int oldCapacity = capacity;
+		setCapacity(newSize);
+
+		K[] oldKeyTable = keyTable;
+		V[] oldValueTable = valueTable;
+
+		keyTable = (K[])new Object[newSize];
+		valueTable = (V[])new Object[newSize];
+
+		if (size > 0) {
+			for (int i = 0; i < oldCapacity; i++) {
+				K key = oldKeyTable[i];
+				if (key != null) putResize(key, oldValueTable[i]);
+			}
+		}
+	}
+
+	public String toString () {
+		if (size == 0) return "{}";
+		StringBuilder buffer = new StringBuilder(32);
+		buffer.append('{');
+		K[] keyTable = this.keyTable;
+		V[] valueTable = this.valueTable;
+		int i = keyTable.length;
+		while (i-- > 0) {
+			K key = keyTable[i];
+			if (key == null) continue;
+			buffer.append(key);
+			buffer.append('=');
+			buffer.append(valueTable[i]);
+			break;
+		}
+		while (i-- > 0) {
+			K key = keyTable[i];
+			if (key == null) continue;
+			buffer.append(", ");
+			buffer.append(key);
+			buffer.append('=');
+			buffer.append(valueTable[i]);
+		}
+		buffer.append('}');
+		return buffer.toString();
+	}
+
+	/** Returns an iterator for the entries in the map. Remove is supported. Note that the same iterator instance is returned each
+	 * time this method is called. Use the {@link Entries} constructor for nested or multithreaded iteration. */
+	public Entries<K, V> entries () {
+		if (entries1 == null) {
+			entries1 = new Entries(this);
+			entries2 = new Entries(this);
+		}
+		if (!entries1.valid) {
+			entries1.reset();
+			entries1.valid = true;
+			entries2.valid = false;
+			return entries1;
+		}
+		entries2.reset();
+		entries2.valid = true;
+		entries1.valid = false;
+		return entries2;
+	}
+
+	/** Returns an iterator for the values in the map. Remove is supported. Note that the same iterator instance is returned each
+	 * time this method is called. Use the {@link Entries} constructor for nested or multithreaded iteration. */
+	public Values<V> values () {
+		if (values1 == null) {
+			values1 = new Values(this);
+			values2 = new Values(this);
+		}
+		if (!values1.valid) {
+			values1.reset();
+			values1.valid = true;
+			values2.valid = false;
+			return values1;
+		}
+		values2.reset();
+		values2.valid = true;
+		values1.valid = false;
+		return values2;
+	}
+
+	/** Returns an iterator for the keys in the map. Remove is supported. Note that the same iterator instance is returned each time
+	 * this method is called. Use the {@link Entries} constructor for nested or multithreaded iteration. */
+	public Keys<K> keys () {
+		if (keys1 == null) {
+			keys1 = new Keys(this);
+			keys2 = new Keys(this);
+		}
+		if (!keys1.valid) {
+			keys1.reset();
+			keys1.valid = true;
+			keys2.valid = false;
+			return keys1;
+		}
+		keys2.reset();
+		keys2.valid = true;
+		keys1.valid = false;
+		return keys2;
+	}
+
+	static public class Entry<K, V> {
+		public K key;
+		public V value;
+
+		public String toString () {
+			return key + "=" + value;
+		}
+	}
+
+	/** Iterates the buckets starting after an empty bucket. No cluster spans the start, so when remove shifts entries back they
+	 * only move to buckets that are visited later, or to the removed bucket, which is then visited again. */
+	static private class MapIterator<K, V> {
+		public boolean hasNext;
+
+		final LinearObjectMap<K, V> map;
+		int start, nextPosition, currentPosition, nextIndex, currentIndex;
+		boolean valid = true;
+
+		public MapIterator (LinearObjectMap<K, V> map) {
+			this.map = map;
+			reset();
+		}
+
+		public void reset () {
+			K[] keyTable = map.keyTable;
+			start = 0;
+			while (keyTable[start] != null)
+				start++;
+			currentIndex = -1;
+			nextPosition = 0;
+			advance();
+		}
+
+		void advance () {
+			hasNext = false;
+			K[] keyTable = map.keyTable;
+			int mask = map.mask;
+			for (int n = map.capacity; ++nextPosition < n;) {
+				nextIndex = start + nextPosition & mask;
+				if (keyTable[nextIndex] != null) {
+					hasNext = true;
+					break;
+				}
+			}
+		}
+
+		void step () {
+			currentIndex = nextIndex;
+			currentPosition = nextPosition;
+			advance();
+		}
+
+		public void remove () {
+			if (currentIndex < 0) throw new IllegalStateException("next must be called before remove.");
+			if (map.removeIndex(currentIndex) != currentIndex) {
+				// An entry was shifted into the removed bucket, visit it.
+				nextPosition = currentPosition - 1;
+				advance();
+			}
+			currentIndex = -1;
+			map.size--;
+		}
+	}
+
+	static public class Entries<K, V> extends MapIterator<K, V> implements Iterable<Entry<K, V>>, Iterator<Entry<K, V>> {
+		Entry<K, V> entry = new Entry();
+
+		public Entries (LinearObjectMap<K, V> map) {
+			super(map);
+		}
+
+		/** Note the same entry instance is returned each time this method is called. */
+		public Entry<K, V> next () {
+			if (!hasNext) throw new NoSuchElementException();
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			entry.key = map.keyTable[nextIndex];
+			entry.value = map.valueTable[nextIndex];
+			step();
+			return entry;
+		}
+
+		public boolean hasNext () {
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			return hasNext;
+		}
+
+		public Iterator<Entry<K, V>> iterator () {
+			return this;
+		}
+	}
+
+	static public class Values<V> extends MapIterator<Object, V> implements Iterable<V>, Iterator<V> {
+		public Values (LinearObjectMap<?, V> map) {
+			super((LinearObjectMap<Object, V>)map);
+		}
+
+		public boolean hasNext () {
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			return hasNext;
+		}
+
+		public V next () {
+			if (!hasNext) throw new NoSuchElementException();
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			V value = map.valueTable[nextIndex];
+			step();
+			return value;
+		}
+
+		public Iterator<V> iterator () {
+			return this;
+		}
+
+		/** Returns a new array containing the remaining values. */
+		public Array<V> toArray () {
+			Array array = new Array(true, map.size);
+			while (hasNext)
+				array.add(next());
+			return array;
+		}
+
+		/** Adds the remaining values to the specified array. */
+		public void toArray (Array<V> array) {
+			while (hasNext)
+				array.add(next());
+		}
+	}
+
+	static public class Keys<K> extends MapIterator<K, Object> implements Iterable<K>, Iterator<K> {
+		public Keys (LinearObjectMap<K, ?> map) {
+			super((LinearObjectMap<K, Object>)map);
+		}
+
+		public boolean hasNext () {
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			return hasNext;
+		}
+
+		public K next () {
+			if (!hasNext) throw new NoSuchElementException();
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			K key = map.keyTable[nextIndex];
+			step();
+			return key;
+		}
+
+		public Iterator<K> iterator () {
+			return this;
+		}
+
+		/** Returns a new array containing the remaining keys. */
+		public Array<K> toArray () {
+			Array array = new Array(true, map.size);
+			while (hasNext)
+				array.add(next());
+			return array;
+		}
+	}
+}
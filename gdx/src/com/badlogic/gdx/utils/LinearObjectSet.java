@@ -0,0 +1,373 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import com.badlogic.gdx.math.MathUtils;
+
+/** An unordered set where the keys are objects, with the same API as {@link ObjectSet}. This implementation uses open addressing
+ * with linear probing and Fibonacci hashing, and removes with backward shifting, so there is no stash and no tombstones. Null
+ * keys are not allowed. No allocation is done except when growing the table size. <br>
+ * <br>
+ * Unlike the cuckoo {@link ObjectSet}, add never has to rehash because of unlucky hash collisions: the table only grows when the
+ * load factor is reached. Lookups of missing keys stop at the first empty bucket, so load factors above 0.9 should be avoided.
+ * @see LinearObjectMap */
+public class LinearObjectSet<T> implements Iterable<T> {
+	public int size;
+
+	T[] keyTable;
+	int capacity;
+
+	private float loadFactor;
+	private int shift, mask, threshold;
+
+	private SetIterator iterator1, iterator2;
+
+	/** Creates a new set with an initial capacity of 32 and a load factor of 0.8. This set will hold 25 items before growing the
+	 * backing table. */
+	public LinearObjectSet () {
+		this(32, 0.8f);
+	}
+
+	/** Creates a new set with a load factor of 0.8. This set will hold initialCapacity * 0.8 items before growing the backing
+	 * table. */
+	public LinearObjectSet (int initialCapacity) {
+		this(initialCapacity, 0.8f);
+	}
+
+	/** Creates a new set with the specified initial capacity and load factor. This set will hold initialCapacity * loadFactor items
+	 * before growing the backing table.
+	 * @param loadFactor Must be > 0 and < 1. */
+	public LinearObjectSet (int initialCapacity, float loadFactor) {
+		if (initialCapacity < 0) throw new IllegalArgumentException("initialCapacity must be >= 0: " + initialCapacity);
+		if (initialCapacity > 1 << 30) throw new IllegalArgumentException("initialCapacity is too large: " + initialCapacity);
+		if (loadFactor <= 0 || loadFactor >= 1) throw new IllegalArgumentException("loadFactor must be > 0 and < 1: " + loadFactor);
+		this.loadFactor = loadFactor;
+
+		setCapacity(Math.max(2, MathUtils.nextPowerOfTwo(initialCapacity)));
+		keyTable = (T[])new Object[capacity];
+	}
+
+	/** Creates a new set identical to the specified set. */
+	public LinearObjectSet (LinearObjectSet set) {
+		this(set.capacity, set.loadFactor);
+		System.arraycopy(set.keyTable, 0, keyTable, 0, set.keyTable.length);
+		size = set.size;
+	}
+
+	/** Returns the bucket where the key is placed when there are no collisions. */
+	int place (Object key) {
+		return key.hashCode() * 0x9E3779B9 >>> shift;
+	}
+
+	/** Returns the index of the key, or -1 if it is not in the set. */
+	int locateKey (Object key) {
+		T[] keyTable = this.keyTable;
+		for (int i = place(key);; i = i + 1 & mask) {
+			T other = keyTable[i];
+			if (other == null) return -1;
+			if (key.equals(other)) return i;
+		}
+	}
+
+	/** Returns true if the key was not already in the set. */
+	public boolean add (T key) {
+		if (key == null) throw new IllegalArgumentException("key cannot be null.");
+		T[] keyTable = this.keyTable;
+		int i = place(key);
+		while (true) {
+			T other = keyTable[i];
+			if (other == null) break;
+			if (key.equals(other)) return false;
+			i = i + 1 & mask;
+		}
+		keyTable[i] = key;
+		if (size++ >= threshold) resize(capacity << 1);
+		return true;
+	}
+
+	public void addAll (Array<? extends T> array) {
+		addAll(array, 0, array.size);
+	}
+
+	public void addAll (Array<? extends T> array, int offset, int length) {
+		if (offset + length > array.size)
+			throw new IllegalArgumentException("offset + length must be <= size: " + offset + " + " + length + " <= " + array.size);
+		addAll((T[])array.items, offset, length);
+	}
+
+	public void addAll (T... array) {
+		addAll(array, 0, array.length);
+	}
+
+	public void addAll (T[] array, int offset, int length) {
+		ensureCapacity(length);
+		for (int i = offset, n = i + length; i < n; i++)
+			add(array[i]);
+	}
+
+	public void addAll (LinearObjectSet<T> set) {
+		ensureCapacity(set.size);
+		T[] keyTable = set.keyTable;
+		for (int i = 0, n = keyTable.length; i < n; i++)
+			if (keyTable[i] != null) add(keyTable[i]);
+	}
+
+	/** Skips checks for existing keys. */
+	private void addResize (T key) {
+		T[] keyTable = this.keyTable;
+		for (int i = place(key);; i = i + 1 & mask) {
+			if (keyTable[i] == null) {
+				keyTable[i] = key;
+				return;
+			}
+		}
+	}
+
+	/** Returns true if the key was removed. */
+	public boolean remove (T key) {
+		int i = locateKey(key);
+		if (i < 0) return false;
+		removeIndex(i);
+		size--;
+		return true;
+	}
+
+	/** Removes the key at the specified index by shifting back the following keys of the cluster that are allowed to move, so
+	 * lookups never need tombstones. The size is not changed.
+	 * @return The index that was left empty, which is not the specified index if a key was moved into it. */
+	int removeIndex (int i) {
+		T[] keyTable = this.keyTable;
+		int mask = this.mask;
+		for (int next = i + 1 & mask;; next = next + 1 & mask) {
+			T key = keyTable[next];
+			if (key == null) break;
+			int placement = place(key);
+			// Move the key if the empty bucket is between its placement and its current bucket.
+			if ((next - placement & mask) > (i - placement & mask)) {
+				keyTable[i] = key;
+				i = next;
+			}
+		}
+		keyTable[i] = null;
+		return i;
+	}
+
+	/** Reduces the size of the backing arrays to be the specified capacity or less. If the capacity is already less, nothing is
+	 * done. If the set contains more items than the specified capacity allows at the load factor, the next highest power of two
+	 * capacity that can hold them is used instead. */
+	public void shrink (int maximumCapacity) {
+		if (maximumCapacity < 0) throw new IllegalArgumentException("maximumCapacity must be >= 0: " + maximumCapacity);
+		int tableSize = Math.max(Math.max(2, MathUtils.nextPowerOfTwo(maximumCapacity)), tableSize(size));
+		if (capacity > tableSize) resize(tableSize);
+	}
+
+	/** Clears the set and reduces the size of the backing arrays to be the specified capacity if they are larger. */
+	public void clear (int maximumCapacity) {
+		int tableSize = Math.max(2, MathUtils.nextPowerOfTwo(maximumCapacity));
+		if (capacity <= tableSize) {
+			clear();
+			return;
+		}
+		size = 0;
+		setCapacity(tableSize);
+		keyTable = (T[])new Object[tableSize];
+	}
+
+	public void clear () {
+		if (size == 0) return;
+		T[] keyTable = this.keyTable;
+		for (int i = capacity; i-- > 0;)
+			keyTable[i] = null;
+		size = 0;
+	}
+
+	public boolean contains (T key) {
+		return locateKey(key) >= 0;
+	}
+
+	public T first () {
+		T[] keyTable = this.keyTable;
+		for (int i = 0, n = capacity; i < n; i++)
+			if (keyTable[i] != null) return keyTable[i];
+		throw new IllegalStateException("LinearObjectSet is empty.");
+	}
+
+	/** Increases the size of the backing array to acommodate the specified number of additional items. Useful before adding many
+	 * items to avoid multiple backing array resizes. */
+	public void ensureCapacity (int additionalCapacity) {
+		int sizeNeeded = size + additionalCapacity;
+		if (sizeNeeded >= threshold) resize(tableSize(sizeNeeded));
+	}
+
+	/** Returns the smallest power of two table size that holds the specified number of items without exceeding the load factor. */
+	private int tableSize (int items) {
+		int tableSize = Math.max(2, MathUtils.nextPowerOfTwo(items));
+		while (tableSize < 1 << 30 && items > (int)(tableSize * loadFactor))
+			tableSize <<= 1;
+		return tableSize;
+	}
+
+	private void setCapacity (int newSize) {
+		capacity = newSize;
+		threshold = (int)(newSize * loadFactor);
+		mask = newSize - 1;
+		shift = Integer.numberOfLeadingZeros(mask);
+	}
+
+	private void resize (int newSize) {
+		int oldCapacity = capacity;
+		setCapacity(newSize);
+
+		T[] oldKeyTable = keyTable;
+		keyTable = (T[])new Object[newSize];
+
+		if (size > 0) {
+			for (int i = 0; i < oldCapacity; i++) {
+				T key = oldKeyTable[i];
+				if (key != null) addResize(key);
+			}
+		}
+	}
+
+	public String toString () {
+		return '{' + toString(", ") + '}';
+	}
+
+	public String toString (String separator) {
+		if (size == 0) return "";
+		StringBuilder buffer = new StringBuilder(32);
+		T[] keyTable = this.keyTable;
+		int i = keyTable.length;
+		while (i-- > 0) {
+			T key = keyTable[i];
+			if (key == null) continue;
+			buffer.append(key);
+			break;
+		}
+		while (i-- > 0) {
+			T key = keyTable[i];
+			if (key == null) continue;
+			buffer.append(separator);
+			buffer.append(key);
+		}
+		return buffer.toString();
+	}
+
+	/** Returns an iterator for the keys in the set. Remove is supported. Note that the same iterator instance is returned each time
+	 * this method is called. Use the {@link SetIterator} constructor for nested or multithreaded iteration. */
+	public SetIterator<T> iterator () {
+		if (iterator1 == null) {
+			iterator1 = new SetIterator(this);
+			iterator2 = new SetIterator(this);
+		}
+		if (!iterator1.valid) {
+			iterator1.reset();
+			iterator1.valid = true;
+			iterator2.valid = false;
+			return iterator1;
+		}
+		iterator2.reset();
+		iterator2.valid = true;
+		iterator1.valid = false;
+		return iterator2;
+	}
+
+	static public <T> LinearObjectSet<T> with (T... array) {
+		LinearObjectSet set = new LinearObjectSet();
+		set.addAll(array);
+		return set;
+	}
+
+	/** Iterates the buckets starting after an empty bucket. No cluster spans the start, so when remove shifts keys back they only
+	 * move to buckets that are visited later, or to the removed bucket, which is then visited again. */
+	static public class SetIterator<K> implements Iterable<K>, Iterator<K> {
+		public boolean hasNext;
+
+		final LinearObjectSet<K> set;
+		int start, nextPosition, currentPosition, nextIndex, currentIndex;
+		boolean valid = true;
+
+		public SetIterator (LinearObjectSet<K> set) {
+			this.set = set;
+			reset();
+		}
+
+		public void reset () {
+			K[] keyTable = set.keyTable;
+			start = 0;
+			while (keyTable[start] != null)
+				start++;
+			currentIndex = -1;
+			nextPosition = 0;
+			findNextIndex();
+		}
+
+		void findNextIndex () {
+			hasNext = false;
+			K[] keyTable = set.keyTable;
+			int mask = set.mask;
+			for (int n = set.capacity; ++nextPosition < n;) {
+				nextIndex = start + nextPosition & mask;
+				if (keyTable[nextIndex] != null) {
+					hasNext = true;
+					break;
+				}
+			}
+		}
+
+		public void remove () {
+			if (currentIndex < 0) throw new IllegalStateException("next must be called before remove.");
+			if (set.removeIndex(currentIndex) != currentIndex) {
+				// A key was shifted into the removed bucket, visit it.
+				nextPosition = currentPosition - 1;
+				findNextIndex();
+			}
+			currentIndex = -1;
+			set.size--;
+		}
+
+		public boolean hasNext () {
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			return hasNext;
+		}
+
+		public K next () {
+			if (!hasNext) throw new NoSuchElementException();
+			if (!valid) throw new GdxRuntimeException("#iterator() cannot be used nested.");
+			K key = set.keyTable[nextIndex];
+			currentIndex = nextIndex;
+			currentPosition = nextPosition;
+			findNextIndex();
+			return key;
+		}
+
+		public Iterator<K> iterator () {
+			return this;
+		}
+
+		/** Returns a new array containing the remaining keys. */
+		public Array<K> toArray () {
+			Array array = new Array(true, set.size);
+			while (hasNext)
+				array.add(next());
+			return array;
+		}
+	}
+}
@@ -25,6 +25,7 @@ abstract public class Pool<T> {
 	public int peak;
 
 	private final Array<T> freeObjects;
+	private int obtained, misses, discarded;
 
 	/** Creates a pool with an initial capacity of 16 and no maximum. */
 	public Pool () {
@@ -47,7 +48,12 @@ abstract public class Pool<T> {
 	/** Returns an object from this pool. The object may be new (from {@link #newObject()}) or reused (previously
 	 * {@link #free(Object) freed}). */
 	public T obtain () {
-		return freeObjects.size == 0 ? newObject() : freeObjects.pop();
+		obtained++;
+		if (freeObjects.size == 0) {
+			misses++;
+			return newObject();
+		}
+		return freeObjects.pop();
 	}
 
 	/** Puts the specified object in the pool, making it eligible to be returned by {@link #obtain()}. If the pool already contains
@@ -57,7 +63,8 @@ abstract public class Pool<T> {
 		if (freeObjects.size < max) {
 			freeObjects.add(object);
 			peak = Math.max(peak, freeObjects.size);
-		}
+		} else
+			discarded++;
 		if (object instanceof Poolable) ((Poolable)object).reset();
 	}
 
@@ -68,7 +75,10 @@ abstract public class Pool<T> {
 		for (int i = 0; i < objects.size; i++) {
 			T object = objects.get(i);
 			if (object == null) continue;
-			if (freeObjects.size < max) freeObjects.add(object);
+			if (freeObjects.size < max)
+				freeObjects.add(object);
+			else
+				discarded++;
 			if (object instanceof Poolable) ((Poolable)object).reset();
 		}
 		peak = Math.max(peak, freeObjects.size);
@@ -84,6 +94,38 @@ abstract public class Pool<T> {
 		return freeObjects.size;
 	}
 
+	/** Returns the number of times an object was obtained since the statistics were last {@link #resetStatistics() reset}. */
+	public int getObtained () {
+		return obtained;
+	}
+
+	/** Returns the number of obtained objects that had to be created with {@link #newObject()} because no free object was
+	 * available. */
+	public int getMisses () {
+		return misses;
+	}
+
+	/** Returns the number of freed objects that were not pooled because the pool already contained {@link #max} free objects. */
+	public int getDiscarded () {
+		return discarded;
+	}
+
+	/** Returns the fraction of obtained objects that were reused rather than created, between 0 and 1. Returns 1 if no objects were
+	 * obtained. A low hit rate for a pool that is used every frame usually means the objects are not being freed. */
+	public float getHitRate () {
+		int obtained = getObtained();
+		if (obtained == 0) return 1;
+		return 1 - getMisses() / (float)obtained;
+	}
+
+	/** Sets the obtained, miss and discard counts and the {@link #peak} to zero. */
+	public void resetStatistics () {
+		obtained = 0;
+		misses = 0;
+		discarded = 0;
+		peak = 0;
+	}
+
 	/** Objects implementing this interface will have {@link #reset()} called when passed to {@link #free(Object)}. */
 	static public interface Poolable {
 		/** Resets the object for reuse. Object references should be nulled and fields may be set to default values. */
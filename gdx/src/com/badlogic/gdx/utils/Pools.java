@@ -19,19 +19,51 @@ package com.badlogic.gdx.utils;
 /** Stores a map of {@link ReflectionPool}s by type for convenient static access.
  * @author Nathan Sweet */
 public class Pools {
-	static private final ObjectMap<Class, ReflectionPool> typePools = new ObjectMap();
+	static private final ObjectMap<Class, Pool> typePools = new ObjectMap();
+
+	/** If true, {@link #get(Class)} creates {@link ThreadLocalPool}s and the map of pools is synchronized, so the methods of this
+	 * class can be used from any thread. Pools created before this is set are not replaced, so it should be set once at startup.
+	 * Code that obtains many objects should keep the pool returned by {@link #get(Class)} rather than look it up each time. */
+	static public boolean threadSafe;
 
 	/** Returns a new or existing pool for the specified type, stored in a a Class to {@link ReflectionPool} map. The max size of
-	 * the pool used is 100. */
+	 * the pool used is 100.
+	 * @see #threadSafe */
 	static public <T> Pool<T> get (Class<T> type) {
-		ReflectionPool pool = typePools.get(type);
+		if (threadSafe) {
+			synchronized (typePools) {
+				return getPool(type);
+			}
+		}
+		return getPool(type);
+	}
+
+	static private <T> Pool<T> getPool (Class<T> type) {
+		Pool pool = typePools.get(type);
 		if (pool == null) {
-			pool = new ReflectionPool(type, 4, 100);
+			if (threadSafe) {
+				final ReflectionPool<T> reflectionPool = new ReflectionPool(type, 0, 0);
+				pool = new ThreadLocalPool<T>(100) {
+					protected T newObject () {
+						return reflectionPool.newObject();
+					}
+				};
+			} else
+				pool = new ReflectionPool(type, 4, 100);
 			typePools.put(type, pool);
 		}
 		return pool;
 	}
 
+	static private Pool getExisting (Class type) {
+		if (threadSafe) {
+			synchronized (typePools) {
+				return typePools.get(type);
+			}
+		}
+		return typePools.get(type);
+	}
+
 	/** Obtains an object from the {@link #get(Class) pool}. */
 	static public <T> T obtain (Class<T> type) {
 		return (T)get(type).obtain();
@@ -40,7 +72,7 @@ public class Pools {
 	/** Frees an object from the {@link #get(Class) pool}. */
 	static public void free (Object object) {
 		if (object == null) throw new IllegalArgumentException("object cannot be null.");
-		ReflectionPool pool = typePools.get(object.getClass());
+		Pool pool = getExisting(object.getClass());
 		if (pool == null) return; // Ignore freeing an object that was never retained.
 		pool.free(object);
 	}
@@ -52,7 +84,7 @@ public class Pools {
 		for (int i = 0, n = objects.size; i < n; i++) {
 			Object object = objects.get(i);
 			if (object == null) continue;
-			ReflectionPool pool = typePools.get(object.getClass());
+			Pool pool = getExisting(object.getClass());
 			if (pool == null) continue; // Ignore freeing an object that was never retained.
 			pool.free(object);
 		}
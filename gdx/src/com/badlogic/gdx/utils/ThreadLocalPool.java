@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+/** A {@link Pool} that can be used from multiple threads at once, where each thread obtains and frees objects without locking
+ * most of the time. Every thread caches free objects in two magazines, fixed size arrays of {@link #magazineSize} objects. Only
+ * when both are full on free, or both are empty on obtain, is a whole magazine exchanged with a shared depot under a lock. Objects
+ * freed by one thread can be obtained by another once their magazine has gone through the depot. <br>
+ * <br>
+ * The depot stores at most {@link #max} free objects, in whole magazines. When the depot is full, a full magazine is discarded.
+ * Each thread may cache up to twice the magazine size of free objects in addition to the depot. The {@link #peak} is the highest
+ * number of free objects in the depot. The statistics are summed over all threads and are approximate while other threads use the
+ * pool.
+ * @see ConcurrentPool */
+abstract public class ThreadLocalPool<T> extends Pool<T> {
+	/** The number of objects that are moved between a thread and the depot at once. */
+	public final int magazineSize;
+
+	private final int maxMagazines;
+	private final Array<Object[]> fullMagazines = new Array(false, 16, Object[].class);
+	private final Array<Object[]> emptyMagazines = new Array(false, 16, Object[].class);
+	// Only the counters are kept for all threads, so the magazines of threads that have died can be garbage collected.
+	private final Array<Counters> counters = new Array(false, 8, Counters.class);
+	private final ThreadLocal<Cache> threadCache = new ThreadLocal<Cache>() {
+		protected Cache initialValue () {
+			Cache cache = new Cache(magazineSize);
+			synchronized (counters) {
+				counters.add(cache.counters);
+			}
+			return cache;
+		}
+	};
+
+	/** Creates a pool with a magazine size of 16 and no maximum. */
+	public ThreadLocalPool () {
+		this(16, Integer.MAX_VALUE);
+	}
+
+	/** Creates a pool with a magazine size of 16.
+	 * @param max The maximum number of free objects to store in the depot. */
+	public ThreadLocalPool (int max) {
+		this(16, max);
+	}
+
+	/** @param magazineSize The number of free objects each thread caches before it exchanges them with the depot.
+	 * @param max The maximum number of free objects to store in the depot. */
+	public ThreadLocalPool (int magazineSize, int max) {
+		super(0, max);
+		if (magazineSize < 1) throw new IllegalArgumentException("magazineSize must be > 0: " + magazineSize);
+		this.magazineSize = magazineSize;
+		maxMagazines = max / magazineSize;
+	}
+
+	public T obtain () {
+		Cache cache = threadCache.get();
+		cache.counters.obtained++;
+		if (cache.loadedSize == 0) {
+			if (cache.previousSize > 0)
+				cache.swap();
+			else {
+				Object[] magazine = null;
+				synchronized (fullMagazines) {
+					if (fullMagazines.size > 0) {
+						magazine = fullMagazines.pop();
+						emptyMagazines.add(cache.previous);
+					}
+				}
+				if (magazine == null) {
+					cache.counters.misses++;
+					return newObject();
+				}
+				cache.previous = cache.loaded;
+				cache.loaded = magazine;
+				cache.loadedSize = magazineSize;
+			}
+		}
+		Object[] loaded = cache.loaded;
+		int index = --cache.loadedSize;
+		T object = (T)loaded[index];
+		loaded[index] = null;
+		return object;
+	}
+
+	public void free (T object) {
+		if (object == null) throw new IllegalArgumentException("object cannot be null.");
+		if (object instanceof Poolable) ((Poolable)object).reset();
+		Cache cache = threadCache.get();
+		if (cache.loadedSize == magazineSize) {
+			if (cache.previousSize == 0)
+				cache.swap();
+			else {
+				// Both magazines are full, move one to the depot.
+				Object[] magazine = null;
+				boolean stored = false;
+				synchronized (fullMagazines) {
+					if (fullMagazines.size < maxMagazines) {
+						fullMagazines.add(cache.previous);
+						peak = Math.max(peak, fullMagazines.size * magazineSize);
+						stored = true;
+						if (emptyMagazines.size > 0) magazine = emptyMagazines.pop();
+					}
+				}
+				if (stored) {
+					if (magazine == null) magazine = new Object[magazineSize];
+				} else {
+					magazine = cache.previous;
+					for (int i = 0; i < magazineSize; i++)
+						magazine[i] = null;
+					cache.counters.discarded += magazineSize;
+				}
+				cache.previous = cache.loaded;
+				cache.previousSize = magazineSize;
+				cache.loaded = magazine;
+				cache.loadedSize = 0;
+			}
+		}
+		cache.loaded[cache.loadedSize++] = object;
+	}
+
+	public void freeAll (Array<T> objects) {
+		if (objects == null) throw new IllegalArgumentException("object cannot be null.");
+		for (int i = 0; i < objects.size; i++) {
+			T object = objects.get(i);
+			if (object != null) free(object);
+		}
+	}
+
+	/** Removes all free objects from the depot and from the magazines of the calling thread. Free objects cached by other threads
+	 * are not removed. */
+	public void clear () {
+		synchronized (fullMagazines) {
+			fullMagazines.clear();
+			emptyMagazines.clear();
+		}
+		Cache cache = threadCache.get();
+		for (int i = 0; i < magazineSize; i++) {
+			cache.loaded[i] = null;
+			cache.previous[i] = null;
+		}
+		cache.loadedSize = 0;
+		cache.previousSize = 0;
+	}
+
+	/** Returns the number of objects available to be obtained by the calling thread: the free objects in the depot and in the
+	 * magazines of the calling thread. */
+	public int getFree () {
+		int free;
+		synchronized (fullMagazines) {
+			free = fullMagazines.size * magazineSize;
+		}
+		Cache cache = threadCache.get();
+		return free + cache.loadedSize + cache.previousSize;
+	}
+
+	public int getObtained () {
+		int obtained = 0;
+		synchronized (counters) {
+			for (int i = 0, n = counters.size; i < n; i++)
+				obtained += counters.get(i).obtained;
+		}
+		return obtained;
+	}
+
+	public int getMisses () {
+		int misses = 0;
+		synchronized (counters) {
+			for (int i = 0, n = counters.size; i < n; i++)
+				misses += counters.get(i).misses;
+		}
+		return misses;
+	}
+
+	public int getDiscarded () {
+		int discarded = 0;
+		synchronized (counters) {
+			for (int i = 0, n = counters.size; i < n; i++)
+				discarded += counters.get(i).discarded;
+		}
+		return discarded;
+	}
+
+	public void resetStatistics () {
+		synchronized (counters) {
+			for (int i = 0, n = counters.size; i < n; i++) {
+				Counters threadCounters = counters.get(i);
+				threadCounters.obtained = 0;
+				threadCounters.misses = 0;
+				threadCounters.discarded = 0;
+			}
+		}
+		synchronized (fullMagazines) {
+			peak = 0;
+		}
+	}
+
+	/** The magazines of one thread. Only the owning thread changes the magazines. */
+	static private class Cache {
+		Object[] loaded, previous;
+		int loadedSize, previousSize;
+		final Counters counters = new Counters();
+
+		Cache (int magazineSize) {
+			loaded = new Object[magazineSize];
+			previous = new Object[magazineSize];
+		}
+
+		void swap () {
+			Object[] magazine = loaded;
+			loaded = previous;
+			previous = magazine;
+			int size = loadedSize;
+			loadedSize = previousSize;
+			previousSize = size;
+		}
+	}
+
+	static private class Counters {
+		int obtained, misses, discarded;
+	}
+}
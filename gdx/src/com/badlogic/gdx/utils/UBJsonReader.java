@@ -19,6 +19,7 @@ import java.io.DataInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.ByteBuffer;
 
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
@@ -60,6 +61,12 @@ public class UBJsonReader implements BaseJsonReader {
 		}
 	}
 	
+	/** Parses the UBJSON between the buffer's position and limit, eg a file mapped with {@link FileHandle#map()}, without copying
+	 * it to the Java heap. */
+	public JsonValue parse (ByteBuffer buffer) {
+		return parse(new ByteBufferInputStream(buffer));
+	}
+
 	public JsonValue parse(final DataInputStream din) throws IOException {
 		try {
 			return parse(din, din.readByte());
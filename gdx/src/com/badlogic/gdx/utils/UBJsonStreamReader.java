@@ -0,0 +1,243 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.utils;
+
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+
+import com.badlogic.gdx.files.FileHandle;
+
+/** Reads UBJSON as a stream of tokens, see {@link BaseJsonStreamReader}. Accepts the same UBJSON as {@link UBJsonReader}, the
+ * values of strongly typed arrays, eg the float arrays written by {@link UBJsonWriter#set(String, float[])}, are read one at a
+ * time. <br>
+ * <br>
+ * For best performance you should provide buffered streams. */
+public class UBJsonStreamReader extends BaseJsonStreamReader {
+	/** Whether to read the old format, see {@link UBJsonReader#oldFormat}. */
+	public boolean oldFormat = true;
+
+	private final DataInputStream input;
+	private boolean started;
+	private boolean hasPeeked;
+	private byte peeked;
+
+	/** For each started object or array, whether it is an object. */
+	private boolean[] objects = new boolean[16];
+	/** For each started object or array, the number of values left to read, -1 if it ends with a marker. */
+	private long[] remaining = new long[16];
+	/** For each started object or array, the type of all its values, 0 if each value has its own type. */
+	private byte[] valueTypes = new byte[16];
+
+	public UBJsonStreamReader (InputStream input) {
+		this.input = input instanceof DataInputStream ? (DataInputStream)input : new DataInputStream(input);
+	}
+
+	public UBJsonStreamReader (FileHandle file) {
+		this(file.read(8192));
+	}
+
+	/** Reads the UBJSON between the buffer's position and limit, eg a file mapped with {@link FileHandle#map()}. */
+	public UBJsonStreamReader (ByteBuffer buffer) {
+		this(new ByteBufferInputStream(buffer));
+	}
+
+	public Token next () {
+		try {
+			return token = nextToken();
+		} catch (IOException ex) {
+			throw new SerializationException(ex);
+		}
+	}
+
+	private Token nextToken () throws IOException {
+		name = null;
+		if (depth == 0) {
+			if (started) return Token.end;
+			started = true;
+			int type = input.read();
+			if (type == -1) return Token.end;
+			return value((byte)type);
+		}
+
+		int level = depth - 1;
+		if (remaining[level] == 0) return pop(level);
+		if (remaining[level] > 0) remaining[level]--;
+		byte valueType = valueTypes[level];
+		if (objects[level]) {
+			byte type = readByte();
+			if (type == '}' && remaining[level] < 0) return pop(level);
+			name = parseString(true, type);
+			return value(valueType != 0 ? valueType : readByte());
+		}
+		byte type = valueType != 0 ? valueType : readByte();
+		if (type == ']' && remaining[level] < 0) return pop(level);
+		return value(type);
+	}
+
+	private Token pop (int level) {
+		depth--;
+		return objects[level] ? Token.endObject : Token.endArray;
+	}
+
+	private Token value (byte type) throws IOException {
+		switch (type) {
+		case '{':
+			return push(true);
+		case '[':
+			return push(false);
+		case 'Z':
+			value.set((String)null);
+			return Token.nullValue;
+		case 'T':
+			value.set(true);
+			return Token.booleanValue;
+		case 'F':
+			value.set(false);
+			return Token.booleanValue;
+		case 'B':
+		case 'U':
+			value.set((long)readUChar());
+			return Token.longValue;
+		case 'i':
+			value.set(oldFormat ? (long)input.readShort() : (long)input.readByte());
+			return Token.longValue;
+		case 'I':
+			value.set(oldFormat ? (long)input.readInt() : (long)input.readShort());
+			return Token.longValue;
+		case 'l':
+			value.set((long)input.readInt());
+			return Token.longValue;
+		case 'L':
+			value.set(input.readLong());
+			return Token.longValue;
+		case 'd':
+			value.set(input.readFloat());
+			return Token.doubleValue;
+		case 'D':
+			value.set(input.readDouble());
+			return Token.doubleValue;
+		case 's':
+		case 'S':
+			value.set(parseString(false, type));
+			return Token.stringValue;
+		case 'a':
+		case 'A': {
+			// A block of values of one type, see UBJsonReader#parseData.
+			byte dataType = readByte();
+			long size = type == 'A' ? readUInt() : (long)readUChar();
+			push(false, size, dataType);
+			return Token.startArray;
+		}
+		}
+		throw new GdxRuntimeException("Unrecognized data type");
+	}
+
+	/** Reads the optional type and count after the start of an object or array. */
+	private Token push (boolean object) throws IOException {
+		byte valueType = 0;
+		long size = -1;
+		byte type = readByte();
+		if (type == '$') {
+			valueType = readByte();
+			type = readByte();
+			if (type != '#') throw new GdxRuntimeException("Unrecognized data type, count expected");
+		}
+		if (type == '#') {
+			size = parseSize(false, -1);
+			if (size < 0) throw new GdxRuntimeException("Unrecognized data type");
+		} else {
+			hasPeeked = true;
+			peeked = type;
+		}
+		push(object, size, valueType);
+		return object ? Token.startObject : Token.startArray;
+	}
+
+	private void push (boolean object, long size, byte valueType) {
+		if (depth == objects.length) {
+			int newSize = depth * 2;
+			boolean[] newObjects = new boolean[newSize];
+			System.arraycopy(objects, 0, newObjects, 0, depth);
+			objects = newObjects;
+			long[] newRemaining = new long[newSize];
+			System.arraycopy(remaining, 0, newRemaining, 0, depth);
+			remaining = newRemaining;
+			byte[] newValueTypes = new byte[newSize];
+			System.arraycopy(valueTypes, 0, newValueTypes, 0, depth);
+			valueTypes = newValueTypes;
+		}
+		objects[depth] = object;
+		remaining[depth] = size;
+		valueTypes[depth] = valueType;
+		depth++;
+	}
+
+	private String parseString (boolean sOptional, byte type) throws IOException {
+		long size = -1;
+		if (type == 'S')
+			size = parseSize(true, -1);
+		else if (type == 's')
+			size = (long)readUChar();
+		else if (sOptional) size = parseSize(type, false, -1);
+		if (size < 0) throw new GdxRuntimeException("Unrecognized data type, string expected");
+		if (size == 0) return "";
+		byte[] data = new byte[(int)size];
+		input.readFully(data);
+		return new String(data, "UTF-8");
+	}
+
+	private long parseSize (boolean useIntOnError, long defaultValue) throws IOException {
+		return parseSize(readByte(), useIntOnError, defaultValue);
+	}
+
+	private long parseSize (byte type, boolean useIntOnError, long defaultValue) throws IOException {
+		if (type == 'i') return (long)readUChar();
+		if (type == 'I') return (long)(input.readShort() & 0xFFFF);
+		if (type == 'l') return readUInt();
+		if (type == 'L') return input.readLong();
+		if (useIntOnError) {
+			long result = (long)((short)type & 0xFF) << 24;
+			result |= (long)((short)input.readByte() & 0xFF) << 16;
+			result |= (long)((short)input.readByte() & 0xFF) << 8;
+			result |= (long)((short)input.readByte() & 0xFF);
+			return result;
+		}
+		return defaultValue;
+	}
+
+	private byte readByte () throws IOException {
+		if (hasPeeked) {
+			hasPeeked = false;
+			return peeked;
+		}
+		return input.readByte();
+	}
+
+	private short readUChar () throws IOException {
+		return (short)(readByte() & 0xFF);
+	}
+
+	private long readUInt () throws IOException {
+		return input.readInt() & 0xFFFFFFFFL;
+	}
+
+	public void close () {
+		StreamUtils.closeQuietly(input);
+	}
+}
@@ -142,4 +142,158 @@ public final class Field {
 		}
 	}
 
+	/** Returns the value of a boolean field on the supplied object, without boxing it. */
+	public boolean getBoolean (Object obj) throws ReflectionException {
+		try {
+			return field.getBoolean(obj);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Object is not an instance of " + getDeclaringClass(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Sets the value of a boolean field on the supplied object, without boxing it. */
+	public void setBoolean (Object obj, boolean value) throws ReflectionException {
+		try {
+			field.setBoolean(obj, value);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Argument not valid for field: " + getName(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Returns the value of a byte field on the supplied object, without boxing it. */
+	public byte getByte (Object obj) throws ReflectionException {
+		try {
+			return field.getByte(obj);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Object is not an instance of " + getDeclaringClass(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Sets the value of a byte field on the supplied object, without boxing it. */
+	public void setByte (Object obj, byte value) throws ReflectionException {
+		try {
+			field.setByte(obj, value);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Argument not valid for field: " + getName(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Returns the value of a short field on the supplied object, without boxing it. */
+	public short getShort (Object obj) throws ReflectionException {
+		try {
+			return field.getShort(obj);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Object is not an instance of " + getDeclaringClass(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Sets the value of a short field on the supplied object, without boxing it. */
+	public void setShort (Object obj, short value) throws ReflectionException {
+		try {
+			field.setShort(obj, value);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Argument not valid for field: " + getName(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Returns the value of a int field on the supplied object, without boxing it. */
+	public int getInt (Object obj) throws ReflectionException {
+		try {
+			return field.getInt(obj);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Object is not an instance of " + getDeclaringClass(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Sets the value of a int field on the supplied object, without boxing it. */
+	public void setInt (Object obj, int value) throws ReflectionException {
+		try {
+			field.setInt(obj, value);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Argument not valid for field: " + getName(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Returns the value of a long field on the supplied object, without boxing it. */
+	public long getLong (Object obj) throws ReflectionException {
+		try {
+			return field.getLong(obj);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Object is not an instance of " + getDeclaringClass(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Sets the value of a long field on the supplied object, without boxing it. */
+	public void setLong (Object obj, long value) throws ReflectionException {
+		try {
+			field.setLong(obj, value);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Argument not valid for field: " + getName(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Returns the value of a float field on the supplied object, without boxing it. */
+	public float getFloat (Object obj) throws ReflectionException {
+		try {
+			return field.getFloat(obj);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Object is not an instance of " + getDeclaringClass(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Sets the value of a float field on the supplied object, without boxing it. */
+	public void setFloat (Object obj, float value) throws ReflectionException {
+		try {
+			field.setFloat(obj, value);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Argument not valid for field: " + getName(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Returns the value of a double field on the supplied object, without boxing it. */
+	public double getDouble (Object obj) throws ReflectionException {
+		try {
+			return field.getDouble(obj);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Object is not an instance of " + getDeclaringClass(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
+	/** Sets the value of a double field on the supplied object, without boxing it. */
+	public void setDouble (Object obj, double value) throws ReflectionException {
+		try {
+			field.setDouble(obj, value);
+		} catch (IllegalArgumentException e) {
+			throw new ReflectionException("Argument not valid for field: " + getName(), e);
+		} catch (IllegalAccessException e) {
+			throw new ReflectionException("Illegal access to field: " + getName(), e);
+		}
+	}
+
 }
\ No newline at end of file
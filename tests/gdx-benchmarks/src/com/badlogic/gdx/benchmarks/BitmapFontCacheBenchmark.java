@@ -0,0 +1,171 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.Files.FileType;
+import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.BitmapFontData;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.TextBounds;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.GlyphLayoutCache;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.utils.FloatArray;
+import com.badlogic.gdx.utils.StringBuilder;
+
+/** Measures setting the text of a {@link BitmapFontCache}: a counter which changes every frame, laid out from scratch or
+ * incrementally, and a few texts which are shown again and again, laid out from scratch or copied from a
+ * {@link GlyphLayoutCache}. Runs against the no-op GL of {@link MockGL}. The setup verifies that incremental and cached layouts
+ * have the same vertices and bounds as layouts computed from scratch. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BitmapFontCacheBenchmark {
+	static final String[] texts = {"Health: 100 / 100", "Press any key to continue", "Inventory is full", "Quest completed!",
+		"The door is locked.", "You found a golden key", "Level up! Strength +1", "Not enough mana"};
+
+	Texture texture;
+	BitmapFont font;
+	BitmapFontCache cache, layoutCached;
+	StringBuilder counter = new StringBuilder();
+	int frame, text;
+
+	@Setup
+	public void setup () {
+		MockGL.install();
+		texture = MockGL.newTexture(256, 256);
+		FileHandle fontFile = new FileHandle("com/badlogic/gdx/utils/arial-15.fnt", FileType.Classpath) {
+		};
+		font = new BitmapFont(new BitmapFontData(fontFile, false), new TextureRegion(texture), true);
+		cache = new BitmapFontCache(font);
+		layoutCached = new BitmapFontCache(font);
+		layoutCached.setLayoutCache(new GlyphLayoutCache());
+		verify(font);
+	}
+
+	/** Sets a sequence of texts which share prefixes of different lengths, grow and shrink, and compares the glyphs of each text
+	 * laid out incrementally and copied from a layout cache to the glyphs laid out from scratch. */
+	static void verify (BitmapFont font) {
+		BitmapFontCache full = new BitmapFontCache(font), incremental = new BitmapFontCache(font);
+		BitmapFontCache cached = new BitmapFontCache(font);
+		cached.setLayoutCache(new GlyphLayoutCache(4));
+		VertexCapture expected = new VertexCapture(), actual = new VertexCapture();
+		for (int i = 0; i < 600; i++) {
+			String str;
+			switch (i % 4) {
+			case 0:
+				str = "Score: " + (990 + i * 7);
+				break;
+			case 1:
+				str = "Score: " + i;
+				break;
+			case 2:
+				str = texts[i % texts.length].substring(0, i % 15);
+				break;
+			default:
+				str = texts[i % texts.length];
+			}
+			boolean multiLine = i % 300 >= 150;
+			if (multiLine) str = str.replace(' ', '\n');
+
+			full.clear();
+			TextBounds bounds = multiLine ? full.addMultiLineText(str, 10, 20) : full.addText(str, 10, 20);
+			float width = bounds.width, height = bounds.height;
+			expected.capture(full);
+
+			bounds = multiLine ? incremental.setMultiLineText(str, 10, 20) : incremental.setText(str, 10, 20);
+			actual.capture(incremental);
+			if (bounds.width != width || bounds.height != height || !actual.vertices.equals(expected.vertices))
+				throw new IllegalStateException("Wrong incremental layout for \"" + str + "\" after " + i + " texts.");
+
+			bounds = multiLine ? cached.setMultiLineText(str, 10, 20) : cached.setText(str, 10, 20);
+			actual.capture(cached);
+			if (bounds.width != width || bounds.height != height || !actual.vertices.equals(expected.vertices))
+				throw new IllegalStateException("Wrong cached layout for \"" + str + "\" after " + i + " texts.");
+		}
+	}
+
+	@TearDown
+	public void dispose () {
+		texture.dispose();
+	}
+
+	private StringBuilder nextCounter () {
+		counter.setLength(0);
+		counter.append("Score: ").append(1000000 + frame++);
+		return counter;
+	}
+
+	/** Collects the vertices a {@link BitmapFontCache} draws, without drawing them. */
+	static class VertexCapture extends SpriteBatch {
+		final FloatArray vertices = new FloatArray();
+
+		VertexCapture () {
+			super(1);
+		}
+
+		void capture (BitmapFontCache cache) {
+			vertices.clear();
+			cache.draw(this);
+		}
+
+		public void draw (Texture texture, float[] spriteVertices, int offset, int count) {
+			vertices.addAll(spriteVertices, offset, count);
+		}
+	}
+
+	@Benchmark
+	public float counterFull () {
+		cache.clear();
+		return cache.addText(nextCounter(), 10, 10).width;
+	}
+
+	@Benchmark
+	public float counterIncremental () {
+		return cache.setText(nextCounter(), 10, 10).width;
+	}
+
+	@Benchmark
+	public float textsFull () {
+		cache.clear();
+		return cache.addText(texts[text++ & 7], 10, 10).width;
+	}
+
+	@Benchmark
+	public float textsCached () {
+		return layoutCached.setText(texts[text++ & 7], 10, 10).width;
+	}
+}
@@ -0,0 +1,257 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.math.Frustum;
+import com.badlogic.gdx.math.Intersector;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.math.collision.BoundingBoxTree;
+import com.badlogic.gdx.math.collision.Ray;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+/** Compares the queries of {@link BoundingBoxTree} to testing every box, for boxes of 0.2 to 10 units scattered in a cube of 1000
+ * units. Each invocation does one query with the next of 64 random frustums, rays or boxes. The "tree" benchmarks use the tree
+ * as built by adding the boxes one by one, "rebuilt" after {@link BoundingBoxTree#rebuild()}. Setup checks that both trees find
+ * the same boxes as testing every box for all queries. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class BoundingBoxTreeBenchmark {
+	@Param({"1000", "10000", "100000"}) public int count;
+
+	BoundingBox[] boxes;
+	Integer[] userObjects;
+	BoundingBoxTree<Integer> tree, rebuiltTree;
+	Frustum[] frustums = new Frustum[64];
+	Ray[] rays = new Ray[64];
+	BoundingBox[] queryBoxes = new BoundingBox[64];
+	Array<Integer> out = new Array<Integer>();
+	Vector3 intersection = new Vector3();
+	int query;
+
+	@Setup
+	public void setup () {
+		GdxNativesLoader.load();
+		MathUtils.random.setSeed(1234);
+		boxes = new BoundingBox[count];
+		userObjects = new Integer[count];
+		tree = new BoundingBoxTree<Integer>(0);
+		rebuiltTree = new BoundingBoxTree<Integer>(0);
+		for (int i = 0; i < count; i++) {
+			boxes[i] = randomBox(0.1f, 5);
+			userObjects[i] = i;
+			tree.add(boxes[i], userObjects[i]);
+			rebuiltTree.add(boxes[i], userObjects[i]);
+		}
+		rebuiltTree.rebuild();
+
+		for (int i = 0; i < 64; i++) {
+			PerspectiveCamera camera = new PerspectiveCamera(67, 800, 480);
+			camera.position.set(randomVector(500));
+			camera.direction.set(randomVector(1)).nor();
+			camera.near = 1;
+			camera.far = 300;
+			camera.update();
+			frustums[i] = camera.frustum;
+			rays[i] = new Ray(randomVector(500), randomVector(1));
+			queryBoxes[i] = randomBox(5, 25);
+		}
+		verify();
+	}
+
+	/** Throws if a query of either tree finds other boxes than testing every box, or a ray cast finds a box at another distance. */
+	private void verify () {
+		Array<Integer> expected = new Array<Integer>();
+		for (int i = 0; i < 64; i++) {
+			query = i;
+			frustumBruteForce();
+			expected.clear();
+			expected.addAll(out);
+			query = i;
+			frustumTree();
+			check(expected, "frustum", i);
+			query = i;
+			frustumRebuilt();
+			check(expected, "rebuilt frustum", i);
+
+			query = i;
+			rayCastAllBruteForce();
+			expected.clear();
+			expected.addAll(out);
+			query = i;
+			rayCastAllTree();
+			check(expected, "ray", i);
+			out.clear();
+			rebuiltTree.rayCastAll(rays[i], out);
+			check(expected, "rebuilt ray", i);
+
+			query = i;
+			Integer nearest = rayCastBruteForce();
+			float distance = 0;
+			if (nearest != null) {
+				Intersector.intersectRayBounds(rays[i], boxes[nearest], intersection);
+				distance = rays[i].origin.dst(intersection);
+			}
+			query = i;
+			checkNearest(nearest, rayCastTree(), distance, "ray cast", i);
+			query = i;
+			checkNearest(nearest, rayCastRebuilt(), distance, "rebuilt ray cast", i);
+
+			query = i;
+			overlapBruteForce();
+			expected.clear();
+			expected.addAll(out);
+			query = i;
+			overlapTree();
+			check(expected, "overlap", i);
+			out.clear();
+			rebuiltTree.query(queryBoxes[i], out);
+			check(expected, "rebuilt overlap", i);
+		}
+		query = 0;
+	}
+
+	private void check (Array<Integer> expected, String name, int index) {
+		expected.sort();
+		out.sort();
+		if (!out.equals(expected))
+			throw new IllegalStateException(name + " query " + index + " found " + out.size + " boxes, expected " + expected.size);
+	}
+
+	private void checkNearest (Integer expected, Integer nearest, float distance, String name, int index) {
+		if (expected == null) {
+			if (nearest != null) throw new IllegalStateException(name + " " + index + " found a box, expected none");
+			return;
+		}
+		// Boxes at the same distance may be found in any order.
+		if (nearest == null || Math.abs(rays[index].origin.dst(intersection) - distance) > 0.001f * Math.max(1, distance))
+			throw new IllegalStateException(name + " " + index + " found " + nearest + ", expected " + expected);
+	}
+
+	private Vector3 randomVector (float range) {
+		return new Vector3(MathUtils.random(-range, range), MathUtils.random(-range, range), MathUtils.random(-range, range));
+	}
+
+	private BoundingBox randomBox (float minHalfSize, float maxHalfSize) {
+		Vector3 center = randomVector(500);
+		Vector3 halfSize = new Vector3(MathUtils.random(minHalfSize, maxHalfSize), MathUtils.random(minHalfSize, maxHalfSize),
+			MathUtils.random(minHalfSize, maxHalfSize));
+		return new BoundingBox(center.cpy().sub(halfSize), center.cpy().add(halfSize));
+	}
+
+	@Benchmark
+	public int frustumBruteForce () {
+		Frustum frustum = frustums[query++ & 63];
+		out.clear();
+		for (int i = 0; i < count; i++)
+			if (frustum.boundsInFrustum(boxes[i])) out.add(userObjects[i]);
+		return out.size;
+	}
+
+	@Benchmark
+	public int frustumTree () {
+		out.clear();
+		tree.query(frustums[query++ & 63], out);
+		return out.size;
+	}
+
+	@Benchmark
+	public int frustumRebuilt () {
+		out.clear();
+		rebuiltTree.query(frustums[query++ & 63], out);
+		return out.size;
+	}
+
+	@Benchmark
+	public Integer rayCastBruteForce () {
+		Ray ray = rays[query++ & 63];
+		Integer nearest = null;
+		float nearestDistance = Float.POSITIVE_INFINITY;
+		for (int i = 0; i < count; i++) {
+			if (!Intersector.intersectRayBounds(ray, boxes[i], intersection)) continue;
+			float distance = ray.origin.dst2(intersection);
+			if (distance < nearestDistance) {
+				nearestDistance = distance;
+				nearest = userObjects[i];
+			}
+		}
+		return nearest;
+	}
+
+	@Benchmark
+	public Integer rayCastTree () {
+		return tree.rayCast(rays[query++ & 63], intersection);
+	}
+
+	@Benchmark
+	public Integer rayCastRebuilt () {
+		return rebuiltTree.rayCast(rays[query++ & 63], intersection);
+	}
+
+	@Benchmark
+	public int rayCastAllBruteForce () {
+		Ray ray = rays[query++ & 63];
+		out.clear();
+		for (int i = 0; i < count; i++)
+			if (Intersector.intersectRayBoundsFast(ray, boxes[i])) out.add(userObjects[i]);
+		return out.size;
+	}
+
+	@Benchmark
+	public int rayCastAllTree () {
+		out.clear();
+		tree.rayCastAll(rays[query++ & 63], out);
+		return out.size;
+	}
+
+	@Benchmark
+	public int overlapBruteForce () {
+		BoundingBox box = queryBoxes[query++ & 63];
+		out.clear();
+		for (int i = 0; i < count; i++)
+			if (box.intersects(boxes[i])) out.add(userObjects[i]);
+		return out.size;
+	}
+
+	@Benchmark
+	public int overlapTree () {
+		out.clear();
+		tree.query(queryBoxes[query++ & 63], out);
+		return out.size;
+	}
+}
@@ -0,0 +1,192 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import com.badlogic.gdx.utils.ObjectSet;
+
+/** Benchmarks put/get/remove of the cuckoo hashed {@link ObjectMap}, {@link IntMap} and {@link ObjectSet}. The "clustered" key
+ * distribution uses multiples of a power of two, which collide in all three hash functions far more often than random keys
+ * and so exercises the stash and push paths. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class CollectionsBenchmark {
+	@Param({"1000", "100000"}) public int size;
+	@Param({"random", "sequential", "clustered"}) public String keys;
+
+	int[] intKeys;
+	Integer[] objectKeys;
+	Integer[] missingKeys;
+	ObjectMap<Integer, Integer> objectMap;
+	IntMap<Integer> intMap;
+	ObjectSet<Integer> objectSet;
+
+	@Setup
+	public void setup () {
+		MathUtils.random.setSeed(1234);
+		intKeys = new int[size];
+		objectKeys = new Integer[size];
+		missingKeys = new Integer[size];
+		IntMap<Boolean> used = new IntMap<Boolean>(size * 2);
+		for (int i = 0; i < size;) {
+			int key = nextKey(i);
+			if (key == 0 || used.containsKey(key)) continue; // IntMap stores 0 specially, keep the distributions comparable.
+			used.put(key, Boolean.TRUE);
+			intKeys[i] = key;
+			objectKeys[i] = key;
+			i++;
+		}
+		for (int i = 0; i < size;) {
+			int key = MathUtils.random(Integer.MAX_VALUE - 1);
+			if (used.containsKey(key)) continue;
+			missingKeys[i++] = key;
+		}
+
+		objectMap = new ObjectMap<Integer, Integer>();
+		intMap = new IntMap<Integer>();
+		objectSet = new ObjectSet<Integer>();
+		for (int i = 0; i < size; i++) {
+			objectMap.put(objectKeys[i], objectKeys[i]);
+			intMap.put(intKeys[i], objectKeys[i]);
+			objectSet.add(objectKeys[i]);
+		}
+	}
+
+	private int nextKey (int index) {
+		if (keys.equals("sequential")) return index + 1;
+		if (keys.equals("clustered")) return (index + 1) << 12;
+		return MathUtils.random(Integer.MAX_VALUE - 1);
+	}
+
+	@Benchmark
+	public ObjectMap<Integer, Integer> objectMapPut () {
+		ObjectMap<Integer, Integer> map = new ObjectMap<Integer, Integer>();
+		Integer[] keys = objectKeys;
+		for (int i = 0, n = keys.length; i < n; i++)
+			map.put(keys[i], keys[i]);
+		return map;
+	}
+
+	@Benchmark
+	public void objectMapGet (Blackhole bh) {
+		ObjectMap<Integer, Integer> map = objectMap;
+		Integer[] keys = objectKeys;
+		for (int i = 0, n = keys.length; i < n; i++)
+			bh.consume(map.get(keys[i]));
+	}
+
+	@Benchmark
+	public void objectMapGetMissing (Blackhole bh) {
+		ObjectMap<Integer, Integer> map = objectMap;
+		Integer[] keys = missingKeys;
+		for (int i = 0, n = keys.length; i < n; i++)
+			bh.consume(map.containsKey(keys[i]));
+	}
+
+	@Benchmark
+	public ObjectMap<Integer, Integer> objectMapRemove () {
+		ObjectMap<Integer, Integer> map = new ObjectMap<Integer, Integer>(objectMap);
+		Integer[] keys = objectKeys;
+		for (int i = 0, n = keys.length; i < n; i++)
+			map.remove(keys[i]);
+		return map;
+	}
+
+	@Benchmark
+	public IntMap<Integer> intMapPut () {
+		IntMap<Integer> map = new IntMap<Integer>();
+		int[] keys = intKeys;
+		Integer[] values = objectKeys;
+		for (int i = 0, n = keys.length; i < n; i++)
+			map.put(keys[i], values[i]);
+		return map;
+	}
+
+	@Benchmark
+	public void intMapGet (Blackhole bh) {
+		IntMap<Integer> map = intMap;
+		int[] keys = intKeys;
+		for (int i = 0, n = keys.length; i < n; i++)
+			bh.consume(map.get(keys[i]));
+	}
+
+	@Benchmark
+	public void intMapGetMissing (Blackhole bh) {
+		IntMap<Integer> map = intMap;
+		Integer[] keys = missingKeys;
+		for (int i = 0, n = keys.length; i < n; i++)
+			bh.consume(map.containsKey(keys[i]));
+	}
+
+	@Benchmark
+	public IntMap<Integer> intMapPutRemove () {
+		IntMap<Integer> map = new IntMap<Integer>();
+		int[] keys = intKeys;
+		Integer[] values = objectKeys;
+		for (int i = 0, n = keys.length; i < n; i++)
+			map.put(keys[i], values[i]);
+		for (int i = 0, n = keys.length; i < n; i++)
+			map.remove(keys[i]);
+		return map;
+	}
+
+	@Benchmark
+	public ObjectSet<Integer> objectSetAdd () {
+		ObjectSet<Integer> set = new ObjectSet<Integer>();
+		Integer[] keys = objectKeys;
+		for (int i = 0, n = keys.length; i < n; i++)
+			set.add(keys[i]);
+		return set;
+	}
+
+	@Benchmark
+	public void objectSetContains (Blackhole bh) {
+		ObjectSet<Integer> set = objectSet;
+		Integer[] keys = objectKeys;
+		for (int i = 0, n = keys.length; i < n; i++)
+			bh.consume(set.contains(keys[i]));
+	}
+
+	@Benchmark
+	public void objectSetContainsMissing (Blackhole bh) {
+		ObjectSet<Integer> set = objectSet;
+		Integer[] keys = missingKeys;
+		for (int i = 0, n = keys.length; i < n; i++)
+			bh.consume(set.contains(keys[i]));
+	}
+}
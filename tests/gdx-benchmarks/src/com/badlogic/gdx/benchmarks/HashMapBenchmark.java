@@ -0,0 +1,377 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.lang.reflect.Array;
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.IntIntMap;
+import com.badlogic.gdx.utils.IntMap;
+import com.badlogic.gdx.utils.LinearIntIntMap;
+import com.badlogic.gdx.utils.LinearIntMap;
+import com.badlogic.gdx.utils.LinearLongMap;
+import com.badlogic.gdx.utils.LinearObjectMap;
+import com.badlogic.gdx.utils.LongMap;
+import com.badlogic.gdx.utils.ObjectMap;
+
+/** Compares put/get/remove of the cuckoo {@link IntMap}, {@link IntIntMap}, {@link LongMap} and {@link ObjectMap} with the linear
+ * probing {@link LinearIntMap}, {@link LinearIntIntMap}, {@link LinearLongMap} and {@link LinearObjectMap}, for entity ID like
+ * keys. The long maps use the same keys widened to long. Run {@link #main(String[])} to print the table memory per entry. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class HashMapBenchmark {
+	@Param({"1000", "100000", "1000000"}) public int size;
+	@Param({"random", "sequential", "clustered"}) public String keys;
+
+	int[] intKeys;
+	long[] longKeys;
+	Integer[] objectKeys;
+	IntMap<Integer> intMap;
+	LinearIntMap<Integer> linearIntMap;
+	IntIntMap intIntMap;
+	LinearIntIntMap linearIntIntMap;
+	LongMap<Integer> longMap;
+	LinearLongMap<Integer> linearLongMap;
+	ObjectMap<Integer, Integer> objectMap;
+	LinearObjectMap<Integer, Integer> linearObjectMap;
+
+	@Setup
+	public void setup () {
+		intKeys = keys(size, keys);
+		longKeys = new long[size];
+		objectKeys = new Integer[size];
+		intMap = new IntMap<Integer>();
+		linearIntMap = new LinearIntMap<Integer>();
+		intIntMap = new IntIntMap();
+		linearIntIntMap = new LinearIntIntMap();
+		longMap = new LongMap<Integer>();
+		linearLongMap = new LinearLongMap<Integer>();
+		objectMap = new ObjectMap<Integer, Integer>();
+		linearObjectMap = new LinearObjectMap<Integer, Integer>();
+		for (int i = 0; i < size; i++) {
+			Integer key = objectKeys[i] = intKeys[i];
+			longKeys[i] = intKeys[i];
+			intMap.put(intKeys[i], key);
+			linearIntMap.put(intKeys[i], key);
+			intIntMap.put(intKeys[i], i);
+			linearIntIntMap.put(intKeys[i], i);
+			longMap.put(longKeys[i], key);
+			linearLongMap.put(longKeys[i], key);
+			objectMap.put(key, key);
+			linearObjectMap.put(key, key);
+		}
+	}
+
+	static int[] keys (int size, String distribution) {
+		MathUtils.random.setSeed(1234);
+		int[] keys = new int[size];
+		IntMap<Boolean> used = new IntMap<Boolean>(size * 2);
+		for (int i = 0; i < size;) {
+			int key;
+			if (distribution.equals("sequential"))
+				key = i + 1;
+			else if (distribution.equals("clustered"))
+				key = (i + 1) << 10; // Entity IDs with generation bits in the low bits.
+			else
+				key = MathUtils.random(1, Integer.MAX_VALUE - 1);
+			if (used.containsKey(key)) continue;
+			used.put(key, Boolean.TRUE);
+			keys[i++] = key;
+		}
+		return keys;
+	}
+
+	@Benchmark
+	public IntMap<Integer> cuckooIntPut () {
+		IntMap<Integer> map = new IntMap<Integer>();
+		for (int i = 0, n = intKeys.length; i < n; i++)
+			map.put(intKeys[i], objectKeys[i]);
+		return map;
+	}
+
+	@Benchmark
+	public LinearIntMap<Integer> linearIntPut () {
+		LinearIntMap<Integer> map = new LinearIntMap<Integer>();
+		for (int i = 0, n = intKeys.length; i < n; i++)
+			map.put(intKeys[i], objectKeys[i]);
+		return map;
+	}
+
+	@Benchmark
+	public void cuckooIntGet (Blackhole bh) {
+		IntMap<Integer> map = intMap;
+		for (int i = 0, n = intKeys.length; i < n; i++)
+			bh.consume(map.get(intKeys[i]));
+	}
+
+	@Benchmark
+	public void linearIntGet (Blackhole bh) {
+		LinearIntMap<Integer> map = linearIntMap;
+		for (int i = 0, n = intKeys.length; i < n; i++)
+			bh.consume(map.get(intKeys[i]));
+	}
+
+	@Benchmark
+	public void cuckooIntContainsMissing (Blackhole bh) {
+		IntMap<Integer> map = intMap;
+		for (int i = 0, n = intKeys.length; i < n; i++)
+			bh.consume(map.containsKey(intKeys[i] + 1));
+	}
+
+	@Benchmark
+	public void linearIntContainsMissing (Blackhole bh) {
+		LinearIntMap<Integer> map = linearIntMap;
+		for (int i = 0, n = intKeys.length; i < n; i++)
+			bh.consume(map.containsKey(intKeys[i] + 1));
+	}
+
+	@Benchmark
+	public IntMap<Integer> cuckooIntPutRemove () {
+		IntMap<Integer> map = new IntMap<Integer>();
+		for (int i = 0, n = intKeys.length; i < n; i++)
+			map.put(intKeys[i], objectKeys[i]);
+		for (int i = 0, n = intKeys.length; i < n; i++)
+			map.remove(intKeys[i]);
+		return map;
+	}
+
+	@Benchmark
+	public LinearIntMap<Integer> linearIntPutRemove () {
+		LinearIntMap<Integer> map = new LinearIntMap<Integer>();
+		for (int i = 0, n = intKeys.length; i < n; i++)
+			map.put(intKeys[i], objectKeys[i]);
+		for (int i = 0, n = intKeys.length; i < n; i++)
+			map.remove(intKeys[i]);
+		return map;
+	}
+
+	@Benchmark
+	public IntIntMap cuckooIntIntPut () {
+		IntIntMap map = new IntIntMap();
+		for (int i = 0, n = intKeys.length; i < n; i++)
+			map.put(intKeys[i], i);
+		return map;
+	}
+
+	@Benchmark
+	public LinearIntIntMap linearIntIntPut () {
+		LinearIntIntMap map = new LinearIntIntMap();
+		for (int i = 0, n = intKeys.length; i < n; i++)
+			map.put(intKeys[i], i);
+		return map;
+	}
+
+	@Benchmark
+	public void cuckooIntIntGet (Blackhole bh) {
+		IntIntMap map = intIntMap;
+		for (int i = 0, n = intKeys.length; i < n; i++)
+			bh.consume(map.get(intKeys[i], -1));
+	}
+
+	@Benchmark
+	public void linearIntIntGet (Blackhole bh) {
+		LinearIntIntMap map = linearIntIntMap;
+		for (int i = 0, n = intKeys.length; i < n; i++)
+			bh.consume(map.get(intKeys[i], -1));
+	}
+
+	@Benchmark
+	public IntIntMap cuckooIntIntIncrement () {
+		IntIntMap map = new IntIntMap();
+		for (int i = 0, n = intKeys.length; i < n; i++)
+			map.getAndIncrement(intKeys[i] >>> 4, 0, 1);
+		return map;
+	}
+
+	@Benchmark
+	public LinearIntIntMap linearIntIntIncrement () {
+		LinearIntIntMap map = new LinearIntIntMap();
+		for (int i = 0, n = intKeys.length; i < n; i++)
+			map.getAndIncrement(intKeys[i] >>> 4, 0, 1);
+		return map;
+	}
+
+	@Benchmark
+	public LongMap<Integer> cuckooLongPut () {
+		LongMap<Integer> map = new LongMap<Integer>();
+		for (int i = 0, n = longKeys.length; i < n; i++)
+			map.put(longKeys[i], objectKeys[i]);
+		return map;
+	}
+
+	@Benchmark
+	public LinearLongMap<Integer> linearLongPut () {
+		LinearLongMap<Integer> map = new LinearLongMap<Integer>();
+		for (int i = 0, n = longKeys.length; i < n; i++)
+			map.put(longKeys[i], objectKeys[i]);
+		return map;
+	}
+
+	@Benchmark
+	public void cuckooLongGet (Blackhole bh) {
+		LongMap<Integer> map = longMap;
+		for (int i = 0, n = longKeys.length; i < n; i++)
+			bh.consume(map.get(longKeys[i]));
+	}
+
+	@Benchmark
+	public void linearLongGet (Blackhole bh) {
+		LinearLongMap<Integer> map = linearLongMap;
+		for (int i = 0, n = longKeys.length; i < n; i++)
+			bh.consume(map.get(longKeys[i]));
+	}
+
+	@Benchmark
+	public LongMap<Integer> cuckooLongPutRemove () {
+		LongMap<Integer> map = new LongMap<Integer>();
+		for (int i = 0, n = longKeys.length; i < n; i++)
+			map.put(longKeys[i], objectKeys[i]);
+		for (int i = 0, n = longKeys.length; i < n; i++)
+			map.remove(longKeys[i]);
+		return map;
+	}
+
+	@Benchmark
+	public LinearLongMap<Integer> linearLongPutRemove () {
+		LinearLongMap<Integer> map = new LinearLongMap<Integer>();
+		for (int i = 0, n = longKeys.length; i < n; i++)
+			map.put(longKeys[i], objectKeys[i]);
+		for (int i = 0, n = longKeys.length; i < n; i++)
+			map.remove(longKeys[i]);
+		return map;
+	}
+
+	@Benchmark
+	public ObjectMap<Integer, Integer> cuckooObjectPut () {
+		ObjectMap<Integer, Integer> map = new ObjectMap<Integer, Integer>();
+		for (int i = 0, n = objectKeys.length; i < n; i++)
+			map.put(objectKeys[i], objectKeys[i]);
+		return map;
+	}
+
+	@Benchmark
+	public LinearObjectMap<Integer, Integer> linearObjectPut () {
+		LinearObjectMap<Integer, Integer> map = new LinearObjectMap<Integer, Integer>();
+		for (int i = 0, n = objectKeys.length; i < n; i++)
+			map.put(objectKeys[i], objectKeys[i]);
+		return map;
+	}
+
+	@Benchmark
+	public void cuckooObjectGet (Blackhole bh) {
+		ObjectMap<Integer, Integer> map = objectMap;
+		for (int i = 0, n = objectKeys.length; i < n; i++)
+			bh.consume(map.get(objectKeys[i]));
+	}
+
+	@Benchmark
+	public void linearObjectGet (Blackhole bh) {
+		LinearObjectMap<Integer, Integer> map = linearObjectMap;
+		for (int i = 0, n = objectKeys.length; i < n; i++)
+			bh.consume(map.get(objectKeys[i]));
+	}
+
+	@Benchmark
+	public ObjectMap<Integer, Integer> cuckooObjectPutRemove () {
+		ObjectMap<Integer, Integer> map = new ObjectMap<Integer, Integer>();
+		for (int i = 0, n = objectKeys.length; i < n; i++)
+			map.put(objectKeys[i], objectKeys[i]);
+		for (int i = 0, n = objectKeys.length; i < n; i++)
+			map.remove(objectKeys[i]);
+		return map;
+	}
+
+	@Benchmark
+	public LinearObjectMap<Integer, Integer> linearObjectPutRemove () {
+		LinearObjectMap<Integer, Integer> map = new LinearObjectMap<Integer, Integer>();
+		for (int i = 0, n = objectKeys.length; i < n; i++)
+			map.put(objectKeys[i], objectKeys[i]);
+		for (int i = 0, n = objectKeys.length; i < n; i++)
+			map.remove(objectKeys[i]);
+		return map;
+	}
+
+	/** Prints the bytes used by the backing tables per entry after inserting keys one by one, assuming 4 byte references. The
+	 * keys and values themselves are not counted. */
+	public static void main (String[] args) throws Exception {
+		String[] distributions = {"random", "sequential", "clustered"};
+		int[] sizes = {1000, 100000, 1000000};
+		System.out.println("keys        size     IntMap  LinearIntMap  IntIntMap  LinearIntIntMap  LongMap  LinearLongMap"
+			+ "  ObjectMap  LinearObjectMap");
+		for (String distribution : distributions) {
+			for (int size : sizes) {
+				int[] keys = keys(size, distribution);
+				IntMap<Object> intMap = new IntMap<Object>();
+				LinearIntMap<Object> linearIntMap = new LinearIntMap<Object>();
+				IntIntMap intIntMap = new IntIntMap();
+				LinearIntIntMap linearIntIntMap = new LinearIntIntMap();
+				LongMap<Object> longMap = new LongMap<Object>();
+				LinearLongMap<Object> linearLongMap = new LinearLongMap<Object>();
+				ObjectMap<Object, Object> objectMap = new ObjectMap<Object, Object>();
+				LinearObjectMap<Object, Object> linearObjectMap = new LinearObjectMap<Object, Object>();
+				for (int i = 0; i < size; i++) {
+					Integer key = keys[i];
+					intMap.put(keys[i], key);
+					linearIntMap.put(keys[i], key);
+					intIntMap.put(keys[i], i);
+					linearIntIntMap.put(keys[i], i);
+					longMap.put(keys[i], key);
+					linearLongMap.put(keys[i], key);
+					objectMap.put(key, key);
+					linearObjectMap.put(key, key);
+				}
+				System.out.println(String.format("%-10s %7d %10.2f %13.2f %10.2f %16.2f %8.2f %14.2f %10.2f %16.2f", distribution,
+					size, tableBytes(intMap) / size, tableBytes(linearIntMap) / size, tableBytes(intIntMap) / size,
+					tableBytes(linearIntIntMap) / size, tableBytes(longMap) / size, tableBytes(linearLongMap) / size,
+					tableBytes(objectMap) / size, tableBytes(linearObjectMap) / size));
+			}
+		}
+	}
+
+	static float tableBytes (Object map) throws Exception {
+		long bytes = 0;
+		for (Field field : map.getClass().getDeclaredFields()) {
+			if (!field.getType().isArray()) continue;
+			field.setAccessible(true);
+			Object array = field.get(map);
+			if (array == null) continue;
+			Class type = array.getClass().getComponentType();
+			int elementSize = type == Long.TYPE || type == Double.TYPE ? 8 : 4;
+			bytes += 16 + Array.getLength(array) * (long)elementSize;
+		}
+		return bytes;
+	}
+}
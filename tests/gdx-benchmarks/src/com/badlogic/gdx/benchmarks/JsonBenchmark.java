@@ -0,0 +1,159 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.CharArrayReader;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.BaseJsonStreamReader;
+import com.badlogic.gdx.utils.BaseJsonStreamReader.Token;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonStreamReader;
+import com.badlogic.gdx.utils.JsonValue;
+import com.badlogic.gdx.utils.JsonWriter;
+import com.badlogic.gdx.utils.JsonWriter.OutputType;
+import com.badlogic.gdx.utils.UBJsonReader;
+import com.badlogic.gdx.utils.UBJsonStreamReader;
+import com.badlogic.gdx.utils.UBJsonWriter;
+
+/** Benchmarks {@link JsonReader#parse(char[], int, int)} and {@link UBJsonReader#parse(java.io.InputStream)} on a generated
+ * document shaped like a g3dj/g3db model: a large float vertex array, index arrays and a node hierarchy. The stream benchmarks
+ * read the same documents with {@link JsonStreamReader} and {@link UBJsonStreamReader}, getting each value without building a
+ * DOM. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class JsonBenchmark {
+	/** Number of vertices in the mesh, each with 8 floats. The node count is a tenth of this. */
+	@Param({"1000", "50000"}) public int vertices;
+
+	final JsonReader jsonReader = new JsonReader();
+	final UBJsonReader ubjsonReader = new UBJsonReader();
+	char[] json;
+	byte[] ubjson;
+
+	@Setup
+	public void setup () throws IOException {
+		ubjsonReader.oldFormat = false; // Read what UBJsonWriter writes.
+		MathUtils.random.setSeed(1234);
+		float[] vertexData = new float[vertices * 8];
+		for (int i = 0; i < vertexData.length; i++)
+			vertexData[i] = MathUtils.random(-100f, 100f);
+		short[] indexData = new short[vertices * 3];
+		for (int i = 0; i < indexData.length; i++)
+			indexData[i] = (short)MathUtils.random(Short.MAX_VALUE);
+		int nodes = vertices / 10;
+
+		StringWriter buffer = new StringWriter();
+		JsonWriter writer = new JsonWriter(buffer);
+		writer.setOutputType(OutputType.json);
+		writer.object();
+		writer.array("meshes").object();
+		writer.array("attributes").value("POSITION").value("NORMAL").value("TEXCOORD0").pop();
+		writer.array("vertices");
+		for (float value : vertexData)
+			writer.value(value);
+		writer.pop();
+		writer.array("parts").object().set("id", "part0").set("type", "TRIANGLES").array("indices");
+		for (short value : indexData)
+			writer.value(value);
+		writer.pop().pop().pop();
+		writer.pop().pop();
+		writer.array("nodes");
+		for (int i = 0; i < nodes; i++) {
+			writer.object().set("id", "node" + i);
+			writer.array("translation").value(i).value(1.5f).value(-i).pop();
+			writer.array("rotation").value(0f).value(0.7071f).value(0f).value(0.7071f).pop();
+			writer.array("parts").object().set("meshpartid", "part0").set("materialid", "material" + (i % 8)).pop().pop();
+			writer.pop();
+		}
+		writer.pop();
+		writer.pop();
+		writer.close();
+		json = buffer.toString().toCharArray();
+
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		UBJsonWriter ubwriter = new UBJsonWriter(bytes);
+		ubwriter.object();
+		ubwriter.array("meshes").object();
+		ubwriter.array("attributes").value("POSITION").value("NORMAL").value("TEXCOORD0").pop();
+		ubwriter.set("vertices", vertexData);
+		ubwriter.array("parts").object().set("id", "part0").set("type", "TRIANGLES").set("indices", indexData).pop().pop();
+		ubwriter.pop().pop();
+		ubwriter.array("nodes");
+		for (int i = 0; i < nodes; i++) {
+			ubwriter.object().set("id", "node" + i);
+			ubwriter.set("translation", new float[] {i, 1.5f, -i});
+			ubwriter.set("rotation", new float[] {0f, 0.7071f, 0f, 0.7071f});
+			ubwriter.array("parts").object().set("meshpartid", "part0").set("materialid", "material" + (i % 8)).pop().pop();
+			ubwriter.pop();
+		}
+		ubwriter.pop();
+		ubwriter.pop();
+		ubwriter.close();
+		ubjson = bytes.toByteArray();
+	}
+
+	@Benchmark
+	public JsonValue jsonReaderParse () {
+		return jsonReader.parse(json, 0, json.length);
+	}
+
+	@Benchmark
+	public JsonValue ubjsonReaderParse () {
+		return ubjsonReader.parse(new ByteArrayInputStream(ubjson));
+	}
+
+	@Benchmark
+	public double jsonStreamReaderRead () {
+		return read(new JsonStreamReader(new CharArrayReader(json)));
+	}
+
+	@Benchmark
+	public double ubjsonStreamReaderRead () {
+		UBJsonStreamReader reader = new UBJsonStreamReader(new ByteArrayInputStream(ubjson));
+		reader.oldFormat = false;
+		return read(reader);
+	}
+
+	private double read (BaseJsonStreamReader reader) {
+		double sum = 0;
+		for (Token token = reader.next(); token != Token.end; token = reader.next())
+			if (token == Token.doubleValue || token == Token.longValue) sum += reader.getDouble();
+		return sum;
+	}
+}
@@ -0,0 +1,135 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.Json;
+import com.badlogic.gdx.utils.JsonReader;
+import com.badlogic.gdx.utils.JsonValue;
+
+/** Benchmarks {@link Json#toJson(Object)} and {@link Json#readValue(Class, JsonValue)} on a list of objects with primitive
+ * fields, which are read and written without boxing, and on the same objects with wrapper fields, which go through the boxed
+ * reflection path as all fields did before. Both write the same JSON. The objects are compared to their defaults, as with the
+ * default {@link Json#setUsePrototypes(boolean)}. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class JsonSerializationBenchmark {
+	@Param({"100", "10000"}) public int count;
+
+	final Json json = new Json();
+	Particles particles;
+	BoxedParticles boxedParticles;
+	JsonValue parsed;
+
+	@Setup
+	public void setup () {
+		MathUtils.random.setSeed(1234);
+		particles = new Particles();
+		boxedParticles = new BoxedParticles();
+		for (int i = 0; i < count; i++) {
+			Particle particle = new Particle();
+			particle.id = i;
+			particle.x = MathUtils.random(-100f, 100f);
+			particle.y = MathUtils.random(-100f, 100f);
+			particle.z = MathUtils.random(-100f, 100f);
+			particle.life = MathUtils.random(10);
+			particle.mass = MathUtils.random();
+			particle.active = MathUtils.randomBoolean();
+			particle.time = i * 1000L;
+			particles.particles.add(particle);
+
+			BoxedParticle boxed = new BoxedParticle();
+			boxed.id = particle.id;
+			boxed.x = particle.x;
+			boxed.y = particle.y;
+			boxed.z = particle.z;
+			boxed.life = particle.life;
+			boxed.mass = particle.mass;
+			boxed.active = particle.active;
+			boxed.time = particle.time;
+			boxedParticles.particles.add(boxed);
+		}
+		String text = json.toJson(particles);
+		if (!text.equals(json.toJson(boxedParticles))) throw new IllegalStateException("Output differs.");
+		parsed = new JsonReader().parse(text);
+	}
+
+	@Benchmark
+	public String writePrimitiveFields () {
+		return json.toJson(particles);
+	}
+
+	@Benchmark
+	public String writeBoxedFields () {
+		return json.toJson(boxedParticles);
+	}
+
+	@Benchmark
+	public Particles readPrimitiveFields () {
+		return json.readValue(Particles.class, parsed);
+	}
+
+	@Benchmark
+	public BoxedParticles readBoxedFields () {
+		return json.readValue(BoxedParticles.class, parsed);
+	}
+
+	static public class Particles {
+		public Array<Particle> particles = new Array();
+	}
+
+	static public class Particle {
+		public int id;
+		public float x, y, z;
+		public int life = 5;
+		public double mass;
+		public boolean active = true;
+		public long time;
+	}
+
+	static public class BoxedParticles {
+		public Array<BoxedParticle> particles = new Array();
+	}
+
+	static public class BoxedParticle {
+		public Integer id = 0;
+		public Float x = 0f, y = 0f, z = 0f;
+		public Integer life = 5;
+		public Double mass = 0d;
+		public Boolean active = true;
+		public Long time = 0L;
+	}
+}
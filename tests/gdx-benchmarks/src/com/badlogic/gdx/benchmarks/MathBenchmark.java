@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Quaternion;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+/** Benchmarks the per object {@link Matrix4} and {@link Vector3} operations, one call per invocation. {@link Matrix4#mul(Matrix4)}
+ * is implemented natively, so the gdx natives are loaded in setup. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MathBenchmark {
+	final Matrix4 a = new Matrix4();
+	final Matrix4 b = new Matrix4();
+	final Matrix4 result = new Matrix4();
+	final Vector3 point = new Vector3();
+	final Vector3 out = new Vector3();
+
+	@Setup
+	public void setup () {
+		GdxNativesLoader.load();
+		MathUtils.random.setSeed(1234);
+		a.set(new Vector3(1, 2, 3), new Quaternion(new Vector3(0, 1, 0), 30), new Vector3(1, 1, 1));
+		b.setToProjection(0.1f, 100f, 67, 1.5f);
+		point.set(MathUtils.random(), MathUtils.random(), MathUtils.random());
+	}
+
+	@Benchmark
+	public Matrix4 matrix4Mul () {
+		return result.set(a).mul(b);
+	}
+
+	@Benchmark
+	public Vector3 vector3Prj () {
+		return out.set(point).prj(b);
+	}
+
+	@Benchmark
+	public Vector3 vector3Mul () {
+		return out.set(point).mul(a);
+	}
+}
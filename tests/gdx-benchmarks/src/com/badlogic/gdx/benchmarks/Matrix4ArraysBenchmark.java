@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.math.Matrix4Arrays;
+import com.badlogic.gdx.math.Quaternion;
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+/** Compares the {@link Matrix4Arrays} operations on float arrays to doing the same with {@link Matrix4} and {@link Vector3}
+ * objects, and to the native {@link Matrix4#mul(float[], float[])} and {@link Matrix4#mulVec(float[], float[], int, int, int)}.
+ * Each invocation processes count matrices or points. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class Matrix4ArraysBenchmark {
+	@Param({"100", "10000"}) public int count;
+
+	Matrix4 matrix;
+	Matrix4[] matrices, locals;
+	Vector3[] points, translations, scales;
+	Quaternion[] rotations;
+	float[] matrixArray, localArray, pointArray, xs, ys, zs, translationArray, rotationArray, scaleArray;
+	float[] tmp = new float[16];
+
+	@Setup
+	public void setup () {
+		GdxNativesLoader.load();
+		MathUtils.random.setSeed(1234);
+		matrix = new Matrix4().set(new Vector3(1, 2, 3), new Quaternion(new Vector3(1, 1, 0).nor(), 30));
+		matrices = new Matrix4[count];
+		locals = new Matrix4[count];
+		points = new Vector3[count];
+		translations = new Vector3[count];
+		rotations = new Quaternion[count];
+		scales = new Vector3[count];
+		matrixArray = new float[count * 16];
+		localArray = new float[count * 16];
+		pointArray = new float[count * 3];
+		xs = new float[count];
+		ys = new float[count];
+		zs = new float[count];
+		translationArray = new float[count * 3];
+		rotationArray = new float[count * 4];
+		scaleArray = new float[count * 3];
+		for (int i = 0; i < count; i++) {
+			translations[i] = new Vector3(MathUtils.random(-10f, 10f), MathUtils.random(-10f, 10f), MathUtils.random(-10f, 10f));
+			rotations[i] = new Quaternion(new Vector3(MathUtils.random(), MathUtils.random(), MathUtils.random()).nor(),
+				MathUtils.random(360f));
+			scales[i] = new Vector3(MathUtils.random(0.5f, 2f), MathUtils.random(0.5f, 2f), MathUtils.random(0.5f, 2f));
+			translationArray[i * 3] = translations[i].x;
+			translationArray[i * 3 + 1] = translations[i].y;
+			translationArray[i * 3 + 2] = translations[i].z;
+			rotationArray[i * 4] = rotations[i].x;
+			rotationArray[i * 4 + 1] = rotations[i].y;
+			rotationArray[i * 4 + 2] = rotations[i].z;
+			rotationArray[i * 4 + 3] = rotations[i].w;
+			scaleArray[i * 3] = scales[i].x;
+			scaleArray[i * 3 + 1] = scales[i].y;
+			scaleArray[i * 3 + 2] = scales[i].z;
+			locals[i] = new Matrix4().set(translations[i], rotations[i], scales[i]);
+			matrices[i] = new Matrix4();
+			System.arraycopy(locals[i].val, 0, localArray, i * 16, 16);
+			points[i] = new Vector3(translations[i]);
+			System.arraycopy(translationArray, i * 3, pointArray, i * 3, 3);
+			xs[i] = translations[i].x;
+			ys[i] = translations[i].y;
+			zs[i] = translations[i].z;
+		}
+	}
+
+	@Benchmark
+	public Matrix4[] mulMatrix4 () {
+		for (int i = 0; i < count; i++)
+			matrices[i].set(matrix).mul(locals[i]);
+		return matrices;
+	}
+
+	@Benchmark
+	public float[] mulNative () {
+		float[] matrixArray = this.matrixArray, tmp = this.tmp;
+		float[] matrixValues = matrix.val;
+		for (int i = 0; i < count; i++) {
+			System.arraycopy(matrixValues, 0, tmp, 0, 16);
+			Matrix4.mul(tmp, locals[i].val);
+			System.arraycopy(tmp, 0, matrixArray, i * 16, 16);
+		}
+		return matrixArray;
+	}
+
+	@Benchmark
+	public float[] mulArrays () {
+		Matrix4Arrays.mul(matrix.val, localArray, 0, matrixArray, 0, count);
+		return matrixArray;
+	}
+
+	@Benchmark
+	public Vector3[] mulVecVector3 () {
+		for (int i = 0; i < count; i++)
+			points[i].mul(matrix);
+		return points;
+	}
+
+	@Benchmark
+	public float[] mulVecNative () {
+		Matrix4.mulVec(matrix.val, pointArray, 0, count, 3);
+		return pointArray;
+	}
+
+	@Benchmark
+	public float[] mulVecArrays () {
+		Matrix4Arrays.mulVec(matrix.val, pointArray, 0, count, 3);
+		return pointArray;
+	}
+
+	@Benchmark
+	public float[] mulVecSeparateArrays () {
+		Matrix4Arrays.mulVec(matrix.val, xs, ys, zs, 0, count);
+		return xs;
+	}
+
+	@Benchmark
+	public Matrix4[] setMatrix4 () {
+		for (int i = 0; i < count; i++)
+			matrices[i].set(translations[i], rotations[i], scales[i]);
+		return matrices;
+	}
+
+	@Benchmark
+	public float[] setArrays () {
+		Matrix4Arrays.set(translationArray, rotationArray, scaleArray, matrixArray, 0, count);
+		return matrixArray;
+	}
+}
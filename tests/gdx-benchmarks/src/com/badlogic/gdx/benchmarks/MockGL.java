@@ -0,0 +1,163 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.IntBuffer;
+
+import com.badlogic.gdx.Application;
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Graphics;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.TextureData;
+import com.badlogic.gdx.utils.GdxNativesLoader;
+
+/** Installs a no-op {@link GL20}, a minimal {@link Graphics} and an {@link Application} into {@link Gdx} so rendering code such as
+ * {@link com.badlogic.gdx.graphics.g2d.SpriteBatch} can be exercised without a GL context. Every GL call returns a harmless
+ * default: object handles are 1, shader compile and link status queries succeed, programs report no active uniforms or
+ * attributes and 16 texture units are available. Only the CPU side of the code under test is measured. */
+public class MockGL {
+	static public final int WIDTH = 1280;
+	static public final int HEIGHT = 720;
+
+	static private boolean installed;
+
+	/** Loads the gdx natives (needed by {@link com.badlogic.gdx.utils.BufferUtils}) and installs the mocks. Can be called more
+	 * than once. */
+	static public synchronized void install () {
+		if (installed) return;
+		installed = true;
+
+		GdxNativesLoader.load();
+
+		GL20 gl = (GL20)Proxy.newProxyInstance(MockGL.class.getClassLoader(), new Class[] {GL20.class}, new GLHandler());
+		Gdx.gl = gl;
+		Gdx.gl20 = gl;
+		Gdx.gl30 = null;
+		Gdx.graphics = (Graphics)Proxy.newProxyInstance(MockGL.class.getClassLoader(), new Class[] {Graphics.class},
+			new GraphicsHandler(gl));
+		// Managed GL resources are tracked per application, so Gdx.app must be a unique, non-null key.
+		Gdx.app = (Application)Proxy.newProxyInstance(MockGL.class.getClassLoader(), new Class[] {Application.class},
+			new GraphicsHandler(gl));
+	}
+
+	/** Creates an unmanaged texture of the given size without any pixel data. {@link #install()} must have been called. */
+	static public Texture newTexture (final int width, final int height) {
+		return new Texture(new TextureData() {
+			public TextureDataType getType () {
+				return TextureDataType.Compressed;
+			}
+
+			public boolean isPrepared () {
+				return true;
+			}
+
+			public void prepare () {
+			}
+
+			public Pixmap consumePixmap () {
+				throw new UnsupportedOperationException();
+			}
+
+			public boolean disposePixmap () {
+				return false;
+			}
+
+			public void consumeCompressedData (int target) {
+			}
+
+			public int getWidth () {
+				return width;
+			}
+
+			public int getHeight () {
+				return height;
+			}
+
+			public Format getFormat () {
+				return Format.RGBA8888;
+			}
+
+			public boolean useMipMaps () {
+				return false;
+			}
+
+			public boolean isManaged () {
+				return false;
+			}
+		});
+	}
+
+	static Object defaultValue (Class<?> type) {
+		if (type == Integer.TYPE) return 1;
+		if (type == Boolean.TYPE) return Boolean.FALSE;
+		if (type == Float.TYPE) return 0f;
+		if (type == Long.TYPE) return 0L;
+		if (type == Double.TYPE) return 0d;
+		if (type == String.class) return "";
+		return null;
+	}
+
+	static class GLHandler implements InvocationHandler {
+		@Override
+		public Object invoke (Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			if (name.equals("glGetShaderiv") || name.equals("glGetProgramiv") || name.equals("glGetIntegerv")) {
+				int pname = (Integer)args[args.length - 2];
+				IntBuffer params = (IntBuffer)args[args.length - 1];
+				boolean none = pname == GL20.GL_ACTIVE_UNIFORMS || pname == GL20.GL_ACTIVE_ATTRIBUTES;
+				params.put(params.position(), none ? 0 : pname == GL20.GL_MAX_TEXTURE_IMAGE_UNITS ? 16 : 1);
+				return null;
+			}
+			if (name.equals("glGenTextures") || name.equals("glGenBuffers") || name.equals("glGenFramebuffers")
+				|| name.equals("glGenRenderbuffers")) {
+				IntBuffer buffer = (IntBuffer)args[1];
+				for (int i = 0, n = (Integer)args[0]; i < n; i++)
+					buffer.put(buffer.position() + i, 1);
+				return null;
+			}
+			return defaultValue(method.getReturnType());
+		}
+	}
+
+	/** Handles both the {@link Graphics} and the {@link Application} proxies. */
+	static class GraphicsHandler implements InvocationHandler {
+		private final GL20 gl;
+
+		GraphicsHandler (GL20 gl) {
+			this.gl = gl;
+		}
+
+		@Override
+		public Object invoke (Object proxy, Method method, Object[] args) throws Throwable {
+			String name = method.getName();
+			if (name.equals("getGL20") || name.equals("getGLCommon")) return gl;
+			if (name.equals("getGraphics")) return Gdx.graphics;
+			if (name.equals("getWidth")) return WIDTH;
+			if (name.equals("getHeight")) return HEIGHT;
+			if (name.equals("toString")) return "MockGraphics";
+			if (name.equals("hashCode")) return System.identityHashCode(proxy);
+			if (name.equals("equals")) return proxy == args[0];
+			return defaultValue(method.getReturnType());
+		}
+	}
+}
@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.MultiTextureSpriteBatch;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+
+/** Compares {@link SpriteBatch} and {@link MultiTextureSpriteBatch} drawing a frame of {@link #sprites} sprites which switch
+ * between {@link #pages} textures on every draw, the worst case for a batch that flushes on each texture switch. Runs against the
+ * no-op GL of {@link MockGL}, so only the CPU cost of the draws and flushes is measured. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class MultiTextureSpriteBatchBenchmark {
+	@Param({"10000"}) public int sprites;
+	@Param({"2", "4", "8"}) public int pages;
+
+	SpriteBatch spriteBatch;
+	MultiTextureSpriteBatch multiTextureBatch;
+	Texture[] textures;
+	TextureRegion[] regions;
+	float[] positions;
+
+	@Setup
+	public void setup () {
+		MockGL.install();
+		MathUtils.random.setSeed(1234);
+		spriteBatch = new SpriteBatch(1000);
+		multiTextureBatch = new MultiTextureSpriteBatch(1000, 8);
+		textures = new Texture[pages];
+		for (int i = 0; i < pages; i++)
+			textures[i] = MockGL.newTexture(1024, 1024);
+		regions = new TextureRegion[sprites];
+		positions = new float[sprites * 2];
+		for (int i = 0; i < sprites; i++) {
+			regions[i] = new TextureRegion(textures[i % pages], MathUtils.random(960), MathUtils.random(960), 64, 64);
+			positions[i * 2] = MathUtils.random(MockGL.WIDTH);
+			positions[i * 2 + 1] = MathUtils.random(MockGL.HEIGHT);
+		}
+	}
+
+	@TearDown
+	public void dispose () {
+		spriteBatch.dispose();
+		multiTextureBatch.dispose();
+		for (Texture texture : textures)
+			texture.dispose();
+	}
+
+	@Benchmark
+	public int spriteBatch () {
+		SpriteBatch batch = spriteBatch;
+		TextureRegion[] regions = this.regions;
+		float[] positions = this.positions;
+		batch.begin();
+		for (int i = 0, n = regions.length; i < n; i++)
+			batch.draw(regions[i], positions[i * 2], positions[i * 2 + 1]);
+		batch.end();
+		return batch.renderCalls;
+	}
+
+	@Benchmark
+	public int multiTextureSpriteBatch () {
+		MultiTextureSpriteBatch batch = multiTextureBatch;
+		TextureRegion[] regions = this.regions;
+		float[] positions = this.positions;
+		batch.begin();
+		for (int i = 0, n = regions.length; i < n; i++)
+			batch.draw(regions[i], positions[i * 2], positions[i * 2 + 1]);
+		batch.end();
+		return batch.renderCalls;
+	}
+}
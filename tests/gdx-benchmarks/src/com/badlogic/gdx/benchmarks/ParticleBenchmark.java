@@ -0,0 +1,187 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PackedParticleEmitter;
+import com.badlogic.gdx.graphics.g2d.ParticleEmitter;
+import com.badlogic.gdx.graphics.g2d.ParticleEmitter.ScaledNumericValue;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+
+/** Compares {@link ParticleEmitter} with {@link PackedParticleEmitter}. The emitters are continuous and run for a few seconds in
+ * setup so the particle count is steady, then one invocation updates and draws a frame of all emitters against the no-op GL of
+ * {@link MockGL}. Setup first checks that both emitters draw the same quads from the same random seed. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ParticleBenchmark {
+	@Param({"10", "200"}) public int emitters;
+	@Param({"false", "true"}) public boolean packed;
+
+	SpriteBatch batch;
+	Texture texture;
+	ParticleEmitter[] emitterArray;
+
+	@Setup
+	public void setup () {
+		MockGL.install();
+		MathUtils.random.setSeed(1234);
+		batch = new SpriteBatch(1000);
+		texture = MockGL.newTexture(32, 32);
+		ParticleEmitter template = newEmitter(new Sprite(texture));
+		verify(template);
+		MathUtils.random.setSeed(1234);
+		emitterArray = new ParticleEmitter[emitters];
+		for (int i = 0; i < emitters; i++) {
+			ParticleEmitter emitter = packed ? new PackedParticleEmitter(template) : new ParticleEmitter(template);
+			emitter.setSprite(template.getSprite());
+			emitter.setPosition(MathUtils.random(MockGL.WIDTH), MathUtils.random(MockGL.HEIGHT));
+			emitter.start();
+			for (int frame = 0; frame < 180; frame++)
+				emitter.update(1 / 60f);
+			emitterArray[i] = emitter;
+		}
+	}
+
+	/** Creates an emitter like a typical fire effect: 250 particles per second that live 1 second and grow, turn and fade. */
+	static ParticleEmitter newEmitter (Sprite sprite) {
+		ParticleEmitter emitter = new ParticleEmitter();
+		emitter.setMaxParticleCount(300);
+		emitter.setSprite(sprite);
+		emitter.setContinuous(true);
+		emitter.getDuration().setLow(1000);
+		emitter.getEmission().setHigh(250);
+		emitter.getLife().setHigh(1000);
+		emitter.getScale().setHigh(16, 32);
+		setTimeline(emitter.getScale(), 0.5f, 1);
+		emitter.getVelocity().setActive(true);
+		emitter.getVelocity().setHigh(50, 100);
+		emitter.getAngle().setActive(true);
+		emitter.getAngle().setHigh(60, 120);
+		emitter.getRotation().setActive(true);
+		emitter.getRotation().setHigh(0, 180);
+		setTimeline(emitter.getRotation(), 0, 1);
+		emitter.getGravity().setActive(true);
+		emitter.getGravity().setHigh(20);
+		emitter.getTransparency().setHigh(1);
+		setTimeline(emitter.getTransparency(), 1, 0);
+		return emitter;
+	}
+
+	static void setTimeline (ScaledNumericValue value, float start, float end) {
+		value.setScaling(new float[] {start, end});
+		value.setTimeline(new float[] {0, 1});
+	}
+
+	/** Throws if {@link PackedParticleEmitter} draws different quads than {@link ParticleEmitter} in any of a few seconds of frames.
+	 * The packed emitter moves the last particle into a dead slot, so the quads of a frame are compared in sorted order. */
+	static void verify (ParticleEmitter template) {
+		QuadRecorder expected = new QuadRecorder(), actual = new QuadRecorder();
+		ParticleEmitter emitter = new ParticleEmitter(template), packedEmitter = new PackedParticleEmitter(template);
+		emitter.setSprite(template.getSprite());
+		packedEmitter.setSprite(template.getSprite());
+		emitter.start();
+		packedEmitter.start();
+		long seed = 5678;
+		for (int frame = 0; frame < 300; frame++, seed++) {
+			expected.quads.clear();
+			actual.quads.clear();
+			MathUtils.random.setSeed(seed);
+			emitter.draw(expected, 1 / 60f);
+			MathUtils.random.setSeed(seed);
+			packedEmitter.draw(actual, 1 / 60f);
+			if (expected.quads.size != actual.quads.size)
+				throw new IllegalStateException("Frame " + frame + ": " + actual.quads.size + " quads, expected " + expected.quads.size);
+			expected.quads.sort(QuadRecorder.comparator);
+			actual.quads.sort(QuadRecorder.comparator);
+			for (int i = 0; i < expected.quads.size; i++) {
+				float[] expectedQuad = expected.quads.get(i), actualQuad = actual.quads.get(i);
+				for (int ii = 0; ii < 20; ii++) {
+					float a = expectedQuad[ii], b = actualQuad[ii];
+					if (Math.abs(a - b) > 0.01f * Math.max(1, Math.abs(a)))
+						throw new IllegalStateException("Frame " + frame + ", quad " + i + ", vertex value " + ii + ": " + b + ", expected " + a);
+				}
+			}
+		}
+		expected.dispose();
+		actual.dispose();
+	}
+
+	/** Keeps a copy of each quad drawn instead of rendering it. */
+	static class QuadRecorder extends SpriteBatch {
+		static final Comparator<float[]> comparator = new Comparator<float[]>() {
+			public int compare (float[] a, float[] b) {
+				if (a[0] != b[0]) return a[0] < b[0] ? -1 : 1;
+				if (a[1] != b[1]) return a[1] < b[1] ? -1 : 1;
+				return 0;
+			}
+		};
+
+		final Array<float[]> quads = new Array<float[]>();
+
+		public QuadRecorder () {
+			super(1);
+		}
+
+		@Override
+		public void draw (Texture texture, float[] spriteVertices, int offset, int count) {
+			for (int i = offset, n = offset + count; i < n; i += 20) {
+				float[] quad = new float[20];
+				System.arraycopy(spriteVertices, i, quad, 0, 20);
+				quads.add(quad);
+			}
+		}
+	}
+
+	@TearDown
+	public void dispose () {
+		batch.dispose();
+		texture.dispose();
+	}
+
+	@Benchmark
+	public int updateAndDraw () {
+		SpriteBatch batch = this.batch;
+		batch.begin();
+		for (ParticleEmitter emitter : emitterArray)
+			emitter.draw(batch, 1 / 60f);
+		batch.end();
+		return batch.renderCalls;
+	}
+}
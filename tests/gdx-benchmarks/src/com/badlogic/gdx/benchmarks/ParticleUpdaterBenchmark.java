@@ -0,0 +1,101 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.PackedParticleEmitter;
+import com.badlogic.gdx.graphics.g2d.ParticleEffect;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectUpdater;
+import com.badlogic.gdx.graphics.g2d.ParticleEmitter;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+
+/** Measures a frame of many single emitter effects updated by a {@link ParticleEffectUpdater} with a varying number of threads
+ * and then drawn on the benchmark thread against the no-op GL of {@link MockGL}. With 1 thread the effects are updated the same
+ * way as {@link ParticleEffect#update(float)} does. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class ParticleUpdaterBenchmark {
+	@Param({"200"}) public int effects;
+	@Param({"1", "2", "4"}) public int threads;
+
+	SpriteBatch batch;
+	Texture texture;
+	ParticleEffectUpdater updater;
+	Array<ParticleEffect> effectArray;
+
+	@Setup
+	public void setup () {
+		MockGL.install();
+		batch = new SpriteBatch(1000);
+		texture = MockGL.newTexture(32, 32);
+		updater = new ParticleEffectUpdater(threads);
+		ParticleEmitter template = ParticleBenchmark.newEmitter(new Sprite(texture));
+		effectArray = new Array(effects);
+		for (int i = 0; i < effects; i++) {
+			ParticleEffect effect = new ParticleEffect();
+			ParticleEmitter emitter = new PackedParticleEmitter(template);
+			emitter.setSprite(template.getSprite());
+			effect.getEmitters().add(emitter);
+			effect.setPosition(MathUtils.random(MockGL.WIDTH), MathUtils.random(MockGL.HEIGHT));
+			effect.setSeed(i);
+			effect.start();
+			for (int frame = 0; frame < 180; frame++)
+				effect.update(1 / 60f);
+			effectArray.add(effect);
+		}
+	}
+
+	@TearDown
+	public void dispose () {
+		updater.dispose();
+		batch.dispose();
+		texture.dispose();
+	}
+
+	@Benchmark
+	public int updateAndDraw () {
+		updater.update(effectArray, 1 / 60f);
+		SpriteBatch batch = this.batch;
+		batch.begin();
+		for (int i = 0, n = effectArray.size; i < n; i++)
+			effectArray.get(i).draw(batch);
+		batch.end();
+		return batch.renderCalls;
+	}
+}
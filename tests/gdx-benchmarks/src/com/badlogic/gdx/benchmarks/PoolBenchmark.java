@@ -0,0 +1,116 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.math.Vector3;
+import com.badlogic.gdx.utils.ConcurrentPool;
+import com.badlogic.gdx.utils.Pool;
+import com.badlogic.gdx.utils.ThreadLocalPool;
+
+/** Compares obtaining and freeing a few temporaries with the single threaded {@link Pool}, a synchronized Pool, and the
+ * {@link ConcurrentPool} and {@link ThreadLocalPool}, which are shared by 4 threads. */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class PoolBenchmark {
+	static final int TEMPORARIES = 4;
+
+	final Pool<Vector3> pool = new Pool<Vector3>() {
+		protected Vector3 newObject () {
+			return new Vector3();
+		}
+	};
+	final Pool<Vector3> synchronizedPool = new Pool<Vector3>() {
+		protected Vector3 newObject () {
+			return new Vector3();
+		}
+
+		public synchronized Vector3 obtain () {
+			return super.obtain();
+		}
+
+		public synchronized void free (Vector3 object) {
+			super.free(object);
+		}
+	};
+	final Pool<Vector3> concurrentPool = new ConcurrentPool<Vector3>() {
+		protected Vector3 newObject () {
+			return new Vector3();
+		}
+	};
+	final Pool<Vector3> threadLocalPool = new ThreadLocalPool<Vector3>() {
+		protected Vector3 newObject () {
+			return new Vector3();
+		}
+	};
+
+	@State(Scope.Thread)
+	public static class Temporaries {
+		final Vector3[] vectors = new Vector3[TEMPORARIES];
+	}
+
+	static float use (Pool<Vector3> pool, Vector3[] vectors) {
+		float sum = 0;
+		for (int i = 0; i < TEMPORARIES; i++)
+			vectors[i] = pool.obtain().set(i, i, i);
+		for (int i = 0; i < TEMPORARIES; i++) {
+			sum += vectors[i].x;
+			pool.free(vectors[i]);
+		}
+		return sum;
+	}
+
+	@Benchmark
+	@Threads(1)
+	public float pool (Temporaries temporaries) {
+		return use(pool, temporaries.vectors);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public float synchronizedPool (Temporaries temporaries) {
+		return use(synchronizedPool, temporaries.vectors);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public float concurrentPool (Temporaries temporaries) {
+		return use(concurrentPool, temporaries.vectors);
+	}
+
+	@Benchmark
+	@Threads(4)
+	public float threadLocalPool (Temporaries temporaries) {
+		return use(threadLocalPool, temporaries.vectors);
+	}
+}
@@ -0,0 +1,264 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.lang.reflect.Field;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.RecordingBatch;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.FloatArray;
+
+/** Compares the time spent on the rendering thread when rotated and scaled sprites are drawn to a {@link SpriteBatch} directly
+ * against replaying them from a {@link RecordingBatch} which was recorded elsewhere, and the time to record them. Runs against
+ * the no-op GL of {@link MockGL}. The setup verifies that sprites recorded on worker threads and replayed are drawn with the
+ * same vertices, textures and blend states as sprites drawn directly. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RecordingBatchBenchmark {
+	@Param({"10000"}) public int sprites;
+	@Param({"1", "4"}) public int pages;
+
+	SpriteBatch batch;
+	RecordingBatch recording;
+	Texture[] textures;
+	TextureRegion[] regions;
+	float[] positions;
+
+	@Setup
+	public void setup () {
+		MockGL.install();
+		MathUtils.random.setSeed(1234);
+		batch = new SpriteBatch(1000);
+		recording = new RecordingBatch(sprites);
+		textures = new Texture[pages];
+		for (int i = 0; i < pages; i++)
+			textures[i] = MockGL.newTexture(1024, 1024);
+		regions = new TextureRegion[sprites];
+		positions = new float[sprites * 3];
+		for (int i = 0; i < sprites; i++) {
+			regions[i] = new TextureRegion(textures[(i / 64) % pages], MathUtils.random(960), MathUtils.random(960), 64, 64);
+			positions[i * 3] = MathUtils.random(MockGL.WIDTH);
+			positions[i * 3 + 1] = MathUtils.random(MockGL.HEIGHT);
+			positions[i * 3 + 2] = MathUtils.random(360f);
+		}
+		record();
+		verify();
+	}
+
+	/** Draws the sprites with changing transform matrices, blend states and colors to a SpriteBatch directly, and records them on
+	 * worker threads and replays them to another SpriteBatch. Throws if the flushed runs of the two batches differ. */
+	void verify () {
+		CaptureBatch expected = new CaptureBatch(), actual = new CaptureBatch();
+		expected.begin();
+		drawVerify(expected, 0, sprites);
+		expected.end();
+
+		final RecordingBatch[] recordings = new RecordingBatch[4];
+		Thread[] threads = new Thread[recordings.length];
+		for (int i = 0; i < threads.length; i++) {
+			final RecordingBatch recording = recordings[i] = new RecordingBatch(16);
+			final int start = sprites * i / threads.length, end = sprites * (i + 1) / threads.length;
+			threads[i] = new Thread() {
+				public void run () {
+					recording.begin();
+					drawVerify(recording, start, end);
+					recording.end();
+				}
+			};
+			threads[i].start();
+		}
+		actual.begin();
+		actual.disableBlending();
+		actual.setBlendFunction(GL20.GL_ONE, GL20.GL_ZERO);
+		for (int i = 0; i < threads.length; i++) {
+			try {
+				threads[i].join();
+			} catch (InterruptedException ex) {
+				throw new IllegalStateException(ex);
+			}
+			recordings[i].replay(actual);
+		}
+		if (actual.isBlendingEnabled() || actual.getBlendSrcFunc() != GL20.GL_ONE || actual.getBlendDstFunc() != GL20.GL_ZERO)
+			throw new IllegalStateException("Blend state not restored after replay.");
+		actual.end();
+
+		for (int i = 0, n = Math.max(actual.runs.size, expected.runs.size); i < n; i++) {
+			String run = i < actual.runs.size ? actual.runs.get(i) : null;
+			String expectedRun = i < expected.runs.size ? expected.runs.get(i) : null;
+			if (run == null || !run.equals(expectedRun))
+				throw new IllegalStateException("Wrong run " + i + ": " + run + ", expected: " + expectedRun);
+		}
+		if (!actual.vertices.equals(expected.vertices, 0.001f)) throw new IllegalStateException("Wrong replayed vertices.");
+		actual.dispose();
+		expected.dispose();
+	}
+
+	/** Draws the sprites from start to end. The transform matrix, blend state and color only depend on the sprite index, so the
+	 * sprites can be split among several batches. */
+	void drawVerify (Batch batch, int start, int end) {
+		Matrix4 transform = new Matrix4();
+		for (int i = start; i < end; i++) {
+			if (i == start || i % 40 == 0) {
+				int t = i / 40;
+				transform.idt();
+				if (t % 3 == 1)
+					transform.translate(t % 7 * 50, 30, 0).rotate(0, 0, 1, t * 15);
+				else if (t % 3 == 2)
+					transform.scale(1.5f, 0.5f, 1).translate(-20, t % 5 * 40, 0);
+				batch.setTransformMatrix(transform);
+			}
+			if (i == start || i % 60 == 0) {
+				int b = i / 60;
+				if (b % 3 == 2)
+					batch.disableBlending();
+				else
+					batch.enableBlending();
+				if (b % 2 == 0)
+					batch.setBlendFunction(GL20.GL_SRC_ALPHA, GL20.GL_ONE_MINUS_SRC_ALPHA);
+				else
+					batch.setBlendFunction(GL20.GL_ONE, GL20.GL_ONE);
+			}
+			batch.setColor(i % 5 / 4f, 1, 0.5f, 1);
+			TextureRegion region = regions[i];
+			float x = positions[i * 3], y = positions[i * 3 + 1];
+			switch (i % 3) {
+			case 0:
+				batch.draw(region, x, y, 32, 32, 64, 64, 1.5f, 1.5f, positions[i * 3 + 2]);
+				break;
+			case 1:
+				batch.draw(region.getTexture(), x, y, 16, 48);
+				break;
+			default:
+				batch.draw(region, x, y);
+			}
+		}
+		batch.setTransformMatrix(transform.idt());
+	}
+
+	/** Collects the vertices a SpriteBatch flushes, transformed by its transform matrix, and the runs of vertices which share a
+	 * texture and a blend state. */
+	static class CaptureBatch extends SpriteBatch {
+		final FloatArray vertices = new FloatArray();
+		final Array<String> runs = new Array();
+		private final Field verticesField, idxField, lastTextureField;
+
+		CaptureBatch () {
+			super(100);
+			try {
+				verticesField = SpriteBatch.class.getDeclaredField("vertices");
+				idxField = SpriteBatch.class.getDeclaredField("idx");
+				lastTextureField = SpriteBatch.class.getDeclaredField("lastTexture");
+			} catch (NoSuchFieldException ex) {
+				throw new IllegalStateException(ex);
+			}
+			verticesField.setAccessible(true);
+			idxField.setAccessible(true);
+			lastTextureField.setAccessible(true);
+		}
+
+		public void flush () {
+			try {
+				float[] flushed = (float[])verticesField.get(this);
+				int count = idxField.getInt(this);
+				if (count > 0) capture((Texture)lastTextureField.get(this), flushed, count);
+			} catch (IllegalAccessException ex) {
+				throw new IllegalStateException(ex);
+			}
+			super.flush();
+		}
+
+		private void capture (Texture texture, float[] flushed, int count) {
+			String run = System.identityHashCode(texture) + " blending " + isBlendingEnabled() + " " + getBlendSrcFunc() + " "
+				+ getBlendDstFunc();
+			if (runs.size == 0 || !runs.peek().startsWith(run + " ")) runs.add(run + " from " + vertices.size);
+			float[] val = getTransformMatrix().val;
+			for (int i = 0; i < count; i += 5) {
+				float x = flushed[i], y = flushed[i + 1];
+				vertices.add(val[Matrix4.M00] * x + val[Matrix4.M01] * y + val[Matrix4.M03]);
+				vertices.add(val[Matrix4.M10] * x + val[Matrix4.M11] * y + val[Matrix4.M13]);
+				vertices.add(flushed[i + 2]);
+				vertices.add(flushed[i + 3]);
+				vertices.add(flushed[i + 4]);
+			}
+		}
+	}
+
+	@TearDown
+	public void dispose () {
+		batch.dispose();
+		for (Texture texture : textures)
+			texture.dispose();
+	}
+
+	@Benchmark
+	public int drawDirect () {
+		SpriteBatch batch = this.batch;
+		TextureRegion[] regions = this.regions;
+		float[] positions = this.positions;
+		batch.begin();
+		for (int i = 0, n = regions.length; i < n; i++)
+			batch.draw(regions[i], positions[i * 3], positions[i * 3 + 1], 32, 32, 64, 64, 1.5f, 1.5f, positions[i * 3 + 2]);
+		batch.end();
+		return batch.renderCalls;
+	}
+
+	@Benchmark
+	public int replay () {
+		SpriteBatch batch = this.batch;
+		batch.begin();
+		recording.replay(batch);
+		batch.end();
+		return batch.renderCalls;
+	}
+
+	@Benchmark
+	public int record () {
+		RecordingBatch recording = this.recording;
+		TextureRegion[] regions = this.regions;
+		float[] positions = this.positions;
+		recording.begin();
+		for (int i = 0, n = regions.length; i < n; i++)
+			recording.draw(regions[i], positions[i * 3], positions[i * 3 + 1], 32, 32, 64, 64, 1.5f, 1.5f, positions[i * 3 + 2]);
+		recording.end();
+		return recording.getRunCount();
+	}
+}
@@ -0,0 +1,170 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.graphics.Camera;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.graphics.g3d.Renderable;
+import com.badlogic.gdx.graphics.g3d.Shader;
+import com.badlogic.gdx.graphics.g3d.attributes.BlendingAttribute;
+import com.badlogic.gdx.graphics.g3d.attributes.TextureAttribute;
+import com.badlogic.gdx.graphics.g3d.utils.DefaultRenderableSorter;
+import com.badlogic.gdx.graphics.g3d.utils.RenderContext;
+import com.badlogic.gdx.graphics.g3d.utils.RenderableSorter;
+import com.badlogic.gdx.graphics.g3d.utils.SortKeyRenderableSorter;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+
+/** Compares {@link DefaultRenderableSorter} with {@link SortKeyRenderableSorter} on renderables spread over 16 shaders, 64
+ * textures and 256 meshes, a tenth of them blended, at random positions around the camera. Each invocation sorts a fresh copy of
+ * the renderables in the order they were created. {@link #stateChanges(Array)} counts the shader and texture switches a sorted
+ * frame causes. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class RenderableSorterBenchmark {
+	@Param({"10000", "100000"}) public int size;
+	@Param({"default", "sortKey"}) public String sorter;
+
+	Camera camera;
+	RenderableSorter renderableSorter;
+	Renderable[] input;
+	Texture[] textures;
+	Mesh[] meshes;
+	final Array<Renderable> renderables = new Array<Renderable>();
+
+	@Setup
+	public void setup () {
+		MockGL.install();
+		MathUtils.random.setSeed(1234);
+		camera = new PerspectiveCamera(67, MockGL.WIDTH, MockGL.HEIGHT);
+		camera.position.set(0, 10, 0);
+		camera.update();
+		renderableSorter = sorter.equals("default") ? new DefaultRenderableSorter() : new SortKeyRenderableSorter();
+
+		Shader[] shaders = new Shader[16];
+		for (int i = 0; i < shaders.length; i++)
+			shaders[i] = new NoopShader();
+		textures = new Texture[64];
+		Material[] materials = new Material[textures.length * 2];
+		for (int i = 0; i < textures.length; i++) {
+			textures[i] = MockGL.newTexture(32, 32);
+			materials[i * 2] = new Material(TextureAttribute.createDiffuse(textures[i]));
+			materials[i * 2 + 1] = new Material(TextureAttribute.createDiffuse(textures[i]), new BlendingAttribute(0.5f));
+		}
+		meshes = new Mesh[256];
+		for (int i = 0; i < meshes.length; i++)
+			meshes[i] = new Mesh(true, 4, 6, VertexAttribute.Position());
+
+		input = new Renderable[size];
+		for (int i = 0; i < size; i++) {
+			Renderable renderable = new Renderable();
+			renderable.shader = shaders[MathUtils.random(shaders.length - 1)];
+			renderable.material = materials[MathUtils.random(textures.length - 1) * 2 + (MathUtils.randomBoolean(0.1f) ? 1 : 0)];
+			renderable.mesh = meshes[MathUtils.random(meshes.length - 1)];
+			renderable.meshPartSize = 6;
+			renderable.primitiveType = GL20.GL_TRIANGLES;
+			renderable.worldTransform.setToTranslation(MathUtils.random(-500f, 500f), MathUtils.random(-50f, 50f),
+				MathUtils.random(-500f, 500f));
+			input[i] = renderable;
+		}
+	}
+
+	@Setup(Level.Invocation)
+	public void reset () {
+		renderables.clear();
+		renderables.addAll(input);
+	}
+
+	@TearDown
+	public void dispose () {
+		for (Texture texture : textures)
+			texture.dispose();
+		for (Mesh mesh : meshes)
+			mesh.dispose();
+	}
+
+	@Benchmark
+	public Array<Renderable> sort () {
+		renderableSorter.sort(camera, renderables);
+		return renderables;
+	}
+
+	/** Returns the number of times the shader or the diffuse texture changes between consecutive renderables. */
+	static public int stateChanges (Array<Renderable> renderables) {
+		int changes = 0;
+		Shader shader = null;
+		Texture texture = null;
+		for (int i = 0; i < renderables.size; i++) {
+			Renderable renderable = renderables.get(i);
+			Texture diffuse = ((TextureAttribute)renderable.material.get(TextureAttribute.Diffuse)).textureDescription.texture;
+			if (renderable.shader != shader || diffuse != texture) changes++;
+			shader = renderable.shader;
+			texture = diffuse;
+		}
+		return changes;
+	}
+
+	static class NoopShader implements Shader {
+		public void init () {
+		}
+
+		public int compareTo (Shader other) {
+			return 0;
+		}
+
+		public boolean canRender (Renderable instance) {
+			return true;
+		}
+
+		public void begin (Camera camera, RenderContext context) {
+		}
+
+		public void render (Renderable renderable) {
+		}
+
+		public void end () {
+		}
+
+		public void dispose () {
+		}
+	}
+}
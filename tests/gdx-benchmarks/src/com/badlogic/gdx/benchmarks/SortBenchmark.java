@@ -0,0 +1,92 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.utils.Array;
+
+/** Benchmarks {@link Array#sort()} (ComparableTimSort) and {@link Array#sort(Comparator)} (TimSort) on random, presorted and
+ * nearly sorted input. Each invocation sorts a fresh copy of the input. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SortBenchmark {
+	static final Comparator<Float> comparator = new Comparator<Float>() {
+		public int compare (Float a, Float b) {
+			return Float.compare(b, a);
+		}
+	};
+
+	@Param({"100", "10000", "100000"}) public int size;
+	@Param({"random", "sorted", "nearlySorted"}) public String order;
+
+	Float[] input;
+	final Array<Float> array = new Array<Float>(true, 16, Float.class);
+
+	@Setup
+	public void setup () {
+		MathUtils.random.setSeed(1234);
+		input = new Float[size];
+		for (int i = 0; i < size; i++)
+			input[i] = order.equals("random") ? MathUtils.random() : (float)i;
+		if (order.equals("nearlySorted")) {
+			for (int i = 0, n = size / 100 + 1; i < n; i++) {
+				int a = MathUtils.random(size - 1), b = MathUtils.random(size - 1);
+				Float temp = input[a];
+				input[a] = input[b];
+				input[b] = temp;
+			}
+		}
+	}
+
+	@Setup(Level.Invocation)
+	public void reset () {
+		array.clear();
+		array.addAll(input);
+	}
+
+	@Benchmark
+	public Array<Float> sortComparable () {
+		array.sort();
+		return array;
+	}
+
+	@Benchmark
+	public Array<Float> sortComparator () {
+		array.sort(comparator);
+		return array;
+	}
+}
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+
+/** Benchmarks the vertex generation of {@link SpriteBatch#draw(TextureRegion, float, float, float, float, float, float, float,
+ * float, float)} and friends against the no-op GL of {@link MockGL}. One invocation draws a frame of {@link #sprites} sprites
+ * spread over {@link #pages} textures, so the cost of flushes caused by texture switches is included but no GL work is. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class SpriteBatchBenchmark {
+	@Param({"1000", "10000"}) public int sprites;
+	@Param({"1", "4"}) public int pages;
+
+	SpriteBatch batch;
+	Texture[] textures;
+	TextureRegion[] regions;
+	float[] positions;
+
+	@Setup
+	public void setup () {
+		MockGL.install();
+		MathUtils.random.setSeed(1234);
+		batch = new SpriteBatch(1000);
+		textures = new Texture[pages];
+		for (int i = 0; i < pages; i++)
+			textures[i] = MockGL.newTexture(1024, 1024);
+		regions = new TextureRegion[sprites];
+		positions = new float[sprites * 3];
+		for (int i = 0; i < sprites; i++) {
+			// Neighbouring sprites mostly share a page, like sprites sorted by layer in a game.
+			regions[i] = new TextureRegion(textures[(i / 64) % pages], MathUtils.random(960), MathUtils.random(960), 64, 64);
+			positions[i * 3] = MathUtils.random(MockGL.WIDTH);
+			positions[i * 3 + 1] = MathUtils.random(MockGL.HEIGHT);
+			positions[i * 3 + 2] = MathUtils.random(360f);
+		}
+	}
+
+	@TearDown
+	public void dispose () {
+		batch.dispose();
+		for (Texture texture : textures)
+			texture.dispose();
+	}
+
+	@Benchmark
+	public int drawRegion () {
+		SpriteBatch batch = this.batch;
+		TextureRegion[] regions = this.regions;
+		float[] positions = this.positions;
+		batch.begin();
+		for (int i = 0, n = regions.length; i < n; i++)
+			batch.draw(regions[i], positions[i * 3], positions[i * 3 + 1]);
+		batch.end();
+		return batch.renderCalls;
+	}
+
+	@Benchmark
+	public int drawRegionRotatedScaled () {
+		SpriteBatch batch = this.batch;
+		TextureRegion[] regions = this.regions;
+		float[] positions = this.positions;
+		batch.begin();
+		for (int i = 0, n = regions.length; i < n; i++)
+			batch.draw(regions[i], positions[i * 3], positions[i * 3 + 1], 32, 32, 64, 64, 1.5f, 1.5f, positions[i * 3 + 2]);
+		batch.end();
+		return batch.renderCalls;
+	}
+
+	@Benchmark
+	public int drawTexture () {
+		SpriteBatch batch = this.batch;
+		TextureRegion[] regions = this.regions;
+		float[] positions = this.positions;
+		batch.begin();
+		for (int i = 0, n = regions.length; i < n; i++)
+			batch.draw(regions[i].getTexture(), positions[i * 3], positions[i * 3 + 1], 64, 64);
+		batch.end();
+		return batch.renderCalls;
+	}
+}
@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.StreamingSpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.math.MathUtils;
+
+/** Measures the sprites per second of {@link SpriteBatch} at its maximum size of 5460 sprites against {@link StreamingSpriteBatch}
+ * with batches of {@link #size} sprites, drawing frames of {@link #SPRITES} sprites of a single texture like a particle heavy
+ * scene. Runs against the no-op GL of {@link MockGL}, so only the vertex generation and the copies done by the flushes are
+ * measured, not the GPU work. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class StreamingSpriteBatchBenchmark {
+	static final int SPRITES = 100000;
+
+	@Param({"5460", "100000"}) public int size;
+
+	SpriteBatch spriteBatch;
+	StreamingSpriteBatch streamingBatch;
+	Texture texture;
+	TextureRegion region;
+	float[] positions;
+
+	@Setup
+	public void setup () {
+		MockGL.install();
+		MathUtils.random.setSeed(1234);
+		spriteBatch = new SpriteBatch(5460);
+		streamingBatch = new StreamingSpriteBatch(size);
+		texture = MockGL.newTexture(256, 256);
+		region = new TextureRegion(texture, 0, 0, 16, 16);
+		positions = new float[SPRITES * 2];
+		for (int i = 0; i < positions.length; i += 2) {
+			positions[i] = MathUtils.random(MockGL.WIDTH);
+			positions[i + 1] = MathUtils.random(MockGL.HEIGHT);
+		}
+	}
+
+	@TearDown
+	public void dispose () {
+		spriteBatch.dispose();
+		streamingBatch.dispose();
+		texture.dispose();
+	}
+
+	private void draw (Batch batch) {
+		TextureRegion region = this.region;
+		float[] positions = this.positions;
+		batch.begin();
+		for (int i = 0, n = positions.length; i < n; i += 2)
+			batch.draw(region, positions[i], positions[i + 1]);
+		batch.end();
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SPRITES)
+	public int spriteBatch () {
+		draw(spriteBatch);
+		return spriteBatch.renderCalls;
+	}
+
+	@Benchmark
+	@OperationsPerInvocation(SPRITES)
+	public int streamingSpriteBatch () {
+		draw(streamingBatch);
+		return streamingBatch.renderCalls;
+	}
+}
@@ -0,0 +1,100 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.graphics.OrthographicCamera;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.TiledMap;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.renderers.OrthogonalCachedTiledMapRenderer;
+import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.math.MathUtils;
+
+/** Renders the map of TiledMapBench, 20 layers of 150x100 random tiles, while the camera pans. Only the CPU side is measured, the
+ * cached renderer also saves uploading the vertices of every visible tile each frame. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TiledMapRendererBenchmark {
+	@Param({"batch", "cached"}) public String renderer;
+	@Param({"1", "4"}) public float zoom;
+
+	Texture tiles;
+	TiledMap map;
+	OrthogonalTiledMapRenderer mapRenderer;
+	OrthographicCamera camera;
+	int frame;
+
+	@Setup
+	public void setup () {
+		MockGL.install();
+		MathUtils.random.setSeed(1234);
+		tiles = MockGL.newTexture(512, 512);
+		TextureRegion[][] splitTiles = TextureRegion.split(tiles, 32, 32);
+		map = new TiledMap();
+		for (int l = 0; l < 20; l++) {
+			TiledMapTileLayer layer = new TiledMapTileLayer(150, 100, 32, 32);
+			for (int x = 0; x < 150; x++) {
+				for (int y = 0; y < 100; y++) {
+					Cell cell = new Cell();
+					cell.setTile(new StaticTiledMapTile(splitTiles[MathUtils.random(15)][MathUtils.random(15)]));
+					layer.setCell(x, y, cell);
+				}
+			}
+			map.getLayers().add(layer);
+		}
+		mapRenderer = renderer.equals("cached") ? new OrthogonalCachedTiledMapRenderer(map) : new OrthogonalTiledMapRenderer(map);
+		camera = new OrthographicCamera();
+		camera.setToOrtho(false, MockGL.WIDTH / (float)MockGL.HEIGHT * 320, 320);
+		camera.zoom = zoom;
+	}
+
+	@TearDown
+	public void dispose () {
+		mapRenderer.dispose();
+		tiles.dispose();
+	}
+
+	@Benchmark
+	public void render () {
+		camera.position.x = 300 + (frame++ % 100) * 8;
+		camera.update();
+		mapRenderer.setView(camera);
+		mapRenderer.render();
+	}
+}
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.maps.tiled.PackedTiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTile;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
+import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSet;
+import com.badlogic.gdx.maps.tiled.TiledMapTileSets;
+import com.badlogic.gdx.maps.tiled.TmxMapLoader;
+import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
+import com.badlogic.gdx.math.MathUtils;
+
+/** Compares reading every cell of a 1000x1000 {@link TiledMapTileLayer} with a {@link PackedTiledMapTileLayer}, which decodes the
+ * tile, flips and rotation of each cell from its global tile ID. The cells use 256 tiles and random flip flags. Setup first
+ * checks the flip and rotation lookup tables of the packed layer against the cells {@link TmxMapLoader} creates, and the
+ * setters of the packed cell against those of a {@link Cell}. */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class TiledMapTileLayerBenchmark {
+	static final int SIZE = 1000;
+
+	@Param({"cells", "packed"}) public String layer;
+
+	TiledMapTileLayer tileLayer;
+
+	@Setup
+	public void setup () {
+		MathUtils.random.setSeed(1234);
+		TiledMapTileSets tileSets = newTileSets(256);
+		verify(tileSets, true);
+		verify(tileSets, false);
+		ReferenceLoader loader = new ReferenceLoader(true);
+		PackedTiledMapTileLayer packedLayer = new PackedTiledMapTileLayer(SIZE, SIZE, 32, 32, tileSets);
+		TiledMapTileLayer cellLayer = new TiledMapTileLayer(SIZE, SIZE, 32, 32);
+		for (int y = 0; y < SIZE; y++) {
+			for (int x = 0; x < SIZE; x++) {
+				int id = MathUtils.random(1, 256), flags = MathUtils.random(7);
+				packedLayer.setTileId(x, y, flags << 29 | id);
+				cellLayer.setCell(x, y, loader.cell(flags, tileSets.getTile(id)));
+			}
+		}
+		tileLayer = layer.equals("packed") ? packedLayer : cellLayer;
+	}
+
+	static TiledMapTileSets newTileSets (int tileCount) {
+		TiledMapTileSet tileSet = new TiledMapTileSet();
+		for (int id = 1; id <= tileCount; id++) {
+			StaticTiledMapTile tile = new StaticTiledMapTile(new TextureRegion());
+			tile.setId(id);
+			tileSet.putTile(id, tile);
+		}
+		TiledMapTileSets tileSets = new TiledMapTileSets();
+		tileSets.addTileSet(tileSet);
+		return tileSets;
+	}
+
+	/** Throws if a global tile ID isn't shown like the cell TmxMapLoader creates for it, if that cell isn't stored as the same ID,
+	 * if any flips and rotation set on a cell aren't shown the same way when read back, or if any sequence of three setter calls
+	 * on the cell returned by the packed layer doesn't show the tile like the same calls on a cell with the same flips and
+	 * rotation. */
+	static void verify (TiledMapTileSets tileSets, boolean yUp) {
+		PackedTiledMapTileLayer packedLayer = new PackedTiledMapTileLayer(1, 1, 32, 32, tileSets, yUp);
+		ReferenceLoader loader = new ReferenceLoader(yUp);
+		for (int flags = 0; flags < 8; flags++) {
+			int id = flags << 29 | 100 + flags;
+			Cell expected = loader.cell(flags, tileSets.getTile(100 + flags));
+			packedLayer.setTileId(0, 0, id);
+			Cell cell = packedLayer.getCell(0, 0);
+			if (cell.getTile() != expected.getTile() || transform(cell) != transform(expected))
+				throw new IllegalStateException("Wrong cell for flags " + flags + ", yUp: " + yUp);
+			packedLayer.setCell(0, 0, expected);
+			if (packedLayer.getTileId(0, 0) != id) throw new IllegalStateException("Wrong ID for flags " + flags + ", yUp: " + yUp);
+		}
+		for (int i = 0; i < 16; i++) {
+			Cell expected = new Cell();
+			expected.setTile(tileSets.getTile(1));
+			expected.setFlipHorizontally((i & 8) != 0);
+			expected.setFlipVertically((i & 4) != 0);
+			expected.setRotation(i & 3);
+			packedLayer.setCell(0, 0, expected);
+			if (transform(packedLayer.getCell(0, 0)) != transform(expected))
+				throw new IllegalStateException("Wrong cell for flips and rotation " + i + ", yUp: " + yUp);
+		}
+		for (int i = 0; i < 16; i++) {
+			for (int calls = 0; calls < 512; calls++) {
+				Cell expected = new Cell();
+				expected.setTile(tileSets.getTile(1));
+				expected.setFlipHorizontally((i & 8) != 0);
+				expected.setFlipVertically((i & 4) != 0);
+				expected.setRotation(i & 3);
+				packedLayer.setCell(0, 0, expected);
+				Cell cell = packedLayer.getCell(0, 0);
+				// The packed cell may describe the same transform differently, the setters must behave like on that description.
+				expected.setFlipHorizontally(cell.getFlipHorizontally());
+				expected.setFlipVertically(cell.getFlipVertically());
+				expected.setRotation(cell.getRotation());
+				for (int call = 0; call < 3; call++) {
+					set(expected, calls >> call * 3 & 7);
+					set(cell, calls >> call * 3 & 7);
+				}
+				if (transform(cell) != transform(expected) || transform(packedLayer.getCell(0, 0)) != transform(expected))
+					throw new IllegalStateException(
+						"Wrong cell for setter calls " + calls + " on flips and rotation " + i + ", yUp: " + yUp);
+			}
+		}
+	}
+
+	/** Calls one of the setters of the cell: 0 and 1 set the horizontal flip, 2 and 3 the vertical flip, 4 to 7 the rotation. */
+	static void set (Cell cell, int call) {
+		if (call < 2)
+			cell.setFlipHorizontally(call == 1);
+		else if (call < 4)
+			cell.setFlipVertically(call == 3);
+		else
+			cell.setRotation(call - 4);
+	}
+
+	/** Returns the 2x2 matrix that flips and then rotates the tile, packed as 4 values of -1, 0 or 1. Cells which show the tile
+	 * the same way have the same matrix. */
+	static int transform (Cell cell) {
+		int m00 = cell.getFlipHorizontally() ? -1 : 1, m01 = 0, m10 = 0, m11 = cell.getFlipVertically() ? -1 : 1;
+		for (int i = cell.getRotation(); i > 0; i--) {
+			// Rotate 90 degrees counter clockwise.
+			int r00 = -m10, r01 = -m11;
+			m10 = m00;
+			m11 = m01;
+			m00 = r00;
+			m01 = r01;
+		}
+		return (m00 + 1) << 6 | (m01 + 1) << 4 | (m10 + 1) << 2 | (m11 + 1);
+	}
+
+	/** Creates cells for the flip flags of a global tile ID the way TmxMapLoader does. */
+	static class ReferenceLoader extends TmxMapLoader {
+		ReferenceLoader (boolean yUp) {
+			this.yUp = yUp;
+		}
+
+		Cell cell (int flags, TiledMapTile tile) {
+			Cell cell = createTileLayerCell((flags & 4) != 0, (flags & 2) != 0, (flags & 1) != 0);
+			cell.setTile(tile);
+			return cell;
+		}
+	}
+
+	@Benchmark
+	public int readCells () {
+		TiledMapTileLayer tileLayer = this.tileLayer;
+		int sum = 0;
+		for (int y = 0; y < SIZE; y++) {
+			for (int x = 0; x < SIZE; x++) {
+				Cell cell = tileLayer.getCell(x, y);
+				sum += cell.getTile().getId() + cell.getRotation();
+				if (cell.getFlipHorizontally()) sum++;
+				if (cell.getFlipVertically()) sum += 2;
+			}
+		}
+		return sum;
+	}
+}
@@ -27,6 +27,7 @@ import java.awt.event.MouseEvent;
 
 import javax.swing.DefaultListSelectionModel;
 import javax.swing.JButton;
+import javax.swing.JCheckBox;
 import javax.swing.JFrame;
 import javax.swing.JList;
 import javax.swing.JPanel;
@@ -61,6 +62,17 @@ public class LwjglTestStarter extends JFrame {
 	 * @return {@code true} if the test was found and run, {@code false} otherwise
 	 */
 	public static boolean runTest (String testName) {
+		return runTest(testName, false);
+	}
+
+	/**
+	 * Runs the {@link GdxTest} with the given name.
+	 * 
+	 * @param testName the name of a test class
+	 * @param useGL30 whether to create an OpenGL 3 context, see {@link LwjglApplicationConfiguration#useGL30}
+	 * @return {@code true} if the test was found and run, {@code false} otherwise
+	 */
+	public static boolean runTest (String testName, boolean useGL30) {
 		GdxTest test = GdxTests.newTest(testName);
 		if (test == null) {
 			return false;
@@ -70,6 +82,7 @@ public class LwjglTestStarter extends JFrame {
 		config.height = 480;
 		config.title = testName;
 		config.forceExit = false;
+		config.useGL30 = useGL30;
 		new LwjglApplication(test, config);
 		return true;
 	}
@@ -79,6 +92,7 @@ public class LwjglTestStarter extends JFrame {
 			setLayout(new BorderLayout());
 
 			final JButton button = new JButton("Run Test");
+			final JCheckBox gl30 = new JCheckBox("GL30");
 
 			final JList list = new JList(GdxTests.getNames().toArray());
 			JScrollPane pane = new JScrollPane(list);
@@ -103,20 +117,25 @@ public class LwjglTestStarter extends JFrame {
 			final Preferences prefs = new LwjglPreferences(new FileHandle(new LwjglFiles().getExternalStoragePath()
 				+ ".prefs/lwjgl-tests"));
 			list.setSelectedValue(prefs.getString("last", null), true);
+			gl30.setSelected(prefs.getBoolean("gl30", false));
 
 			button.addActionListener(new ActionListener() {
 				@Override
 				public void actionPerformed (ActionEvent e) {
 					String testName = (String)list.getSelectedValue();
 					prefs.putString("last", testName);
+					prefs.putBoolean("gl30", gl30.isSelected());
 					prefs.flush();
 					dispose();
-					runTest(testName);
+					runTest(testName, gl30.isSelected());
 				}
 			});
 
 			add(pane, BorderLayout.CENTER);
-			add(button, BorderLayout.SOUTH);
+			JPanel buttons = new JPanel(new BorderLayout());
+			buttons.add(gl30, BorderLayout.WEST);
+			buttons.add(button, BorderLayout.CENTER);
+			add(buttons, BorderLayout.SOUTH);
 
 			// GdxTest test = GdxTests.newTest("BitmapFontFlipTest");
 			// new LwjglApplication(test, "Test", 480, 320, test.needsGL20());
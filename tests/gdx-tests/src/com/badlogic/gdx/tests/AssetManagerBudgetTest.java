@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.Array;
+
+/** Checks the cache of unloaded assets of an {@link AssetManager} with a {@link AssetManager#setMemoryBudget(long) memory
+ * budget}. Assets are evicted least recently unloaded first, evicting an asset evicts its cached dependencies and the cached
+ * assets which depend on it, and loading a cached asset takes it from the cache. */
+public class AssetManagerBudgetTest extends GdxTest {
+	static final String ANIMATION = "data/animation.png", BADLOGIC = "data/badlogic.jpg";
+	static final String MODEL = "data/g3d/head.g3db", MODEL_TEXTURE = "data/g3d/head_color.png";
+
+	AssetManager manager;
+	SpriteBatch batch;
+	BitmapFont font;
+	Array<String> results = new Array();
+
+	@Override
+	public void create () {
+		batch = new SpriteBatch();
+		font = new BitmapFont();
+
+		manager = new AssetManager();
+		manager.setMemoryBudget(Long.MAX_VALUE);
+		manager.load(ANIMATION, Texture.class);
+		manager.load(MODEL, Model.class);
+		manager.load(BADLOGIC, Texture.class);
+		manager.finishLoading();
+		long loaded = manager.getMemoryUsed();
+		Texture animation = manager.get(ANIMATION);
+		Texture modelTexture = manager.get(MODEL_TEXTURE);
+		Texture badlogic = manager.get(BADLOGIC);
+
+		// the model's texture is cached after the model, the cache is: animation, model, model texture, badlogic
+		manager.unload(ANIMATION);
+		manager.unload(MODEL);
+		manager.unload(BADLOGIC);
+		check("unloaded assets are cached", manager.getMemoryUsed() == loaded && !manager.isLoaded(MODEL_TEXTURE)
+			&& !isDisposed(animation) && !isDisposed(modelTexture));
+
+		manager.setMemoryBudget(loaded - 1);
+		check("the least recently unloaded asset is evicted first", isDisposed(animation) && !isDisposed(modelTexture));
+
+		// evicting the model is enough to get within the budget, its texture is evicted with it
+		manager.setMemoryBudget(manager.getMemoryUsed() - 1);
+		check("evicting an asset evicts its cached dependencies", isDisposed(modelTexture) && !isDisposed(badlogic));
+
+		manager.setMemoryBudget(Long.MAX_VALUE);
+		manager.load(BADLOGIC, Texture.class);
+		manager.finishLoading();
+		check("a cached asset is loaded from the cache", manager.get(BADLOGIC) == badlogic);
+
+		long withoutModel = manager.getMemoryUsed();
+		manager.load(MODEL, Model.class);
+		manager.finishLoading();
+		Model model = manager.get(MODEL);
+		manager.unload(MODEL);
+		// loading the cached model texture as another type evicts it and the cached model which depends on it
+		manager.load(MODEL_TEXTURE, Pixmap.class);
+		manager.finishLoading();
+		Pixmap pixmap = manager.get(MODEL_TEXTURE);
+		check("evicting an asset evicts the cached assets which depend on it",
+			manager.getMemoryUsed() == withoutModel + pixmap.getPixels().capacity());
+		manager.unload(MODEL_TEXTURE);
+		manager.load(MODEL, Model.class);
+		manager.finishLoading();
+		check("an evicted asset is loaded again", manager.get(MODEL) != model);
+	}
+
+	boolean isDisposed (Texture texture) {
+		return texture.getTextureObjectHandle() == 0;
+	}
+
+	void check (String name, boolean passed) {
+		String result = (passed ? "passed: " : "FAILED: ") + name;
+		if (!passed) Gdx.app.error("AssetManagerBudgetTest", result);
+		results.add(result);
+	}
+
+	@Override
+	public void render () {
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+		batch.begin();
+		for (int i = 0; i < results.size; i++)
+			font.draw(batch, results.get(i), 10, Gdx.graphics.getHeight() - 10 - i * 20);
+		font.drawMultiLine(batch, manager.getDiagnostics(), 10, Gdx.graphics.getHeight() - 20 - results.size * 20);
+		batch.end();
+	}
+
+	@Override
+	public void dispose () {
+		manager.dispose();
+		batch.dispose();
+		font.dispose();
+	}
+}
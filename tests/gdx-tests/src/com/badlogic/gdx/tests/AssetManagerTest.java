@@ -23,10 +23,12 @@ import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.assets.AssetDescriptor;
 import com.badlogic.gdx.assets.AssetErrorListener;
 import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.assets.loaders.FileHandleResolver;
 import com.badlogic.gdx.assets.loaders.TextureLoader;
 import com.badlogic.gdx.assets.loaders.resolvers.InternalFileHandleResolver;
 import com.badlogic.gdx.assets.loaders.resolvers.ResolutionFileResolver;
 import com.badlogic.gdx.assets.loaders.resolvers.ResolutionFileResolver.Resolution;
+import com.badlogic.gdx.files.FileHandle;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.Texture;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
@@ -38,6 +40,11 @@ import com.badlogic.gdx.utils.TimeUtils;
 
 public class AssetManagerTest extends GdxTest implements AssetErrorListener {
 	AssetManager manager;
+	/** Loads the same assets with several loading threads, plus one which fails and one which is unloaded while loading. */
+	AssetManager parallelManager;
+	CountingTextureLoader parallelTextureLoader;
+	String parallelStatus = "";
+	int missingErrors = 0;
 	BitmapFont font;
 	SpriteBatch batch;
 	int frame = 0;
@@ -52,6 +59,10 @@ public class AssetManagerTest extends GdxTest implements AssetErrorListener {
 		manager = new AssetManager();
 		manager.setLoader(Texture.class, new TextureLoader(resolver));
 		manager.setErrorListener(this);
+		parallelManager = new AssetManager(resolver, 4);
+		parallelTextureLoader = new CountingTextureLoader(resolver);
+		parallelManager.setLoader(Texture.class, parallelTextureLoader);
+		parallelManager.setErrorListener(this);
 		load();
 		Texture.setAssetManager(manager);
 		batch = new SpriteBatch();
@@ -89,6 +100,13 @@ public class AssetManagerTest extends GdxTest implements AssetErrorListener {
 		manager.load("data/verdana39.fnt", BitmapFont.class);
 //		manager.load("data/multipagefont.fnt", BitmapFont.class);
 
+		parallelManager.load("data/animation.png", Texture.class);
+		parallelManager.load("data/pack", TextureAtlas.class);
+		parallelManager.load("data/verdana39.fnt", BitmapFont.class);
+		parallelManager.load("data/multipagefont.fnt", BitmapFont.class);
+		parallelManager.load("data/missing.png", Texture.class);
+		parallelManager.load("data/badlogic.jpg", Texture.class);
+
 // manager.load("data/test.etc1", Texture.class);
 // manager.load("data/tiledmap/tilemap csv.tmx", TileMapRenderer.class, new
 // TileMapRendererLoader.TileMapParameter("data/tiledmap/", 8, 8));
@@ -109,6 +127,11 @@ public class AssetManagerTest extends GdxTest implements AssetErrorListener {
 		manager.unload("data/verdana39.fnt");
 //		manager.unload("data/multipagefont.fnt");
 
+		parallelManager.unload("data/animation.png");
+		parallelManager.unload("data/pack");
+		parallelManager.unload("data/verdana39.fnt");
+		parallelManager.unload("data/multipagefont.fnt");
+
 // manager.unload("data/test.etc1");
 // manager.unload("data/tiledmap/tilemap csv.tmx");
 	}
@@ -122,12 +145,17 @@ public class AssetManagerTest extends GdxTest implements AssetErrorListener {
 	public void render () {
 		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 
-		boolean result = manager.update();
+		boolean result = manager.update() & parallelManager.update();
+		// unload an asset while the loading threads load it
+		if (frame == 1) parallelManager.unload("data/badlogic.jpg");
 		if (result & !diagnosed) {
 			diagnosed = true;
 			System.out.println("took: " + (TimeUtils.nanoTime() - start) / 1000000000.0f);
+			checkParallel();
 			unload();
+			if (parallelManager.getLoadedAssets() != 0) fail("assets left after unloading: " + parallelManager.getAssetNames());
 			load();
+			frame = 0;
 			diagnosed = false;
 			reloads++;
 		}
@@ -149,7 +177,7 @@ public class AssetManagerTest extends GdxTest implements AssetErrorListener {
 // if (manager.isLoaded("data/test.etc1")) batch.draw(manager.get("data/test.etc1", Texture.class), 0, 0);
 // if (manager.isLoaded("data/tiledmap/tilemap csv.tmx")) manager.get("data/tiledmap/tilemap csv.tmx",
 // TileMapRenderer.class).render();
-		font.draw(batch, "loaded: " + manager.getProgress() + ", reloads: " + reloads, 0, 30);
+		font.draw(batch, "loaded: " + manager.getProgress() + ", reloads: " + reloads + ", parallel: " + parallelStatus, 0, 30);
 		batch.end();
 		
 		
@@ -161,14 +189,67 @@ public class AssetManagerTest extends GdxTest implements AssetErrorListener {
 // }
 	}
 
+	private void checkParallel () {
+		if (parallelManager.isLoaded("data/badlogic.jpg")) fail("asset unloaded while loading is loaded");
+		if (parallelManager.isLoaded("data/missing.png")) fail("missing asset is loaded");
+		if (missingErrors != reloads + 1) fail("missing asset reported " + missingErrors + " times");
+		if (parallelManager.getLoadedAssets() != 8) fail("loaded " + parallelManager.getAssetNames());
+		if (parallelManager.getReferenceCount("data/verdana39.png") != 1) fail("font page referenced more than once");
+		if (parallelTextureLoader.pending != 0) fail(parallelTextureLoader.pending + " textures not loaded or released");
+		if (parallelStatus.length() == 0) parallelStatus = "ok";
+	}
+
+	private void fail (String message) {
+		Gdx.app.error("AssetManagerTest", "Parallel loading: " + message);
+		parallelStatus = message;
+	}
+
 	@Override
 	public void error (AssetDescriptor asset, Throwable throwable) {
+		if (asset.fileName.equals("data/missing.png")) {
+			missingErrors++;
+			return;
+		}
 		Gdx.app.error("AssetManagerTest", "Couldn't load asset: " + asset, (Exception)throwable);
 	}
 
+	/** Counts the textures loaded asynchronously which were neither loaded synchronously nor released. */
+	static class CountingTextureLoader extends TextureLoader {
+		int pending;
+
+		CountingTextureLoader (FileHandleResolver resolver) {
+			super(resolver);
+		}
+
+		@Override
+		public void loadAsync (AssetManager manager, String fileName, FileHandle file, TextureParameter parameter) {
+			super.loadAsync(manager, fileName, file, parameter);
+			synchronized (this) {
+				pending++;
+			}
+		}
+
+		@Override
+		public Texture loadSync (AssetManager manager, String fileName, FileHandle file, TextureParameter parameter) {
+			synchronized (this) {
+				pending--;
+			}
+			return super.loadSync(manager, fileName, file, parameter);
+		}
+
+		@Override
+		public void unloadAsync (AssetManager manager, String fileName, FileHandle file, TextureParameter parameter) {
+			super.unloadAsync(manager, fileName, file, parameter);
+			synchronized (this) {
+				pending--;
+			}
+		}
+	}
+
 	@Override
 	public void dispose () {
 		manager.dispose();
+		parallelManager.dispose();
 		batch.dispose();
 		font.dispose();
 	}
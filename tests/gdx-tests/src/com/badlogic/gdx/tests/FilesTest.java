@@ -21,17 +21,27 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.OutputStream;
 import java.io.OutputStreamWriter;
+import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import com.badlogic.gdx.Application.ApplicationType;
 import com.badlogic.gdx.Gdx;
 import com.badlogic.gdx.files.FileHandle;
+import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
 import com.badlogic.gdx.graphics.g2d.BitmapFont;
 import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.glutils.ETC1;
+import com.badlogic.gdx.graphics.glutils.ETC1.ETC1Data;
 import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.BaseJsonStreamReader;
 import com.badlogic.gdx.utils.GdxRuntimeException;
 import com.badlogic.gdx.utils.StreamUtils;
+import com.badlogic.gdx.utils.UBJsonReader;
+import com.badlogic.gdx.utils.UBJsonStreamReader;
+import com.badlogic.gdx.utils.UBJsonWriter;
 
 public class FilesTest extends GdxTest {
 	String message = "";
@@ -154,6 +164,7 @@ public class FilesTest extends GdxTest {
 			testExternal();
 			testAbsolute();
 			testLocal();
+			testMap();
 		} catch (IOException ex) {
 			throw new RuntimeException(ex);
 		}
@@ -447,6 +458,89 @@ public class FilesTest extends GdxTest {
 		handle.deleteDirectory();
 	}
 
+	private void testMap () throws IOException {
+		FileHandle handle = Gdx.files.internal("data/badlogic.jpg");
+		ByteBuffer buffer = handle.map();
+		if (!buffer.isDirect()) fail("Mapped buffer should be direct");
+		if (buffer.position() != 0 || buffer.remaining() != handle.length()) fail("Mapped buffer should hold the whole file");
+		byte[] bytes = handle.readBytes();
+		byte[] mapped = new byte[bytes.length];
+		buffer.duplicate().get(mapped);
+		if (!Arrays.equals(bytes, mapped)) fail("Mapped bytes differ from the file");
+		if (Gdx.app.getType() != ApplicationType.iOS) {
+			FileHandle classpath = Gdx.files.classpath("com/badlogic/gdx/utils/arial-15.png");
+			ByteBuffer classpathBuffer = classpath.map();
+			if (!classpathBuffer.isDirect() || classpathBuffer.remaining() != classpath.length()) fail("Classpath file not read");
+		}
+		try {
+			Gdx.files.external("meow-missing").map();
+			fail("Shouldn't be able to map a missing file");
+		} catch (GdxRuntimeException expected) {
+		}
+
+		// Pixmaps decoded from a mapped file, a heap buffer and a read only heap buffer match the pixmap decoded from the file.
+		Pixmap expected = new Pixmap(handle);
+		Pixmap[] pixmaps = {new Pixmap(buffer), new Pixmap(ByteBuffer.wrap(bytes)),
+			new Pixmap(ByteBuffer.wrap(bytes).asReadOnlyBuffer())};
+		if (buffer.position() != 0) fail("Pixmap shouldn't change the buffer position");
+		for (Pixmap pixmap : pixmaps) {
+			if (pixmap.getWidth() != expected.getWidth() || pixmap.getHeight() != expected.getHeight()
+				|| !pixmap.getPixels().equals(expected.getPixels())) fail("Pixmap from a ByteBuffer differs");
+			pixmap.dispose();
+		}
+		int[][] invalidRanges = {{-1, 10}, {0, -1}, {1, bytes.length}, {bytes.length, 1}, {Integer.MAX_VALUE, 1}};
+		for (int[] range : invalidRanges) {
+			try {
+				new Pixmap(buffer, range[0], range[1]);
+				fail("Pixmap shouldn't decode outside the buffer: " + range[0] + ", " + range[1]);
+			} catch (IllegalArgumentException expectedException) {
+			}
+		}
+
+		// An uncompressed PKM file is used in place by ETC1Data.
+		expected.setColor(Color.RED);
+		expected.fillCircle(64, 64, 32);
+		Pixmap rgb = new Pixmap(expected.getWidth(), expected.getHeight(), Format.RGB888);
+		rgb.drawPixmap(expected, 0, 0);
+		expected.dispose();
+		ETC1Data etc1 = ETC1.encodeImagePKM(rgb);
+		rgb.dispose();
+		ByteBuffer etc1Bytes = etc1.compressedData.duplicate();
+		etc1Bytes.clear();
+		byte[] pkm = new byte[etc1Bytes.remaining()];
+		etc1Bytes.get(pkm);
+		FileHandle pkmFile = Gdx.files.external("meow.pkm");
+		pkmFile.writeBytes(pkm, false);
+		ETC1Data mappedEtc1 = new ETC1Data(pkmFile.map());
+		if (mappedEtc1.width != etc1.width || mappedEtc1.height != etc1.height) fail("ETC1Data from a ByteBuffer has the wrong size");
+		ByteBuffer expectedData = etc1.compressedData.duplicate(), mappedData = mappedEtc1.compressedData.duplicate();
+		expectedData.position(etc1.dataOffset);
+		mappedData.position(mappedEtc1.dataOffset);
+		if (!mappedData.equals(expectedData)) fail("ETC1Data from a ByteBuffer has the wrong data");
+		mappedEtc1.dispose();
+		etc1.dispose();
+		try {
+			new ETC1Data(ByteBuffer.wrap(pkm));
+			fail("ETC1Data should require a direct buffer");
+		} catch (GdxRuntimeException expectedException) {
+		}
+		pkmFile.delete();
+
+		// UBJSON parsed from a mapped file matches the DOM and streaming readers reading the file.
+		FileHandle ubjson = Gdx.files.external("meow.ubj");
+		UBJsonWriter writer = new UBJsonWriter(ubjson.write(false));
+		writer.object().set("name", "meow").set("lives", 9).set("weights", new float[] {1.5f, 2.5f}).object("toy")
+			.set("fluffy", true).pop().pop();
+		writer.close();
+		String json = new UBJsonReader().parse(ubjson).toString();
+		if (!new UBJsonReader().parse(ubjson.map()).toString().equals(json)) fail("UBJsonReader differs for a ByteBuffer");
+		BaseJsonStreamReader reader = new UBJsonStreamReader(ubjson.map());
+		reader.next();
+		if (!reader.readValue().toString().equals(json)) fail("UBJsonStreamReader differs for a ByteBuffer");
+		reader.close();
+		ubjson.delete();
+	}
+
 	private void fail () {
 		throw new RuntimeException();
 	}
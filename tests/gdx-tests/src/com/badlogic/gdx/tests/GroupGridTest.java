@@ -0,0 +1,216 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests;
+
+import java.util.Random;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Rectangle;
+import com.badlogic.gdx.scenes.scene2d.Actor;
+import com.badlogic.gdx.scenes.scene2d.Group;
+import com.badlogic.gdx.scenes.scene2d.InputEvent;
+import com.badlogic.gdx.scenes.scene2d.InputListener;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.Touchable;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** Checks that hit detection and culling with a {@link Group#setGridIndex(float) grid index} give the same results as without one,
+ * then draws many moving actors in a group with a grid index. Hovered actors turn red. */
+public class GroupGridTest extends GdxTest {
+	static private final int COUNT = 20000;
+
+	Stage stage;
+	Texture texture;
+	Group markers;
+	Rectangle cullingArea = new Rectangle();
+	int drawn;
+
+	public void create () {
+		checkGrid();
+		Gdx.app.log("GroupGridTest", "Grid index matches linear hit detection and culling.");
+
+		stage = new Stage(0, 0, true);
+		Gdx.input.setInputProcessor(stage);
+		texture = new Texture(Gdx.files.internal("data/badlogicsmall.jpg"));
+
+		markers = new Group();
+		markers.setTransform(false);
+		markers.setGridIndex(64);
+		markers.setCullingArea(cullingArea);
+		InputListener hover = new InputListener() {
+			public void enter (InputEvent event, float x, float y, int pointer, Actor fromActor) {
+				if (pointer == -1) event.getListenerActor().setColor(Color.RED);
+			}
+
+			public void exit (InputEvent event, float x, float y, int pointer, Actor toActor) {
+				if (pointer == -1) event.getListenerActor().setColor(Color.WHITE);
+			}
+		};
+		for (int i = 0; i < COUNT; i++) {
+			Actor marker = new Actor() {
+				public void draw (Batch batch, float parentAlpha) {
+					Color color = getColor();
+					batch.setColor(color.r, color.g, color.b, color.a * parentAlpha);
+					batch.draw(texture, getX(), getY(), getWidth(), getHeight());
+					drawn++;
+				}
+			};
+			marker.setBounds(MathUtils.random(-2000, 2000), MathUtils.random(-2000, 2000), 16, 16);
+			marker.addListener(hover);
+			markers.addActor(marker);
+		}
+		stage.addActor(markers);
+	}
+
+	public void resize (int width, int height) {
+		stage.setViewport(width, height, true);
+		cullingArea.set(0, 0, width, height);
+	}
+
+	public void render () {
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+		Array<Actor> children = markers.getChildren();
+		for (int i = 0; i < 100; i++)
+			children.get(MathUtils.random(COUNT - 1)).moveBy(MathUtils.random(-4, 4), MathUtils.random(-4, 4));
+		drawn = 0;
+		stage.act(Gdx.graphics.getDeltaTime());
+		stage.draw();
+		Gdx.graphics.setTitle("Drawn: " + drawn + "/" + COUNT + ", FPS: " + Gdx.graphics.getFramesPerSecond());
+	}
+
+	public void dispose () {
+		stage.dispose();
+		texture.dispose();
+	}
+
+	/** Builds the same children in a group with and one without a grid index, then changes them and compares the hit actors and
+	 * the drawn actors. No GL is needed, drawing is recorded instead. */
+	private void checkGrid () {
+		Random random = new Random(7);
+		Array<String> drawnWithGrid = new Array(), drawnLinear = new Array();
+		Group grid = createGroup(), linear = createGroup();
+		grid.setGridIndex(32);
+		for (int i = 0; i < 400; i++) {
+			long seed = random.nextLong();
+			addChild(grid, new Random(seed), drawnWithGrid, i);
+			addChild(linear, new Random(seed), drawnLinear, i);
+		}
+		Rectangle cullingArea = new Rectangle();
+		grid.setCullingArea(cullingArea);
+		linear.setCullingArea(cullingArea);
+
+		for (int round = 0; round < 50; round++) {
+			long seed = random.nextLong();
+			change(grid, new Random(seed), drawnWithGrid);
+			change(linear, new Random(seed), drawnLinear);
+
+			for (int i = 0; i < 200; i++) {
+				float x = random.nextFloat() * 1200 - 100, y = random.nextFloat() * 1200 - 100;
+				boolean touchable = random.nextBoolean();
+				Actor expected = linear.hit(x, y, touchable), actual = grid.hit(x, y, touchable);
+				String expectedName = expected == null ? null : expected.getName();
+				String actualName = actual == null ? null : actual.getName();
+				if (expectedName == null ? actualName != null : !expectedName.equals(actualName))
+					throw new GdxRuntimeException("Error, hit " + actualName + " instead of " + expectedName + " in round " + round);
+			}
+
+			for (int i = 0; i < 20; i++) {
+				float size = random.nextInt(4) == 0 ? 2000 : random.nextFloat() * 300;
+				cullingArea.set(random.nextFloat() * 1000 - 100, random.nextFloat() * 1000 - 100, size, size);
+				drawnWithGrid.clear();
+				drawnLinear.clear();
+				grid.draw(null, 1);
+				linear.draw(null, 1);
+				if (!drawnWithGrid.equals(drawnLinear))
+					throw new GdxRuntimeException("Error, drew " + drawnWithGrid + " instead of " + drawnLinear + " in round " + round);
+			}
+		}
+	}
+
+	private Group createGroup () {
+		Group group = new Group();
+		group.setName("group");
+		group.setTransform(false);
+		group.setBounds(0, 0, 1000, 1000);
+		return group;
+	}
+
+	private void addChild (Group group, Random random, final Array<String> drawn, int id) {
+		Actor actor = new Actor() {
+			public void draw (Batch batch, float parentAlpha) {
+				drawn.add(getName());
+			}
+		};
+		actor.setName("actor" + id);
+		actor.setBounds(random.nextFloat() * 1000, random.nextFloat() * 1000, random.nextFloat() * 60, random.nextFloat() * 60);
+		if (random.nextInt(10) == 0) actor.setSize(random.nextFloat() * 600, random.nextFloat() * 600);
+		if (random.nextInt(5) == 0) {
+			actor.setOrigin(actor.getWidth() / 2, actor.getHeight() / 2);
+			actor.setRotation(random.nextFloat() * 360);
+			actor.setScale(0.5f + random.nextFloat() * 2);
+		}
+		group.addActorAt(random.nextInt(group.getChildren().size + 1), actor);
+	}
+
+	private void change (Group group, Random random, Array<String> drawn) {
+		Array<Actor> children = group.getChildren();
+		for (int i = 0; i < 20; i++) {
+			Actor actor = children.get(random.nextInt(children.size));
+			switch (random.nextInt(9)) {
+			case 0:
+				actor.moveBy(random.nextFloat() * 200 - 100, random.nextFloat() * 200 - 100);
+				break;
+			case 1:
+				actor.setSize(random.nextFloat() * 100, random.nextFloat() * 100);
+				break;
+			case 2:
+				actor.rotateBy(random.nextFloat() * 90);
+				break;
+			case 3:
+				actor.setScale(random.nextFloat() * 3);
+				break;
+			case 4:
+				actor.setVisible(!actor.isVisible());
+				break;
+			case 5:
+				actor.setZIndex(random.nextInt(children.size));
+				break;
+			case 6:
+				group.swapActor(random.nextInt(children.size), random.nextInt(children.size));
+				break;
+			case 7:
+				actor.remove();
+				addChild(group, random, drawn, random.nextInt(100000));
+				break;
+			case 8:
+				actor.setTouchable(actor.isTouchable() ? Touchable.disabled : Touchable.enabled);
+				break;
+			}
+		}
+	}
+
+	public boolean needsGL20 () {
+		return false;
+	}
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture.TextureFilter;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.MultiTextureSpriteBatch;
+import com.badlogic.gdx.graphics.g2d.PixmapPacker;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.TextureAtlas;
+import com.badlogic.gdx.graphics.g2d.TextureRegion;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.ScreenUtils;
+
+/** Draws sprites from the pages of an atlas in an order which switches the page on every sprite, once with a {@link SpriteBatch}
+ * and once with a {@link MultiTextureSpriteBatch} next to it, and compares the pixels of both. The atlas has more pages than the
+ * multi texture batch has texture units, so it also has to flush when all units are taken. */
+public class MultiTextureSpriteBatchTest extends GdxTest {
+	static final int PAGES = 6, MAX_TEXTURES = 4, SIZE = 256, COLUMNS = 8, REGION_SIZE = 40;
+
+	TextureAtlas atlas;
+	TextureRegion[] regions = new TextureRegion[PAGES];
+	SpriteBatch spriteBatch;
+	MultiTextureSpriteBatch multiBatch;
+	BitmapFont font;
+	String result;
+
+	@Override
+	public void create () {
+		// each region fills its own page
+		PixmapPacker packer = new PixmapPacker(64, 64, Format.RGBA8888, 2, false);
+		Pixmap pixmap = new Pixmap(REGION_SIZE, REGION_SIZE, Format.RGBA8888);
+		Color color = new Color();
+		for (int i = 0; i < PAGES; i++) {
+			pixmap.setColor(color.set(i / (float)PAGES, 1 - i / (float)PAGES, (i & 1), 1));
+			pixmap.fill();
+			pixmap.setColor(Color.WHITE);
+			pixmap.fillCircle(REGION_SIZE / 2, REGION_SIZE / 2, 4 + i * 2);
+			packer.pack("region" + i, pixmap);
+		}
+		pixmap.dispose();
+		// the atlas owns the pages, disposing it disposes them
+		atlas = packer.generateTextureAtlas(TextureFilter.Nearest, TextureFilter.Nearest, false);
+		for (int i = 0; i < PAGES; i++)
+			regions[i] = atlas.findRegion("region" + i);
+
+		spriteBatch = new SpriteBatch();
+		multiBatch = new MultiTextureSpriteBatch(1000, MAX_TEXTURES);
+		multiBatch.setProjectionMatrix(spriteBatch.getProjectionMatrix());
+		font = new BitmapFont();
+	}
+
+	@Override
+	public void render () {
+		Gdx.gl.glClearColor(0.2f, 0.2f, 0.2f, 1);
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+		draw(spriteBatch, 0);
+		draw(multiBatch, SIZE);
+
+		if (result == null) {
+			byte[] expected = ScreenUtils.getFrameBufferPixels(0, 0, SIZE, SIZE, false);
+			byte[] actual = ScreenUtils.getFrameBufferPixels(SIZE, 0, SIZE, SIZE, false);
+			result = "pixels " + (Arrays.equals(expected, actual) ? "match" : "DIFFER") + ", SpriteBatch: "
+				+ spriteBatch.renderCalls + " render calls, MultiTextureSpriteBatch: " + multiBatch.renderCalls
+				+ " render calls, " + multiBatch.flushesAvoided + " flushes avoided";
+			Gdx.app.log("MultiTextureSpriteBatchTest", result);
+		}
+
+		spriteBatch.begin();
+		font.draw(spriteBatch, result, 10, SIZE + 30);
+		spriteBatch.end();
+	}
+
+	/** Draws a grid of sprites cycling through the pages, tinted and rotated, in a SIZE x SIZE square at the given x. */
+	void draw (Batch batch, float x) {
+		float cell = SIZE / (float)COLUMNS;
+		batch.begin();
+		for (int i = 0; i < COLUMNS * COLUMNS; i++) {
+			TextureRegion region = regions[i % PAGES];
+			float cellX = x + i % COLUMNS * cell, cellY = i / COLUMNS * cell;
+			batch.setColor(1, 1, 1, (i & 2) == 0 ? 1 : 0.5f);
+			if ((i & 1) == 0)
+				batch.draw(region, cellX, cellY, cell, cell);
+			else
+				batch.draw(region, cellX, cellY, cell / 2, cell / 2, cell, cell, 1, 1, 90);
+		}
+		batch.setColor(Color.WHITE);
+		batch.end();
+	}
+
+	@Override
+	public void dispose () {
+		atlas.dispose();
+		spriteBatch.dispose();
+		multiBatch.dispose();
+		font.dispose();
+	}
+}
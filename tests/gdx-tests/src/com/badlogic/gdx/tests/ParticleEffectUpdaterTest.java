@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.ParticleEffect;
+import com.badlogic.gdx.graphics.g2d.ParticleEffectUpdater;
+import com.badlogic.gdx.graphics.g2d.ParticleEmitter;
+import com.badlogic.gdx.graphics.g2d.Sprite;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.math.collision.BoundingBox;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.Array;
+import com.badlogic.gdx.utils.GdxRuntimeException;
+
+/** Checks that effects updated by a {@link ParticleEffectUpdater} on multiple threads are simulated exactly like effects updated on
+ * the rendering thread when seeded the same way, then draws the effects updated in parallel. */
+public class ParticleEffectUpdaterTest extends GdxTest {
+	static final int EFFECTS = 40;
+
+	SpriteBatch batch;
+	Texture texture;
+	Sprite sprite;
+	ParticleEffectUpdater updater;
+	Array<ParticleEffect> effects;
+
+	@Override
+	public void create () {
+		batch = new SpriteBatch();
+		texture = new Texture(Gdx.files.internal("data/particle.png"));
+		sprite = new Sprite(texture);
+		updater = new ParticleEffectUpdater(4);
+
+		for (int packed = 0; packed < 2; packed++) {
+			Array<ParticleEffect> sequential = createEffects(packed == 1);
+			Array<ParticleEffect> parallel = createEffects(packed == 1);
+			for (int frame = 0; frame < 300; frame++) {
+				for (int i = 0; i < EFFECTS; i++)
+					sequential.get(i).update(1 / 60f);
+				updater.update(parallel, 1 / 60f);
+				check(sequential, parallel, frame);
+			}
+		}
+		Gdx.app.log("ParticleEffectUpdaterTest", "Parallel update matches sequential update.");
+
+		effects = createEffects(true);
+	}
+
+	private Array<ParticleEffect> createEffects (boolean packed) {
+		Array<ParticleEffect> effects = new Array();
+		for (int i = 0; i < EFFECTS; i++) {
+			ParticleEffect effect = new ParticleEffect();
+			effect.setPacked(packed);
+			effect.loadEmitters(Gdx.files.internal("data/test.p"));
+			for (ParticleEmitter emitter : effect.getEmitters())
+				emitter.setSprite(sprite);
+			effect.setPosition(Gdx.graphics.getWidth() * (i + 0.5f) / EFFECTS, Gdx.graphics.getHeight() / 2);
+			effect.setSeed(i);
+			effect.start();
+			effects.add(effect);
+		}
+		return effects;
+	}
+
+	private void check (Array<ParticleEffect> expected, Array<ParticleEffect> actual, int frame) {
+		for (int i = 0; i < EFFECTS; i++) {
+			Array<ParticleEmitter> expectedEmitters = expected.get(i).getEmitters();
+			Array<ParticleEmitter> actualEmitters = actual.get(i).getEmitters();
+			for (int ii = 0; ii < expectedEmitters.size; ii++) {
+				ParticleEmitter expectedEmitter = expectedEmitters.get(ii), actualEmitter = actualEmitters.get(ii);
+				if (expectedEmitter.getActiveCount() != actualEmitter.getActiveCount())
+					throw new GdxRuntimeException("Error, particle count differs in frame " + frame);
+				BoundingBox expectedBounds = expectedEmitter.getBoundingBox(), actualBounds = actualEmitter.getBoundingBox();
+				if (!expectedBounds.min.equals(actualBounds.min) || !expectedBounds.max.equals(actualBounds.max))
+					throw new GdxRuntimeException("Error, particle bounds differ in frame " + frame);
+			}
+		}
+	}
+
+	@Override
+	public void render () {
+		batch.getProjectionMatrix().setToOrtho2D(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+		updater.update(effects, Gdx.graphics.getDeltaTime());
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+		batch.begin();
+		for (int i = 0; i < EFFECTS; i++) {
+			ParticleEffect effect = effects.get(i);
+			if (effect.isComplete()) effect.reset();
+			effect.draw(batch);
+		}
+		batch.end();
+	}
+
+	@Override
+	public void dispose () {
+		updater.dispose();
+		batch.dispose();
+		texture.dispose();
+	}
+
+	public boolean needsGL20 () {
+		return false;
+	}
+}
@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Pixmap.Format;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.g2d.Batch;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.StreamingSpriteBatch;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.ScreenUtils;
+
+/** Draws the same {@link #SPRITES} overlapping sprites with a {@link SpriteBatch}, with a {@link StreamingSpriteBatch} which uses
+ * GL_UNSIGNED_INT indices and with one which splits the batch into draws of
+ * {@link StreamingSpriteBatch#MAX_SHORT_INDEX_SPRITES} sprites, each in its own square, and compares the pixels of the streamed
+ * squares with the SpriteBatch one. */
+public class StreamingSpriteBatchTest extends GdxTest {
+	static final int SPRITES = 40000, SIZE = 200, SPRITE_SIZE = 4;
+
+	Texture texture;
+	float[] positions = new float[SPRITES * 2];
+	float[] colors = new float[SPRITES];
+	SpriteBatch spriteBatch;
+	StreamingSpriteBatch intBatch, splitBatch;
+	BitmapFont font;
+	String result;
+
+	@Override
+	public void create () {
+		Pixmap pixmap = new Pixmap(1, 1, Format.RGBA8888);
+		pixmap.setColor(Color.WHITE);
+		pixmap.fill();
+		texture = new Texture(pixmap);
+		pixmap.dispose();
+
+		MathUtils.random.setSeed(1234);
+		Color color = new Color();
+		for (int i = 0; i < SPRITES; i++) {
+			positions[i * 2] = MathUtils.random(SIZE - SPRITE_SIZE);
+			positions[i * 2 + 1] = MathUtils.random(SIZE - SPRITE_SIZE);
+			colors[i] = color.set(MathUtils.random(), MathUtils.random(), MathUtils.random(), 1).toFloatBits();
+		}
+
+		spriteBatch = new SpriteBatch(5460);
+		intBatch = new StreamingSpriteBatch(SPRITES, 2, true, null);
+		splitBatch = new StreamingSpriteBatch(SPRITES, 2, false, null);
+		font = new BitmapFont();
+	}
+
+	@Override
+	public void render () {
+		Gdx.gl.glClearColor(0.2f, 0.2f, 0.2f, 1);
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+		draw(spriteBatch, 0);
+		draw(intBatch, SIZE);
+		draw(splitBatch, SIZE * 2);
+
+		if (result == null) {
+			byte[] expected = ScreenUtils.getFrameBufferPixels(0, 0, SIZE, SIZE, false);
+			result = "SpriteBatch: " + spriteBatch.renderCalls + " render calls\n" //
+				+ describe("int indices", intBatch, expected, SIZE) + "\n" //
+				+ describe("split draws", splitBatch, expected, SIZE * 2);
+			Gdx.app.log("StreamingSpriteBatchTest", result);
+		}
+
+		spriteBatch.begin();
+		font.drawMultiLine(spriteBatch, result, 10, SIZE + 70);
+		spriteBatch.end();
+	}
+
+	String describe (String name, StreamingSpriteBatch batch, byte[] expected, int x) {
+		byte[] actual = ScreenUtils.getFrameBufferPixels(x, 0, SIZE, SIZE, false);
+		return name + ": pixels " + (Arrays.equals(expected, actual) ? "match" : "DIFFER") + ", " + batch.renderCalls
+			+ " render calls of up to " + batch.getSpritesPerDraw() + " sprites";
+	}
+
+	void draw (Batch batch, float x) {
+		float[] positions = this.positions, colors = this.colors;
+		batch.begin();
+		for (int i = 0; i < SPRITES; i++) {
+			batch.setColor(colors[i]);
+			batch.draw(texture, x + positions[i * 2], positions[i * 2 + 1], SPRITE_SIZE, SPRITE_SIZE);
+		}
+		batch.end();
+	}
+
+	@Override
+	public void dispose () {
+		texture.dispose();
+		spriteBatch.dispose();
+		intBatch.dispose();
+		splitBatch.dispose();
+		font.dispose();
+	}
+}
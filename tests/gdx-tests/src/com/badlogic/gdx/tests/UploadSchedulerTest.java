@@ -0,0 +1,189 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.assets.AssetManager;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.Mesh;
+import com.badlogic.gdx.graphics.Pixmap;
+import com.badlogic.gdx.graphics.Texture;
+import com.badlogic.gdx.graphics.UploadScheduler;
+import com.badlogic.gdx.graphics.VertexAttribute;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.glutils.PixmapTextureData;
+import com.badlogic.gdx.graphics.glutils.ShaderProgram;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.ScreenUtils;
+
+/** Uploads a texture and a mesh in small steps with an {@link UploadScheduler} and draws them next to a copy uploaded at once.
+ * The texture is drawn while its rows arrive. Once both uploads are done, the pixels of each pair are compared. An
+ * {@link AssetManager} sharing the scheduler loads a texture and a model, each is reported loaded once its own upload is done. */
+public class UploadSchedulerTest extends GdxTest {
+	static final int SIZE = 200, GRID = 64;
+
+	UploadScheduler scheduler;
+	AssetManager manager;
+	Pixmap pixmap;
+	Texture texture, referenceTexture;
+	Mesh mesh, referenceMesh;
+	ShaderProgram shader;
+	SpriteBatch batch;
+	BitmapFont font;
+	Matrix4 projection = new Matrix4();
+	int frames;
+	String result;
+
+	@Override
+	public void create () {
+		scheduler = new UploadScheduler(100);
+		scheduler.setStepSize(4 * 1024);
+
+		pixmap = new Pixmap(Gdx.files.internal("data/badlogic.jpg"));
+		referenceTexture = new Texture(pixmap);
+		texture = scheduler.upload(new PixmapTextureData(pixmap, null, false, false));
+
+		referenceMesh = newMesh();
+		mesh = newMesh();
+		scheduler.upload(mesh);
+
+		manager = new AssetManager();
+		manager.setUploadScheduler(scheduler);
+		manager.load("data/planet_earth.png", Texture.class);
+		manager.load("data/g3d/head.g3db", Model.class);
+
+		String vertexShader = "attribute vec4 a_position;\n" //
+			+ "attribute vec4 a_color;\n" //
+			+ "uniform mat4 u_projTrans;\n" //
+			+ "varying vec4 v_color;\n" //
+			+ "void main() {\n" //
+			+ "  v_color = a_color;\n" //
+			+ "  gl_Position = u_projTrans * a_position;\n" //
+			+ "}\n";
+		String fragmentShader = "#ifdef GL_ES\n" //
+			+ "precision mediump float;\n" //
+			+ "#endif\n" //
+			+ "varying vec4 v_color;\n" //
+			+ "void main() {\n" //
+			+ "  gl_FragColor = v_color;\n" //
+			+ "}";
+		shader = new ShaderProgram(vertexShader, fragmentShader);
+		if (!shader.isCompiled()) throw new IllegalStateException(shader.getLog());
+
+		batch = new SpriteBatch();
+		font = new BitmapFont();
+	}
+
+	/** Creates a static mesh of GRID x GRID colored quads, large enough to be uploaded in many steps. */
+	Mesh newMesh () {
+		float[] vertices = new float[GRID * GRID * 4 * 3];
+		short[] indices = new short[GRID * GRID * 6];
+		float cell = SIZE / (float)GRID;
+		Color color = new Color();
+		for (int y = 0, v = 0, i = 0, vertex = 0; y < GRID; y++) {
+			for (int x = 0; x < GRID; x++, vertex += 4) {
+				float packed = color.set(x / (float)GRID, y / (float)GRID, (x ^ y) % 2, 1).toFloatBits();
+				for (int corner = 0; corner < 4; corner++) {
+					vertices[v++] = (x + (corner == 1 || corner == 2 ? 1 : 0)) * cell;
+					vertices[v++] = (y + (corner >= 2 ? 1 : 0)) * cell;
+					vertices[v++] = packed;
+				}
+				indices[i++] = (short)vertex;
+				indices[i++] = (short)(vertex + 1);
+				indices[i++] = (short)(vertex + 2);
+				indices[i++] = (short)(vertex + 2);
+				indices[i++] = (short)(vertex + 3);
+				indices[i++] = (short)vertex;
+			}
+		}
+		Mesh mesh = new Mesh(true, vertices.length / 3, indices.length, new VertexAttribute(Usage.Position, 2,
+			ShaderProgram.POSITION_ATTRIBUTE), VertexAttribute.Color());
+		mesh.setVertices(vertices);
+		mesh.setIndices(indices);
+		return mesh;
+	}
+
+	@Override
+	public void render () {
+		manager.update();
+		boolean pending = scheduler.isPending(texture) || scheduler.isPending(mesh);
+		if (pending) frames++;
+
+		Gdx.gl.glClearColor(0.2f, 0.2f, 0.2f, 1);
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+		batch.begin();
+		batch.draw(referenceTexture, 0, 0, SIZE, SIZE);
+		batch.draw(texture, SIZE, 0, SIZE, SIZE);
+		batch.end();
+
+		// binding a mesh uploads the rest of its data, so it is only drawn once its upload is done
+		shader.begin();
+		projection.set(batch.getProjectionMatrix()).translate(0, SIZE, 0);
+		shader.setUniformMatrix("u_projTrans", projection);
+		referenceMesh.render(shader, GL20.GL_TRIANGLES);
+		if (!scheduler.isPending(mesh)) {
+			shader.setUniformMatrix("u_projTrans", projection.translate(SIZE, 0, 0));
+			mesh.render(shader, GL20.GL_TRIANGLES);
+		}
+		shader.end();
+
+		if (!pending && result == null) {
+			result = "texture " + (compare(0) ? "matches" : "DIFFERS") + ", mesh " + (compare(SIZE) ? "matches" : "DIFFERS")
+				+ ", uploaded over " + frames + " frames";
+			Gdx.app.log("UploadSchedulerTest", result);
+		}
+
+		batch.begin();
+		font.draw(batch, result != null ? result : "uploading, frame " + frames, SIZE * 2 + 10, SIZE * 2);
+		font.draw(batch, "planet_earth.png: " + status("data/planet_earth.png"), SIZE * 2 + 10, SIZE * 2 - 20);
+		font.draw(batch, "head.g3db: " + status("data/g3d/head.g3db"), SIZE * 2 + 10, SIZE * 2 - 40);
+		batch.end();
+	}
+
+	/** @return whether the copy uploaded at once and the one uploaded by the scheduler look the same at the given y. */
+	boolean compare (int y) {
+		byte[] expected = ScreenUtils.getFrameBufferPixels(0, y, SIZE, SIZE, false);
+		byte[] actual = ScreenUtils.getFrameBufferPixels(SIZE, y, SIZE, SIZE, false);
+		return Arrays.equals(expected, actual);
+	}
+
+	String status (String fileName) {
+		return manager.isLoaded(fileName) ? "loaded" : "loading";
+	}
+
+	@Override
+	public void dispose () {
+		manager.dispose();
+		scheduler.cancel(texture);
+		texture.dispose();
+		referenceTexture.dispose();
+		pixmap.dispose();
+		mesh.dispose();
+		referenceMesh.dispose();
+		shader.dispose();
+		batch.dispose();
+		font.dispose();
+	}
+}
@@ -17,6 +17,8 @@
 package com.badlogic.gdx.tests.bench;
 
 import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input.Keys;
+import com.badlogic.gdx.InputMultiplexer;
 import com.badlogic.gdx.assets.AssetManager;
 import com.badlogic.gdx.graphics.GL20;
 import com.badlogic.gdx.graphics.OrthographicCamera;
@@ -26,18 +28,22 @@ import com.badlogic.gdx.graphics.g2d.SpriteBatch;
 import com.badlogic.gdx.graphics.g2d.TextureRegion;
 import com.badlogic.gdx.maps.MapLayers;
 import com.badlogic.gdx.maps.tiled.TiledMap;
-import com.badlogic.gdx.maps.tiled.TiledMapRenderer;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer;
 import com.badlogic.gdx.maps.tiled.TiledMapTileLayer.Cell;
+import com.badlogic.gdx.maps.tiled.renderers.OrthogonalCachedTiledMapRenderer;
 import com.badlogic.gdx.maps.tiled.renderers.OrthogonalTiledMapRenderer;
 import com.badlogic.gdx.maps.tiled.tiles.StaticTiledMapTile;
 import com.badlogic.gdx.tests.utils.GdxTest;
 import com.badlogic.gdx.tests.utils.OrthoCamController;
+import com.badlogic.gdx.utils.TimeUtils;
 
 public class TiledMapBench extends GdxTest {
 	
 	private TiledMap map;
-	private TiledMapRenderer renderer;
+	private OrthogonalTiledMapRenderer renderer;
+	private OrthogonalCachedTiledMapRenderer cachedRenderer;
+	private boolean cached = true;
+	private float renderTime;
 	private OrthographicCamera camera;
 	private OrthoCamController cameraController;
 	private AssetManager assetManager;
@@ -56,7 +62,7 @@ public class TiledMapBench extends GdxTest {
 		camera.update();
 		
 		cameraController = new OrthoCamController(camera);
-		Gdx.input.setInputProcessor(cameraController);
+		Gdx.input.setInputProcessor(new InputMultiplexer(this, cameraController));
 	
 		font = new BitmapFont();
 		batch = new SpriteBatch();
@@ -82,6 +88,7 @@ public class TiledMapBench extends GdxTest {
 		}
 		
 		renderer = new OrthogonalTiledMapRenderer(map);
+		cachedRenderer = new OrthogonalCachedTiledMapRenderer(map);
 
 	}
 
@@ -90,10 +97,29 @@ public class TiledMapBench extends GdxTest {
 		Gdx.gl.glClearColor(100f / 255f, 100f / 255f, 250f / 255f, 1f);
 		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
 		camera.update();
+		OrthogonalTiledMapRenderer renderer = cached ? cachedRenderer : this.renderer;
+		long start = TimeUtils.nanoTime();
 		renderer.setView(camera);
 		renderer.render();
+		renderTime = renderTime * 0.95f + (TimeUtils.nanoTime() - start) / 1000000f * 0.05f;
 		batch.begin();
-		font.draw(batch, "FPS: " + Gdx.graphics.getFramesPerSecond(), 10, 20); 
+		font.draw(batch, "FPS: " + Gdx.graphics.getFramesPerSecond() + ", " + (cached ? "cached" : "batch") + " renderer: "
+			+ (int)(renderTime * 100) / 100f + " ms, space to switch", 10, 20);
 		batch.end();
 	}
+
+	@Override
+	public boolean keyDown(int keycode) {
+		if (keycode == Keys.SPACE) cached = !cached;
+		return false;
+	}
+
+	@Override
+	public void dispose() {
+		renderer.dispose();
+		cachedRenderer.dispose();
+		tiles.dispose();
+		font.dispose();
+		batch.dispose();
+	}
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests.extensions;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFont.Glyph;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator.FreeTypeFontParameter;
+import com.badlogic.gdx.tests.utils.GdxTest;
+
+/** Generates a font with all its glyphs up front and an incremental font which renders its glyphs and looks up their kerning when
+ * they are first used, then checks that both have the same kerning for every pair of characters and lay out the same text with
+ * the same width. */
+public class FreeTypeIncrementalKerningTest extends GdxTest {
+	static final String CHARACTERS = "AVTWYLPFJKXacdegmnoqrsuvwxyz.,-'\"0123456789";
+	static final String TEXT = "AVATAR WAVE, Tyrant \"LT\" Parfait. Joy: 1,047.";
+
+	FreeTypeFontGenerator generator;
+	BitmapFont font, incrementalFont, infoFont;
+	SpriteBatch batch;
+	String result;
+
+	@Override
+	public void create () {
+		generator = new FreeTypeFontGenerator(Gdx.files.internal("data/arial.ttf"));
+		FreeTypeFontParameter parameter = new FreeTypeFontParameter();
+		parameter.size = 32;
+		font = generator.generateFont(parameter);
+		parameter.characters = "";
+		parameter.incremental = true;
+		incrementalFont = generator.generateFont(parameter);
+
+		int pairs = 0, kerned = 0, differences = 0;
+		for (int i = 0; i < CHARACTERS.length(); i++) {
+			Glyph first = font.getData().getGlyph(CHARACTERS.charAt(i));
+			Glyph incrementalFirst = incrementalFont.getData().getGlyph(CHARACTERS.charAt(i));
+			for (int j = 0; j < CHARACTERS.length(); j++) {
+				char second = CHARACTERS.charAt(j);
+				int kerning = first.getKerning(second);
+				if (incrementalFirst.getKerning(second) != kerning) differences++;
+				if (kerning != 0) kerned++;
+				pairs++;
+			}
+		}
+		boolean sameWidth = font.getBounds(TEXT).width == incrementalFont.getBounds(TEXT).width;
+		result = pairs + " pairs, " + kerned + " with kerning, " + differences + " differ, text width "
+			+ (sameWidth ? "matches" : "DIFFERS");
+		if (differences > 0 || !sameWidth) Gdx.app.error("FreeTypeIncrementalKerningTest", result);
+
+		batch = new SpriteBatch();
+		infoFont = new BitmapFont();
+	}
+
+	@Override
+	public void render () {
+		Gdx.gl.glClearColor(0.2f, 0.2f, 0.2f, 1);
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+		batch.begin();
+		font.draw(batch, TEXT, 10, 150);
+		incrementalFont.draw(batch, TEXT, 10, 100);
+		infoFont.draw(batch, result, 10, 40);
+		batch.end();
+	}
+
+	@Override
+	public void dispose () {
+		font.dispose();
+		incrementalFont.dispose();
+		generator.dispose();
+		batch.dispose();
+		infoFont.dispose();
+	}
+}
@@ -0,0 +1,121 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests.extensions;
+
+import java.util.Arrays;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.BitmapFontCache;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator.FreeTypeBitmapFontData;
+import com.badlogic.gdx.graphics.g2d.freetype.FreeTypeFontGenerator.FreeTypeFontParameter;
+import com.badlogic.gdx.scenes.scene2d.Stage;
+import com.badlogic.gdx.scenes.scene2d.ui.Label;
+import com.badlogic.gdx.scenes.scene2d.ui.Label.LabelStyle;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.ScreenUtils;
+
+/** Draws a static text with a {@link BitmapFontCache} and a {@link Label} using an incremental font with a single page, while
+ * a line of new characters every frame makes the font clear its page again and again. The pixels of the static text and the label
+ * are compared with those of the first frame, they must stay the same as their glyphs are rendered again. */
+public class FreeTypeIncrementalTest extends GdxTest {
+	static final String STATIC_TEXT = "\u3053\u3093\u306b\u3061\u306f\u4e16\u754c";
+	static final String LABEL_TEXT = "\u65e5\u672c\u8a9e\u306e\u30c6\u30ad\u30b9\u30c8";
+	static final int LINE_LENGTH = 20, WIDTH = 300, HEIGHT = 40;
+
+	FreeTypeFontGenerator generator;
+	BitmapFont font, infoFont;
+	FreeTypeBitmapFontData data;
+	BitmapFontCache cache;
+	Stage stage;
+	SpriteBatch batch;
+	StringBuilder line = new StringBuilder();
+	byte[] cachePixels, labelPixels;
+	int frames, changedFrames;
+
+	@Override
+	public void create () {
+		generator = new FreeTypeFontGenerator(Gdx.files.internal("data/DroidSansJapanese.ttf"));
+		FreeTypeFontParameter parameter = new FreeTypeFontParameter();
+		parameter.size = 24;
+		parameter.characters = "";
+		parameter.incremental = true;
+		parameter.maxPages = 1;
+		font = generator.generateFont(parameter);
+		data = (FreeTypeBitmapFontData)font.getData();
+
+		cache = new BitmapFontCache(font);
+		cache.setText(STATIC_TEXT, 10, HEIGHT);
+
+		stage = new Stage();
+		Label label = new Label(LABEL_TEXT, new LabelStyle(font, Color.WHITE));
+		label.setBounds(10, HEIGHT, WIDTH, HEIGHT);
+		stage.addActor(label);
+
+		batch = new SpriteBatch();
+		infoFont = new BitmapFont();
+	}
+
+	@Override
+	public void render () {
+		Gdx.gl.glClearColor(0.2f, 0.2f, 0.2f, 1);
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT);
+
+		batch.begin();
+		cache.draw(batch);
+		batch.end();
+		stage.draw();
+		compare();
+
+		// New characters for each frame, the single page is cleared whenever it is full.
+		line.setLength(0);
+		for (int i = 0; i < LINE_LENGTH; i++)
+			line.append((char)(0x4e00 + (frames * LINE_LENGTH + i) % 5000));
+		frames++;
+
+		batch.begin();
+		font.draw(batch, line, 10, HEIGHT * 3);
+		infoFont.draw(batch, "page recycled " + data.getRecycledPages() + " times, occupancy "
+			+ (int)(data.getOccupancy() * 100) + "%, static text changed in " + changedFrames + " of " + frames + " frames", 10,
+			HEIGHT * 4);
+		batch.end();
+	}
+
+	void compare () {
+		byte[] cachePixels = ScreenUtils.getFrameBufferPixels(0, 0, WIDTH, HEIGHT, false);
+		byte[] labelPixels = ScreenUtils.getFrameBufferPixels(0, HEIGHT, WIDTH, HEIGHT, false);
+		if (this.cachePixels == null) {
+			this.cachePixels = cachePixels;
+			this.labelPixels = labelPixels;
+		} else if (!Arrays.equals(cachePixels, this.cachePixels) || !Arrays.equals(labelPixels, this.labelPixels)) {
+			if (changedFrames++ == 0) Gdx.app.error("FreeTypeIncrementalTest", "Static text changed in frame " + frames);
+		}
+	}
+
+	@Override
+	public void dispose () {
+		font.dispose();
+		generator.dispose();
+		stage.dispose();
+		batch.dispose();
+		infoFont.dispose();
+	}
+}
@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests.g3d;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.Input.Keys;
+import com.badlogic.gdx.InputMultiplexer;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g3d.Environment;
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.ModelBatch;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
+import com.badlogic.gdx.graphics.g3d.environment.DirectionalLight;
+import com.badlogic.gdx.graphics.g3d.utils.CameraInputController;
+import com.badlogic.gdx.graphics.g3d.utils.MeshPartBuilder;
+import com.badlogic.gdx.graphics.g3d.utils.ModelBuilder;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.Array;
+
+/** Renders a large field of models made of two nodes with {@link ModelBatch#setCulling(boolean) culling}, so only the instances
+ * and node parts in view are sorted and shaded. Press space to toggle culling. */
+public class FrustumCullingTest extends GdxTest {
+	static final int SIZE = 100;
+
+	public PerspectiveCamera cam;
+	public CameraInputController inputController;
+	public ModelBatch modelBatch;
+	public Model model;
+	public Array<ModelInstance> instances = new Array<ModelInstance>();
+	public Environment environment;
+	SpriteBatch batch;
+	BitmapFont font;
+
+	@Override
+	public void create () {
+		modelBatch = new ModelBatch();
+		modelBatch.setCulling(true);
+		environment = new Environment();
+		environment.set(new ColorAttribute(ColorAttribute.AmbientLight, .4f, .4f, .4f, 1f));
+		environment.add(new DirectionalLight().set(0.8f, 0.8f, 0.8f, -1f, -0.8f, -0.2f));
+
+		cam = new PerspectiveCamera(67, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+		cam.position.set(0, 10, 0);
+		cam.lookAt(20, 0, 20);
+		cam.near = 0.1f;
+		cam.far = 150f;
+		cam.update();
+
+		ModelBuilder modelBuilder = new ModelBuilder();
+		modelBuilder.begin();
+		modelBuilder.node().id = "base";
+		MeshPartBuilder builder = modelBuilder.part("base", GL20.GL_TRIANGLES, Usage.Position | Usage.Normal, new Material(
+			ColorAttribute.createDiffuse(Color.GRAY)));
+		builder.box(1f, 0.5f, 1f);
+		modelBuilder.node().id = "top";
+		builder = modelBuilder.part("top", GL20.GL_TRIANGLES, Usage.Position | Usage.Normal, new Material(
+			ColorAttribute.createDiffuse(Color.GREEN)));
+		builder.sphere(0.8f, 0.8f, 0.8f, 10, 10);
+		model = modelBuilder.end();
+		model.getNode("top").translation.set(0, 0.7f, 0);
+		model.calculateTransforms();
+
+		for (int x = 0; x < SIZE; x++) {
+			for (int z = 0; z < SIZE; z++) {
+				ModelInstance instance = new ModelInstance(model, (x - SIZE / 2) * 2f, 0, (z - SIZE / 2) * 2f);
+				instance.transform.rotate(0, 1, 0, MathUtils.random(360f));
+				instances.add(instance);
+			}
+		}
+
+		batch = new SpriteBatch();
+		font = new BitmapFont();
+		Gdx.input.setInputProcessor(new InputMultiplexer(this, inputController = new CameraInputController(cam)));
+	}
+
+	@Override
+	public void render () {
+		inputController.update();
+
+		Gdx.gl.glViewport(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT | GL20.GL_DEPTH_BUFFER_BIT);
+
+		modelBatch.begin(cam);
+		modelBatch.render(instances, environment);
+		modelBatch.end();
+
+		batch.begin();
+		font.draw(batch, "culling: " + modelBatch.isCulling() + ", visible: " + modelBatch.visibleCount + ", culled: "
+			+ modelBatch.culledCount + ", fps: " + Gdx.graphics.getFramesPerSecond(), 10, 20);
+		batch.end();
+	}
+
+	@Override
+	public boolean keyDown (int keycode) {
+		if (keycode != Keys.SPACE) return false;
+		modelBatch.setCulling(!modelBatch.isCulling());
+		return true;
+	}
+
+	@Override
+	public void dispose () {
+		modelBatch.dispose();
+		model.dispose();
+		batch.dispose();
+		font.dispose();
+	}
+
+	public boolean needsGL20 () {
+		return true;
+	}
+}
@@ -0,0 +1,136 @@
+/*******************************************************************************
+ * Copyright 2011 See AUTHORS file.
+ * 
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ * 
+ *   http://www.apache.org/licenses/LICENSE-2.0
+ * 
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ ******************************************************************************/
+
+package com.badlogic.gdx.tests.g3d;
+
+import com.badlogic.gdx.Gdx;
+import com.badlogic.gdx.InputMultiplexer;
+import com.badlogic.gdx.graphics.Color;
+import com.badlogic.gdx.graphics.GL20;
+import com.badlogic.gdx.graphics.PerspectiveCamera;
+import com.badlogic.gdx.graphics.VertexAttributes.Usage;
+import com.badlogic.gdx.graphics.g2d.BitmapFont;
+import com.badlogic.gdx.graphics.g2d.SpriteBatch;
+import com.badlogic.gdx.graphics.g3d.Environment;
+import com.badlogic.gdx.graphics.g3d.Material;
+import com.badlogic.gdx.graphics.g3d.Model;
+import com.badlogic.gdx.graphics.g3d.ModelBatch;
+import com.badlogic.gdx.graphics.g3d.ModelInstance;
+import com.badlogic.gdx.graphics.g3d.attributes.ColorAttribute;
+import com.badlogic.gdx.graphics.g3d.environment.DirectionalLight;
+import com.badlogic.gdx.graphics.g3d.utils.CameraInputController;
+import com.badlogic.gdx.graphics.g3d.utils.InstancedShaderProvider;
+import com.badlogic.gdx.graphics.g3d.utils.ModelBuilder;
+import com.badlogic.gdx.graphics.g3d.utils.SortKeyRenderableSorter;
+import com.badlogic.gdx.math.MathUtils;
+import com.badlogic.gdx.math.Matrix4;
+import com.badlogic.gdx.tests.utils.GdxTest;
+import com.badlogic.gdx.utils.Array;
+
+/** Draws a grid of boxes with an {@link InstancedShaderProvider}. With GL30 the boxes sharing a material are drawn with one draw
+ * call, otherwise each box is drawn on its own. The number of instanced draw calls is shown, run the test with GL30 enabled to
+ * render the instanced path, eg with the GL30 option of the LWJGL test starter. */
+public class InstancingTest extends GdxTest {
+	static final int SIZE = 40;
+
+	public PerspectiveCamera cam;
+	public CameraInputController inputController;
+	public ModelBatch modelBatch;
+	public Model model;
+	public Array<ModelInstance> instances = new Array<ModelInstance>();
+	public Environment environment;
+	float time;
+	int instancedCalls, instancedRenderables;
+	SpriteBatch batch;
+	BitmapFont font;
+
+	@Override
+	public void create () {
+		modelBatch = new ModelBatch(new InstancedShaderProvider(), new SortKeyRenderableSorter()) {
+			@Override
+			protected int instanceCount (int index) {
+				int count = super.instanceCount(index);
+				if (count > 1) {
+					instancedCalls++;
+					instancedRenderables += count;
+				}
+				return count;
+			}
+		};
+		environment = new Environment();
+		environment.set(new ColorAttribute(ColorAttribute.AmbientLight, .4f, .4f, .4f, 1f));
+		environment.add(new DirectionalLight().set(0.8f, 0.8f, 0.8f, -1f, -0.8f, -0.2f));
+
+		cam = new PerspectiveCamera(67, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+		cam.position.set(SIZE, SIZE, SIZE);
+		cam.lookAt(0, 0, 0);
+		cam.near = 0.1f;
+		cam.far = 300f;
+		cam.update();
+
+		ModelBuilder modelBuilder = new ModelBuilder();
+		model = modelBuilder.createBox(1f, 1f, 1f, new Material(ColorAttribute.createDiffuse(Color.GREEN)), Usage.Position
+			| Usage.Normal);
+		Color[] colors = {Color.GREEN, Color.RED, Color.BLUE};
+		for (int x = 0; x < SIZE; x++) {
+			for (int z = 0; z < SIZE; z++) {
+				ModelInstance instance = new ModelInstance(model, (x - SIZE / 2) * 2f, 0, (z - SIZE / 2) * 2f);
+				instance.materials.get(0).set(ColorAttribute.createDiffuse(colors[(x + z) % colors.length]));
+				instances.add(instance);
+			}
+		}
+
+		batch = new SpriteBatch();
+		font = new BitmapFont();
+		Gdx.input.setInputProcessor(new InputMultiplexer(this, inputController = new CameraInputController(cam)));
+	}
+
+	@Override
+	public void render () {
+		inputController.update();
+		time += Gdx.graphics.getDeltaTime();
+		for (int i = 0; i < instances.size; i++) {
+			ModelInstance instance = instances.get(i);
+			instance.transform.val[Matrix4.M13] = MathUtils.sin(time * 2f + i * 0.1f);
+		}
+
+		Gdx.gl.glViewport(0, 0, Gdx.graphics.getWidth(), Gdx.graphics.getHeight());
+		Gdx.gl.glClear(GL20.GL_COLOR_BUFFER_BIT | GL20.GL_DEPTH_BUFFER_BIT);
+
+		instancedCalls = 0;
+		instancedRenderables = 0;
+		modelBatch.begin(cam);
+		modelBatch.render(instances, environment);
+		modelBatch.end();
+
+		batch.begin();
+		font.draw(batch, "GL30: " + Gdx.graphics.isGL30Available() + ", instanced draw calls: " + instancedCalls + " for "
+			+ instancedRenderables + " of " + instances.size + " boxes, fps: " + Gdx.graphics.getFramesPerSecond(), 10, 20);
+		batch.end();
+	}
+
+	@Override
+	public void dispose () {
+		modelBatch.dispose();
+		model.dispose();
+		batch.dispose();
+		font.dispose();
+	}
+
+	public boolean needsGL20 () {
+		return true;
+	}
+}
@@ -43,6 +43,8 @@ import com.badlogic.gdx.tests.g3d.Animation3DTest;
 import com.badlogic.gdx.tests.g3d.Basic3DSceneTest;
 import com.badlogic.gdx.tests.g3d.Basic3DTest;
 import com.badlogic.gdx.tests.g3d.FogTest;
+import com.badlogic.gdx.tests.g3d.FrustumCullingTest;
+import com.badlogic.gdx.tests.g3d.InstancingTest;
 import com.badlogic.gdx.tests.g3d.LightsTest;
 import com.badlogic.gdx.tests.g3d.MaterialTest;
 import com.badlogic.gdx.tests.g3d.ModelTest;
@@ -69,6 +71,7 @@ public class GdxTests {
 		AlphaTest.class,
 		Animation3DTest.class,
 		AnimationTest.class,
+		AssetManagerBudgetTest.class,
 		AssetManagerTest.class,
 		AtlasIssueTest.class,
 		AudioDeviceTest.class,
@@ -103,12 +106,14 @@ public class GdxTests {
 		FogTest.class,
 		FrameBufferTest.class,
 		FramebufferToTextureTest.class,
+		FrustumCullingTest.class,
 		FullscreenTest.class,
 		GamepadTest.class,
 		Gdx2DTest.class,
 		GestureDetectorTest.class,
 		GroupCullingTest.class,
 		GroupFadeTest.class,
+		GroupGridTest.class,
 		GroupTest.class,
 		HelloTriangle.class,
 		HexagonalTiledMapTest.class,
@@ -117,6 +122,7 @@ public class GdxTests {
 		ImmediateModeRendererTest.class,
 		IndexBufferObjectShaderTest.class,
 		InputTest.class,
+		InstancingTest.class,
 		IntegerBitmapFontTest.class,
 		InterpolationTest.class,
 		InverseKinematicsTest.class,
@@ -135,12 +141,14 @@ public class GdxTests {
 		MipMapTest.class,
 		ModelTest.class,
 		MoveSpriteExample.class,
+		MultiTextureSpriteBatchTest.class,
 		MultitouchTest.class,
 		MusicTest.class,
 		NetAPITest.class,
 		NinePatchTest.class,
 		OnscreenKeyboardTest.class,
 		ParallaxTest.class,
+		ParticleEffectUpdaterTest.class,
 		ParticleEmitterTest.class,
 		PixelsPerInchTest.class,
 		PixmapBlendingTest.class,
@@ -179,6 +187,7 @@ public class GdxTests {
 		SpriteCacheTest.class,
 		StagePerformanceTest.class,
 		StageTest.class,
+		StreamingSpriteBatchTest.class,
 		SuperKoalio.class,
 		TableLayoutTest.class,
 		TableTest.class,
@@ -201,6 +210,7 @@ public class GdxTests {
 		TreeTest.class,
 		UISimpleTest.class,
 		UITest.class,
+		UploadSchedulerTest.class,
 		Vector2dTest.class,
 		VertexBufferObjectShaderTest.class,
 		VibratorTest.class,